@@ -0,0 +1,87 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.benchmark.fixture;
+
+import io.shardingjdbc.core.api.config.ShardingRuleConfiguration;
+import io.shardingjdbc.core.api.config.TableRuleConfiguration;
+import io.shardingjdbc.core.api.config.strategy.InlineShardingStrategyConfiguration;
+import io.shardingjdbc.core.rule.ShardingRule;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Sharding rule for benchmarks.
+ * 
+ * <p>
+ * {@code t_order} and {@code t_order_item} are binding tables sharded by {@code user_id} and {@code order_id},
+ * {@code t_user} is sharded by {@code user_id} only, so joining it with {@code t_order} is a cartesian route.
+ * Data sources are never connected, so they are absent from the map.
+ * </p>
+ * 
+ * @author zhangliang
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class BenchmarkShardingRule {
+    
+    /**
+     * Data source count.
+     */
+    public static final int DATA_SOURCE_COUNT = 2;
+    
+    /**
+     * Table count per data source.
+     */
+    public static final int TABLE_COUNT = 4;
+    
+    /**
+     * Create sharding rule.
+     * 
+     * @return sharding rule
+     */
+    public static ShardingRule create() {
+        ShardingRuleConfiguration shardingRuleConfig = new ShardingRuleConfiguration();
+        shardingRuleConfig.getTableRuleConfigs().add(createTableRuleConfiguration("t_order", "order_id"));
+        shardingRuleConfig.getTableRuleConfigs().add(createTableRuleConfiguration("t_order_item", "order_id"));
+        shardingRuleConfig.getTableRuleConfigs().add(createTableRuleConfiguration("t_user", "user_id"));
+        shardingRuleConfig.getBindingTableGroups().add("t_order, t_order_item");
+        Map<String, DataSource> dataSourceMap = new HashMap<>(DATA_SOURCE_COUNT, 1);
+        for (int i = 0; i < DATA_SOURCE_COUNT; i++) {
+            dataSourceMap.put("ds_" + i, null);
+        }
+        try {
+            return shardingRuleConfig.build(dataSourceMap);
+        } catch (final SQLException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+    
+    private static TableRuleConfiguration createTableRuleConfiguration(final String logicTable, final String tableShardingColumn) {
+        TableRuleConfiguration result = new TableRuleConfiguration();
+        result.setLogicTable(logicTable);
+        result.setActualDataNodes(String.format("ds_${0..%d}.%s_${0..%d}", DATA_SOURCE_COUNT - 1, logicTable, TABLE_COUNT - 1));
+        result.setDatabaseShardingStrategyConfig(new InlineShardingStrategyConfiguration("user_id", String.format("ds_${user_id %% %d}", DATA_SOURCE_COUNT)));
+        result.setTableShardingStrategyConfig(new InlineShardingStrategyConfiguration(
+                tableShardingColumn, String.format("%s_${%s %% %d}", logicTable, tableShardingColumn, TABLE_COUNT)));
+        return result;
+    }
+}
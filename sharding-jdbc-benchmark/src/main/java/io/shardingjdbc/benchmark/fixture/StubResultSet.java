@@ -0,0 +1,225 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.benchmark.fixture;
+
+import io.shardingjdbc.core.jdbc.unsupported.AbstractUnsupportedGeneratedKeysResultSet;
+import lombok.RequiredArgsConstructor;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * In-memory result set over prepared rows for merging benchmarks.
+ * 
+ * @author zhangliang
+ */
+@RequiredArgsConstructor
+public final class StubResultSet extends AbstractUnsupportedGeneratedKeysResultSet {
+    
+    private final List<String> columnLabels;
+    
+    private final Object[][] rows;
+    
+    private int cursor = -1;
+    
+    private boolean wasNull;
+    
+    private boolean closed;
+    
+    @Override
+    public boolean next() throws SQLException {
+        if (closed || cursor + 1 >= rows.length) {
+            cursor = rows.length;
+            return false;
+        }
+        cursor++;
+        return true;
+    }
+    
+    @Override
+    public void close() throws SQLException {
+        closed = true;
+    }
+    
+    @Override
+    public boolean isClosed() throws SQLException {
+        return closed;
+    }
+    
+    @Override
+    public ResultSetMetaData getMetaData() throws SQLException {
+        return new StubResultSetMetaData(columnLabels, 0 == rows.length ? null : rows[0]);
+    }
+    
+    @Override
+    public int findColumn(final String columnLabel) throws SQLException {
+        for (int i = 0; i < columnLabels.size(); i++) {
+            if (columnLabels.get(i).equalsIgnoreCase(columnLabel)) {
+                return i + 1;
+            }
+        }
+        throw new SQLException(String.format("Can not find column label '%s'", columnLabel));
+    }
+    
+    @Override
+    public boolean wasNull() throws SQLException {
+        return wasNull;
+    }
+    
+    @Override
+    public Object getObject(final int columnIndex) throws SQLException {
+        Object result = rows[cursor][columnIndex - 1];
+        wasNull = null == result;
+        return result;
+    }
+    
+    @Override
+    public Object getObject(final String columnLabel) throws SQLException {
+        return getObject(findColumn(columnLabel));
+    }
+    
+    @Override
+    public String getString(final int columnIndex) throws SQLException {
+        Object result = getObject(columnIndex);
+        return null == result ? null : result.toString();
+    }
+    
+    @Override
+    public String getString(final String columnLabel) throws SQLException {
+        return getString(findColumn(columnLabel));
+    }
+    
+    @Override
+    public byte getByte(final int columnIndex) throws SQLException {
+        return null == getObject(columnIndex) ? 0 : getNumber(columnIndex).byteValue();
+    }
+    
+    @Override
+    public byte getByte(final String columnLabel) throws SQLException {
+        return getByte(findColumn(columnLabel));
+    }
+    
+    @Override
+    public short getShort(final int columnIndex) throws SQLException {
+        return null == getObject(columnIndex) ? 0 : getNumber(columnIndex).shortValue();
+    }
+    
+    @Override
+    public short getShort(final String columnLabel) throws SQLException {
+        return getShort(findColumn(columnLabel));
+    }
+    
+    @Override
+    public int getInt(final int columnIndex) throws SQLException {
+        return null == getObject(columnIndex) ? 0 : getNumber(columnIndex).intValue();
+    }
+    
+    @Override
+    public int getInt(final String columnLabel) throws SQLException {
+        return getInt(findColumn(columnLabel));
+    }
+    
+    @Override
+    public long getLong(final int columnIndex) throws SQLException {
+        return null == getObject(columnIndex) ? 0L : getNumber(columnIndex).longValue();
+    }
+    
+    @Override
+    public long getLong(final String columnLabel) throws SQLException {
+        return getLong(findColumn(columnLabel));
+    }
+    
+    @Override
+    public float getFloat(final int columnIndex) throws SQLException {
+        return null == getObject(columnIndex) ? 0F : getNumber(columnIndex).floatValue();
+    }
+    
+    @Override
+    public float getFloat(final String columnLabel) throws SQLException {
+        return getFloat(findColumn(columnLabel));
+    }
+    
+    @Override
+    public double getDouble(final int columnIndex) throws SQLException {
+        return null == getObject(columnIndex) ? 0D : getNumber(columnIndex).doubleValue();
+    }
+    
+    @Override
+    public double getDouble(final String columnLabel) throws SQLException {
+        return getDouble(findColumn(columnLabel));
+    }
+    
+    @Override
+    public BigDecimal getBigDecimal(final int columnIndex, final int scale) throws SQLException {
+        BigDecimal result = getBigDecimal(columnIndex);
+        return null == result ? null : result.setScale(scale, BigDecimal.ROUND_HALF_UP);
+    }
+    
+    @Override
+    public BigDecimal getBigDecimal(final String columnLabel, final int scale) throws SQLException {
+        return getBigDecimal(findColumn(columnLabel), scale);
+    }
+    
+    @Override
+    public BigDecimal getBigDecimal(final int columnIndex) throws SQLException {
+        Object result = getObject(columnIndex);
+        if (null == result || result instanceof BigDecimal) {
+            return (BigDecimal) result;
+        }
+        return new BigDecimal(result.toString());
+    }
+    
+    @Override
+    public BigDecimal getBigDecimal(final String columnLabel) throws SQLException {
+        return getBigDecimal(findColumn(columnLabel));
+    }
+    
+    @Override
+    public byte[] getBytes(final int columnIndex) throws SQLException {
+        String result = getString(columnIndex);
+        return null == result ? null : result.getBytes();
+    }
+    
+    @Override
+    public byte[] getBytes(final String columnLabel) throws SQLException {
+        return getBytes(findColumn(columnLabel));
+    }
+    
+    @Override
+    public int getType() throws SQLException {
+        return ResultSet.TYPE_FORWARD_ONLY;
+    }
+    
+    @Override
+    public int getConcurrency() throws SQLException {
+        return ResultSet.CONCUR_READ_ONLY;
+    }
+    
+    @Override
+    public Statement getStatement() throws SQLException {
+        return null;
+    }
+    
+    private Number getNumber(final int columnIndex) {
+        return (Number) rows[cursor][columnIndex - 1];
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.benchmark.fixture;
+
+import io.shardingjdbc.core.jdbc.adapter.WrapperAdapter;
+import lombok.RequiredArgsConstructor;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * In-memory result set metadata for merging benchmarks.
+ * 
+ * @author zhangliang
+ */
+@RequiredArgsConstructor
+public final class StubResultSetMetaData extends WrapperAdapter implements ResultSetMetaData {
+    
+    private final List<String> columnLabels;
+    
+    private final Object[] sampleRow;
+    
+    @Override
+    public int getColumnCount() throws SQLException {
+        return columnLabels.size();
+    }
+    
+    @Override
+    public boolean isAutoIncrement(final int column) throws SQLException {
+        return false;
+    }
+    
+    @Override
+    public boolean isCaseSensitive(final int column) throws SQLException {
+        return true;
+    }
+    
+    @Override
+    public boolean isSearchable(final int column) throws SQLException {
+        return true;
+    }
+    
+    @Override
+    public boolean isCurrency(final int column) throws SQLException {
+        return false;
+    }
+    
+    @Override
+    public int isNullable(final int column) throws SQLException {
+        return columnNullableUnknown;
+    }
+    
+    @Override
+    public boolean isSigned(final int column) throws SQLException {
+        return true;
+    }
+    
+    @Override
+    public int getColumnDisplaySize(final int column) throws SQLException {
+        return 0;
+    }
+    
+    @Override
+    public String getColumnLabel(final int column) throws SQLException {
+        return columnLabels.get(column - 1);
+    }
+    
+    @Override
+    public String getColumnName(final int column) throws SQLException {
+        return columnLabels.get(column - 1);
+    }
+    
+    @Override
+    public String getSchemaName(final int column) throws SQLException {
+        return "";
+    }
+    
+    @Override
+    public int getPrecision(final int column) throws SQLException {
+        return 0;
+    }
+    
+    @Override
+    public int getScale(final int column) throws SQLException {
+        return 0;
+    }
+    
+    @Override
+    public String getTableName(final int column) throws SQLException {
+        return "";
+    }
+    
+    @Override
+    public String getCatalogName(final int column) throws SQLException {
+        return "";
+    }
+    
+    @Override
+    public int getColumnType(final int column) throws SQLException {
+        Object value = null == sampleRow ? null : sampleRow[column - 1];
+        if (value instanceof Long) {
+            return Types.BIGINT;
+        }
+        if (value instanceof Integer) {
+            return Types.INTEGER;
+        }
+        if (value instanceof String) {
+            return Types.VARCHAR;
+        }
+        return Types.JAVA_OBJECT;
+    }
+    
+    @Override
+    public String getColumnTypeName(final int column) throws SQLException {
+        return "";
+    }
+    
+    @Override
+    public boolean isReadOnly(final int column) throws SQLException {
+        return true;
+    }
+    
+    @Override
+    public boolean isWritable(final int column) throws SQLException {
+        return false;
+    }
+    
+    @Override
+    public boolean isDefinitelyWritable(final int column) throws SQLException {
+        return false;
+    }
+    
+    @Override
+    public String getColumnClassName(final int column) throws SQLException {
+        return Object.class.getName();
+    }
+}
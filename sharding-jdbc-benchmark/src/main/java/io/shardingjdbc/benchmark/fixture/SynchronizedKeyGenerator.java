@@ -0,0 +1,61 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.benchmark.fixture;
+
+import io.shardingjdbc.core.keygen.DefaultKeyGenerator;
+import io.shardingjdbc.core.keygen.KeyGenerator;
+
+/**
+ * Snowflake key generator synchronized on each key, as default key generator did before lock free.
+ * 
+ * @author zhangliang
+ */
+public final class SynchronizedKeyGenerator implements KeyGenerator {
+    
+    private static final long SEQUENCE_BITS = 12L;
+    
+    private static final long SEQUENCE_MASK = (1 << SEQUENCE_BITS) - 1;
+    
+    private static final long TIMESTAMP_LEFT_SHIFT_BITS = SEQUENCE_BITS + 10L;
+    
+    private long sequence;
+    
+    private long lastTime;
+    
+    @Override
+    public synchronized Number generateKey() {
+        long currentMillis = System.currentTimeMillis();
+        if (lastTime == currentMillis) {
+            if (0L == (sequence = ++sequence & SEQUENCE_MASK)) {
+                currentMillis = waitUntilNextTime(currentMillis);
+            }
+        } else {
+            sequence = 0;
+        }
+        lastTime = currentMillis;
+        return ((currentMillis - DefaultKeyGenerator.EPOCH) << TIMESTAMP_LEFT_SHIFT_BITS) | sequence;
+    }
+    
+    private long waitUntilNextTime(final long lastTime) {
+        long time = System.currentTimeMillis();
+        while (time <= lastTime) {
+            time = System.currentTimeMillis();
+        }
+        return time;
+    }
+}
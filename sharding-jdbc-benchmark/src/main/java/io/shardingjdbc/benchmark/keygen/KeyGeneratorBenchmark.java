@@ -0,0 +1,87 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.benchmark.keygen;
+
+import io.shardingjdbc.benchmark.fixture.SynchronizedKeyGenerator;
+import io.shardingjdbc.core.keygen.DefaultKeyGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Key generator benchmark under contention, compares synchronized generator with lock free default key generator.
+ * 
+ * @author zhangliang
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(64)
+@Fork(1)
+public class KeyGeneratorBenchmark {
+    
+    private static final int RESERVED_COUNT = 16;
+    
+    private final SynchronizedKeyGenerator synchronizedKeyGenerator = new SynchronizedKeyGenerator();
+    
+    private final DefaultKeyGenerator defaultKeyGenerator = new DefaultKeyGenerator();
+    
+    /**
+     * Generate key by synchronized generator.
+     * 
+     * @return generated key
+     */
+    @Benchmark
+    public Number synchronizedGenerateKey() {
+        return synchronizedKeyGenerator.generateKey();
+    }
+    
+    /**
+     * Generate key by default key generator.
+     * 
+     * @return generated key
+     */
+    @Benchmark
+    public Number generateKey() {
+        return defaultKeyGenerator.generateKey();
+    }
+    
+    /**
+     * Generate keys of one batch by default key generator.
+     * 
+     * @return generated keys
+     */
+    @Benchmark
+    @OperationsPerInvocation(RESERVED_COUNT)
+    public List<Number> generateKeys() {
+        return defaultKeyGenerator.generateKeys(RESERVED_COUNT);
+    }
+}
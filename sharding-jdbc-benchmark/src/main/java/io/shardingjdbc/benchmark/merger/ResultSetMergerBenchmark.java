@@ -0,0 +1,176 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.benchmark.merger;
+
+import io.shardingjdbc.benchmark.fixture.BenchmarkShardingRule;
+import io.shardingjdbc.benchmark.fixture.StubResultSet;
+import com.google.common.base.Preconditions;
+import io.shardingjdbc.core.constant.DatabaseType;
+import io.shardingjdbc.core.merger.MergeEngine;
+import io.shardingjdbc.core.merger.ResultSetMerger;
+import io.shardingjdbc.core.merger.groupby.GroupByMemoryResultSetMerger;
+import io.shardingjdbc.core.merger.groupby.GroupByStreamResultSetMerger;
+import io.shardingjdbc.core.merger.iterator.IteratorStreamResultSetMerger;
+import io.shardingjdbc.core.merger.limit.LimitDecoratorResultSetMerger;
+import io.shardingjdbc.core.merger.orderby.OrderByLoserTreeResultSetMerger;
+import io.shardingjdbc.core.merger.orderby.OrderByStreamResultSetMerger;
+import io.shardingjdbc.core.parsing.SQLParsingEngine;
+import io.shardingjdbc.core.parsing.parser.sql.dql.select.SelectStatement;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Result set merger benchmark over in-memory result sets.
+ * 
+ * @author zhangliang
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResultSetMergerBenchmark {
+    
+    @Param({"ORDER_BY_STREAM", "ORDER_BY_LOSER_TREE", "GROUP_BY_STREAM", "GROUP_BY_MEMORY", "LIMIT_DECORATOR", "ITERATOR_STREAM"})
+    private MergeType mergeType;
+    
+    @Param({"2", "8", "128"})
+    private int shardCount;
+    
+    @Param({"1000"})
+    private int rowCountPerShard;
+    
+    private SelectStatement selectStatement;
+    
+    private List<Object[][]> shardRows;
+    
+    /**
+     * Prepare select statement and rows of each shard.
+     * 
+     * @throws SQLException SQL exception
+     */
+    @Setup
+    public void setUp() throws SQLException {
+        selectStatement = (SelectStatement) new SQLParsingEngine(DatabaseType.MySQL, mergeType.getSql(), BenchmarkShardingRule.create()).parse();
+        shardRows = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            shardRows.add(createRows(i));
+        }
+        ResultSetMerger resultSetMerger = new MergeEngine(createResultSets(), selectStatement, 0, MergeType.ORDER_BY_LOSER_TREE == mergeType).merge();
+        Preconditions.checkState(mergeType.getMergerClass() == resultSetMerger.getClass(), "Expected '%s', but was '%s'.", mergeType.getMergerClass(), resultSetMerger.getClass());
+    }
+    
+    private Object[][] createRows(final int shardIndex) {
+        Object[][] result = new Object[rowCountPerShard][];
+        for (int i = 0; i < rowCountPerShard; i++) {
+            if (mergeType.isGroupBy()) {
+                result[i] = new Object[] {i, (long) i * shardCount + shardIndex};
+            } else {
+                result[i] = new Object[] {(long) i * shardCount + shardIndex, i % 100, "INIT"};
+            }
+        }
+        return result;
+    }
+    
+    private List<ResultSet> createResultSets() {
+        List<ResultSet> result = new ArrayList<>(shardRows.size());
+        for (Object[][] each : shardRows) {
+            result.add(new StubResultSet(mergeType.getColumnLabels(), each));
+        }
+        return result;
+    }
+    
+    /**
+     * Merge and read all merged rows.
+     * 
+     * @param blackhole blackhole
+     * @throws SQLException SQL exception
+     */
+    @Benchmark
+    public void merge(final Blackhole blackhole) throws SQLException {
+        ResultSetMerger resultSetMerger = new MergeEngine(createResultSets(), selectStatement, 0, MergeType.ORDER_BY_LOSER_TREE == mergeType).merge();
+        int columnCount = mergeType.getColumnLabels().size();
+        while (resultSetMerger.next()) {
+            for (int i = 1; i <= columnCount; i++) {
+                blackhole.consume(resultSetMerger.getValue(i, Object.class));
+            }
+        }
+    }
+    
+    /**
+     * Merge type.
+     */
+    @RequiredArgsConstructor
+    @Getter
+    public enum MergeType {
+        
+        ORDER_BY_STREAM("SELECT order_id, user_id, status FROM t_order ORDER BY order_id", OrderByStreamResultSetMerger.class),
+        
+        ORDER_BY_LOSER_TREE("SELECT order_id, user_id, status FROM t_order ORDER BY order_id", OrderByLoserTreeResultSetMerger.class),
+        
+        GROUP_BY_STREAM("SELECT user_id, SUM(order_id) AS total FROM t_order GROUP BY user_id ORDER BY user_id", GroupByStreamResultSetMerger.class),
+        
+        GROUP_BY_MEMORY("SELECT user_id, SUM(order_id) AS total FROM t_order GROUP BY user_id ORDER BY total DESC", GroupByMemoryResultSetMerger.class),
+        
+        LIMIT_DECORATOR("SELECT order_id, user_id, status FROM t_order ORDER BY order_id LIMIT 1000, 100", LimitDecoratorResultSetMerger.class),
+        
+        ITERATOR_STREAM("SELECT order_id, user_id, status FROM t_order", IteratorStreamResultSetMerger.class);
+        
+        private final String sql;
+        
+        private final Class<? extends ResultSetMerger> mergerClass;
+        
+        /**
+         * Judge is group by query or not.
+         * 
+         * @return is group by query or not
+         */
+        public boolean isGroupBy() {
+            return GROUP_BY_STREAM == this || GROUP_BY_MEMORY == this;
+        }
+        
+        /**
+         * Get column labels of shard result sets.
+         * 
+         * @return column labels
+         */
+        public List<String> getColumnLabels() {
+            return isGroupBy() ? Arrays.asList("user_id", "total") : Arrays.asList("order_id", "user_id", "status");
+        }
+    }
+}
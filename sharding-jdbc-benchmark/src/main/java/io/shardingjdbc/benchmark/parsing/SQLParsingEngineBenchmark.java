@@ -0,0 +1,91 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.benchmark.parsing;
+
+import io.shardingjdbc.benchmark.fixture.BenchmarkShardingRule;
+import com.google.common.collect.ImmutableMap;
+import io.shardingjdbc.core.constant.DatabaseType;
+import io.shardingjdbc.core.parsing.SQLParsingEngine;
+import io.shardingjdbc.core.parsing.parser.sql.SQLStatement;
+import io.shardingjdbc.core.rule.ShardingRule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SQL parsing engine benchmark for each dialect.
+ * 
+ * @author zhangliang
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SQLParsingEngineBenchmark {
+    
+    private static final Map<String, String> SQL = ImmutableMap.<String, String>builder()
+            .put("select", "SELECT o.order_id, o.user_id, i.item_id, i.status FROM t_order o JOIN t_order_item i ON o.order_id = i.order_id "
+                    + "WHERE o.user_id = ? AND o.order_id IN (?, ?, ?) ORDER BY o.order_id DESC")
+            .put("aggregation", "SELECT user_id, COUNT(*) AS order_count, AVG(order_id) AS avg_order_id FROM t_order WHERE user_id IN (?, ?) GROUP BY user_id ORDER BY order_count DESC")
+            .put("insert", "INSERT INTO t_order (order_id, user_id, status) VALUES (?, ?, ?)")
+            .put("update", "UPDATE t_order SET status = ? WHERE user_id = ? AND order_id = ?")
+            .put("delete", "DELETE FROM t_order WHERE user_id = ? AND order_id = ?")
+            .build();
+    
+    @Param({"MySQL", "Oracle", "SQLServer", "PostgreSQL"})
+    private DatabaseType databaseType;
+    
+    @Param({"select", "aggregation", "insert", "update", "delete"})
+    private String statementType;
+    
+    private ShardingRule shardingRule;
+    
+    private String sql;
+    
+    /**
+     * Prepare sharding rule and SQL.
+     */
+    @Setup
+    public void setUp() {
+        shardingRule = BenchmarkShardingRule.create();
+        sql = SQL.get(statementType);
+    }
+    
+    /**
+     * Parse SQL.
+     * 
+     * @return SQL statement
+     */
+    @Benchmark
+    public SQLStatement parse() {
+        return new SQLParsingEngine(databaseType, sql, shardingRule).parse();
+    }
+}
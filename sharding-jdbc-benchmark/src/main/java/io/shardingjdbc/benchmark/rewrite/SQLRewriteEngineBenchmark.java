@@ -0,0 +1,121 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.benchmark.rewrite;
+
+import io.shardingjdbc.benchmark.fixture.BenchmarkShardingRule;
+import com.google.common.collect.ImmutableMap;
+import io.shardingjdbc.core.constant.DatabaseType;
+import io.shardingjdbc.core.parsing.SQLParsingEngine;
+import io.shardingjdbc.core.parsing.parser.sql.SQLStatement;
+import io.shardingjdbc.core.rewrite.SQLBuilder;
+import io.shardingjdbc.core.rewrite.SQLRewriteEngine;
+import io.shardingjdbc.core.rewrite.SQLRewriteTemplate;
+import io.shardingjdbc.core.routing.type.TableUnit;
+import io.shardingjdbc.core.rule.DataNode;
+import io.shardingjdbc.core.rule.ShardingRule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SQL rewrite engine benchmark, rewrites logic SQL for every data node of {@code t_order}.
+ * 
+ * @author zhangliang
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SQLRewriteEngineBenchmark {
+    
+    private static final Map<String, String> SQL = ImmutableMap.of(
+            "single", "SELECT * FROM t_order WHERE user_id = ? AND order_id = ?",
+            "binding", "SELECT o.*, i.* FROM t_order o JOIN t_order_item i ON o.order_id = i.order_id WHERE o.user_id IN (?, ?)",
+            "limit", "SELECT o.order_id, o.user_id FROM t_order o WHERE o.user_id IN (?, ?) ORDER BY o.order_id LIMIT 100, 20");
+    
+    @Param({"single", "binding", "limit"})
+    private String sqlType;
+    
+    private ShardingRule shardingRule;
+    
+    private String logicSQL;
+    
+    private SQLStatement sqlStatement;
+    
+    private SQLRewriteTemplate template;
+    
+    private List<TableUnit> tableUnits;
+    
+    /**
+     * Prepare parsed SQL statement, rewrite template and table units.
+     */
+    @Setup
+    public void setUp() {
+        shardingRule = BenchmarkShardingRule.create();
+        logicSQL = SQL.get(sqlType);
+        sqlStatement = new SQLParsingEngine(DatabaseType.MySQL, logicSQL, shardingRule).parse();
+        template = new SQLRewriteEngine(shardingRule, logicSQL, DatabaseType.MySQL, sqlStatement).compile();
+        tableUnits = new ArrayList<>();
+        for (DataNode each : shardingRule.getTableRule("t_order").getActualDataNodes()) {
+            tableUnits.add(new TableUnit(each.getDataSourceName(), "t_order", each.getTableName()));
+        }
+    }
+    
+    /**
+     * Rewrite with SQL builder.
+     * 
+     * @param blackhole blackhole
+     */
+    @Benchmark
+    public void rewriteWithSQLBuilder(final Blackhole blackhole) {
+        SQLRewriteEngine rewriteEngine = new SQLRewriteEngine(shardingRule, logicSQL, DatabaseType.MySQL, sqlStatement);
+        SQLBuilder sqlBuilder = rewriteEngine.rewrite(true);
+        for (TableUnit each : tableUnits) {
+            blackhole.consume(rewriteEngine.generateSQL(each, sqlBuilder));
+        }
+    }
+    
+    /**
+     * Rewrite with compiled SQL rewrite template.
+     * 
+     * @param blackhole blackhole
+     */
+    @Benchmark
+    public void rewriteWithTemplate(final Blackhole blackhole) {
+        SQLRewriteEngine rewriteEngine = new SQLRewriteEngine(shardingRule, logicSQL, DatabaseType.MySQL, sqlStatement);
+        for (TableUnit each : tableUnits) {
+            blackhole.consume(rewriteEngine.generateSQL(each, template, true));
+        }
+    }
+}
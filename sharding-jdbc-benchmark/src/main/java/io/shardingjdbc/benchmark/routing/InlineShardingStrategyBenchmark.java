@@ -0,0 +1,133 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.benchmark.routing;
+
+import com.google.common.base.Joiner;
+import io.shardingjdbc.core.api.algorithm.sharding.ListShardingValue;
+import io.shardingjdbc.core.api.algorithm.sharding.ShardingValue;
+import io.shardingjdbc.core.routing.strategy.inline.InlineExpressionCompiler;
+import io.shardingjdbc.core.routing.strategy.inline.InlineExpressionEvaluator;
+import io.shardingjdbc.core.routing.strategy.inline.InlineShardingStrategy;
+import groovy.lang.Closure;
+import groovy.lang.GroovyShell;
+import groovy.util.Expando;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inline sharding expression benchmark, compares groovy closure with compiled evaluator.
+ * 
+ * @author zhangliang
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InlineShardingStrategyBenchmark {
+    
+    private static final String SHARDING_COLUMN = "order_id";
+    
+    @Param({"t_order_${order_id % 16}", "ds_${(order_id % 4).intdiv(2)}", "t_order_${Math.abs(order_id.hashCode()) % 8}"})
+    private String inlineExpression;
+    
+    @Param({"1", "1000"})
+    private int valueCount;
+    
+    private Closure<?> closure;
+    
+    private InlineExpressionEvaluator evaluator;
+    
+    private InlineShardingStrategy strategy;
+    
+    private List<Long> values;
+    
+    private Collection<ShardingValue> shardingValues;
+    
+    /**
+     * Compile expression and prepare sharding values.
+     */
+    @Setup
+    public void setUp() {
+        closure = (Closure) new GroovyShell().evaluate(Joiner.on("").join("{it -> \"", inlineExpression.trim(), "\"}"));
+        evaluator = new InlineExpressionCompiler(SHARDING_COLUMN, inlineExpression).compile().get();
+        strategy = new InlineShardingStrategy(SHARDING_COLUMN, inlineExpression);
+        values = new ArrayList<>(valueCount);
+        for (long i = 0; i < valueCount; i++) {
+            values.add(i * 7919L);
+        }
+        shardingValues = Collections.<ShardingValue>singletonList(new ListShardingValue<>("t_order", SHARDING_COLUMN, values));
+    }
+    
+    /**
+     * Evaluate by groovy closure, as inline sharding strategy did before compiling.
+     * 
+     * @return last evaluated target
+     */
+    @Benchmark
+    public String groovyClosure() {
+        String result = null;
+        for (Long each : values) {
+            Closure<?> rehydrated = closure.rehydrate(new Expando(), null, null);
+            rehydrated.setResolveStrategy(Closure.DELEGATE_ONLY);
+            rehydrated.setProperty(SHARDING_COLUMN, each);
+            result = rehydrated.call().toString();
+        }
+        return result;
+    }
+    
+    /**
+     * Evaluate by compiled evaluator.
+     * 
+     * @return last evaluated target
+     */
+    @Benchmark
+    public String compiledEvaluator() {
+        String result = null;
+        for (Long each : values) {
+            result = evaluator.evaluate(each).get();
+        }
+        return result;
+    }
+    
+    /**
+     * Sharding through inline sharding strategy.
+     * 
+     * @return sharding result
+     */
+    @Benchmark
+    public Collection<String> doSharding() {
+        return strategy.doSharding(Collections.<String>emptyList(), shardingValues);
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.benchmark.routing;
+
+import io.shardingjdbc.benchmark.fixture.BenchmarkShardingRule;
+import com.google.common.collect.ImmutableMap;
+import io.shardingjdbc.core.constant.DatabaseType;
+import io.shardingjdbc.core.constant.ShardingProperties;
+import io.shardingjdbc.core.constant.ShardingPropertiesConstant;
+import io.shardingjdbc.core.jdbc.core.ShardingContext;
+import io.shardingjdbc.core.parsing.parser.sql.SQLStatement;
+import io.shardingjdbc.core.routing.SQLRouteResult;
+import io.shardingjdbc.core.routing.router.ParsingSQLRouter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing SQL router benchmark for single, binding and cartesian routes.
+ * 
+ * @author zhangliang
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParsingSQLRouterBenchmark {
+    
+    private static final Map<String, String> SQL = ImmutableMap.of(
+            "single", "SELECT * FROM t_order WHERE user_id = ? AND order_id = ?",
+            "binding", "SELECT o.*, i.* FROM t_order o JOIN t_order_item i ON o.order_id = i.order_id WHERE o.user_id IN (?, ?) AND o.order_id IN (?, ?)",
+            "cartesian", "SELECT o.*, u.* FROM t_order o JOIN t_user u ON o.user_id = u.user_id WHERE o.user_id IN (?, ?) AND o.order_id IN (?, ?) AND u.user_id IN (?, ?)");
+    
+    private static final Map<String, List<Object>> PARAMETERS = ImmutableMap.<String, List<Object>>of(
+            "single", Arrays.<Object>asList(1, 10),
+            "binding", Arrays.<Object>asList(1, 2, 10, 11),
+            "cartesian", Arrays.<Object>asList(1, 2, 10, 11, 1, 2));
+    
+    @Param({"single", "binding", "cartesian"})
+    private String routeType;
+    
+    @Param({"0", "1024"})
+    private int routeCacheSize;
+    
+    private ParsingSQLRouter router;
+    
+    private String logicSQL;
+    
+    private List<Object> parameters;
+    
+    private SQLStatement sqlStatement;
+    
+    /**
+     * Prepare router and parsed SQL statement.
+     */
+    @Setup
+    public void setUp() {
+        Properties props = new Properties();
+        props.setProperty(ShardingPropertiesConstant.ROUTING_CACHE_SIZE.getKey(), String.valueOf(routeCacheSize));
+        router = new ParsingSQLRouter(new ShardingContext(BenchmarkShardingRule.create(), DatabaseType.MySQL, null, new ShardingProperties(props)));
+        logicSQL = SQL.get(routeType);
+        parameters = PARAMETERS.get(routeType);
+        sqlStatement = router.parse(logicSQL, parameters.size());
+    }
+    
+    /**
+     * Route parsed SQL statement.
+     * 
+     * @return SQL route result
+     */
+    @Benchmark
+    public SQLRouteResult route() {
+        return router.route(logicSQL, new ArrayList<>(parameters), sqlStatement);
+    }
+    
+    /**
+     * Parse with parsing result cache and route.
+     * 
+     * @return SQL route result
+     */
+    @Benchmark
+    public SQLRouteResult parseAndRoute() {
+        return router.route(logicSQL, new ArrayList<>(parameters), router.parse(logicSQL, parameters.size()));
+    }
+}
@@ -51,7 +51,193 @@ public enum ShardingPropertiesConstant {
      * Default: same with CPU cores.
      * </p>
      */
-    EXECUTOR_SIZE("executor.size", String.valueOf(Runtime.getRuntime().availableProcessors()), int.class);
+    EXECUTOR_SIZE("executor.size", String.valueOf(Runtime.getRuntime().availableProcessors()), int.class),
+    
+    /**
+     * Worker thread max size of each data source.
+     * 
+     * <p>
+     * If greater than 0, every data source will use an independent thread pool with this size, 
+     * so that slow data source cannot exhaust worker threads of other data sources.
+     * Default: 0, means all data sources share one thread pool with size of {@code executor.size}.
+     * </p>
+     */
+    EXECUTOR_SIZE_PER_DATA_SOURCE("executor.size.per.datasource", String.valueOf(0), int.class),
+    
+    /**
+     * Max size of worker thread pool queue.
+     * 
+     * <p>
+     * Tasks which cannot be queued will be handled by {@code executor.rejection.policy}.
+     * Default: 0, means queue is unbounded.
+     * </p>
+     */
+    EXECUTOR_QUEUE_SIZE("executor.queue.size", String.valueOf(0), int.class),
+    
+    /**
+     * Rejection policy of worker thread pool when queue is full.
+     * 
+     * <p>
+     * ABORT: fail execution with exception.
+     * CALLER_RUNS: execute task in caller thread.
+     * Default: CALLER_RUNS
+     * </p>
+     */
+    EXECUTOR_REJECTION_POLICY("executor.rejection.policy", "CALLER_RUNS", String.class),
+    
+    /**
+     * Max concurrent execution units of one query.
+     * 
+     * <p>
+     * Execution units over this limit will not be submitted until previous units finished.
+     * Set to 1 to execute all units serially in caller thread.
+     * Default: 0, means unlimited.
+     * </p>
+     */
+    EXECUTOR_MAX_IN_FLIGHT_PER_QUERY("executor.max.inflight.per.query", String.valueOf(0), int.class),
+    
+    /**
+     * Max connections size of each data source for one query.
+     * 
+     * <p>
+     * Only used for select statement in auto commit mode.
+     * If greater than 1, table units routed to same data source will spread on at most this size of connections, and execute in parallel.
+     * If equals 1, table units routed to same data source will be combined into one {@code UNION ALL} statement if the select statement can be merged in this way.
+     * Default: 0, means all table units of one data source share one connection.
+     * </p>
+     */
+    MAX_CONNECTIONS_SIZE_PER_QUERY("max.connections.size.per.query", String.valueOf(0), int.class),
+    
+    /**
+     * Enable or Disable to combine table units of same data source by {@code UNION ALL}.
+     * 
+     * <p>
+     * Rewrote SQL of table units routed to same data source will be combined into one {@code UNION ALL} statement, 
+     * it saves round trips and statement preparing if one data source contains many tables.
+     * Only select statement without order by items can be combined, others will not be changed.
+     * Combined statement of one data source executes on one connection, whatever {@code max.connections.size.per.query} is.
+     * Combining is always enabled if {@code max.connections.size.per.query} equals 1.
+     * Default: false
+     * </p>
+     */
+    REWRITE_UNION_ALL_ENABLED("rewrite.union.all.enabled", Boolean.FALSE.toString(), boolean.class),
+    
+    /**
+     * Min offset of limit to seek pages by sort key instead of fetching all rows before offset from every table unit.
+     * 
+     * <p>
+     * Only used for select statement ordered by one integral column without group by and aggregation, routed to more than one table unit.
+     * Boundary keys of table units are fetched first to locate the global offset, then every table unit is queried from its own offset,
+     * so rows fetched are about table units count multiplying page size instead of offset.
+     * Sort key should be unique, otherwise it falls back to fetch all rows before offset when duplicated keys across the boundary.
+     * Default: 0, means disabled.
+     * </p>
+     */
+    REWRITE_DEEP_PAGING_OFFSET_THRESHOLD("rewrite.deep.paging.offset.threshold", String.valueOf(0), int.class),
+    
+    /**
+     * Max rows of groups in memory when merging group by result sets which cannot be merged in stream.
+     * 
+     * <p>
+     * Partial aggregated groups will be sorted and spilled to temporary files when groups in memory reach this size,
+     * spilled files are merged again and deleted after read.
+     * Default: 0, means merge all groups in memory.
+     * </p>
+     */
+    MERGE_GROUP_BY_MAX_MEMORY_ROWS("merge.group.by.max.memory.rows", String.valueOf(0), int.class),
+    
+    /**
+     * Enable or Disable to merge order by result sets via loser tree.
+     * 
+     * <p>
+     * Loser tree compares sort keys held in typed slots, it saves comparisons and boxing when merging many result sets.
+     * Disable it to use priority queue merger which compares all sort keys as {@code Comparable}.
+     * Default: false
+     * </p>
+     */
+    MERGE_ORDER_BY_LOSER_TREE_ENABLED("merge.order.by.loser.tree.enabled", Boolean.FALSE.toString(), boolean.class),
+    
+    /**
+     * Max rows of prefetch buffer for each result set to be merged.
+     * 
+     * <p>
+     * If greater than 0, rows of each result set are drained ahead by executor engine into a buffer of this size, 
+     * merging consumes buffered rows while fetching from databases overlaps.
+     * Default: 0, means fetch rows on the merging thread without prefetch.
+     * </p>
+     */
+    MERGE_PREFETCH_ROWS("merge.prefetch.rows", String.valueOf(0), int.class),
+    
+    /**
+     * Max estimated bytes of prefetch buffer for each result set to be merged.
+     * 
+     * <p>
+     * Only used when {@code merge.prefetch.rows} is greater than 0, at least one row is buffered even if it exceeds this size.
+     * Default: 0, means buffer is bounded by rows only.
+     * </p>
+     */
+    MERGE_PREFETCH_BYTES("merge.prefetch.bytes", String.valueOf(0), long.class),
+    
+    /**
+     * Max size of parsing result cache.
+     * 
+     * <p>
+     * Parsed SQL statements are cached by database type and logic SQL, and shared by all connections and statements of one sharding data source.
+     * Least recently used SQL statements will be evicted when the cache size exceeds this value.
+     * Set to 0 to disable parsing result cache.
+     * Default: 1024
+     * </p>
+     */
+    PARSING_CACHE_SIZE("parsing.cache.size", String.valueOf(1024), int.class),
+    
+    /**
+     * Max size of route result cache.
+     * 
+     * <p>
+     * Routed SQL execution units are cached by logic SQL and parameters which are relevant to sharding, 
+     * routing and rewriting will be skipped when cache hit.
+     * Only enable it when sharding algorithms always return same result for same sharding values.
+     * Set to 0 to disable route result cache.
+     * Default: 0
+     * </p>
+     */
+    ROUTING_CACHE_SIZE("routing.cache.size", String.valueOf(0), int.class),
+    
+    /**
+     * Max size of actual prepared statements cached by each sharding prepared statement.
+     * 
+     * <p>
+     * Actual prepared statements are cached by actual connection and actual SQL, and reused when the sharding prepared statement is executed again.
+     * Least recently used actual prepared statements will be closed when the cache size exceeds this value.
+     * Set to 0 to prepare actual statements for every execution.
+     * Default: 64
+     * </p>
+     */
+    STATEMENT_CACHE_SIZE("statement.cache.size", String.valueOf(64), int.class),
+    
+    /**
+     * Enable or Disable to release actual connections lazily in auto commit mode.
+     * 
+     * <p>
+     * If enabled, actual connections are returned to their pools once no statement of the sharding connection holds them,
+     * a statement holds its actual connections until its result set is exhausted, it is executed again or it is closed.
+     * Connection state such as read only and transaction isolation is replayed when connections are acquired again.
+     * Default: false, actual connections are held until the sharding connection is closed.
+     * </p>
+     */
+    CONNECTION_RELEASE_ENABLED("connection.release.enabled", Boolean.FALSE.toString(), boolean.class),
+    
+    /**
+     * Enable or Disable to commit and rollback actual connections in parallel.
+     * 
+     * <p>
+     * If enabled, commit and rollback of actual connections are issued concurrently via execute pools of executor engine,
+     * exceptions of all actual connections are still thrown together after all of them are completed.
+     * Transaction with only one actual connection is always completed in caller thread.
+     * Default: false
+     * </p>
+     */
+    TRANSACTION_PARALLEL_ENABLED("transaction.parallel.enabled", Boolean.FALSE.toString(), boolean.class);
     
     private final String key;
     
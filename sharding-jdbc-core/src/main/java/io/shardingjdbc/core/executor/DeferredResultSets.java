@@ -0,0 +1,366 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.executor;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import io.shardingjdbc.core.exception.ShardingJdbcException;
+import io.shardingjdbc.core.executor.threadlocal.ExecutorExceptionHandler;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Result sets of submitted statements, which are waited only when they are retrieved.
+ * 
+ * <p>
+ * Result sets not retrieved can be released when no more rows are needed:
+ * statements not started will not be executed, statements in executing will be cancelled and result sets already returned will be closed.
+ * Result set returned after released is closed by the tracked execute callback.
+ * </p>
+ * 
+ * <p>
+ * Fetch size, fetch direction and warnings clearing are applied to retrieved result sets only, and replayed when others are retrieved.
+ * </p>
+ * 
+ * @author zhangliang
+ */
+public final class DeferredResultSets extends AbstractList<ResultSet> {
+    
+    private static final int NOT_STARTED = 0;
+    
+    private static final int EXECUTING = 1;
+    
+    private static final int FINISHED = 2;
+    
+    private static final int RELEASED = 3;
+    
+    private final List<Statement> statements;
+    
+    private final Map<BaseStatementUnit, Integer> unitIndexes;
+    
+    private final AtomicIntegerArray executionStates;
+    
+    private final AtomicReferenceArray<ResultSet> executedResultSets;
+    
+    private final ResultSet[] retrievedResultSets;
+    
+    private final boolean[] retrieved;
+    
+    private List<ListenableFuture<ResultSet>> futures;
+    
+    private int runningCount;
+    
+    private Integer fetchSize;
+    
+    private Integer fetchDirection;
+    
+    private boolean warningsCleared;
+    
+    public DeferredResultSets(final Collection<? extends BaseStatementUnit> baseStatementUnits) {
+        statements = new ArrayList<>(baseStatementUnits.size());
+        unitIndexes = new IdentityHashMap<>(baseStatementUnits.size());
+        for (BaseStatementUnit each : baseStatementUnits) {
+            unitIndexes.put(each, statements.size());
+            statements.add(each.getStatement());
+        }
+        executionStates = new AtomicIntegerArray(statements.size());
+        executedResultSets = new AtomicReferenceArray<>(statements.size());
+        retrievedResultSets = new ResultSet[statements.size()];
+        retrieved = new boolean[statements.size()];
+    }
+    
+    /**
+     * Track execution state of statements for query callback.
+     * 
+     * <p>
+     * Statement released before started is not executed, result set returned after released is closed.
+     * </p>
+     * 
+     * @param executeCallback query callback to be tracked
+     * @return tracked query callback
+     */
+    public ExecuteCallback<ResultSet> track(final ExecuteCallback<ResultSet> executeCallback) {
+        return new ExecuteCallback<ResultSet>() {
+            
+            @Override
+            public ResultSet execute(final BaseStatementUnit baseStatementUnit) throws Exception {
+                int index = unitIndexes.get(baseStatementUnit);
+                startRunning();
+                try {
+                    return executeTracked(index, baseStatementUnit);
+                } finally {
+                    stopRunning();
+                }
+            }
+            
+            private ResultSet executeTracked(final int index, final BaseStatementUnit baseStatementUnit) throws Exception {
+                if (!executionStates.compareAndSet(index, NOT_STARTED, EXECUTING)) {
+                    return null;
+                }
+                ResultSet result;
+                try {
+                    result = executeCallback.execute(baseStatementUnit);
+                } catch (final SQLException ex) {
+                    if (!executionStates.compareAndSet(index, EXECUTING, FINISHED)) {
+                        return null;
+                    }
+                    throw ex;
+                }
+                executedResultSets.set(index, result);
+                if (executionStates.compareAndSet(index, EXECUTING, FINISHED)) {
+                    return result;
+                }
+                if (null != result) {
+                    result.close();
+                }
+                return null;
+            }
+        };
+    }
+    
+    private synchronized void startRunning() {
+        runningCount++;
+    }
+    
+    private synchronized void stopRunning() {
+        runningCount--;
+        if (0 == runningCount) {
+            notifyAll();
+        }
+    }
+    
+    private synchronized void awaitRunning() {
+        boolean interrupted = false;
+        while (runningCount > 0) {
+            try {
+                wait();
+            } catch (final InterruptedException ex) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    /**
+     * Set futures of submitted statements.
+     * 
+     * @param futures futures of submitted statements, same order with statement units
+     */
+    public void setFutures(final List<ListenableFuture<ResultSet>> futures) {
+        this.futures = futures;
+    }
+    
+    @Override
+    public ResultSet get(final int index) {
+        if (retrieved[index]) {
+            return retrievedResultSets[index];
+        }
+        retrieved[index] = true;
+        try {
+            retrievedResultSets[index] = futures.get(index).get();
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ShardingJdbcException(ex);
+        } catch (final ExecutionException ex) {
+            ExecutorExceptionHandler.handleException(ex.getCause() instanceof Exception ? (Exception) ex.getCause() : ex);
+        }
+        if (null != retrievedResultSets[index]) {
+            replayResultSetState(retrievedResultSets[index]);
+        }
+        return retrievedResultSets[index];
+    }
+    
+    private void replayResultSetState(final ResultSet resultSet) {
+        try {
+            if (null != fetchSize) {
+                resultSet.setFetchSize(fetchSize);
+            }
+            if (null != fetchDirection) {
+                resultSet.setFetchDirection(fetchDirection);
+            }
+            if (warningsCleared) {
+                resultSet.clearWarnings();
+            }
+        } catch (final SQLException ex) {
+            throw new ShardingJdbcException(ex);
+        }
+    }
+    
+    @Override
+    public int size() {
+        return statements.size();
+    }
+    
+    /**
+     * Set fetch size for retrieved result sets and result sets to be retrieved.
+     * 
+     * @param rows fetch size
+     * @throws SQLException SQL exception
+     */
+    public void setFetchSize(final int rows) throws SQLException {
+        fetchSize = rows;
+        Collection<SQLException> exceptions = new LinkedList<>();
+        for (ResultSet each : retrievedResultSets) {
+            if (null == each) {
+                continue;
+            }
+            try {
+                each.setFetchSize(rows);
+            } catch (final SQLException ex) {
+                exceptions.add(ex);
+            }
+        }
+        throwSQLExceptionIfNecessary(exceptions);
+    }
+    
+    /**
+     * Set fetch direction for retrieved result sets and result sets to be retrieved.
+     * 
+     * @param direction fetch direction
+     * @throws SQLException SQL exception
+     */
+    public void setFetchDirection(final int direction) throws SQLException {
+        fetchDirection = direction;
+        Collection<SQLException> exceptions = new LinkedList<>();
+        for (ResultSet each : retrievedResultSets) {
+            if (null == each) {
+                continue;
+            }
+            try {
+                each.setFetchDirection(direction);
+            } catch (final SQLException ex) {
+                exceptions.add(ex);
+            }
+        }
+        throwSQLExceptionIfNecessary(exceptions);
+    }
+    
+    /**
+     * Clear warnings of retrieved result sets and result sets to be retrieved.
+     * 
+     * @throws SQLException SQL exception
+     */
+    public void clearWarnings() throws SQLException {
+        warningsCleared = true;
+        Collection<SQLException> exceptions = new LinkedList<>();
+        for (ResultSet each : retrievedResultSets) {
+            if (null == each) {
+                continue;
+            }
+            try {
+                each.clearWarnings();
+            } catch (final SQLException ex) {
+                exceptions.add(ex);
+            }
+        }
+        throwSQLExceptionIfNecessary(exceptions);
+    }
+    
+    /**
+     * Release result sets which are not retrieved.
+     * 
+     * @throws SQLException SQL exception
+     */
+    public void release() throws SQLException {
+        Collection<SQLException> exceptions = new LinkedList<>();
+        for (int i = 0; i < statements.size(); i++) {
+            if (retrieved[i]) {
+                continue;
+            }
+            retrieved[i] = true;
+            if (null != futures) {
+                futures.get(i).cancel(false);
+            }
+            try {
+                switch (executionStates.getAndSet(i, RELEASED)) {
+                    case EXECUTING:
+                        statements.get(i).cancel();
+                        break;
+                    case FINISHED:
+                        closeIfPresent(executedResultSets.get(i));
+                        break;
+                    default:
+                        break;
+                }
+            } catch (final SQLException ex) {
+                exceptions.add(ex);
+            }
+        }
+        throwSQLExceptionIfNecessary(exceptions);
+    }
+    
+    private void closeIfPresent(final ResultSet resultSet) throws SQLException {
+        if (null != resultSet) {
+            resultSet.close();
+        }
+    }
+    
+    /**
+     * Release result sets which are not retrieved and close retrieved result sets.
+     * 
+     * <p>
+     * Wait until no statement is executing in submitted task, then statements and their connections can be reused.
+     * </p>
+     * 
+     * @throws SQLException SQL exception
+     */
+    public void close() throws SQLException {
+        Collection<SQLException> exceptions = new LinkedList<>();
+        try {
+            release();
+        } catch (final SQLException ex) {
+            exceptions.add(ex);
+        }
+        awaitRunning();
+        for (ResultSet each : retrievedResultSets) {
+            if (null == each) {
+                continue;
+            }
+            try {
+                each.close();
+            } catch (final SQLException ex) {
+                exceptions.add(ex);
+            }
+        }
+        throwSQLExceptionIfNecessary(exceptions);
+    }
+    
+    private void throwSQLExceptionIfNecessary(final Collection<SQLException> exceptions) throws SQLException {
+        if (exceptions.isEmpty()) {
+            return;
+        }
+        SQLException ex = new SQLException();
+        for (SQLException each : exceptions) {
+            ex.setNextException(each);
+        }
+        throw ex;
+    }
+}
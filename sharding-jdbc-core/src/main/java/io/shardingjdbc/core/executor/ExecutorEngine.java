@@ -18,13 +18,12 @@
 package io.shardingjdbc.core.executor;
 
 import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.ListeningExecutorService;
-import com.google.common.util.concurrent.MoreExecutors;
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.SettableFuture;
 import io.shardingjdbc.core.constant.SQLType;
-import io.shardingjdbc.core.exception.ShardingJdbcException;
 import io.shardingjdbc.core.executor.event.AbstractExecutionEvent;
 import io.shardingjdbc.core.executor.event.DMLExecutionEvent;
 import io.shardingjdbc.core.executor.event.DQLExecutionEvent;
@@ -35,21 +34,28 @@ import io.shardingjdbc.core.executor.threadlocal.ExecutorExceptionHandler;
 import io.shardingjdbc.core.executor.type.batch.BatchPreparedStatementUnit;
 import io.shardingjdbc.core.executor.type.prepared.PreparedStatementUnit;
 import io.shardingjdbc.core.executor.type.statement.StatementUnit;
+import io.shardingjdbc.core.routing.SQLExecutionUnit;
 import io.shardingjdbc.core.util.EventBusInstance;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
+import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.concurrent.Callable;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * SQL execute engine.
@@ -60,12 +66,140 @@ import java.util.concurrent.TimeUnit;
 @Slf4j
 public final class ExecutorEngine implements AutoCloseable {
     
-    private final ListeningExecutorService executorService;
+    private static final String DEFAULT_POOL_NAME = "default";
+    
+    @Getter
+    private final ExecutorEngineConfiguration configuration;
+    
+    private final ExecutorPool defaultPool;
+    
+    private final ConcurrentMap<String, ExecutorPool> dataSourcePools = new ConcurrentHashMap<>();
     
     public ExecutorEngine(final int executorSize) {
-        executorService = MoreExecutors.listeningDecorator(new ThreadPoolExecutor(
-                executorSize, executorSize, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>(), new ThreadFactoryBuilder().setDaemon(true).setNameFormat("ShardingJDBC-%d").build()));
-        MoreExecutors.addDelayedShutdownHook(executorService, 60, TimeUnit.SECONDS);
+        this(new ExecutorEngineConfiguration(executorSize));
+    }
+    
+    public ExecutorEngine(final ExecutorEngineConfiguration configuration) {
+        this.configuration = configuration;
+        defaultPool = new ExecutorPool(DEFAULT_POOL_NAME, "ShardingJDBC-%d", configuration.getExecutorSize(), configuration.getQueueSize(), configuration.getRejectionPolicy());
+    }
+    
+    /**
+     * Get status of all executor pools.
+     * 
+     * <p>
+     * Key is {@code default} for default pool, and data source name for pools isolated by data source.
+     * </p>
+     * 
+     * @return executor pool status map
+     */
+    public Map<String, ExecutorPoolStatus> getPoolStatuses() {
+        Map<String, ExecutorPoolStatus> result = new LinkedHashMap<>(dataSourcePools.size() + 1, 1);
+        result.put(DEFAULT_POOL_NAME, defaultPool.getStatus());
+        for (Entry<String, ExecutorPool> entry : dataSourcePools.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().getStatus());
+        }
+        return result;
+    }
+    
+    /**
+     * Submit task which prefetches rows of result set.
+     * 
+     * <p>
+     * Prefetch task runs on default execute pool and must never block for buffer space.
+     * Prefetch task is executed in caller thread if it is rejected by execute pool.
+     * </p>
+     * 
+     * @param prefetchTask prefetch task
+     */
+    public void submitPrefetchTask(final Runnable prefetchTask) {
+        ListeningExecutorService executorService = defaultPool.getExecutorService();
+        if (executorService.isShutdown()) {
+            prefetchTask.run();
+            return;
+        }
+        try {
+            executorService.execute(prefetchTask);
+        } catch (final RejectedExecutionException ex) {
+            prefetchTask.run();
+        }
+    }
+    
+    /**
+     * Execute transaction tasks of actual connections concurrently, eg: commit or rollback.
+     * 
+     * <p>
+     * First task is executed in caller thread, others are executed in execute pools of their data sources.
+     * Tasks rejected by execute pools are executed in caller thread too, transaction tasks are never discarded.
+     * All tasks are completed before return even if some of them failed.
+     * </p>
+     * 
+     * @param dataSourceNames data source names of tasks
+     * @param tasks transaction tasks
+     * @return exceptions thrown by tasks
+     */
+    public Collection<SQLException> executeTransaction(final List<String> dataSourceNames, final List<Callable<Void>> tasks) {
+        Collection<SQLException> result = new LinkedList<>();
+        if (tasks.isEmpty()) {
+            return result;
+        }
+        List<Callable<Void>> callerTasks = new LinkedList<>();
+        callerTasks.add(tasks.get(0));
+        List<ListenableFuture<Void>> restFutures = new LinkedList<>();
+        for (int i = 1; i < tasks.size(); i++) {
+            try {
+                restFutures.add(getExecutorService(dataSourceNames.get(i)).submit(tasks.get(i)));
+            } catch (final RejectedExecutionException ex) {
+                callerTasks.add(tasks.get(i));
+            }
+        }
+        for (Callable<Void> each : callerTasks) {
+            try {
+                each.call();
+                //CHECKSTYLE:OFF
+            } catch (final Exception ex) {
+                //CHECKSTYLE:ON
+                result.add(ex instanceof SQLException ? (SQLException) ex : new SQLException(ex));
+            }
+        }
+        for (ListenableFuture<Void> each : restFutures) {
+            try {
+                each.get();
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                result.add(new SQLException(ex));
+            } catch (final ExecutionException ex) {
+                result.add(ex.getCause() instanceof SQLException ? (SQLException) ex.getCause() : new SQLException(ex.getCause()));
+            }
+        }
+        return result;
+    }
+    
+    private ListeningExecutorService getExecutorService(final String dataSourceName) {
+        if (!configuration.isIsolatedByDataSource()) {
+            return defaultPool.getExecutorService();
+        }
+        ExecutorPool result = dataSourcePools.get(dataSourceName);
+        if (null != result) {
+            return result.getExecutorService();
+        }
+        synchronized (dataSourcePools) {
+            result = dataSourcePools.get(dataSourceName);
+            if (null == result) {
+                result = new ExecutorPool(dataSourceName, "ShardingJDBC-" + dataSourceName.replace("%", "%%") + "-%d", 
+                        configuration.getExecutorSizePerDataSource(), configuration.getQueueSize(), configuration.getRejectionPolicy());
+                dataSourcePools.put(dataSourceName, result);
+            }
+            return result.getExecutorService();
+        }
+    }
+    
+    private <T> List<ListenableFuture<T>> submit(final List<String> dataSourceNames, final List<Callable<T>> tasks, final int maxInFlight) {
+        List<ListeningExecutorService> executorServices = new ArrayList<>(dataSourceNames.size());
+        for (String each : dataSourceNames) {
+            executorServices.add(getExecutorService(each));
+        }
+        return new ThrottledTaskSubmitter<>(executorServices, tasks, maxInFlight).submit();
     }
     
     /**
@@ -110,6 +244,111 @@ public final class ExecutorEngine implements AutoCloseable {
         return execute(sqlType, batchPreparedStatementUnits, parameterSets, executeCallback);
     }
     
+    /**
+     * Execute statement asynchronously.
+     * 
+     * <p>
+     * Execute units of same physical connection serially in one task, caller thread does not wait for execution,
+     * execute units of different connections in parallel.
+     * Each unit locks its physical connection while executing, same as synchronous execution.
+     * </p>
+     * 
+     * @param sqlType SQL type
+     * @param statementUnits statement execute unit
+     * @param executeCallback statement execute callback
+     * @param <T> class type of return value
+     * @return future of execute result
+     * @throws SQLException SQL exception
+     */
+    public <T> ListenableFuture<List<T>> executeStatementAsync(
+            final SQLType sqlType, final Collection<StatementUnit> statementUnits, final ExecuteCallback<T> executeCallback) throws SQLException {
+        return executeAsync(sqlType, statementUnits, Collections.<List<Object>>emptyList(), executeCallback);
+    }
+    
+    /**
+     * Execute prepared statement asynchronously.
+     * 
+     * <p>
+     * Execute units of same physical connection serially in one task, caller thread does not wait for execution,
+     * execute units of different connections in parallel.
+     * Each unit locks its physical connection while executing, same as synchronous execution.
+     * </p>
+     * 
+     * @param sqlType SQL type
+     * @param preparedStatementUnits prepared statement execute unit
+     * @param parameters parameters for SQL placeholder
+     * @param executeCallback prepared statement execute callback
+     * @param <T> class type of return value
+     * @return future of execute result
+     * @throws SQLException SQL exception
+     */
+    public <T> ListenableFuture<List<T>> executePreparedStatementAsync(final SQLType sqlType, 
+            final Collection<PreparedStatementUnit> preparedStatementUnits, final List<Object> parameters, final ExecuteCallback<T> executeCallback) throws SQLException {
+        return executeAsync(sqlType, preparedStatementUnits, Collections.singletonList(parameters), executeCallback);
+    }
+    
+    /**
+     * Submit statement without waiting for execute results.
+     * 
+     * <p>
+     * Results can be fetched from futures one by one, cancelled future will not be executed if it is not started yet.
+     * </p>
+     * 
+     * @param sqlType SQL type
+     * @param statementUnits statement execute unit
+     * @param executeCallback statement execute callback
+     * @param <T> class type of return value
+     * @return futures of execute results, same order with statement units
+     */
+    public <T> List<ListenableFuture<T>> submitStatement(final SQLType sqlType, final Collection<StatementUnit> statementUnits, final ExecuteCallback<T> executeCallback) {
+        return submit(sqlType, statementUnits, Collections.<List<Object>>emptyList(), executeCallback);
+    }
+    
+    /**
+     * Submit prepared statement without waiting for execute results.
+     * 
+     * <p>
+     * Results can be fetched from futures one by one, cancelled future will not be executed if it is not started yet.
+     * </p>
+     * 
+     * @param sqlType SQL type
+     * @param preparedStatementUnits prepared statement execute unit
+     * @param parameters parameters for SQL placeholder
+     * @param executeCallback prepared statement execute callback
+     * @param <T> class type of return value
+     * @return futures of execute results, same order with prepared statement units
+     */
+    public <T> List<ListenableFuture<T>> submitPreparedStatement(
+            final SQLType sqlType, final Collection<PreparedStatementUnit> preparedStatementUnits, final List<Object> parameters, final ExecuteCallback<T> executeCallback) {
+        return submit(sqlType, preparedStatementUnits, Collections.singletonList(parameters), executeCallback);
+    }
+    
+    private <T> List<ListenableFuture<T>> submit(
+            final SQLType sqlType, final Collection<? extends BaseStatementUnit> baseStatementUnits, final List<List<Object>> parameterSets, final ExecuteCallback<T> executeCallback) {
+        if (baseStatementUnits.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final OverallExecutionEvent event = new OverallExecutionEvent(sqlType, baseStatementUnits.size());
+        EventBusInstance.getInstance().post(event);
+        List<ListenableFuture<T>> result = submitUnits(sqlType, baseStatementUnits, parameterSets, executeCallback, configuration.getMaxInFlightPerQuery());
+        Futures.addCallback(Futures.successfulAsList(result), new FutureCallback<List<T>>() {
+            
+            @Override
+            public void onSuccess(final List<T> outputs) {
+                event.setEventExecutionType(EventExecutionType.EXECUTE_SUCCESS);
+                EventBusInstance.getInstance().post(event);
+            }
+            
+            @Override
+            public void onFailure(final Throwable throwable) {
+                event.setException(throwable instanceof Exception ? (Exception) throwable : new ExecutionException(throwable));
+                event.setEventExecutionType(EventExecutionType.EXECUTE_FAILURE);
+                EventBusInstance.getInstance().post(event);
+            }
+        });
+        return result;
+    }
+    
     private  <T> List<T> execute(
             final SQLType sqlType, final Collection<? extends BaseStatementUnit> baseStatementUnits, final List<List<Object>> parameterSets, final ExecuteCallback<T> executeCallback) {
         if (baseStatementUnits.isEmpty()) {
@@ -119,12 +358,14 @@ public final class ExecutorEngine implements AutoCloseable {
         EventBusInstance.getInstance().post(event);
         Iterator<? extends BaseStatementUnit> iterator = baseStatementUnits.iterator();
         BaseStatementUnit firstInput = iterator.next();
-        ListenableFuture<List<T>> restFutures = asyncExecute(sqlType, Lists.newArrayList(iterator), parameterSets, executeCallback);
+        List<BaseStatementUnit> restInputs = Lists.newArrayList(iterator);
+        boolean isSerial = 1 == configuration.getMaxInFlightPerQuery();
+        ListenableFuture<List<T>> restFutures = isSerial ? null : asyncExecute(sqlType, restInputs, parameterSets, executeCallback, configuration.getMaxInFlightPerQuery() - 1);
         T firstOutput;
         List<T> restOutputs;
         try {
             firstOutput = syncExecute(sqlType, firstInput, parameterSets, executeCallback);
-            restOutputs = restFutures.get();
+            restOutputs = isSerial ? syncExecute(sqlType, restInputs, parameterSets, executeCallback) : restFutures.get();
             //CHECKSTYLE:OFF
         } catch (final Exception ex) {
             //CHECKSTYLE:ON
@@ -141,21 +382,105 @@ public final class ExecutorEngine implements AutoCloseable {
         return result;
     }
     
-    private <T> ListenableFuture<List<T>> asyncExecute(
-            final SQLType sqlType, final Collection<BaseStatementUnit> baseStatementUnits, final List<List<Object>> parameterSets, final ExecuteCallback<T> executeCallback) {
-        List<ListenableFuture<T>> result = new ArrayList<>(baseStatementUnits.size());
+    private <T> ListenableFuture<List<T>> asyncExecute(final SQLType sqlType, 
+            final Collection<BaseStatementUnit> baseStatementUnits, final List<List<Object>> parameterSets, final ExecuteCallback<T> executeCallback, final int maxInFlight) {
+        return Futures.allAsList(submitUnits(sqlType, baseStatementUnits, parameterSets, executeCallback, maxInFlight));
+    }
+    
+    private <T> List<ListenableFuture<T>> submitUnits(final SQLType sqlType, 
+            final Collection<? extends BaseStatementUnit> baseStatementUnits, final List<List<Object>> parameterSets, final ExecuteCallback<T> executeCallback, final int maxInFlight) {
+        List<String> dataSourceNames = new ArrayList<>(baseStatementUnits.size());
+        List<Callable<T>> tasks = new ArrayList<>(baseStatementUnits.size());
         final boolean isExceptionThrown = ExecutorExceptionHandler.isExceptionThrown();
         final Map<String, Object> dataMap = ExecutorDataMap.getDataMap();
         for (final BaseStatementUnit each : baseStatementUnits) {
-            result.add(executorService.submit(new Callable<T>() {
+            dataSourceNames.add(each.getSqlExecutionUnit().getDataSource());
+            tasks.add(new Callable<T>() {
                 
                 @Override
                 public T call() throws Exception {
                     return executeInternal(sqlType, each, parameterSets, executeCallback, isExceptionThrown, dataMap);
                 }
-            }));
+            });
         }
-        return Futures.allAsList(result);
+        return submit(dataSourceNames, tasks, maxInFlight);
+    }
+    
+    private <T> ListenableFuture<List<T>> executeAsync(final SQLType sqlType, 
+            final Collection<? extends BaseStatementUnit> baseStatementUnits, final List<List<Object>> parameterSets, final ExecuteCallback<T> executeCallback) throws SQLException {
+        if (baseStatementUnits.isEmpty()) {
+            return Futures.immediateFuture(Collections.<T>emptyList());
+        }
+        final OverallExecutionEvent event = new OverallExecutionEvent(sqlType, baseStatementUnits.size());
+        EventBusInstance.getInstance().post(event);
+        final List<BaseStatementUnit> statementUnits = new ArrayList<>(baseStatementUnits);
+        final Map<Connection, List<Integer>> unitIndexesGroup = groupUnitIndexesByConnection(statementUnits);
+        final boolean isExceptionThrown = ExecutorExceptionHandler.isExceptionThrown();
+        final Map<String, Object> dataMap = ExecutorDataMap.getDataMap();
+        List<String> dataSourceNames = new ArrayList<>(unitIndexesGroup.size());
+        List<Callable<List<T>>> groupTasks = new ArrayList<>(unitIndexesGroup.size());
+        for (final List<Integer> each : unitIndexesGroup.values()) {
+            dataSourceNames.add(statementUnits.get(each.get(0)).getSqlExecutionUnit().getDataSource());
+            groupTasks.add(new Callable<List<T>>() {
+                
+                @Override
+                public List<T> call() throws Exception {
+                    List<T> result = new ArrayList<>(each.size());
+                    for (int index : each) {
+                        result.add(executeInternal(sqlType, statementUnits.get(index), parameterSets, executeCallback, isExceptionThrown, dataMap));
+                    }
+                    return result;
+                }
+            });
+        }
+        final SettableFuture<List<T>> result = SettableFuture.create();
+        Futures.addCallback(Futures.allAsList(submit(dataSourceNames, groupTasks, configuration.getMaxInFlightPerQuery())), new FutureCallback<List<List<T>>>() {
+            
+            @Override
+            public void onSuccess(final List<List<T>> groupOutputs) {
+                List<T> outputs = new ArrayList<>(Collections.<T>nCopies(statementUnits.size(), null));
+                Iterator<List<Integer>> unitIndexes = unitIndexesGroup.values().iterator();
+                for (List<T> each : groupOutputs) {
+                    Iterator<Integer> indexes = unitIndexes.next().iterator();
+                    for (T output : each) {
+                        outputs.set(indexes.next(), output);
+                    }
+                }
+                event.setEventExecutionType(EventExecutionType.EXECUTE_SUCCESS);
+                EventBusInstance.getInstance().post(event);
+                result.set(outputs);
+            }
+            
+            @Override
+            public void onFailure(final Throwable throwable) {
+                event.setException(throwable instanceof Exception ? (Exception) throwable : new ExecutionException(throwable));
+                event.setEventExecutionType(EventExecutionType.EXECUTE_FAILURE);
+                EventBusInstance.getInstance().post(event);
+                result.setException(throwable);
+            }
+        });
+        return result;
+    }
+    
+    private Map<Connection, List<Integer>> groupUnitIndexesByConnection(final List<BaseStatementUnit> statementUnits) throws SQLException {
+        Map<Connection, List<Integer>> result = new IdentityHashMap<>();
+        for (int i = 0; i < statementUnits.size(); i++) {
+            Connection connection = statementUnits.get(i).getStatement().getConnection();
+            if (!result.containsKey(connection)) {
+                result.put(connection, new LinkedList<Integer>());
+            }
+            result.get(connection).add(i);
+        }
+        return result;
+    }
+    
+    private <T> List<T> syncExecute(final SQLType sqlType, final List<BaseStatementUnit> baseStatementUnits, final List<List<Object>> parameterSets, 
+                                    final ExecuteCallback<T> executeCallback) throws Exception {
+        List<T> result = new ArrayList<>(baseStatementUnits.size());
+        for (BaseStatementUnit each : baseStatementUnits) {
+            result.add(syncExecute(sqlType, each, parameterSets, executeCallback));
+        }
+        return result;
     }
     
     private <T> T syncExecute(final SQLType sqlType, final BaseStatementUnit baseStatementUnit, final List<List<Object>> parameterSets, final ExecuteCallback<T> executeCallback) throws Exception {
@@ -165,57 +490,59 @@ public final class ExecutorEngine implements AutoCloseable {
     private <T> T executeInternal(final SQLType sqlType, final BaseStatementUnit baseStatementUnit, final List<List<Object>> parameterSets, final ExecuteCallback<T> executeCallback, 
                           final boolean isExceptionThrown, final Map<String, Object> dataMap) throws Exception {
         synchronized (baseStatementUnit.getStatement().getConnection()) {
-            T result;
-            ExecutorExceptionHandler.setExceptionThrown(isExceptionThrown);
-            ExecutorDataMap.setDataMap(dataMap);
-            List<AbstractExecutionEvent> events = new LinkedList<>();
-            if (parameterSets.isEmpty()) {
-                events.add(getExecutionEvent(sqlType, baseStatementUnit, Collections.emptyList()));
-            }
-            for (List<Object> each : parameterSets) {
-                events.add(getExecutionEvent(sqlType, baseStatementUnit, each));
-            }
-            for (AbstractExecutionEvent event : events) {
-                EventBusInstance.getInstance().post(event);
-            }
-            try {
-                result = executeCallback.execute(baseStatementUnit);
-            } catch (final SQLException ex) {
-                for (AbstractExecutionEvent each : events) {
-                    each.setEventExecutionType(EventExecutionType.EXECUTE_FAILURE);
-                    each.setException(ex);
-                    EventBusInstance.getInstance().post(each);
-                    ExecutorExceptionHandler.handleException(ex);
-                }
-                return null;
-            }
+            return executeUnit(sqlType, baseStatementUnit, parameterSets, executeCallback, isExceptionThrown, dataMap);
+        }
+    }
+    
+    private <T> T executeUnit(final SQLType sqlType, final BaseStatementUnit baseStatementUnit, final List<List<Object>> parameterSets, final ExecuteCallback<T> executeCallback,
+                              final boolean isExceptionThrown, final Map<String, Object> dataMap) throws Exception {
+        T result;
+        ExecutorExceptionHandler.setExceptionThrown(isExceptionThrown);
+        ExecutorDataMap.setDataMap(dataMap);
+        List<AbstractExecutionEvent> events = new LinkedList<>();
+        if (parameterSets.isEmpty()) {
+            events.add(getExecutionEvent(sqlType, baseStatementUnit, Collections.emptyList()));
+        }
+        for (List<Object> each : parameterSets) {
+            events.add(getExecutionEvent(sqlType, baseStatementUnit, each));
+        }
+        for (AbstractExecutionEvent event : events) {
+            EventBusInstance.getInstance().post(event);
+        }
+        try {
+            result = executeCallback.execute(baseStatementUnit);
+        } catch (final SQLException ex) {
             for (AbstractExecutionEvent each : events) {
-                each.setEventExecutionType(EventExecutionType.EXECUTE_SUCCESS);
+                each.setEventExecutionType(EventExecutionType.EXECUTE_FAILURE);
+                each.setException(ex);
                 EventBusInstance.getInstance().post(each);
+                ExecutorExceptionHandler.handleException(ex);
             }
-            return result;
+            return null;
         }
+        for (AbstractExecutionEvent each : events) {
+            each.setEventExecutionType(EventExecutionType.EXECUTE_SUCCESS);
+            EventBusInstance.getInstance().post(each);
+        }
+        return result;
     }
     
     private AbstractExecutionEvent getExecutionEvent(final SQLType sqlType, final BaseStatementUnit baseStatementUnit, final List<Object> parameters) {
         AbstractExecutionEvent result;
+        SQLExecutionUnit sqlExecutionUnit = baseStatementUnit.getSqlExecutionUnit();
         if (SQLType.DQL == sqlType) {
-            result = new DQLExecutionEvent(baseStatementUnit.getSqlExecutionUnit().getDataSource(), baseStatementUnit.getSqlExecutionUnit().getSql(), parameters);
+            result = new DQLExecutionEvent(sqlExecutionUnit.getDataSource(), sqlExecutionUnit.getSql(), sqlExecutionUnit.getParameters(parameters));
         } else {
-            result = new DMLExecutionEvent(baseStatementUnit.getSqlExecutionUnit().getDataSource(), baseStatementUnit.getSqlExecutionUnit().getSql(), parameters);
+            result = new DMLExecutionEvent(sqlExecutionUnit.getDataSource(), sqlExecutionUnit.getSql(), sqlExecutionUnit.getParameters(parameters));
         }
         return result;
     }
     
     @Override
     public void close() {
-        executorService.shutdownNow();
-        try {
-            executorService.awaitTermination(5, TimeUnit.SECONDS);
-        } catch (final InterruptedException ignored) {
-        }
-        if (!executorService.isTerminated()) {
-            throw new ShardingJdbcException("ExecutorEngine can not been terminated");
+        defaultPool.close();
+        for (ExecutorPool each : dataSourcePools.values()) {
+            each.close();
         }
     }
 }
@@ -0,0 +1,58 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.executor;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Executor engine configuration.
+ * 
+ * @author zhangliang
+ */
+@RequiredArgsConstructor
+@Getter
+@EqualsAndHashCode
+@ToString
+public final class ExecutorEngineConfiguration {
+    
+    private final int executorSize;
+    
+    private final int executorSizePerDataSource;
+    
+    private final int queueSize;
+    
+    private final ExecutorRejectionPolicy rejectionPolicy;
+    
+    private final int maxInFlightPerQuery;
+    
+    public ExecutorEngineConfiguration(final int executorSize) {
+        this(executorSize, 0, 0, ExecutorRejectionPolicy.CALLER_RUNS, 0);
+    }
+    
+    /**
+     * Judge is pool isolated by data source or not.
+     * 
+     * @return is pool isolated by data source or not
+     */
+    public boolean isIsolatedByDataSource() {
+        return executorSizePerDataSource > 0;
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.executor;
+
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.shardingjdbc.core.exception.ShardingJdbcException;
+import lombok.Getter;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Executor pool with bounded or unbounded queue.
+ * 
+ * @author zhangliang
+ */
+final class ExecutorPool implements AutoCloseable {
+    
+    private final String poolName;
+    
+    private final ThreadPoolExecutor threadPoolExecutor;
+    
+    @Getter
+    private final ListeningExecutorService executorService;
+    
+    private final AtomicLong rejectedTaskCount = new AtomicLong();
+    
+    private final Thread shutdownHook;
+    
+    ExecutorPool(final String poolName, final String threadNameFormat, final int poolSize, final int queueSize, final ExecutorRejectionPolicy rejectionPolicy) {
+        this.poolName = poolName;
+        BlockingQueue<Runnable> workQueue = queueSize > 0 ? new LinkedBlockingQueue<Runnable>(queueSize) : new LinkedBlockingQueue<Runnable>();
+        final RejectedExecutionHandler rejectedExecutionHandler = rejectionPolicy.createRejectedExecutionHandler();
+        threadPoolExecutor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS, workQueue, 
+                new ThreadFactoryBuilder().setDaemon(true).setNameFormat(threadNameFormat).build(), new RejectedExecutionHandler() {
+                    
+                    @Override
+                    public void rejectedExecution(final Runnable runnable, final ThreadPoolExecutor executor) {
+                        rejectedTaskCount.incrementAndGet();
+                        rejectedExecutionHandler.rejectedExecution(runnable, executor);
+                    }
+                });
+        executorService = MoreExecutors.listeningDecorator(threadPoolExecutor);
+        shutdownHook = createShutdownHook();
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+    
+    // hook is removed when pool closed, pools renewed with data sources should not leave hooks of closed pools in runtime
+    private Thread createShutdownHook() {
+        return new Thread(new Runnable() {
+            
+            @Override
+            public void run() {
+                executorService.shutdown();
+                try {
+                    executorService.awaitTermination(60, TimeUnit.SECONDS);
+                } catch (final InterruptedException ignored) {
+                }
+            }
+        }, "ShardingJDBC-ShutdownHook-" + poolName);
+    }
+    
+    /**
+     * Get status of this pool.
+     * 
+     * @return executor pool status
+     */
+    ExecutorPoolStatus getStatus() {
+        return new ExecutorPoolStatus(poolName, threadPoolExecutor.getPoolSize(), threadPoolExecutor.getActiveCount(), 
+                threadPoolExecutor.getQueue().size(), threadPoolExecutor.getQueue().remainingCapacity(), threadPoolExecutor.getCompletedTaskCount(), rejectedTaskCount.get());
+    }
+    
+    @Override
+    public void close() {
+        removeShutdownHook();
+        executorService.shutdownNow();
+        try {
+            executorService.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (final InterruptedException ignored) {
+        }
+        if (!executorService.isTerminated()) {
+            throw new ShardingJdbcException("ExecutorEngine can not been terminated");
+        }
+    }
+    
+    // hook cannot be removed while virtual machine is shutting down, it is running or finished then
+    private void removeShutdownHook() {
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (final IllegalStateException ignored) {
+        }
+    }
+}
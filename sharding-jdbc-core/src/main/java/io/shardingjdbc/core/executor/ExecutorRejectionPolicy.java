@@ -0,0 +1,72 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.executor;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Rejection policy when queue of executor pool is full.
+ * 
+ * @author zhangliang
+ */
+public enum ExecutorRejectionPolicy {
+    
+    /**
+     * Throw {@code RejectedExecutionException}, execution of the logic SQL fails.
+     */
+    ABORT {
+        
+        @Override
+        RejectedExecutionHandler createRejectedExecutionHandler() {
+            return new ThreadPoolExecutor.AbortPolicy();
+        }
+    },
+    
+    /**
+     * Execute rejected task in caller thread, which slows down the caller.
+     */
+    CALLER_RUNS {
+        
+        @Override
+        RejectedExecutionHandler createRejectedExecutionHandler() {
+            return new ThreadPoolExecutor.CallerRunsPolicy();
+        }
+    };
+    
+    abstract RejectedExecutionHandler createRejectedExecutionHandler();
+    
+    /**
+     * Get rejection policy from name, case insensitive.
+     * 
+     * @param name name of rejection policy
+     * @return rejection policy
+     * @throws IllegalArgumentException name is not a rejection policy
+     */
+    public static ExecutorRejectionPolicy valueFrom(final String name) {
+        String upperCaseName = name.trim().toUpperCase(Locale.ENGLISH);
+        for (ExecutorRejectionPolicy each : values()) {
+            if (each.name().equals(upperCaseName)) {
+                return each;
+            }
+        }
+        throw new IllegalArgumentException(String.format("Executor rejection policy '%s' is not supported, allowed values are %s.", name, Arrays.toString(values())));
+    }
+}
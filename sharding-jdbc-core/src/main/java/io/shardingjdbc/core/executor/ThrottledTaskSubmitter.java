@@ -0,0 +1,141 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.executor;
+
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Task submitter which limits in-flight tasks of one logic SQL.
+ * 
+ * <p>
+ * At most {@code maxInFlight} tasks are submitted at the beginning, next task is submitted when a submitted one is done.
+ * Caller and worker threads never block for waiting permits.
+ * </p>
+ * 
+ * <p>
+ * Cancelled task is never submitted if it is not submitted yet, and never started if it is still queued in executor.
+ * </p>
+ * 
+ * <p>
+ * Submissions are drained in a loop by the thread which requests submission first, 
+ * so inline completion (eg: caller runs policy) never recurses and future of task is completed before next task is submitted.
+ * </p>
+ * 
+ * @param <T> class type of task result
+ * 
+ * @author zhangliang
+ */
+final class ThrottledTaskSubmitter<T> {
+    
+    private final List<ListeningExecutorService> executorServices;
+    
+    private final List<Callable<T>> tasks;
+    
+    private final int maxInFlight;
+    
+    private final List<SettableFuture<T>> futures;
+    
+    private final AtomicInteger nextTaskIndex = new AtomicInteger();
+    
+    private final AtomicInteger pendingSubmitCount = new AtomicInteger();
+    
+    ThrottledTaskSubmitter(final List<ListeningExecutorService> executorServices, final List<Callable<T>> tasks, final int maxInFlight) {
+        this.executorServices = executorServices;
+        this.tasks = tasks;
+        this.maxInFlight = maxInFlight;
+        futures = new ArrayList<>(tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            futures.add(SettableFuture.<T>create());
+        }
+    }
+    
+    /**
+     * Submit tasks.
+     * 
+     * @return futures of tasks, same order with tasks
+     */
+    List<ListenableFuture<T>> submit() {
+        requestSubmit(maxInFlight > 0 ? Math.min(maxInFlight, tasks.size()) : tasks.size());
+        return new ArrayList<ListenableFuture<T>>(futures);
+    }
+    
+    private void requestSubmit(final int count) {
+        if (0 == count || 0 != pendingSubmitCount.getAndAdd(count)) {
+            return;
+        }
+        int remaining = count;
+        while (remaining > 0) {
+            submitNext();
+            remaining = pendingSubmitCount.decrementAndGet();
+        }
+    }
+    
+    private void submitNext() {
+        for (int index = nextTaskIndex.getAndIncrement(); index < tasks.size(); index = nextTaskIndex.getAndIncrement()) {
+            if (!futures.get(index).isCancelled() && trySubmit(index)) {
+                return;
+            }
+        }
+    }
+    
+    private boolean trySubmit(final int index) {
+        final SettableFuture<T> future = futures.get(index);
+        final ListenableFuture<T> submittedFuture;
+        try {
+            submittedFuture = executorServices.get(index).submit(tasks.get(index));
+        } catch (final RejectedExecutionException ex) {
+            future.setException(ex);
+            return false;
+        }
+        future.addListener(new Runnable() {
+            
+            @Override
+            public void run() {
+                if (future.isCancelled()) {
+                    submittedFuture.cancel(false);
+                }
+            }
+        }, MoreExecutors.directExecutor());
+        Futures.addCallback(submittedFuture, new FutureCallback<T>() {
+            
+            @Override
+            public void onSuccess(final T result) {
+                future.set(result);
+                requestSubmit(1);
+            }
+            
+            @Override
+            public void onFailure(final Throwable throwable) {
+                future.setException(throwable);
+                requestSubmit(1);
+            }
+        });
+        return true;
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.executor.type.paging;
+
+import com.google.common.base.Optional;
+import io.shardingjdbc.core.constant.DatabaseType;
+import io.shardingjdbc.core.constant.OrderType;
+import io.shardingjdbc.core.parsing.parser.context.OrderItem;
+import io.shardingjdbc.core.parsing.parser.context.limit.Limit;
+import io.shardingjdbc.core.parsing.parser.sql.dql.select.SelectStatement;
+import io.shardingjdbc.core.routing.DeepPagingUnit;
+import io.shardingjdbc.core.routing.SQLExecutionUnit;
+import io.shardingjdbc.core.util.SQLUtil;
+import lombok.RequiredArgsConstructor;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deep paging executor.
+ * 
+ * <p>
+ * Deep page is sought by sort key in three rounds instead of fetching {@code offset + rowCount} rows from every table unit:
+ * 1. Fetch keys at position {@code offset / n - 1} and {@code offset / n} of each table unit, the minimum (or maximum for descending) key at {@code offset / n} is boundary key;
+ * 2. Count rows by {@code COUNT(*)} between boundary key and key at {@code offset / n} for each table unit, so rows before boundary key of each table unit are known;
+ * 3. Fetch rows from position of boundary key of each table unit, only rows before offset need be skipped while merging.
+ * </p>
+ * 
+ * <p>
+ * Sort key must be integral number and keys at {@code offset / n - 1} and {@code offset / n} must be different, otherwise conventional paging should be used.
+ * </p>
+ * 
+ * @author zhangliang
+ */
+@RequiredArgsConstructor
+public final class DeepPagingExecutor {
+    
+    private final SelectStatement selectStatement;
+    
+    private final DatabaseType databaseType;
+    
+    private final List<DeepPagingUnit> deepPagingUnits;
+    
+    private final List<Object> parameters;
+    
+    /**
+     * Execute query.
+     * 
+     * <p>
+     * Offset of limit will be reset to rows count need be skipped while merging.
+     * </p>
+     * 
+     * @param queryCallback query callback
+     * @return result sets of each deep paging unit, absent if deep page cannot be sought by sort key
+     * @throws SQLException SQL exception
+     */
+    public Optional<List<ResultSet>> executeQuery(final DeepPagingQueryCallback queryCallback) throws SQLException {
+        Limit limit = selectStatement.getLimit();
+        int unitOffset = limit.getOffsetValue() / deepPagingUnits.size();
+        if (0 == unitOffset) {
+            return Optional.absent();
+        }
+        Optional<List<BigDecimal>> keys = queryKeys(queryCallback, unitOffset);
+        if (!keys.isPresent()) {
+            return Optional.absent();
+        }
+        Optional<int[]> unitOffsets = queryUnitOffsets(queryCallback, keys.get(), unitOffset);
+        if (!unitOffsets.isPresent()) {
+            return Optional.absent();
+        }
+        int skippedCount = limit.getOffsetValue();
+        for (int each : unitOffsets.get()) {
+            skippedCount -= each;
+        }
+        List<SQLExecutionUnit> sqlExecutionUnits = new ArrayList<>(deepPagingUnits.size());
+        List<List<Object>> parameterSets = new ArrayList<>(deepPagingUnits.size());
+        for (int i = 0; i < deepPagingUnits.size(); i++) {
+            sqlExecutionUnits.add(deepPagingUnits.get(i).generateSQLExecutionUnit(unitOffsets.get()[i], skippedCount + limit.getRowCountValue(), ""));
+            parameterSets.add(createParameters(unitOffsets.get()[i], skippedCount + limit.getRowCountValue()));
+        }
+        List<ResultSet> result = queryCallback.executeQuery(sqlExecutionUnits, parameterSets);
+        limit.getOffset().setValue(skippedCount);
+        return Optional.of(result);
+    }
+    
+    // keys at position unit offset of each unit, absent if any key is not integral or same with previous one
+    private Optional<List<BigDecimal>> queryKeys(final DeepPagingQueryCallback queryCallback, final int unitOffset) throws SQLException {
+        List<SQLExecutionUnit> sqlExecutionUnits = new ArrayList<>(deepPagingUnits.size());
+        List<List<Object>> parameterSets = new ArrayList<>(deepPagingUnits.size());
+        for (DeepPagingUnit each : deepPagingUnits) {
+            sqlExecutionUnits.add(each.generateSQLExecutionUnit(unitOffset - 1, 2, ""));
+            parameterSets.add(createParameters(unitOffset - 1, 2));
+        }
+        List<BigDecimal> result = new ArrayList<>(deepPagingUnits.size());
+        String columnLabel = getOrderItem().getColumnLabel();
+        for (ResultSet each : queryCallback.executeQuery(sqlExecutionUnits, parameterSets)) {
+            if (null == each) {
+                return Optional.absent();
+            }
+            try {
+                Optional<BigDecimal> previousKey = each.next() ? getKey(each.getObject(columnLabel)) : Optional.<BigDecimal>absent();
+                Optional<BigDecimal> key = previousKey.isPresent() && each.next() ? getKey(each.getObject(columnLabel)) : Optional.<BigDecimal>absent();
+                if (!key.isPresent() || 0 == key.get().compareTo(previousKey.get())) {
+                    return Optional.absent();
+                }
+                result.add(key.get());
+            } finally {
+                each.close();
+            }
+        }
+        return Optional.of(result);
+    }
+    
+    private Optional<BigDecimal> getKey(final Object value) {
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return Optional.of(BigDecimal.valueOf(((Number) value).longValue()));
+        }
+        if (value instanceof BigInteger) {
+            return Optional.of(new BigDecimal((BigInteger) value));
+        }
+        if (value instanceof BigDecimal && ((BigDecimal) value).stripTrailingZeros().scale() <= 0) {
+            return Optional.of((BigDecimal) value);
+        }
+        return Optional.absent();
+    }
+    
+    // rows before boundary key of each unit, which are all before offset
+    private Optional<int[]> queryUnitOffsets(final DeepPagingQueryCallback queryCallback, final List<BigDecimal> keys, final int unitOffset) throws SQLException {
+        boolean isAsc = OrderType.ASC == getOrderItem().getType();
+        BigDecimal boundaryKey = keys.get(0);
+        for (BigDecimal each : keys) {
+            if (isAsc ? each.compareTo(boundaryKey) < 0 : each.compareTo(boundaryKey) > 0) {
+                boundaryKey = each;
+            }
+        }
+        int[] result = new int[deepPagingUnits.size()];
+        List<Integer> unitIndexes = new ArrayList<>(deepPagingUnits.size());
+        List<SQLExecutionUnit> sqlExecutionUnits = new ArrayList<>(deepPagingUnits.size());
+        List<List<Object>> parameterSets = new ArrayList<>(deepPagingUnits.size());
+        String column = getColumn();
+        for (int i = 0; i < deepPagingUnits.size(); i++) {
+            result[i] = unitOffset;
+            if (0 == keys.get(i).compareTo(boundaryKey)) {
+                continue;
+            }
+            String condition = String.format(isAsc ? "%s >= %s AND %s < %s" : "%s <= %s AND %s > %s", column, boundaryKey.toPlainString(), column, keys.get(i).toPlainString());
+            unitIndexes.add(i);
+            sqlExecutionUnits.add(deepPagingUnits.get(i).generateCountSQLExecutionUnit(0, unitOffset, condition));
+            parameterSets.add(createParameters(0, unitOffset));
+        }
+        if (sqlExecutionUnits.isEmpty()) {
+            return Optional.of(result);
+        }
+        int index = 0;
+        for (ResultSet each : queryCallback.executeQuery(sqlExecutionUnits, parameterSets)) {
+            int unitIndex = unitIndexes.get(index++);
+            if (null == each) {
+                return Optional.absent();
+            }
+            try {
+                if (each.next()) {
+                    result[unitIndex] -= each.getInt(1);
+                }
+            } finally {
+                each.close();
+            }
+        }
+        return Optional.of(result);
+    }
+    
+    private OrderItem getOrderItem() {
+        return selectStatement.getOrderByItems().get(0);
+    }
+    
+    private String getColumn() {
+        OrderItem orderItem = getOrderItem();
+        String name = SQLUtil.getOriginalValue(orderItem.getName().get(), databaseType);
+        return orderItem.getOwner().isPresent() ? SQLUtil.getOriginalValue(orderItem.getOwner().get(), databaseType) + "." + name : name;
+    }
+    
+    private List<Object> createParameters(final int offset, final int rowCount) {
+        List<Object> result = new ArrayList<>(parameters);
+        Limit limit = selectStatement.getLimit();
+        if (limit.getOffset().getIndex() > -1) {
+            result.set(limit.getOffset().getIndex(), offset);
+        }
+        if (limit.getRowCount().getIndex() > -1) {
+            result.set(limit.getRowCount().getIndex(), rowCount);
+        }
+        return result;
+    }
+}
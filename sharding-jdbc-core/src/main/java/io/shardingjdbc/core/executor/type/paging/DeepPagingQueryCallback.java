@@ -0,0 +1,42 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.executor.type.paging;
+
+import io.shardingjdbc.core.routing.SQLExecutionUnit;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Deep paging query callback interface.
+ * 
+ * @author zhangliang
+ */
+public interface DeepPagingQueryCallback {
+    
+    /**
+     * Execute query.
+     * 
+     * @param sqlExecutionUnits SQL execution units
+     * @param parameterSets parameters for each SQL execution unit
+     * @return result sets, order is same with SQL execution units
+     * @throws SQLException SQL exception
+     */
+    List<ResultSet> executeQuery(List<SQLExecutionUnit> sqlExecutionUnits, List<List<Object>> parameterSets) throws SQLException;
+}
@@ -17,14 +17,20 @@
 
 package io.shardingjdbc.core.executor.type.prepared;
 
+import com.google.common.base.Function;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import io.shardingjdbc.core.constant.SQLType;
 import io.shardingjdbc.core.executor.BaseStatementUnit;
+import io.shardingjdbc.core.executor.DeferredResultSets;
 import io.shardingjdbc.core.executor.ExecuteCallback;
 import io.shardingjdbc.core.executor.ExecutorEngine;
 import lombok.RequiredArgsConstructor;
 
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
@@ -51,13 +57,38 @@ public final class PreparedStatementExecutor {
      * @return result set list
      */
     public List<ResultSet> executeQuery() {
-        return executorEngine.executePreparedStatement(sqlType, preparedStatementUnits, parameters, new ExecuteCallback<ResultSet>() {
+        return executorEngine.executePreparedStatement(sqlType, preparedStatementUnits, parameters, createQueryCallback());
+    }
+    
+    /**
+     * Execute query asynchronously.
+     * 
+     * @return future of result set list
+     * @throws SQLException SQL exception
+     */
+    public ListenableFuture<List<ResultSet>> executeQueryAsync() throws SQLException {
+        return executorEngine.executePreparedStatementAsync(sqlType, preparedStatementUnits, parameters, createQueryCallback());
+    }
+    
+    /**
+     * Submit query without waiting for result sets.
+     * 
+     * @return result sets which are waited only when they are retrieved
+     */
+    public DeferredResultSets submitQuery() {
+        DeferredResultSets result = new DeferredResultSets(preparedStatementUnits);
+        result.setFutures(executorEngine.submitPreparedStatement(sqlType, preparedStatementUnits, new ArrayList<>(parameters), result.track(createQueryCallback())));
+        return result;
+    }
+    
+    private ExecuteCallback<ResultSet> createQueryCallback() {
+        return new ExecuteCallback<ResultSet>() {
             
             @Override
             public ResultSet execute(final BaseStatementUnit baseStatementUnit) throws Exception {
                 return ((PreparedStatement) baseStatementUnit.getStatement()).executeQuery();
             }
-        });
+        };
     }
     
     /**
@@ -66,14 +97,34 @@ public final class PreparedStatementExecutor {
      * @return effected records count
      */
     public int executeUpdate() {
-        List<Integer> results = executorEngine.executePreparedStatement(sqlType, preparedStatementUnits, parameters, new ExecuteCallback<Integer>() {
+        return accumulate(executorEngine.executePreparedStatement(sqlType, preparedStatementUnits, parameters, createUpdateCallback()));
+    }
+    
+    /**
+     * Execute update asynchronously.
+     * 
+     * @return future of effected records count
+     * @throws SQLException SQL exception
+     */
+    public ListenableFuture<Integer> executeUpdateAsync() throws SQLException {
+        ListenableFuture<List<Integer>> results = executorEngine.executePreparedStatementAsync(sqlType, preparedStatementUnits, parameters, createUpdateCallback());
+        return Futures.transform(results, new Function<List<Integer>, Integer>() {
+            
+            @Override
+            public Integer apply(final List<Integer> input) {
+                return accumulate(input);
+            }
+        });
+    }
+    
+    private ExecuteCallback<Integer> createUpdateCallback() {
+        return new ExecuteCallback<Integer>() {
             
             @Override
             public Integer execute(final BaseStatementUnit baseStatementUnit) throws Exception {
                 return ((PreparedStatement) baseStatementUnit.getStatement()).executeUpdate();
             }
-        });
-        return accumulate(results);
+        };
     }
     
     private int accumulate(final List<Integer> results) {
@@ -17,8 +17,12 @@
 
 package io.shardingjdbc.core.executor.type.statement;
 
+import com.google.common.base.Function;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import io.shardingjdbc.core.constant.SQLType;
 import io.shardingjdbc.core.executor.BaseStatementUnit;
+import io.shardingjdbc.core.executor.DeferredResultSets;
 import io.shardingjdbc.core.executor.ExecuteCallback;
 import io.shardingjdbc.core.executor.ExecutorEngine;
 import lombok.RequiredArgsConstructor;
@@ -51,13 +55,38 @@ public final class StatementExecutor {
      * @return result set list
      */
     public List<ResultSet> executeQuery() {
-        return executorEngine.executeStatement(sqlType, statementUnits, new ExecuteCallback<ResultSet>() {
+        return executorEngine.executeStatement(sqlType, statementUnits, createQueryCallback());
+    }
+    
+    /**
+     * Execute query asynchronously.
+     * 
+     * @return future of result set list
+     * @throws SQLException SQL exception
+     */
+    public ListenableFuture<List<ResultSet>> executeQueryAsync() throws SQLException {
+        return executorEngine.executeStatementAsync(sqlType, statementUnits, createQueryCallback());
+    }
+    
+    /**
+     * Submit query without waiting for result sets.
+     * 
+     * @return result sets which are waited only when they are retrieved
+     */
+    public DeferredResultSets submitQuery() {
+        DeferredResultSets result = new DeferredResultSets(statementUnits);
+        result.setFutures(executorEngine.submitStatement(sqlType, statementUnits, result.track(createQueryCallback())));
+        return result;
+    }
+    
+    private ExecuteCallback<ResultSet> createQueryCallback() {
+        return new ExecuteCallback<ResultSet>() {
             
             @Override
             public ResultSet execute(final BaseStatementUnit baseStatementUnit) throws Exception {
                 return baseStatementUnit.getStatement().executeQuery(baseStatementUnit.getSqlExecutionUnit().getSql());
             }
-        });
+        };
     }
     
     /**
@@ -124,14 +153,40 @@ public final class StatementExecutor {
     }
     
     private int executeUpdate(final Updater updater) {
-        List<Integer> results = executorEngine.executeStatement(sqlType, statementUnits, new ExecuteCallback<Integer>() {
+        return accumulate(executorEngine.executeStatement(sqlType, statementUnits, createUpdateCallback(updater)));
+    }
+    
+    /**
+     * Execute update asynchronously.
+     * 
+     * @return future of effected records count
+     * @throws SQLException SQL exception
+     */
+    public ListenableFuture<Integer> executeUpdateAsync() throws SQLException {
+        ListenableFuture<List<Integer>> results = executorEngine.executeStatementAsync(sqlType, statementUnits, createUpdateCallback(new Updater() {
+            
+            @Override
+            public int executeUpdate(final Statement statement, final String sql) throws SQLException {
+                return statement.executeUpdate(sql);
+            }
+        }));
+        return Futures.transform(results, new Function<List<Integer>, Integer>() {
+            
+            @Override
+            public Integer apply(final List<Integer> input) {
+                return accumulate(input);
+            }
+        });
+    }
+    
+    private ExecuteCallback<Integer> createUpdateCallback(final Updater updater) {
+        return new ExecuteCallback<Integer>() {
             
             @Override
             public Integer execute(final BaseStatementUnit baseStatementUnit) throws Exception {
                 return updater.executeUpdate(baseStatementUnit.getStatement(), baseStatementUnit.getSqlExecutionUnit().getSql());
             }
-        });
-        return accumulate(results);
+        };
     }
     
     private int accumulate(final List<Integer> results) {
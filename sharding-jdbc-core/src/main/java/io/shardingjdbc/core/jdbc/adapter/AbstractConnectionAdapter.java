@@ -17,6 +17,8 @@
 
 package io.shardingjdbc.core.jdbc.adapter;
 
+import com.google.common.base.Optional;
+import io.shardingjdbc.core.executor.ExecutorEngine;
 import io.shardingjdbc.core.jdbc.unsupported.AbstractUnsupportedOperationConnection;
 import lombok.Getter;
 
@@ -24,10 +26,14 @@ import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.SQLWarning;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.Callable;
 
 /**
  * Adapter for {@code Connection}.
@@ -39,6 +45,9 @@ public abstract class AbstractConnectionAdapter extends AbstractUnsupportedOpera
     @Getter
     private final Map<String, Connection> cachedConnections = new HashMap<>();
     
+    @Getter
+    private final Map<String, List<Connection>> cachedParallelConnections = new HashMap<>();
+    
     private boolean autoCommit = true;
     
     private boolean readOnly = true;
@@ -47,6 +56,12 @@ public abstract class AbstractConnectionAdapter extends AbstractUnsupportedOpera
     
     private int transactionIsolation = TRANSACTION_READ_UNCOMMITTED;
     
+    private boolean autoCommitChanged;
+    
+    private boolean readOnlyChanged;
+    
+    private boolean transactionIsolationChanged;
+    
     @Override
     public final boolean getAutoCommit() throws SQLException {
         return autoCommit;
@@ -55,43 +70,87 @@ public abstract class AbstractConnectionAdapter extends AbstractUnsupportedOpera
     @Override
     public final void setAutoCommit(final boolean autoCommit) throws SQLException {
         this.autoCommit = autoCommit;
-        recordMethodInvocation(Connection.class, "setAutoCommit", new Class[] {boolean.class}, new Object[] {autoCommit});
-        for (Connection each : cachedConnections.values()) {
+        autoCommitChanged = true;
+        for (Connection each : getAllCachedConnections()) {
             each.setAutoCommit(autoCommit);
         }
     }
     
     @Override
     public final void commit() throws SQLException {
-        Collection<SQLException> exceptions = new LinkedList<>();
-        for (Connection each : cachedConnections.values()) {
-            try {
-                each.commit();
-            } catch (final SQLException ex) {
-                exceptions.add(ex);
-            }
-        }
-        throwSQLExceptionIfNecessary(exceptions);
+        throwSQLExceptionIfNecessary(completeTransaction(true));
     }
     
     @Override
     public final void rollback() throws SQLException {
-        Collection<SQLException> exceptions = new LinkedList<>();
-        for (Connection each : cachedConnections.values()) {
+        throwSQLExceptionIfNecessary(completeTransaction(false));
+    }
+    
+    private Collection<SQLException> completeTransaction(final boolean commit) {
+        List<String> dataSourceNames = new ArrayList<>(cachedConnections.size());
+        List<Connection> connections = new ArrayList<>(cachedConnections.size());
+        for (Entry<String, Connection> entry : cachedConnections.entrySet()) {
+            dataSourceNames.add(entry.getKey());
+            connections.add(entry.getValue());
+        }
+        for (Entry<String, List<Connection>> entry : cachedParallelConnections.entrySet()) {
+            for (Connection each : entry.getValue()) {
+                dataSourceNames.add(entry.getKey());
+                connections.add(each);
+            }
+        }
+        Optional<ExecutorEngine> executorEngine = getTransactionExecutorEngine();
+        if (connections.size() > 1 && executorEngine.isPresent()) {
+            List<Callable<Void>> tasks = new ArrayList<>(connections.size());
+            for (final Connection each : connections) {
+                tasks.add(new Callable<Void>() {
+                    
+                    @Override
+                    public Void call() throws SQLException {
+                        completeTransaction(each, commit);
+                        return null;
+                    }
+                });
+            }
+            return executorEngine.get().executeTransaction(dataSourceNames, tasks);
+        }
+        Collection<SQLException> result = new LinkedList<>();
+        for (Connection each : connections) {
             try {
-                each.rollback();
+                completeTransaction(each, commit);
             } catch (final SQLException ex) {
-                exceptions.add(ex);
+                result.add(ex);
             }
         }
-        throwSQLExceptionIfNecessary(exceptions);
+        return result;
+    }
+    
+    private void completeTransaction(final Connection connection, final boolean commit) throws SQLException {
+        if (commit) {
+            connection.commit();
+        } else {
+            connection.rollback();
+        }
+    }
+    
+    /**
+     * Get executor engine to commit and rollback actual connections in parallel.
+     * 
+     * <p>
+     * Transaction with only one actual connection is always completed in caller thread.
+     * </p>
+     * 
+     * @return executor engine, absent if actual connections are committed and rolled back serially
+     */
+    protected Optional<ExecutorEngine> getTransactionExecutorEngine() {
+        return Optional.absent();
     }
     
     @Override
     public void close() throws SQLException {
         closed = true;
         Collection<SQLException> exceptions = new LinkedList<>();
-        for (Connection each : cachedConnections.values()) {
+        for (Connection each : getAllCachedConnections()) {
             try {
                 each.close();
             } catch (final SQLException ex) {
@@ -101,6 +160,22 @@ public abstract class AbstractConnectionAdapter extends AbstractUnsupportedOpera
         throwSQLExceptionIfNecessary(exceptions);
     }
     
+    /**
+     * Get all cached actual connections, include parallel connections.
+     * 
+     * @return all cached actual connections
+     */
+    public final Collection<Connection> getAllCachedConnections() {
+        if (cachedParallelConnections.isEmpty()) {
+            return cachedConnections.values();
+        }
+        Collection<Connection> result = new LinkedList<>(cachedConnections.values());
+        for (List<Connection> each : cachedParallelConnections.values()) {
+            result.addAll(each);
+        }
+        return result;
+    }
+    
     @Override
     public final boolean isClosed() throws SQLException {
         return closed;
@@ -114,8 +189,8 @@ public abstract class AbstractConnectionAdapter extends AbstractUnsupportedOpera
     @Override
     public final void setReadOnly(final boolean readOnly) throws SQLException {
         this.readOnly = readOnly;
-        recordMethodInvocation(Connection.class, "setReadOnly", new Class[] {boolean.class}, new Object[] {readOnly});
-        for (Connection each : cachedConnections.values()) {
+        readOnlyChanged = true;
+        for (Connection each : getAllCachedConnections()) {
             each.setReadOnly(readOnly);
         }
     }
@@ -128,12 +203,34 @@ public abstract class AbstractConnectionAdapter extends AbstractUnsupportedOpera
     @Override
     public final void setTransactionIsolation(final int level) throws SQLException {
         transactionIsolation = level;
-        recordMethodInvocation(Connection.class, "setTransactionIsolation", new Class[] {int.class}, new Object[] {level});
-        for (Connection each : cachedConnections.values()) {
+        transactionIsolationChanged = true;
+        for (Connection each : getAllCachedConnections()) {
             each.setTransactionIsolation(level);
         }
     }
     
+    /**
+     * Replay connection state which has been set to actual connection.
+     * 
+     * <p>
+     * Auto commit is replayed last, so that read only and transaction isolation are applied before transaction begins.
+     * </p>
+     * 
+     * @param connection actual connection
+     * @throws SQLException SQL exception
+     */
+    protected final void replayConnectionState(final Connection connection) throws SQLException {
+        if (readOnlyChanged) {
+            connection.setReadOnly(readOnly);
+        }
+        if (transactionIsolationChanged) {
+            connection.setTransactionIsolation(transactionIsolation);
+        }
+        if (autoCommitChanged) {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+    
     // ------- Consist with MySQL driver implementation -------
     
     @Override
@@ -17,6 +17,7 @@
 
 package io.shardingjdbc.core.jdbc.adapter;
 
+import io.shardingjdbc.core.executor.DeferredResultSets;
 import io.shardingjdbc.core.jdbc.unsupported.AbstractUnsupportedOperationResultSet;
 import com.google.common.base.Preconditions;
 import lombok.Getter;
@@ -69,12 +70,25 @@ public abstract class AbstractResultSetAdapter extends AbstractUnsupportedOperat
     public final void close() throws SQLException {
         closed = true;
         Collection<SQLException> exceptions = new LinkedList<>();
-        for (ResultSet each : resultSets) {
+        if (resultSets instanceof DeferredResultSets) {
             try {
-                each.close();
+                ((DeferredResultSets) resultSets).close();
             } catch (final SQLException ex) {
                 exceptions.add(ex);
             }
+        } else {
+            for (ResultSet each : resultSets) {
+                try {
+                    each.close();
+                } catch (final SQLException ex) {
+                    exceptions.add(ex);
+                }
+            }
+        }
+        try {
+            releaseResources();
+        } catch (final SQLException ex) {
+            exceptions.add(ex);
         }
         throwSQLExceptionIfNecessary(exceptions);
     }
@@ -86,8 +100,15 @@ public abstract class AbstractResultSetAdapter extends AbstractUnsupportedOperat
     
     @Override
     public final void setFetchDirection(final int direction) throws SQLException {
+        if (resultSets instanceof DeferredResultSets) {
+            ((DeferredResultSets) resultSets).setFetchDirection(direction);
+            return;
+        }
         Collection<SQLException> exceptions = new LinkedList<>();
         for (ResultSet each : resultSets) {
+            if (null == each) {
+                continue;
+            }
             try {
                 each.setFetchDirection(direction);
             } catch (final SQLException ex) {
@@ -104,8 +125,15 @@ public abstract class AbstractResultSetAdapter extends AbstractUnsupportedOperat
     
     @Override
     public final void setFetchSize(final int rows) throws SQLException {
+        if (resultSets instanceof DeferredResultSets) {
+            ((DeferredResultSets) resultSets).setFetchSize(rows);
+            return;
+        }
         Collection<SQLException> exceptions = new LinkedList<>();
         for (ResultSet each : resultSets) {
+            if (null == each) {
+                continue;
+            }
             try {
                 each.setFetchSize(rows);
             } catch (final SQLException ex) {
@@ -137,8 +165,15 @@ public abstract class AbstractResultSetAdapter extends AbstractUnsupportedOperat
     
     @Override
     public final void clearWarnings() throws SQLException {
+        if (resultSets instanceof DeferredResultSets) {
+            ((DeferredResultSets) resultSets).clearWarnings();
+            return;
+        }
         Collection<SQLException> exceptions = new LinkedList<>();
         for (ResultSet each : getResultSets()) {
+            if (null == each) {
+                continue;
+            }
             try {
                 each.clearWarnings();
             } catch (final SQLException ex) {
@@ -147,4 +182,12 @@ public abstract class AbstractResultSetAdapter extends AbstractUnsupportedOperat
         }
         throwSQLExceptionIfNecessary(exceptions);
     }
+    
+    /**
+     * Release resources held by this result set after all actual result sets closed.
+     * 
+     * @throws SQLException SQL exception
+     */
+    protected void releaseResources() throws SQLException {
+    }
 }
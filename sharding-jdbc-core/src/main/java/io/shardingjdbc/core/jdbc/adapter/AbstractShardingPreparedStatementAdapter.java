@@ -17,8 +17,8 @@
 
 package io.shardingjdbc.core.jdbc.adapter;
 
-import io.shardingjdbc.core.exception.ShardingJdbcException;
-import io.shardingjdbc.core.jdbc.adapter.invocation.SetParameterMethodInvocation;
+import io.shardingjdbc.core.jdbc.adapter.invocation.SetParameterBuffer;
+import io.shardingjdbc.core.jdbc.adapter.invocation.SetParameterType;
 import io.shardingjdbc.core.jdbc.unsupported.AbstractUnsupportedOperationPreparedStatement;
 import lombok.Getter;
 
@@ -36,9 +36,7 @@ import java.sql.Time;
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Calendar;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Objects;
 
 /**
  * Sharding adapter for {@code PreparedStatement}.
@@ -47,243 +45,214 @@ import java.util.Objects;
  */
 public abstract class AbstractShardingPreparedStatementAdapter extends AbstractUnsupportedOperationPreparedStatement {
     
-    private final List<SetParameterMethodInvocation> setParameterMethodInvocations = new LinkedList<>();
+    private final SetParameterBuffer setParameterBuffer = new SetParameterBuffer();
     
     @Getter
     private final List<Object> parameters = new ArrayList<>();
     
     @Override
     public final void setNull(final int parameterIndex, final int sqlType) throws SQLException {
-        setParameter(parameterIndex, null);
-        recordSetParameterForNull(new Class[]{int.class, int.class}, parameterIndex, sqlType);
+        setParameter(parameterIndex, SetParameterType.NULL, null, sqlType, null);
     }
     
     @Override
     public final void setNull(final int parameterIndex, final int sqlType, final String typeName) throws SQLException {
-        setParameter(parameterIndex, null);
-        recordSetParameterForNull(new Class[]{int.class, int.class, String.class}, parameterIndex, sqlType, typeName);
+        setParameter(parameterIndex, SetParameterType.NULL_WITH_TYPE_NAME, null, sqlType, typeName);
     }
     
     @Override
     public final void setBoolean(final int parameterIndex, final boolean x) throws SQLException {
-        setParameter(parameterIndex, x);
-        recordSetParameter("setBoolean", new Class[]{int.class, boolean.class}, parameterIndex, x);
+        setParameter(parameterIndex, SetParameterType.BOOLEAN, x);
     }
     
     @Override
     public final void setByte(final int parameterIndex, final byte x) throws SQLException {
-        setParameter(parameterIndex, x);
-        recordSetParameter("setByte", new Class[]{int.class, byte.class}, parameterIndex, x);
+        setParameter(parameterIndex, SetParameterType.BYTE, x);
     }
     
     @Override
     public final void setShort(final int parameterIndex, final short x) throws SQLException {
-        setParameter(parameterIndex, x);
-        recordSetParameter("setShort", new Class[]{int.class, short.class}, parameterIndex, x);
+        setParameter(parameterIndex, SetParameterType.SHORT, x);
     }
     
     @Override
     public final void setInt(final int parameterIndex, final int x) throws SQLException {
-        setParameter(parameterIndex, x);
-        recordSetParameter("setInt", new Class[]{int.class, int.class}, parameterIndex, x);
+        setParameter(parameterIndex, SetParameterType.INT, x);
     }
     
     @Override
     public final void setLong(final int parameterIndex, final long x) throws SQLException {
-        setParameter(parameterIndex, x);
-        recordSetParameter("setLong", new Class[]{int.class, long.class}, parameterIndex, x);
+        setParameter(parameterIndex, SetParameterType.LONG, x);
     }
     
     @Override
     public final void setFloat(final int parameterIndex, final float x) throws SQLException {
-        setParameter(parameterIndex, x);
-        recordSetParameter("setFloat", new Class[]{int.class, float.class}, parameterIndex, x);
+        setParameter(parameterIndex, SetParameterType.FLOAT, x);
     }
     
     @Override
     public final void setDouble(final int parameterIndex, final double x) throws SQLException {
-        setParameter(parameterIndex, x);
-        recordSetParameter("setDouble", new Class[]{int.class, double.class}, parameterIndex, x);
+        setParameter(parameterIndex, SetParameterType.DOUBLE, x);
     }
     
     @Override
     public final void setString(final int parameterIndex, final String x) throws SQLException {
-        setParameter(parameterIndex, x);
-        recordSetParameter("setString", new Class[]{int.class, String.class}, parameterIndex, x);
+        setParameter(parameterIndex, SetParameterType.STRING, x);
     }
     
     @Override
     public final void setBigDecimal(final int parameterIndex, final BigDecimal x) throws SQLException {
-        setParameter(parameterIndex, x);
-        recordSetParameter("setBigDecimal", new Class[]{int.class, BigDecimal.class}, parameterIndex, x);
+        setParameter(parameterIndex, SetParameterType.BIG_DECIMAL, x);
     }
     
     @Override
     public final void setDate(final int parameterIndex, final Date x) throws SQLException {
-        setParameter(parameterIndex, x);
-        recordSetParameter("setDate", new Class[]{int.class, Date.class}, parameterIndex, x);
+        setParameter(parameterIndex, SetParameterType.DATE, x);
     }
     
     @Override
     public final void setDate(final int parameterIndex, final Date x, final Calendar cal) throws SQLException {
-        setParameter(parameterIndex, x);
-        recordSetParameter("setDate", new Class[]{int.class, Date.class, Calendar.class}, parameterIndex, x, cal);
+        setParameter(parameterIndex, SetParameterType.DATE_WITH_CALENDAR, x, 0L, cal);
     }
     
     @Override
     public final void setTime(final int parameterIndex, final Time x) throws SQLException {
-        setParameter(parameterIndex, x);
-        recordSetParameter("setTime", new Class[]{int.class, Time.class}, parameterIndex, x);
+        setParameter(parameterIndex, SetParameterType.TIME, x);
     }
     
     @Override
     public final void setTime(final int parameterIndex, final Time x, final Calendar cal) throws SQLException {
-        setParameter(parameterIndex, x);
-        recordSetParameter("setTime", new Class[]{int.class, Time.class, Calendar.class}, parameterIndex, x, cal);
+        setParameter(parameterIndex, SetParameterType.TIME_WITH_CALENDAR, x, 0L, cal);
     }
     
     @Override
     public final void setTimestamp(final int parameterIndex, final Timestamp x) throws SQLException {
-        setParameter(parameterIndex, x);
-        recordSetParameter("setTimestamp", new Class[]{int.class, Timestamp.class}, parameterIndex, x);
+        setParameter(parameterIndex, SetParameterType.TIMESTAMP, x);
     }
     
     @Override
     public final void setTimestamp(final int parameterIndex, final Timestamp x, final Calendar cal) throws SQLException {
-        setParameter(parameterIndex, x);
-        recordSetParameter("setTimestamp", new Class[]{int.class, Timestamp.class, Calendar.class}, parameterIndex, x, cal);
+        setParameter(parameterIndex, SetParameterType.TIMESTAMP_WITH_CALENDAR, x, 0L, cal);
     }
     
     @Override
     public final void setBytes(final int parameterIndex, final byte[] x) throws SQLException {
-        setParameter(parameterIndex, x);
-        recordSetParameter("setBytes", new Class[]{int.class, byte[].class}, parameterIndex, x);
+        setParameter(parameterIndex, SetParameterType.BYTES, x);
     }
     
     @Override
     public final void setBlob(final int parameterIndex, final Blob x) throws SQLException {
-        setParameter(parameterIndex, x);
-        recordSetParameter("setBlob", new Class[]{int.class, Blob.class}, parameterIndex, x);
+        setParameter(parameterIndex, SetParameterType.BLOB, x);
     }
     
     @Override
     public final void setBlob(final int parameterIndex, final InputStream x) throws SQLException {
-        setParameter(parameterIndex, x);
-        recordSetParameter("setBlob", new Class[]{int.class, InputStream.class}, parameterIndex, x);
+        setParameter(parameterIndex, SetParameterType.BLOB_STREAM, x);
     }
     
     @Override
     public final void setBlob(final int parameterIndex, final InputStream x, final long length) throws SQLException {
-        setParameter(parameterIndex, x);
-        recordSetParameter("setBlob", new Class[]{int.class, InputStream.class, long.class}, parameterIndex, x, length);
+        setParameter(parameterIndex, SetParameterType.BLOB_STREAM_WITH_LENGTH, x, length, null);
     }
     
     @Override
     public final void setClob(final int parameterIndex, final Clob x) throws SQLException {
-        setParameter(parameterIndex, x);
-        recordSetParameter("setClob", new Class[]{int.class, Clob.class}, parameterIndex, x);
+        setParameter(parameterIndex, SetParameterType.CLOB, x);
     }
     
     @Override
     public final void setClob(final int parameterIndex, final Reader x) throws SQLException {
-        setParameter(parameterIndex, x);
-        recordSetParameter("setClob", new Class[]{int.class, Reader.class}, parameterIndex, x);
+        setParameter(parameterIndex, SetParameterType.CLOB_READER, x);
     }
     
     @Override
     public final void setClob(final int parameterIndex, final Reader x, final long length) throws SQLException {
-        setParameter(parameterIndex, x);
-        recordSetParameter("setClob", new Class[]{int.class, Reader.class, long.class}, parameterIndex, x, length);
+        setParameter(parameterIndex, SetParameterType.CLOB_READER_WITH_LENGTH, x, length, null);
     }
     
     @Override
     public final void setAsciiStream(final int parameterIndex, final InputStream x) throws SQLException {
-        setParameter(parameterIndex, x);
-        recordSetParameter("setAsciiStream", new Class[]{int.class, InputStream.class}, parameterIndex, x);
+        setParameter(parameterIndex, SetParameterType.ASCII_STREAM, x);
     }
     
     @Override
     public final void setAsciiStream(final int parameterIndex, final InputStream x, final int length) throws SQLException {
-        setParameter(parameterIndex, x);
-        recordSetParameter("setAsciiStream", new Class[]{int.class, InputStream.class, int.class}, parameterIndex, x, length);
+        setParameter(parameterIndex, SetParameterType.ASCII_STREAM_WITH_INT_LENGTH, x, length, null);
     }
     
     @Override
     public final void setAsciiStream(final int parameterIndex, final InputStream x, final long length) throws SQLException {
-        setParameter(parameterIndex, x);
-        recordSetParameter("setAsciiStream", new Class[]{int.class, InputStream.class, long.class}, parameterIndex, x, length);
+        setParameter(parameterIndex, SetParameterType.ASCII_STREAM_WITH_LENGTH, x, length, null);
     }
     
     @Override
     public final void setUnicodeStream(final int parameterIndex, final InputStream x, final int length) throws SQLException {
-        setParameter(parameterIndex, x);
-        recordSetParameter("setUnicodeStream", new Class[]{int.class, InputStream.class, int.class}, parameterIndex, x, length);
+        setParameter(parameterIndex, SetParameterType.UNICODE_STREAM, x, length, null);
     }
     
     @Override
     public final void setBinaryStream(final int parameterIndex, final InputStream x) throws SQLException {
-        setParameter(parameterIndex, x);
-        recordSetParameter("setBinaryStream", new Class[]{int.class, InputStream.class}, parameterIndex, x);
+        setParameter(parameterIndex, SetParameterType.BINARY_STREAM, x);
     }
     
     @Override
     public final void setBinaryStream(final int parameterIndex, final InputStream x, final int length) throws SQLException {
-        setParameter(parameterIndex, x);
-        recordSetParameter("setBinaryStream", new Class[]{int.class, InputStream.class, int.class}, parameterIndex, x, length);
+        setParameter(parameterIndex, SetParameterType.BINARY_STREAM_WITH_INT_LENGTH, x, length, null);
     }
     
     @Override
     public final void setBinaryStream(final int parameterIndex, final InputStream x, final long length) throws SQLException {
-        setParameter(parameterIndex, x);
-        recordSetParameter("setBinaryStream", new Class[]{int.class, InputStream.class, long.class}, parameterIndex, x, length);
+        setParameter(parameterIndex, SetParameterType.BINARY_STREAM_WITH_LENGTH, x, length, null);
     }
     
     @Override
     public final void setCharacterStream(final int parameterIndex, final Reader x) throws SQLException {
-        setParameter(parameterIndex, x);
-        recordSetParameter("setCharacterStream", new Class[]{int.class, Reader.class}, parameterIndex, x);
+        setParameter(parameterIndex, SetParameterType.CHARACTER_STREAM, x);
     }
     
     @Override
     public final void setCharacterStream(final int parameterIndex, final Reader x, final int length) throws SQLException {
-        setParameter(parameterIndex, x);
-        recordSetParameter("setCharacterStream", new Class[]{int.class, Reader.class, int.class}, parameterIndex, x, length);
+        setParameter(parameterIndex, SetParameterType.CHARACTER_STREAM_WITH_INT_LENGTH, x, length, null);
     }
     
     @Override
     public final void setCharacterStream(final int parameterIndex, final Reader x, final long length) throws SQLException {
-        setParameter(parameterIndex, x);
-        recordSetParameter("setCharacterStream", new Class[]{int.class, Reader.class, long.class}, parameterIndex, x, length);
+        setParameter(parameterIndex, SetParameterType.CHARACTER_STREAM_WITH_LENGTH, x, length, null);
     }
     
     @Override
     public final void setURL(final int parameterIndex, final URL x) throws SQLException {
-        setParameter(parameterIndex, x);
-        recordSetParameter("setURL", new Class[]{int.class, URL.class}, parameterIndex, x);
+        setParameter(parameterIndex, SetParameterType.URL, x);
     }
     
     @Override
     public final void setSQLXML(final int parameterIndex, final SQLXML x) throws SQLException {
-        setParameter(parameterIndex, x);
-        recordSetParameter("setSQLXML", new Class[]{int.class, SQLXML.class}, parameterIndex, x);
+        setParameter(parameterIndex, SetParameterType.SQLXML, x);
     }
     
     @Override
     public final void setObject(final int parameterIndex, final Object x) throws SQLException {
-        setParameter(parameterIndex, x);
-        recordSetParameter("setObject", new Class[]{int.class, Object.class}, parameterIndex, x);
+        setParameter(parameterIndex, SetParameterType.OBJECT, x);
     }
     
     @Override
     public final void setObject(final int parameterIndex, final Object x, final int targetSqlType) throws SQLException {
-        setParameter(parameterIndex, x);
-        recordSetParameter("setObject", new Class[]{int.class, Object.class, int.class}, parameterIndex,  x, targetSqlType);
+        setParameter(parameterIndex, SetParameterType.OBJECT_WITH_TARGET_TYPE, x, targetSqlType, null);
     }
     
     @Override
     public final void setObject(final int parameterIndex, final Object x, final int targetSqlType, final int scaleOrLength) throws SQLException {
-        setParameter(parameterIndex, x);
-        recordSetParameter("setObject", new Class[]{int.class, Object.class, int.class, int.class}, parameterIndex, x, targetSqlType, scaleOrLength);
+        setParameter(parameterIndex, SetParameterType.OBJECT_WITH_TARGET_TYPE_AND_SCALE, x, targetSqlType, scaleOrLength);
+    }
+    
+    private void setParameter(final int parameterIndex, final SetParameterType type, final Object value) {
+        setParameter(parameterIndex, value);
+        setParameterBuffer.record(parameterIndex - 1, type, value);
+    }
+    
+    private void setParameter(final int parameterIndex, final SetParameterType type, final Object value, final long extraNumber, final Object extraObject) {
+        setParameter(parameterIndex, value);
+        setParameterBuffer.record(parameterIndex - 1, type, value, extraNumber, extraObject);
     }
     
     private void setParameter(final int parameterIndex, final Object value) {
@@ -297,45 +266,32 @@ public abstract class AbstractShardingPreparedStatementAdapter extends AbstractU
         parameters.set(parameterIndex - 1, value);
     }
     
-    private void recordSetParameter(final String methodName, final Class[] argumentTypes, final Object... arguments) {
-        try {
-            setParameterMethodInvocations.add(new SetParameterMethodInvocation(PreparedStatement.class.getMethod(methodName, argumentTypes), arguments, arguments[1]));
-        } catch (final NoSuchMethodException ex) {
-            throw new ShardingJdbcException(ex);
-        }
-    }
-    
-    private void recordSetParameterForNull(final Class[] argumentTypes, final Object... arguments) {
-        try {
-            setParameterMethodInvocations.add(new SetParameterMethodInvocation(PreparedStatement.class.getMethod("setNull", argumentTypes), arguments, null));
-        } catch (final NoSuchMethodException ex) {
-            throw new ShardingJdbcException(ex);
-        }
-    }
-    
-    protected void replaySetParameter(final PreparedStatement preparedStatement) {
-        addParameters();
-        for (SetParameterMethodInvocation each : setParameterMethodInvocations) {
-            updateParameterValues(each, parameters.get(each.getIndex() - 1));
-            each.invoke(preparedStatement);
+    protected void replaySetParameter(final PreparedStatement preparedStatement) throws SQLException {
+        for (int i = 0; i < parameters.size(); i++) {
+            setParameterBuffer.apply(preparedStatement, i + 1, i, parameters.get(i));
         }
     }
     
-    private void addParameters() {
-        for (int i = setParameterMethodInvocations.size(); i < parameters.size(); i++) {
-            recordSetParameter("setObject", new Class[]{int.class, Object.class}, i + 1, parameters.get(i));
+    protected void replaySetParameter(final PreparedStatement preparedStatement, final int repeatedCount) throws SQLException {
+        int parametersSize = parameters.size();
+        for (int i = 0; i < repeatedCount; i++) {
+            int offset = i * parametersSize;
+            for (int j = 0; j < parametersSize; j++) {
+                setParameterBuffer.apply(preparedStatement, offset + j + 1, j, parameters.get(j));
+            }
         }
     }
     
-    private void updateParameterValues(final SetParameterMethodInvocation setParameterMethodInvocation, final Object value) {
-        if (!Objects.equals(setParameterMethodInvocation.getValue(), value)) {
-            setParameterMethodInvocation.changeValueArgument(value);
+    protected void replaySetParameter(final PreparedStatement preparedStatement, final List<Integer> parameterIndexes) throws SQLException {
+        int count = 0;
+        for (int each : parameterIndexes) {
+            setParameterBuffer.apply(preparedStatement, ++count, each, parameters.get(each));
         }
     }
     
     @Override
     public final void clearParameters() throws SQLException {
         parameters.clear();
-        setParameterMethodInvocations.clear();
+        setParameterBuffer.clear();
     }
 }
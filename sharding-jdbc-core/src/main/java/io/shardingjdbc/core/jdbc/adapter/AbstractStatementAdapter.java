@@ -18,7 +18,6 @@
 package io.shardingjdbc.core.jdbc.adapter;
 
 import io.shardingjdbc.core.jdbc.unsupported.AbstractUnsupportedOperationStatement;
-import lombok.RequiredArgsConstructor;
 
 import java.sql.SQLException;
 import java.sql.SQLWarning;
@@ -32,29 +31,44 @@ import java.util.LinkedList;
  * @author zhangliang
  * @author gaohongtao
  */
-@RequiredArgsConstructor
 public abstract class AbstractStatementAdapter extends AbstractUnsupportedOperationStatement {
     
-    private final Class<? extends Statement> targetClass;
-    
     private boolean closed;
     
     private boolean poolable;
     
     private int fetchSize;
     
+    private Boolean changedPoolable;
+    
+    private Integer changedFetchSize;
+    
+    private Boolean changedEscapeProcessing;
+    
+    private Integer changedMaxFieldSize;
+    
+    private Integer changedMaxRows;
+    
+    private Integer changedQueryTimeout;
+    
     @Override
     public final void close() throws SQLException {
         closed = true;
         Collection<SQLException> exceptions = new LinkedList<>();
-        for (Statement each : getRoutedStatements()) {
+        for (Statement each : getOpenedStatements()) {
             try {
                 each.close();
             } catch (final SQLException ex) {
                 exceptions.add(ex);
             }
         }
+        getOpenedStatements().clear();
         getRoutedStatements().clear();
+        try {
+            releaseResources();
+        } catch (final SQLException ex) {
+            exceptions.add(ex);
+        }
         throwSQLExceptionIfNecessary(exceptions);
     }
     
@@ -71,8 +85,8 @@ public abstract class AbstractStatementAdapter extends AbstractUnsupportedOperat
     @Override
     public final void setPoolable(final boolean poolable) throws SQLException {
         this.poolable = poolable;
-        recordMethodInvocation(targetClass, "setPoolable", new Class[] {boolean.class}, new Object[] {poolable});
-        for (Statement each : getRoutedStatements()) {
+        changedPoolable = poolable;
+        for (Statement each : getOpenedStatements()) {
             each.setPoolable(poolable);
         }
     }
@@ -85,16 +99,16 @@ public abstract class AbstractStatementAdapter extends AbstractUnsupportedOperat
     @Override
     public final void setFetchSize(final int rows) throws SQLException {
         this.fetchSize = rows;
-        recordMethodInvocation(targetClass, "setFetchSize", new Class[] {int.class}, new Object[] {rows});
-        for (Statement each : getRoutedStatements()) {
+        changedFetchSize = rows;
+        for (Statement each : getOpenedStatements()) {
             each.setFetchSize(rows);
         }
     }
     
     @Override
     public final void setEscapeProcessing(final boolean enable) throws SQLException {
-        recordMethodInvocation(targetClass, "setEscapeProcessing", new Class[] {boolean.class}, new Object[] {enable});
-        for (Statement each : getRoutedStatements()) {
+        changedEscapeProcessing = enable;
+        for (Statement each : getOpenedStatements()) {
             each.setEscapeProcessing(enable);
         }
     }
@@ -119,7 +133,11 @@ public abstract class AbstractStatementAdapter extends AbstractUnsupportedOperat
         if (result > Integer.MAX_VALUE) {
             result = Integer.MAX_VALUE;
         }
-        return hasResult ? Long.valueOf(result).intValue() : -1;
+        if (!hasResult) {
+            return -1;
+        }
+        releaseAfterUpdateCountRead();
+        return Long.valueOf(result).intValue();
     }
     
     @Override
@@ -148,8 +166,8 @@ public abstract class AbstractStatementAdapter extends AbstractUnsupportedOperat
     
     @Override
     public final void setMaxFieldSize(final int max) throws SQLException {
-        recordMethodInvocation(targetClass, "setMaxFieldSize", new Class[] {int.class}, new Object[] {max});
-        for (Statement each : getRoutedStatements()) {
+        changedMaxFieldSize = max;
+        for (Statement each : getOpenedStatements()) {
             each.setMaxFieldSize(max);
         }
     }
@@ -162,8 +180,8 @@ public abstract class AbstractStatementAdapter extends AbstractUnsupportedOperat
     
     @Override
     public final void setMaxRows(final int max) throws SQLException {
-        recordMethodInvocation(targetClass, "setMaxRows", new Class[] {int.class}, new Object[] {max});
-        for (Statement each : getRoutedStatements()) {
+        changedMaxRows = max;
+        for (Statement each : getOpenedStatements()) {
             each.setMaxRows(max);
         }
     }
@@ -175,11 +193,67 @@ public abstract class AbstractStatementAdapter extends AbstractUnsupportedOperat
     
     @Override
     public final void setQueryTimeout(final int seconds) throws SQLException {
-        recordMethodInvocation(targetClass, "setQueryTimeout", new Class[] {int.class}, new Object[] {seconds});
-        for (Statement each : getRoutedStatements()) {
+        changedQueryTimeout = seconds;
+        for (Statement each : getOpenedStatements()) {
             each.setQueryTimeout(seconds);
         }
     }
     
+    /**
+     * Replay statement state which has been set to actual statement.
+     * 
+     * @param statement actual statement
+     * @throws SQLException SQL exception
+     */
+    protected final void replayStatementState(final Statement statement) throws SQLException {
+        if (null != changedPoolable) {
+            statement.setPoolable(changedPoolable);
+        }
+        if (null != changedFetchSize) {
+            statement.setFetchSize(changedFetchSize);
+        }
+        if (null != changedEscapeProcessing) {
+            statement.setEscapeProcessing(changedEscapeProcessing);
+        }
+        if (null != changedMaxFieldSize) {
+            statement.setMaxFieldSize(changedMaxFieldSize);
+        }
+        if (null != changedMaxRows) {
+            statement.setMaxRows(changedMaxRows);
+        }
+        if (null != changedQueryTimeout) {
+            statement.setQueryTimeout(changedQueryTimeout);
+        }
+    }
+    
     protected abstract Collection<? extends Statement> getRoutedStatements();
+    
+    /**
+     * Get all opened actual statements, which are closed with this statement.
+     * 
+     * <p>
+     * Actual statements routed by previous executions may be kept opened for reuse.
+     * </p>
+     * 
+     * @return all opened actual statements
+     */
+    protected Collection<? extends Statement> getOpenedStatements() {
+        return getRoutedStatements();
+    }
+    
+    /**
+     * Release resources held by this statement after all actual statements closed.
+     * 
+     * @throws SQLException SQL exception
+     */
+    protected void releaseResources() throws SQLException {
+    }
+    
+    /**
+     * Release resources which are only needed before update count read.
+     * 
+     * @throws SQLException SQL exception
+     */
+    protected void releaseAfterUpdateCountRead() throws SQLException {
+    }
 }
@@ -0,0 +1,268 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.jdbc.adapter.invocation;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLXML;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Calendar;
+
+/**
+ * Buffer of parameters set to {@code PreparedStatement}.
+ * 
+ * <p>
+ * Each parameter is kept with type of the method which set it, and set to actual prepared statements by the same method without reflection.
+ * </p>
+ * 
+ * @author zhangliang
+ */
+public final class SetParameterBuffer {
+    
+    private static final int DEFAULT_CAPACITY = 16;
+    
+    private SetParameterType[] types = new SetParameterType[DEFAULT_CAPACITY];
+    
+    private Object[] values = new Object[DEFAULT_CAPACITY];
+    
+    // SQL type, target SQL type or length of stream
+    private long[] extraNumbers = new long[DEFAULT_CAPACITY];
+    
+    // calendar, type name or scale
+    private Object[] extraObjects = new Object[DEFAULT_CAPACITY];
+    
+    private int size;
+    
+    /**
+     * Record parameter.
+     * 
+     * @param index index of parameter, start from 0
+     * @param type type of set parameter method
+     * @param value value of parameter
+     */
+    public void record(final int index, final SetParameterType type, final Object value) {
+        record(index, type, value, 0L, null);
+    }
+    
+    /**
+     * Record parameter with extra argument.
+     * 
+     * @param index index of parameter, start from 0
+     * @param type type of set parameter method
+     * @param value value of parameter
+     * @param extraNumber SQL type, target SQL type or length of stream
+     * @param extraObject calendar, type name or scale
+     */
+    public void record(final int index, final SetParameterType type, final Object value, final long extraNumber, final Object extraObject) {
+        ensureCapacity(index + 1);
+        types[index] = type;
+        values[index] = value;
+        extraNumbers[index] = extraNumber;
+        extraObjects[index] = extraObject;
+        if (index >= size) {
+            size = index + 1;
+        }
+    }
+    
+    private void ensureCapacity(final int capacity) {
+        if (capacity <= types.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, types.length << 1);
+        types = Arrays.copyOf(types, newCapacity);
+        values = Arrays.copyOf(values, newCapacity);
+        extraNumbers = Arrays.copyOf(extraNumbers, newCapacity);
+        extraObjects = Arrays.copyOf(extraObjects, newCapacity);
+    }
+    
+    /**
+     * Clear all parameters.
+     */
+    public void clear() {
+        Arrays.fill(types, 0, size, null);
+        Arrays.fill(values, 0, size, null);
+        Arrays.fill(extraObjects, 0, size, null);
+        size = 0;
+    }
+    
+    /**
+     * Set parameter to prepared statement.
+     * 
+     * <p>
+     * Parameter is set by {@code setObject} if it is not recorded, eg: generated key appended, or its value has been replaced, eg: rewritten limit.
+     * Parameter not set before recorded parameters is skipped.
+     * </p>
+     * 
+     * @param preparedStatement prepared statement
+     * @param parameterIndex index of parameter in prepared statement, start from 1
+     * @param index index of recorded parameter, start from 0
+     * @param value current value of parameter
+     * @throws SQLException SQL exception
+     */
+    public void apply(final PreparedStatement preparedStatement, final int parameterIndex, final int index, final Object value) throws SQLException {
+        if (index >= size) {
+            preparedStatement.setObject(parameterIndex, value);
+            return;
+        }
+        SetParameterType type = types[index];
+        if (null == type) {
+            return;
+        }
+        if (value != values[index]) {
+            preparedStatement.setObject(parameterIndex, value);
+            return;
+        }
+        apply(preparedStatement, parameterIndex, type, value, extraNumbers[index], extraObjects[index]);
+    }
+    
+    private void apply(final PreparedStatement preparedStatement, final int parameterIndex, final SetParameterType type, final Object value, 
+                       final long extraNumber, final Object extraObject) throws SQLException {
+        switch (type) {
+            case NULL:
+                preparedStatement.setNull(parameterIndex, (int) extraNumber);
+                break;
+            case NULL_WITH_TYPE_NAME:
+                preparedStatement.setNull(parameterIndex, (int) extraNumber, (String) extraObject);
+                break;
+            case BOOLEAN:
+                preparedStatement.setBoolean(parameterIndex, (Boolean) value);
+                break;
+            case BYTE:
+                preparedStatement.setByte(parameterIndex, (Byte) value);
+                break;
+            case SHORT:
+                preparedStatement.setShort(parameterIndex, (Short) value);
+                break;
+            case INT:
+                preparedStatement.setInt(parameterIndex, (Integer) value);
+                break;
+            case LONG:
+                preparedStatement.setLong(parameterIndex, (Long) value);
+                break;
+            case FLOAT:
+                preparedStatement.setFloat(parameterIndex, (Float) value);
+                break;
+            case DOUBLE:
+                preparedStatement.setDouble(parameterIndex, (Double) value);
+                break;
+            case STRING:
+                preparedStatement.setString(parameterIndex, (String) value);
+                break;
+            case BIG_DECIMAL:
+                preparedStatement.setBigDecimal(parameterIndex, (BigDecimal) value);
+                break;
+            case DATE:
+                preparedStatement.setDate(parameterIndex, (Date) value);
+                break;
+            case DATE_WITH_CALENDAR:
+                preparedStatement.setDate(parameterIndex, (Date) value, (Calendar) extraObject);
+                break;
+            case TIME:
+                preparedStatement.setTime(parameterIndex, (Time) value);
+                break;
+            case TIME_WITH_CALENDAR:
+                preparedStatement.setTime(parameterIndex, (Time) value, (Calendar) extraObject);
+                break;
+            case TIMESTAMP:
+                preparedStatement.setTimestamp(parameterIndex, (Timestamp) value);
+                break;
+            case TIMESTAMP_WITH_CALENDAR:
+                preparedStatement.setTimestamp(parameterIndex, (Timestamp) value, (Calendar) extraObject);
+                break;
+            case BYTES:
+                preparedStatement.setBytes(parameterIndex, (byte[]) value);
+                break;
+            case BLOB:
+                preparedStatement.setBlob(parameterIndex, (Blob) value);
+                break;
+            case BLOB_STREAM:
+                preparedStatement.setBlob(parameterIndex, (InputStream) value);
+                break;
+            case BLOB_STREAM_WITH_LENGTH:
+                preparedStatement.setBlob(parameterIndex, (InputStream) value, extraNumber);
+                break;
+            case CLOB:
+                preparedStatement.setClob(parameterIndex, (Clob) value);
+                break;
+            case CLOB_READER:
+                preparedStatement.setClob(parameterIndex, (Reader) value);
+                break;
+            case CLOB_READER_WITH_LENGTH:
+                preparedStatement.setClob(parameterIndex, (Reader) value, extraNumber);
+                break;
+            case ASCII_STREAM:
+                preparedStatement.setAsciiStream(parameterIndex, (InputStream) value);
+                break;
+            case ASCII_STREAM_WITH_INT_LENGTH:
+                preparedStatement.setAsciiStream(parameterIndex, (InputStream) value, (int) extraNumber);
+                break;
+            case ASCII_STREAM_WITH_LENGTH:
+                preparedStatement.setAsciiStream(parameterIndex, (InputStream) value, extraNumber);
+                break;
+            case UNICODE_STREAM:
+                applyUnicodeStream(preparedStatement, parameterIndex, (InputStream) value, (int) extraNumber);
+                break;
+            case BINARY_STREAM:
+                preparedStatement.setBinaryStream(parameterIndex, (InputStream) value);
+                break;
+            case BINARY_STREAM_WITH_INT_LENGTH:
+                preparedStatement.setBinaryStream(parameterIndex, (InputStream) value, (int) extraNumber);
+                break;
+            case BINARY_STREAM_WITH_LENGTH:
+                preparedStatement.setBinaryStream(parameterIndex, (InputStream) value, extraNumber);
+                break;
+            case CHARACTER_STREAM:
+                preparedStatement.setCharacterStream(parameterIndex, (Reader) value);
+                break;
+            case CHARACTER_STREAM_WITH_INT_LENGTH:
+                preparedStatement.setCharacterStream(parameterIndex, (Reader) value, (int) extraNumber);
+                break;
+            case CHARACTER_STREAM_WITH_LENGTH:
+                preparedStatement.setCharacterStream(parameterIndex, (Reader) value, extraNumber);
+                break;
+            case URL:
+                preparedStatement.setURL(parameterIndex, (URL) value);
+                break;
+            case SQLXML:
+                preparedStatement.setSQLXML(parameterIndex, (SQLXML) value);
+                break;
+            case OBJECT_WITH_TARGET_TYPE:
+                preparedStatement.setObject(parameterIndex, value, (int) extraNumber);
+                break;
+            case OBJECT_WITH_TARGET_TYPE_AND_SCALE:
+                preparedStatement.setObject(parameterIndex, value, (int) extraNumber, (Integer) extraObject);
+                break;
+            default:
+                preparedStatement.setObject(parameterIndex, value);
+        }
+    }
+    
+    @SuppressWarnings("deprecation")
+    private void applyUnicodeStream(final PreparedStatement preparedStatement, final int parameterIndex, final InputStream value, final int length) throws SQLException {
+        preparedStatement.setUnicodeStream(parameterIndex, value, length);
+    }
+}
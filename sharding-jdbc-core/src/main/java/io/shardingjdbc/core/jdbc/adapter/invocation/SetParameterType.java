@@ -0,0 +1,34 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.jdbc.adapter.invocation;
+
+/**
+ * Type of {@code PreparedStatement} method which sets parameter.
+ * 
+ * @author zhangliang
+ */
+public enum SetParameterType {
+    
+    NULL, NULL_WITH_TYPE_NAME, BOOLEAN, BYTE, SHORT, INT, LONG, FLOAT, DOUBLE, STRING, BIG_DECIMAL, 
+    DATE, DATE_WITH_CALENDAR, TIME, TIME_WITH_CALENDAR, TIMESTAMP, TIMESTAMP_WITH_CALENDAR, 
+    BYTES, BLOB, BLOB_STREAM, BLOB_STREAM_WITH_LENGTH, CLOB, CLOB_READER, CLOB_READER_WITH_LENGTH, 
+    ASCII_STREAM, ASCII_STREAM_WITH_INT_LENGTH, ASCII_STREAM_WITH_LENGTH, UNICODE_STREAM, 
+    BINARY_STREAM, BINARY_STREAM_WITH_INT_LENGTH, BINARY_STREAM_WITH_LENGTH, 
+    CHARACTER_STREAM, CHARACTER_STREAM_WITH_INT_LENGTH, CHARACTER_STREAM_WITH_LENGTH, 
+    URL, SQLXML, OBJECT, OBJECT_WITH_TARGET_TYPE, OBJECT_WITH_TARGET_TYPE_AND_SCALE
+}
@@ -17,18 +17,24 @@
 
 package io.shardingjdbc.core.jdbc.core;
 
+import io.shardingjdbc.core.constant.ShardingProperties;
+import io.shardingjdbc.core.constant.ShardingPropertiesConstant;
 import io.shardingjdbc.core.rule.ShardingRule;
 import io.shardingjdbc.core.constant.DatabaseType;
 import io.shardingjdbc.core.executor.ExecutorEngine;
+import io.shardingjdbc.core.parsing.cache.ParsingResultCache;
+import io.shardingjdbc.core.routing.cache.RouteResultCache;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 
 /**
  * Sharding runtime context.
  * 
+ * <p>
+ * Options except executor engine are read from sharding properties, new caches are created for each context.
+ * </p>
+ * 
  * @author gaohongtao
  */
-@RequiredArgsConstructor
 @Getter
 public final class ShardingContext {
     
@@ -39,4 +45,47 @@ public final class ShardingContext {
     private final ExecutorEngine executorEngine;
     
     private final boolean showSQL;
+    
+    private final ParsingResultCache parsingResultCache;
+    
+    private final RouteResultCache routeResultCache;
+    
+    private final int maxConnectionsSizePerQuery;
+    
+    private final boolean unionAllRewriteEnabled;
+    
+    private final int deepPagingOffsetThreshold;
+    
+    private final int groupByMaxMemoryRows;
+    
+    private final boolean orderByLoserTreeEnabled;
+    
+    private final int prefetchRows;
+    
+    private final long prefetchBytes;
+    
+    private final int statementCacheSize;
+    
+    private final boolean connectionReleaseEnabled;
+    
+    private final boolean parallelTransactionEnabled;
+    
+    public ShardingContext(final ShardingRule shardingRule, final DatabaseType databaseType, final ExecutorEngine executorEngine, final ShardingProperties shardingProperties) {
+        this.shardingRule = shardingRule;
+        this.databaseType = databaseType;
+        this.executorEngine = executorEngine;
+        showSQL = shardingProperties.getValue(ShardingPropertiesConstant.SQL_SHOW);
+        parsingResultCache = new ParsingResultCache(shardingProperties.<Integer>getValue(ShardingPropertiesConstant.PARSING_CACHE_SIZE));
+        routeResultCache = new RouteResultCache(shardingProperties.<Integer>getValue(ShardingPropertiesConstant.ROUTING_CACHE_SIZE));
+        maxConnectionsSizePerQuery = shardingProperties.getValue(ShardingPropertiesConstant.MAX_CONNECTIONS_SIZE_PER_QUERY);
+        unionAllRewriteEnabled = shardingProperties.getValue(ShardingPropertiesConstant.REWRITE_UNION_ALL_ENABLED);
+        deepPagingOffsetThreshold = shardingProperties.getValue(ShardingPropertiesConstant.REWRITE_DEEP_PAGING_OFFSET_THRESHOLD);
+        groupByMaxMemoryRows = shardingProperties.getValue(ShardingPropertiesConstant.MERGE_GROUP_BY_MAX_MEMORY_ROWS);
+        orderByLoserTreeEnabled = shardingProperties.getValue(ShardingPropertiesConstant.MERGE_ORDER_BY_LOSER_TREE_ENABLED);
+        prefetchRows = shardingProperties.getValue(ShardingPropertiesConstant.MERGE_PREFETCH_ROWS);
+        prefetchBytes = shardingProperties.getValue(ShardingPropertiesConstant.MERGE_PREFETCH_BYTES);
+        statementCacheSize = shardingProperties.getValue(ShardingPropertiesConstant.STATEMENT_CACHE_SIZE);
+        connectionReleaseEnabled = shardingProperties.getValue(ShardingPropertiesConstant.CONNECTION_RELEASE_ENABLED);
+        parallelTransactionEnabled = shardingProperties.getValue(ShardingPropertiesConstant.TRANSACTION_PARALLEL_ENABLED);
+    }
 }
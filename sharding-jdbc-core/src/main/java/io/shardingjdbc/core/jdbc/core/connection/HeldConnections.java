@@ -0,0 +1,70 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.jdbc.core.connection;
+
+import lombok.RequiredArgsConstructor;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashSet;
+
+/**
+ * Actual connections held by one sharding statement.
+ * 
+ * <p>
+ * Held connections are not released by sharding connection until statement releases them.
+ * Nothing is held if {@code connection.release.enabled} is disabled.
+ * </p>
+ * 
+ * @author zhangliang
+ */
+@RequiredArgsConstructor
+public final class HeldConnections {
+    
+    private final ShardingConnection shardingConnection;
+    
+    private final Collection<Connection> connections = new HashSet<>();
+    
+    /**
+     * Hold actual connection.
+     * 
+     * @param connection actual connection
+     */
+    public void hold(final Connection connection) {
+        if (shardingConnection.getShardingContext().isConnectionReleaseEnabled() && connections.add(connection)) {
+            shardingConnection.hold(connection);
+        }
+    }
+    
+    /**
+     * Release all held actual connections.
+     * 
+     * @throws SQLException SQL exception
+     */
+    public void release() throws SQLException {
+        if (connections.isEmpty()) {
+            return;
+        }
+        try {
+            shardingConnection.release(connections);
+        } finally {
+            connections.clear();
+        }
+    }
+}
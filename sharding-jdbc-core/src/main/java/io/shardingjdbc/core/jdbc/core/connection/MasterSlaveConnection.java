@@ -70,7 +70,7 @@ public final class MasterSlaveConnection extends AbstractConnectionAdapter {
             Connection connection = each.getValue().getConnection();
             getCachedConnections().put(dataSourceName, connection);
             result.add(connection);
-            replayMethodsInvocation(connection);
+            replayConnectionState(connection);
         }
         return result;
     }
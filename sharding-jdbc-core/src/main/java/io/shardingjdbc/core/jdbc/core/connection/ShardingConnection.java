@@ -17,8 +17,10 @@
 
 package io.shardingjdbc.core.jdbc.core.connection;
 
+import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import io.shardingjdbc.core.constant.SQLType;
+import io.shardingjdbc.core.executor.ExecutorEngine;
 import io.shardingjdbc.core.hint.HintManagerHolder;
 import io.shardingjdbc.core.jdbc.adapter.AbstractConnectionAdapter;
 import io.shardingjdbc.core.jdbc.core.ShardingContext;
@@ -26,6 +28,7 @@ import io.shardingjdbc.core.jdbc.core.datasource.MasterSlaveDataSource;
 import io.shardingjdbc.core.jdbc.core.datasource.NamedDataSource;
 import io.shardingjdbc.core.jdbc.core.statement.ShardingPreparedStatement;
 import io.shardingjdbc.core.jdbc.core.statement.ShardingStatement;
+import io.shardingjdbc.core.routing.SQLExecutionUnit;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
@@ -35,9 +38,12 @@ import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
@@ -53,6 +59,8 @@ public final class ShardingConnection extends AbstractConnectionAdapter {
     @Getter
     private final ShardingContext shardingContext;
     
+    private final Map<Connection, Integer> heldCounts = new HashMap<>();
+    
     /**
      * Get all database connections via data source name. 
      *
@@ -75,7 +83,7 @@ public final class ShardingConnection extends AbstractConnectionAdapter {
         Collection<Connection> result = new LinkedList<>();
         for (Entry<String, DataSource> entry : dataSources.entrySet()) {
             Connection connection = getCachedConnections().containsKey(entry.getKey()) ? getCachedConnections().get(entry.getKey()) : entry.getValue().getConnection();
-            replayMethodsInvocation(connection);
+            replayConnectionState(connection);
             getCachedConnections().put(entry.getKey(), connection);
             result.add(connection);
         }
@@ -109,23 +117,126 @@ public final class ShardingConnection extends AbstractConnectionAdapter {
         }
         Connection result = dataSource.getConnection();
         getCachedConnections().put(realDataSourceName, result);
-        replayMethodsInvocation(result);
+        replayConnectionState(result);
         return result;
     }
     
+    /**
+     * Get database connections for execution units of one query.
+     * 
+     * <p>
+     * If {@code max.connections.size.per.query} is greater than 1, 
+     * execution units of select statement in auto commit mode will spread on at most this size of connections for each data source.
+     * Otherwise execution units of same data source share one connection.
+     * </p>
+     * 
+     * @param sqlType SQL type
+     * @param executionUnits execution units
+     * @return database connection map, key is execution unit and value is connection, same order with execution units
+     * @throws SQLException SQL exception
+     */
+    public Map<SQLExecutionUnit, Connection> getConnections(final SQLType sqlType, final Collection<SQLExecutionUnit> executionUnits) throws SQLException {
+        Map<SQLExecutionUnit, Connection> result = new LinkedHashMap<>(executionUnits.size(), 1);
+        if (!isParallelConnectionsAvailable(sqlType)) {
+            for (SQLExecutionUnit each : executionUnits) {
+                result.put(each, getConnection(each.getDataSource(), sqlType));
+            }
+            return result;
+        }
+        Map<String, Integer> unitCounts = new HashMap<>();
+        for (SQLExecutionUnit each : executionUnits) {
+            unitCounts.put(each.getDataSource(), unitCounts.containsKey(each.getDataSource()) ? unitCounts.get(each.getDataSource()) + 1 : 1);
+        }
+        Map<String, List<Connection>> connections = new HashMap<>(unitCounts.size(), 1);
+        for (Entry<String, Integer> entry : unitCounts.entrySet()) {
+            connections.put(entry.getKey(), getConnections(entry.getKey(), sqlType, Math.min(shardingContext.getMaxConnectionsSizePerQuery(), entry.getValue())));
+            entry.setValue(0);
+        }
+        for (SQLExecutionUnit each : executionUnits) {
+            List<Connection> dataSourceConnections = connections.get(each.getDataSource());
+            int index = unitCounts.get(each.getDataSource());
+            result.put(each, dataSourceConnections.get(index % dataSourceConnections.size()));
+            unitCounts.put(each.getDataSource(), index + 1);
+        }
+        return result;
+    }
+    
+    private boolean isParallelConnectionsAvailable(final SQLType sqlType) throws SQLException {
+        return shardingContext.getMaxConnectionsSizePerQuery() > 1 && SQLType.DQL == sqlType && getAutoCommit();
+    }
+    
+    private List<Connection> getConnections(final String dataSourceName, final SQLType sqlType, final int size) throws SQLException {
+        List<Connection> result = new ArrayList<>(size);
+        result.add(getConnection(dataSourceName, sqlType));
+        if (1 == size) {
+            return result;
+        }
+        // master or slave is chosen for each statement, parallel connections are cached by real data source name same as primary connection
+        NamedDataSource namedDataSource = getNamedDataSource(dataSourceName, sqlType);
+        if (!getCachedParallelConnections().containsKey(namedDataSource.getName())) {
+            getCachedParallelConnections().put(namedDataSource.getName(), new ArrayList<Connection>(size - 1));
+        }
+        List<Connection> parallelConnections = getCachedParallelConnections().get(namedDataSource.getName());
+        while (parallelConnections.size() < size - 1) {
+            Connection connection = namedDataSource.getDataSource().getConnection();
+            replayConnectionState(connection);
+            parallelConnections.add(connection);
+        }
+        result.addAll(parallelConnections.subList(0, size - 1));
+        return result;
+    }
+    
+    private NamedDataSource getNamedDataSource(final String dataSourceName, final SQLType sqlType) {
+        DataSource result = shardingContext.getShardingRule().getDataSourceMap().get(dataSourceName);
+        Preconditions.checkState(null != result, "Missing the rule of %s in DataSourceRule", dataSourceName);
+        return result instanceof MasterSlaveDataSource ? ((MasterSlaveDataSource) result).getDataSource(sqlType) : new NamedDataSource(dataSourceName, result);
+    }
+    
     /**
      * Release connection.
      *
      * @param connection to be released connection
      */
     public void release(final Connection connection) {
+        heldCounts.remove(connection);
         getCachedConnections().values().remove(connection);
+        for (List<Connection> each : getCachedParallelConnections().values()) {
+            each.remove(connection);
+        }
         try {
             connection.close();
         } catch (final SQLException ignored) {
         }
     }
     
+    void hold(final Connection connection) {
+        Integer count = heldCounts.get(connection);
+        heldCounts.put(connection, null == count ? 1 : count + 1);
+    }
+    
+    void release(final Collection<Connection> connections) throws SQLException {
+        boolean releasable = getAutoCommit();
+        for (Connection each : connections) {
+            Integer count = heldCounts.get(each);
+            if (null == count) {
+                continue;
+            }
+            if (count > 1) {
+                heldCounts.put(each, count - 1);
+                continue;
+            }
+            heldCounts.remove(each);
+            if (releasable) {
+                release(each);
+            }
+        }
+    }
+    
+    @Override
+    protected Optional<ExecutorEngine> getTransactionExecutorEngine() {
+        return shardingContext.isParallelTransactionEnabled() ? Optional.of(shardingContext.getExecutorEngine()) : Optional.<ExecutorEngine>absent();
+    }
+    
     @Override
     public DatabaseMetaData getMetaData() throws SQLException {
         return getConnection(shardingContext.getShardingRule().getDataSourceMap().keySet().iterator().next(), SQLType.DQL).getMetaData();
@@ -180,6 +291,7 @@ public final class ShardingConnection extends AbstractConnectionAdapter {
     public void close() throws SQLException {
         HintManagerHolder.clear();
         MasterSlaveDataSource.resetDMLFlag();
+        heldCounts.clear();
         super.close();
     }
 }
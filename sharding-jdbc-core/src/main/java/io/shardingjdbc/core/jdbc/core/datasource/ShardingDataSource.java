@@ -21,6 +21,8 @@ import io.shardingjdbc.core.api.ConfigMapContext;
 import io.shardingjdbc.core.constant.ShardingProperties;
 import io.shardingjdbc.core.constant.ShardingPropertiesConstant;
 import io.shardingjdbc.core.executor.ExecutorEngine;
+import io.shardingjdbc.core.executor.ExecutorEngineConfiguration;
+import io.shardingjdbc.core.executor.ExecutorRejectionPolicy;
 import io.shardingjdbc.core.jdbc.adapter.AbstractDataSourceAdapter;
 import io.shardingjdbc.core.jdbc.core.ShardingContext;
 import io.shardingjdbc.core.jdbc.core.connection.ShardingConnection;
@@ -54,10 +56,8 @@ public class ShardingDataSource extends AbstractDataSourceAdapter implements Aut
             ConfigMapContext.getInstance().getShardingConfig().putAll(configMap);
         }
         shardingProperties = new ShardingProperties(null == props ? new Properties() : props);
-        int executorSize = shardingProperties.getValue(ShardingPropertiesConstant.EXECUTOR_SIZE);
-        executorEngine = new ExecutorEngine(executorSize);
-        boolean showSQL = shardingProperties.getValue(ShardingPropertiesConstant.SQL_SHOW);
-        shardingContext = new ShardingContext(shardingRule, getDatabaseType(), executorEngine, showSQL);
+        executorEngine = new ExecutorEngine(createExecutorEngineConfiguration(shardingProperties));
+        shardingContext = new ShardingContext(shardingRule, getDatabaseType(), executorEngine, shardingProperties);
     }
     
     /**
@@ -69,15 +69,22 @@ public class ShardingDataSource extends AbstractDataSourceAdapter implements Aut
      */
     public void renew(final ShardingRule newShardingRule, final Properties newProps) throws SQLException {
         ShardingProperties newShardingProperties = new ShardingProperties(null == newProps ? new Properties() : newProps);
-        int originalExecutorSize = shardingProperties.getValue(ShardingPropertiesConstant.EXECUTOR_SIZE);
-        int newExecutorSize = newShardingProperties.getValue(ShardingPropertiesConstant.EXECUTOR_SIZE);
-        if (originalExecutorSize != newExecutorSize) {
+        ExecutorEngineConfiguration newExecutorEngineConfiguration = createExecutorEngineConfiguration(newShardingProperties);
+        if (!executorEngine.getConfiguration().equals(newExecutorEngineConfiguration)) {
             executorEngine.close();
-            executorEngine = new ExecutorEngine(newExecutorSize);
+            executorEngine = new ExecutorEngine(newExecutorEngineConfiguration);
         }
-        boolean newShowSQL = newShardingProperties.getValue(ShardingPropertiesConstant.SQL_SHOW);
         shardingProperties = newShardingProperties;
-        shardingContext = new ShardingContext(newShardingRule, getDatabaseType(), executorEngine, newShowSQL);
+        shardingContext = new ShardingContext(newShardingRule, getDatabaseType(), executorEngine, newShardingProperties);
+    }
+    
+    private ExecutorEngineConfiguration createExecutorEngineConfiguration(final ShardingProperties shardingProperties) {
+        int executorSize = shardingProperties.getValue(ShardingPropertiesConstant.EXECUTOR_SIZE);
+        int executorSizePerDataSource = shardingProperties.getValue(ShardingPropertiesConstant.EXECUTOR_SIZE_PER_DATA_SOURCE);
+        int queueSize = shardingProperties.getValue(ShardingPropertiesConstant.EXECUTOR_QUEUE_SIZE);
+        String rejectionPolicy = shardingProperties.getValue(ShardingPropertiesConstant.EXECUTOR_REJECTION_POLICY);
+        int maxInFlightPerQuery = shardingProperties.getValue(ShardingPropertiesConstant.EXECUTOR_MAX_IN_FLIGHT_PER_QUERY);
+        return new ExecutorEngineConfiguration(executorSize, executorSizePerDataSource, queueSize, ExecutorRejectionPolicy.valueFrom(rejectionPolicy), maxInFlightPerQuery);
     }
     
     @Override
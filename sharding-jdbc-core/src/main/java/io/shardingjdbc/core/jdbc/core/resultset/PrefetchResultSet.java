@@ -0,0 +1,674 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+package io.shardingjdbc.core.jdbc.core.resultset;
+
+import io.shardingjdbc.core.executor.ExecutorEngine;
+import io.shardingjdbc.core.jdbc.unsupported.AbstractUnsupportedGeneratedKeysResultSet;
+import io.shardingjdbc.core.util.SQLUtil;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.Statement;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Result set which reads rows from bounded buffer filled ahead by prefetch task.
+ * 
+ * <p>
+ * Rows of underlying result set are drained by prefetch task on executor engine, 
+ * so merging of other result sets overlaps with fetching of this one.
+ * Prefetch task returns when buffered rows reach max rows, or estimated buffered bytes reach max bytes, 
+ * and is submitted again when half of max rows are consumed, so it never parks a thread of execute pools.
+ * Values are buffered via {@code getObject}, and string forms of values which are not string are buffered via {@code getString}, 
+ * large objects and streams of underlying result set are not supported.
+ * Underlying result set is read with its physical connection locked, same as executor engine executes statements on it.
+ * </p>
+ * 
+ * @author zhangliang
+ */
+public final class PrefetchResultSet extends AbstractUnsupportedGeneratedKeysResultSet {
+    
+    private final ResultSet resultSet;
+    
+    private final Statement statement;
+    
+    private final Object connectionMonitor;
+    
+    private final ResultSetMetaData resultSetMetaData;
+    
+    private final int columnCount;
+    
+    private final Map<String, Integer> columnLabelIndexMap;
+    
+    private final ExecutorEngine executorEngine;
+    
+    private final int maxRows;
+    
+    private final long maxBytes;
+    
+    private final Queue<Object[]> bufferedRows = new ArrayDeque<>();
+    
+    private final Lock lock = new ReentrantLock();
+    
+    private final Condition stateChanged = lock.newCondition();
+    
+    private long bufferedBytes;
+    
+    private boolean prefetching;
+    
+    private boolean reading;
+    
+    private boolean finished;
+    
+    private SQLException prefetchException;
+    
+    private boolean closed;
+    
+    private Object[] currentRow;
+    
+    private boolean wasNull;
+    
+    private PrefetchResultSet(final ResultSet resultSet, final int maxRows, final long maxBytes, final ExecutorEngine executorEngine) throws SQLException {
+        this.resultSet = resultSet;
+        statement = resultSet.getStatement();
+        connectionMonitor = null == statement ? resultSet : statement.getConnection();
+        resultSetMetaData = resultSet.getMetaData();
+        columnCount = resultSetMetaData.getColumnCount();
+        columnLabelIndexMap = getColumnLabelIndexMap(resultSetMetaData);
+        this.maxRows = maxRows;
+        this.maxBytes = maxBytes;
+        this.executorEngine = executorEngine;
+    }
+    
+    private static Map<String, Integer> getColumnLabelIndexMap(final ResultSetMetaData resultSetMetaData) throws SQLException {
+        Map<String, Integer> result = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (int i = 1; i <= resultSetMetaData.getColumnCount(); i++) {
+            String columnLabel = SQLUtil.getExactlyValue(resultSetMetaData.getColumnLabel(i));
+            if (!result.containsKey(columnLabel)) {
+                result.put(columnLabel, i);
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Wrap result sets and start prefetching.
+     * 
+     * @param resultSets result sets to be prefetched
+     * @param maxRows max buffered rows of each result set
+     * @param maxBytes max estimated buffered bytes of each result set, 0 means unlimited
+     * @param executorEngine executor engine
+     * @return prefetch result sets
+     * @throws SQLException SQL exception
+     */
+    public static List<ResultSet> prefetch(final List<ResultSet> resultSets, final int maxRows, final long maxBytes, final ExecutorEngine executorEngine) throws SQLException {
+        List<ResultSet> result = new ArrayList<>(resultSets.size());
+        for (ResultSet each : resultSets) {
+            PrefetchResultSet prefetchResultSet = new PrefetchResultSet(each, maxRows, maxBytes, executorEngine);
+            prefetchResultSet.lock.lock();
+            try {
+                prefetchResultSet.schedulePrefetch();
+            } finally {
+                prefetchResultSet.lock.unlock();
+            }
+            result.add(prefetchResultSet);
+        }
+        return result;
+    }
+    
+    private void schedulePrefetch() {
+        prefetching = true;
+        executorEngine.submitPrefetchTask(new Runnable() {
+            
+            @Override
+            public void run() {
+                prefetch();
+            }
+        });
+    }
+    
+    private void prefetch() {
+        lock.lock();
+        try {
+            if (closed) {
+                prefetching = false;
+                stateChanged.signalAll();
+                return;
+            }
+            reading = true;
+        } finally {
+            lock.unlock();
+        }
+        boolean hasNext = true;
+        try {
+            while (hasNext && isPrefetchRequired()) {
+                Object[] row = null;
+                synchronized (connectionMonitor) {
+                    hasNext = resultSet.next();
+                    if (hasNext) {
+                        row = readRow();
+                    }
+                }
+                if (hasNext) {
+                    offer(row);
+                }
+            }
+        } catch (final SQLException ex) {
+            setPrefetchException(ex);
+            hasNext = false;
+        } finally {
+            lock.lock();
+            try {
+                reading = false;
+                prefetching = false;
+                finished = finished || !hasNext;
+                stateChanged.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+    
+    private boolean isPrefetchRequired() {
+        lock.lock();
+        try {
+            return !closed && bufferedRows.size() < maxRows && (0 == maxBytes || bufferedBytes < maxBytes);
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    // values are followed by string forms of them, string form of underlying result set may differ from toString of value
+    private Object[] readRow() throws SQLException {
+        Object[] result = new Object[columnCount * 2];
+        for (int i = 0; i < columnCount; i++) {
+            Object value = resultSet.getObject(i + 1);
+            result[i] = value;
+            if (null != value && !(value instanceof String)) {
+                result[columnCount + i] = resultSet.getString(i + 1);
+            }
+        }
+        return result;
+    }
+    
+    private void offer(final Object[] row) {
+        long rowBytes = estimateBytes(row);
+        lock.lock();
+        try {
+            bufferedRows.offer(row);
+            bufferedBytes += rowBytes;
+            stateChanged.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private void setPrefetchException(final SQLException ex) {
+        lock.lock();
+        try {
+            prefetchException = ex;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private static long estimateBytes(final Object[] row) {
+        long result = 16 + 8 * row.length;
+        for (Object each : row) {
+            if (null == each) {
+                continue;
+            }
+            if (each instanceof String) {
+                result += 40 + 2 * ((String) each).length();
+            } else if (each instanceof byte[]) {
+                result += 16 + ((byte[]) each).length;
+            } else if (each instanceof BigDecimal) {
+                result += 64;
+            } else {
+                result += 24;
+            }
+        }
+        return result;
+    }
+    
+    @Override
+    public boolean next() throws SQLException {
+        lock.lock();
+        try {
+            while (!closed && bufferedRows.isEmpty() && !finished) {
+                if (prefetching) {
+                    stateChanged.await();
+                } else {
+                    schedulePrefetch();
+                }
+            }
+            if (closed || bufferedRows.isEmpty()) {
+                currentRow = null;
+                if (!closed && null != prefetchException) {
+                    throw prefetchException;
+                }
+                return false;
+            }
+            currentRow = bufferedRows.poll();
+            bufferedBytes -= estimateBytes(currentRow);
+            if (!finished && !prefetching && bufferedRows.size() <= maxRows / 2) {
+                schedulePrefetch();
+            }
+            return true;
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Waiting for prefetched rows is interrupted.", ex);
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @Override
+    public void close() throws SQLException {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            bufferedRows.clear();
+            stateChanged.signalAll();
+            while (reading) {
+                stateChanged.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+        synchronized (connectionMonitor) {
+            resultSet.close();
+        }
+    }
+    
+    @Override
+    public boolean isClosed() throws SQLException {
+        lock.lock();
+        try {
+            return closed;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @Override
+    public ResultSetMetaData getMetaData() throws SQLException {
+        return resultSetMetaData;
+    }
+    
+    @Override
+    public Statement getStatement() throws SQLException {
+        return statement;
+    }
+    
+    @Override
+    public int findColumn(final String columnLabel) throws SQLException {
+        Integer result = columnLabelIndexMap.get(SQLUtil.getExactlyValue(columnLabel));
+        if (null == result) {
+            throw new SQLException(String.format("Can not find column label '%s'", columnLabel));
+        }
+        return result;
+    }
+    
+    @Override
+    public boolean wasNull() throws SQLException {
+        return wasNull;
+    }
+    
+    @Override
+    public Object getObject(final int columnIndex) throws SQLException {
+        if (null == currentRow) {
+            throw new SQLException("Current row is null, ResultSet perhaps end of next.");
+        }
+        if (columnIndex < 1 || columnIndex > columnCount) {
+            throw new SQLException(String.format("Column index '%d' out of range", columnIndex));
+        }
+        Object result = currentRow[columnIndex - 1];
+        wasNull = null == result;
+        return result;
+    }
+    
+    @Override
+    public Object getObject(final String columnLabel) throws SQLException {
+        return getObject(findColumn(columnLabel));
+    }
+    
+    private Number getNumber(final int columnIndex) throws SQLException {
+        Object value = getObject(columnIndex);
+        if (null == value || value instanceof Number) {
+            return (Number) value;
+        }
+        if (value instanceof Boolean) {
+            return (Boolean) value ? 1 : 0;
+        }
+        try {
+            return new BigDecimal(value.toString().trim());
+        } catch (final NumberFormatException ex) {
+            throw new SQLException(String.format("Cannot convert value '%s' to number", value), ex);
+        }
+    }
+    
+    @Override
+    public boolean getBoolean(final int columnIndex) throws SQLException {
+        Object value = getObject(columnIndex);
+        if (null == value) {
+            return false;
+        }
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        }
+        if (value instanceof Number) {
+            return 0 != ((Number) value).intValue();
+        }
+        return "true".equalsIgnoreCase(value.toString()) || "1".equals(value.toString());
+    }
+    
+    @Override
+    public boolean getBoolean(final String columnLabel) throws SQLException {
+        return getBoolean(findColumn(columnLabel));
+    }
+    
+    @Override
+    public byte getByte(final int columnIndex) throws SQLException {
+        Number result = getNumber(columnIndex);
+        return null == result ? 0 : result.byteValue();
+    }
+    
+    @Override
+    public byte getByte(final String columnLabel) throws SQLException {
+        return getByte(findColumn(columnLabel));
+    }
+    
+    @Override
+    public short getShort(final int columnIndex) throws SQLException {
+        Number result = getNumber(columnIndex);
+        return null == result ? 0 : result.shortValue();
+    }
+    
+    @Override
+    public short getShort(final String columnLabel) throws SQLException {
+        return getShort(findColumn(columnLabel));
+    }
+    
+    @Override
+    public int getInt(final int columnIndex) throws SQLException {
+        Number result = getNumber(columnIndex);
+        return null == result ? 0 : result.intValue();
+    }
+    
+    @Override
+    public int getInt(final String columnLabel) throws SQLException {
+        return getInt(findColumn(columnLabel));
+    }
+    
+    @Override
+    public long getLong(final int columnIndex) throws SQLException {
+        Number result = getNumber(columnIndex);
+        return null == result ? 0L : result.longValue();
+    }
+    
+    @Override
+    public long getLong(final String columnLabel) throws SQLException {
+        return getLong(findColumn(columnLabel));
+    }
+    
+    @Override
+    public float getFloat(final int columnIndex) throws SQLException {
+        Number result = getNumber(columnIndex);
+        return null == result ? 0F : result.floatValue();
+    }
+    
+    @Override
+    public float getFloat(final String columnLabel) throws SQLException {
+        return getFloat(findColumn(columnLabel));
+    }
+    
+    @Override
+    public double getDouble(final int columnIndex) throws SQLException {
+        Number result = getNumber(columnIndex);
+        return null == result ? 0D : result.doubleValue();
+    }
+    
+    @Override
+    public double getDouble(final String columnLabel) throws SQLException {
+        return getDouble(findColumn(columnLabel));
+    }
+    
+    @Override
+    public BigDecimal getBigDecimal(final int columnIndex) throws SQLException {
+        Number result = getNumber(columnIndex);
+        return null == result || result instanceof BigDecimal ? (BigDecimal) result : new BigDecimal(result.toString());
+    }
+    
+    @Override
+    public BigDecimal getBigDecimal(final String columnLabel) throws SQLException {
+        return getBigDecimal(findColumn(columnLabel));
+    }
+    
+    @Override
+    public BigDecimal getBigDecimal(final int columnIndex, final int scale) throws SQLException {
+        BigDecimal result = getBigDecimal(columnIndex);
+        return null == result ? null : result.setScale(scale, BigDecimal.ROUND_HALF_UP);
+    }
+    
+    @Override
+    public BigDecimal getBigDecimal(final String columnLabel, final int scale) throws SQLException {
+        return getBigDecimal(findColumn(columnLabel), scale);
+    }
+    
+    @Override
+    public String getString(final int columnIndex) throws SQLException {
+        Object result = getObject(columnIndex);
+        return null == result || result instanceof String ? (String) result : (String) currentRow[columnCount + columnIndex - 1];
+    }
+    
+    @Override
+    public String getString(final String columnLabel) throws SQLException {
+        return getString(findColumn(columnLabel));
+    }
+    
+    @Override
+    public byte[] getBytes(final int columnIndex) throws SQLException {
+        Object result = getObject(columnIndex);
+        if (null == result || result instanceof byte[]) {
+            return (byte[]) result;
+        }
+        throw new SQLException(String.format("Cannot convert value '%s' to bytes", result));
+    }
+    
+    @Override
+    public byte[] getBytes(final String columnLabel) throws SQLException {
+        return getBytes(findColumn(columnLabel));
+    }
+    
+    private java.util.Date getDateValue(final int columnIndex) throws SQLException {
+        Object result = getObject(columnIndex);
+        if (null == result || result instanceof java.util.Date) {
+            return (java.util.Date) result;
+        }
+        throw new SQLException(String.format("Cannot convert value '%s' to date", result));
+    }
+    
+    @Override
+    public Date getDate(final int columnIndex) throws SQLException {
+        java.util.Date result = getDateValue(columnIndex);
+        return null == result || result instanceof Date ? (Date) result : new Date(result.getTime());
+    }
+    
+    @Override
+    public Date getDate(final String columnLabel) throws SQLException {
+        return getDate(findColumn(columnLabel));
+    }
+    
+    @Override
+    public Date getDate(final int columnIndex, final Calendar cal) throws SQLException {
+        return convertTimeZone(getDate(columnIndex), cal);
+    }
+    
+    @Override
+    public Date getDate(final String columnLabel, final Calendar cal) throws SQLException {
+        return getDate(findColumn(columnLabel), cal);
+    }
+    
+    @Override
+    public Time getTime(final int columnIndex) throws SQLException {
+        java.util.Date result = getDateValue(columnIndex);
+        return null == result || result instanceof Time ? (Time) result : new Time(result.getTime());
+    }
+    
+    @Override
+    public Time getTime(final String columnLabel) throws SQLException {
+        return getTime(findColumn(columnLabel));
+    }
+    
+    @Override
+    public Time getTime(final int columnIndex, final Calendar cal) throws SQLException {
+        return convertTimeZone(getTime(columnIndex), cal);
+    }
+    
+    @Override
+    public Time getTime(final String columnLabel, final Calendar cal) throws SQLException {
+        return getTime(findColumn(columnLabel), cal);
+    }
+    
+    @Override
+    public Timestamp getTimestamp(final int columnIndex) throws SQLException {
+        java.util.Date result = getDateValue(columnIndex);
+        return null == result || result instanceof Timestamp ? (Timestamp) result : new Timestamp(result.getTime());
+    }
+    
+    @Override
+    public Timestamp getTimestamp(final String columnLabel) throws SQLException {
+        return getTimestamp(findColumn(columnLabel));
+    }
+    
+    @Override
+    public Timestamp getTimestamp(final int columnIndex, final Calendar cal) throws SQLException {
+        return convertTimeZone(getTimestamp(columnIndex), cal);
+    }
+    
+    @Override
+    public Timestamp getTimestamp(final String columnLabel, final Calendar cal) throws SQLException {
+        return getTimestamp(findColumn(columnLabel), cal);
+    }
+    
+    // value is constructed by driver in default time zone, same local date time is read in time zone of calendar as driver does
+    @SuppressWarnings("unchecked")
+    private static <T extends java.util.Date> T convertTimeZone(final T value, final Calendar cal) {
+        if (null == value || null == cal) {
+            return value;
+        }
+        Calendar defaultCalendar = Calendar.getInstance();
+        defaultCalendar.setTime(value);
+        Calendar targetCalendar = (Calendar) cal.clone();
+        targetCalendar.clear();
+        for (int each : new int[] {Calendar.ERA, Calendar.YEAR, Calendar.MONTH, Calendar.DAY_OF_MONTH, Calendar.HOUR_OF_DAY, Calendar.MINUTE, Calendar.SECOND, Calendar.MILLISECOND}) {
+            targetCalendar.set(each, defaultCalendar.get(each));
+        }
+        long time = targetCalendar.getTimeInMillis();
+        if (value instanceof Timestamp) {
+            Timestamp result = new Timestamp(time);
+            result.setNanos(((Timestamp) value).getNanos());
+            return (T) result;
+        }
+        if (value instanceof Time) {
+            return (T) new Time(time);
+        }
+        return (T) new Date(time);
+    }
+    
+    @Override
+    public InputStream getBinaryStream(final int columnIndex) throws SQLException {
+        byte[] result = getBytes(columnIndex);
+        return null == result ? null : new ByteArrayInputStream(result);
+    }
+    
+    @Override
+    public InputStream getBinaryStream(final String columnLabel) throws SQLException {
+        return getBinaryStream(findColumn(columnLabel));
+    }
+    
+    @Override
+    public Reader getCharacterStream(final int columnIndex) throws SQLException {
+        String result = getString(columnIndex);
+        return null == result ? null : new StringReader(result);
+    }
+    
+    @Override
+    public Reader getCharacterStream(final String columnLabel) throws SQLException {
+        return getCharacterStream(findColumn(columnLabel));
+    }
+    
+    @Override
+    public int getType() throws SQLException {
+        return ResultSet.TYPE_FORWARD_ONLY;
+    }
+    
+    @Override
+    public int getConcurrency() throws SQLException {
+        return ResultSet.CONCUR_READ_ONLY;
+    }
+    
+    @Override
+    public int getFetchDirection() throws SQLException {
+        return ResultSet.FETCH_FORWARD;
+    }
+    
+    @Override
+    public void setFetchDirection(final int direction) throws SQLException {
+    }
+    
+    @Override
+    public int getFetchSize() throws SQLException {
+        return maxRows;
+    }
+    
+    @Override
+    public void setFetchSize(final int rows) throws SQLException {
+    }
+    
+    @Override
+    public SQLWarning getWarnings() throws SQLException {
+        return null;
+    }
+    
+    @Override
+    public void clearWarnings() throws SQLException {
+    }
+}
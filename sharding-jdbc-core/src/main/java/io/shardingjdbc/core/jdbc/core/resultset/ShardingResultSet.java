@@ -17,7 +17,9 @@
 
 package io.shardingjdbc.core.jdbc.core.resultset;
 
+import io.shardingjdbc.core.executor.DeferredResultSets;
 import io.shardingjdbc.core.jdbc.adapter.AbstractResultSetAdapter;
+import io.shardingjdbc.core.jdbc.core.connection.HeldConnections;
 import io.shardingjdbc.core.merger.ResultSetMerger;
 import io.shardingjdbc.core.merger.util.ResultSetUtil;
 
@@ -45,14 +47,50 @@ public final class ShardingResultSet extends AbstractResultSetAdapter {
     
     private final ResultSetMerger mergeResultSet;
     
+    private HeldConnections heldConnections;
+    
+    private boolean exhausted;
+    
     public ShardingResultSet(final List<ResultSet> resultSets, final ResultSetMerger mergeResultSet) {
+        this(resultSets, mergeResultSet, null);
+    }
+    
+    public ShardingResultSet(final List<ResultSet> resultSets, final ResultSetMerger mergeResultSet, final HeldConnections heldConnections) {
         super(resultSets);
         this.mergeResultSet = mergeResultSet;
+        this.heldConnections = heldConnections;
     }
     
     @Override
     public boolean next() throws SQLException {
-        return mergeResultSet.next();
+        // underlying result sets may be closed after exhausted
+        if (exhausted) {
+            return false;
+        }
+        boolean result = mergeResultSet.next();
+        exhausted = !result;
+        if (!result && getResultSets() instanceof DeferredResultSets) {
+            ((DeferredResultSets) getResultSets()).release();
+        }
+        if (!result && null != heldConnections) {
+            releaseHeldConnections();
+        }
+        return result;
+    }
+    
+    private void releaseHeldConnections() throws SQLException {
+        HeldConnections exhaustedHeldConnections = heldConnections;
+        heldConnections = null;
+        try {
+            close();
+        } finally {
+            exhaustedHeldConnections.release();
+        }
+    }
+    
+    @Override
+    protected void releaseResources() throws SQLException {
+        mergeResultSet.close();
     }
     
     @Override
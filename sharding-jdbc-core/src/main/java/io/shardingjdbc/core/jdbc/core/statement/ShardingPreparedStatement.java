@@ -20,11 +20,16 @@ package io.shardingjdbc.core.jdbc.core.statement;
 import io.shardingjdbc.core.constant.SQLType;
 import io.shardingjdbc.core.executor.type.batch.BatchPreparedStatementExecutor;
 import io.shardingjdbc.core.executor.type.batch.BatchPreparedStatementUnit;
+import io.shardingjdbc.core.executor.type.paging.DeepPagingExecutor;
+import io.shardingjdbc.core.executor.type.paging.DeepPagingQueryCallback;
 import io.shardingjdbc.core.executor.type.prepared.PreparedStatementExecutor;
 import io.shardingjdbc.core.executor.type.prepared.PreparedStatementUnit;
 import io.shardingjdbc.core.jdbc.adapter.AbstractShardingPreparedStatementAdapter;
+import io.shardingjdbc.core.jdbc.core.ShardingContext;
+import io.shardingjdbc.core.jdbc.core.connection.HeldConnections;
 import io.shardingjdbc.core.jdbc.core.connection.ShardingConnection;
 import io.shardingjdbc.core.jdbc.core.resultset.GeneratedKeysResultSet;
+import io.shardingjdbc.core.jdbc.core.resultset.PrefetchResultSet;
 import io.shardingjdbc.core.jdbc.core.resultset.ShardingResultSet;
 import io.shardingjdbc.core.merger.MergeEngine;
 import io.shardingjdbc.core.parsing.parser.context.GeneratedKey;
@@ -34,10 +39,13 @@ import io.shardingjdbc.core.routing.PreparedStatementRoutingEngine;
 import io.shardingjdbc.core.routing.SQLExecutionUnit;
 import io.shardingjdbc.core.routing.SQLRouteResult;
 import com.google.common.base.Optional;
-import com.google.common.base.Predicate;
-import com.google.common.collect.Iterators;
+import com.google.common.util.concurrent.AsyncFunction;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
@@ -47,9 +55,15 @@ import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
 
 /**
  * PreparedStatement that support sharding.
@@ -70,12 +84,24 @@ public final class ShardingPreparedStatement extends AbstractShardingPreparedSta
     
     private final PreparedStatementRoutingEngine routingEngine;
     
-    private final List<BatchPreparedStatementUnit> batchStatementUnits = new LinkedList<>();
+    private final Map<SQLExecutionUnit, BatchPreparedStatementUnit> batchStatementUnits = new LinkedHashMap<>();
     
     private final List<List<Object>> parameterSets = new LinkedList<>();
     
+    @Getter(AccessLevel.NONE)
+    private final Map<List<Object>, SQLRouteResult> batchRouteResults = new HashMap<>();
+    
     private final Collection<PreparedStatement> routedStatements = new LinkedList<>();
     
+    @Getter(AccessLevel.NONE)
+    private final Set<PreparedStatement> inUseStatements = Collections.newSetFromMap(new IdentityHashMap<PreparedStatement, Boolean>());
+    
+    @Getter(AccessLevel.NONE)
+    private final Map<PreparedStatementKey, PreparedStatement> cachedStatements = new LinkedHashMap<>(16, 0.75f, true);
+    
+    @Getter(AccessLevel.NONE)
+    private final HeldConnections heldConnections;
+    
     @Getter(AccessLevel.NONE)
     private boolean returnGeneratedKeys;
     
@@ -105,6 +131,7 @@ public final class ShardingPreparedStatement extends AbstractShardingPreparedSta
         this.resultSetType = resultSetType;
         this.resultSetConcurrency = resultSetConcurrency;
         this.resultSetHoldability = resultSetHoldability;
+        heldConnections = new HeldConnections(connection);
         routingEngine = new PreparedStatementRoutingEngine(sql, connection.getShardingContext());
     }
     
@@ -112,10 +139,18 @@ public final class ShardingPreparedStatement extends AbstractShardingPreparedSta
     public ResultSet executeQuery() throws SQLException {
         ResultSet result;
         try {
-            Collection<PreparedStatementUnit> preparedStatementUnits = route();
-            List<ResultSet> resultSets = new PreparedStatementExecutor(
-                    getConnection().getShardingContext().getExecutorEngine(), routeResult.getSqlStatement().getType(), preparedStatementUnits, getParameters()).executeQuery();
-            result = new ShardingResultSet(resultSets, new MergeEngine(resultSets, (SelectStatement) routeResult.getSqlStatement()).merge());
+            clearPrevious();
+            routeResult = routingEngine.route(getParameters());
+            List<ResultSet> resultSets;
+            if (!routeResult.getDeepPagingUnits().isEmpty()) {
+                resultSets = executeDeepPagingQuery();
+            } else if (isDeferrable()) {
+                resultSets = new PreparedStatementExecutor(getConnection().getShardingContext().getExecutorEngine(), 
+                        routeResult.getSqlStatement().getType(), generatePreparedStatementUnits(), getParameters()).submitQuery();
+            } else {
+                resultSets = executeQuery(generatePreparedStatementUnits());
+            }
+            result = createShardingResultSet(resultSets, (SelectStatement) routeResult.getSqlStatement());
         } finally {
             clearBatch();
         }
@@ -125,13 +160,16 @@ public final class ShardingPreparedStatement extends AbstractShardingPreparedSta
     
     @Override
     public int executeUpdate() throws SQLException {
+        int result;
         try {
             Collection<PreparedStatementUnit> preparedStatementUnits = route();
-            return new PreparedStatementExecutor(
+            result = new PreparedStatementExecutor(
                     getConnection().getShardingContext().getExecutorEngine(), routeResult.getSqlStatement().getType(), preparedStatementUnits, getParameters()).executeUpdate();
         } finally {
             clearBatch();
         }
+        releaseAfterUpdateCountRead();
+        return result;
     }
     
     @Override
@@ -145,22 +183,188 @@ public final class ShardingPreparedStatement extends AbstractShardingPreparedSta
         }
     }
     
+    /**
+     * Execute query asynchronously.
+     * 
+     * <p>
+     * Route and prepare statements in caller thread, then execute and merge without blocking caller.
+     * Do not reuse this statement before the future is done.
+     * </p>
+     * 
+     * @return future of merged result set
+     * @throws SQLException SQL exception
+     */
+    public ListenableFuture<ResultSet> executeQueryAsync() throws SQLException {
+        final SelectStatement selectStatement;
+        ListenableFuture<List<ResultSet>> resultSets;
+        try {
+            Collection<PreparedStatementUnit> preparedStatementUnits = route();
+            selectStatement = (SelectStatement) routeResult.getSqlStatement();
+            resultSets = new PreparedStatementExecutor(getConnection().getShardingContext().getExecutorEngine(), 
+                    selectStatement.getType(), preparedStatementUnits, new ArrayList<>(getParameters())).executeQueryAsync();
+        } finally {
+            clearBatch();
+        }
+        return Futures.transform(resultSets, new AsyncFunction<List<ResultSet>, ResultSet>() {
+            
+            @Override
+            public ListenableFuture<ResultSet> apply(final List<ResultSet> input) throws SQLException {
+                currentResultSet = createShardingResultSet(input, selectStatement);
+                return Futures.immediateFuture(currentResultSet);
+            }
+        });
+    }
+    
+    /**
+     * Execute update asynchronously.
+     * 
+     * <p>
+     * Route and prepare statements in caller thread, then execute without blocking caller.
+     * Do not reuse this statement before the future is done.
+     * </p>
+     * 
+     * @return future of effected records count
+     * @throws SQLException SQL exception
+     */
+    public ListenableFuture<Integer> executeUpdateAsync() throws SQLException {
+        try {
+            Collection<PreparedStatementUnit> preparedStatementUnits = route();
+            return new PreparedStatementExecutor(getConnection().getShardingContext().getExecutorEngine(), 
+                    routeResult.getSqlStatement().getType(), preparedStatementUnits, new ArrayList<>(getParameters())).executeUpdateAsync();
+        } finally {
+            clearBatch();
+        }
+    }
+    
+    private List<ResultSet> executeQuery(final Collection<PreparedStatementUnit> preparedStatementUnits) {
+        return new PreparedStatementExecutor(getConnection().getShardingContext().getExecutorEngine(), routeResult.getSqlStatement().getType(), preparedStatementUnits, getParameters()).executeQuery();
+    }
+    
+    // result sets iterated one by one and stopped by limit need not be waited all, cannot prefetch them without waiting
+    private boolean isDeferrable() {
+        SelectStatement selectStatement = (SelectStatement) routeResult.getSqlStatement();
+        return 0 == getConnection().getShardingContext().getPrefetchRows() && routeResult.getExecutionUnits().size() > 1 && null != selectStatement.getLimit() 
+                && selectStatement.getLimit().getRowCountValue() > -1 && selectStatement.getOrderByItems().isEmpty() 
+                && selectStatement.getGroupByItems().isEmpty() && selectStatement.getAggregationSelectItems().isEmpty();
+    }
+    
+    private List<ResultSet> executeDeepPagingQuery() throws SQLException {
+        Optional<List<ResultSet>> result = new DeepPagingExecutor((SelectStatement) routeResult.getSqlStatement(), getConnection().getShardingContext().getDatabaseType(), 
+                routeResult.getDeepPagingUnits(), getParameters()).executeQuery(new DeepPagingQueryCallback() {
+                    
+                    @Override
+                    public List<ResultSet> executeQuery(final List<SQLExecutionUnit> sqlExecutionUnits, final List<List<Object>> parameterSets) throws SQLException {
+                        Map<SQLExecutionUnit, Connection> connections = getConnection().getConnections(SQLType.DQL, sqlExecutionUnits);
+                        Collection<PreparedStatementUnit> preparedStatementUnits = new LinkedList<>();
+                        List<Object> originalParameters = new ArrayList<>(getParameters());
+                        try {
+                            for (int i = 0; i < sqlExecutionUnits.size(); i++) {
+                                setParameters(parameterSets.get(i));
+                                PreparedStatement preparedStatement = getPreparedStatement(connections.get(sqlExecutionUnits.get(i)), sqlExecutionUnits.get(i).getSql());
+                                addRoutedStatement(preparedStatement);
+                                replaySetParameter(preparedStatement);
+                                preparedStatementUnits.add(new PreparedStatementUnit(sqlExecutionUnits.get(i), preparedStatement));
+                            }
+                        } finally {
+                            setParameters(originalParameters);
+                        }
+                        return ShardingPreparedStatement.this.executeQuery(preparedStatementUnits);
+                    }
+                });
+        return result.isPresent() ? result.get() : executeQuery(generatePreparedStatementUnits());
+    }
+    
+    private void setParameters(final List<Object> parameters) {
+        for (int i = 0; i < parameters.size(); i++) {
+            getParameters().set(i, parameters.get(i));
+        }
+    }
+    
+    private void clearPrevious() throws SQLException {
+        // deferred tasks of previous result set may still execute cached statements on held connections
+        if (null != currentResultSet) {
+            ResultSet previousResultSet = currentResultSet;
+            currentResultSet = null;
+            previousResultSet.close();
+        }
+        clearRoutedStatements();
+        heldConnections.release();
+        purgeReleasedStatements();
+        evictCachedStatements(0);
+    }
+    
+    // connections of update in auto commit mode need not be held until next execution, unless generated keys are read from actual statements
+    @Override
+    protected void releaseAfterUpdateCountRead() throws SQLException {
+        if (returnGeneratedKeys || !getConnection().getShardingContext().isConnectionReleaseEnabled() || !getConnection().getAutoCommit()) {
+            return;
+        }
+        clearRoutedStatements();
+        heldConnections.release();
+        purgeReleasedStatements();
+    }
+    
+    private void addRoutedStatement(final PreparedStatement preparedStatement) {
+        routedStatements.add(preparedStatement);
+        inUseStatements.add(preparedStatement);
+    }
+    
+    private void clearRoutedStatements() {
+        for (PreparedStatement each : routedStatements) {
+            inUseStatements.remove(each);
+        }
+        routedStatements.clear();
+    }
+    
+    // statements of released connections can never be reused, connection of cache key is not cached by sharding connection any more
+    private void purgeReleasedStatements() {
+        if (!getConnection().getShardingContext().isConnectionReleaseEnabled() || cachedStatements.isEmpty()) {
+            return;
+        }
+        Collection<Connection> cachedConnections = getConnection().getAllCachedConnections();
+        Iterator<Entry<PreparedStatementKey, PreparedStatement>> iterator = cachedStatements.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Entry<PreparedStatementKey, PreparedStatement> entry = iterator.next();
+            if (!cachedConnections.contains(entry.getKey().connection)) {
+                iterator.remove();
+                routedStatements.remove(entry.getValue());
+                inUseStatements.remove(entry.getValue());
+                try {
+                    entry.getValue().close();
+                } catch (final SQLException ignored) {
+                }
+            }
+        }
+    }
+    
     private Collection<PreparedStatementUnit> route() throws SQLException {
-        Collection<PreparedStatementUnit> result = new LinkedList<>();
+        clearPrevious();
         routeResult = routingEngine.route(getParameters());
-        for (SQLExecutionUnit each : routeResult.getExecutionUnits()) {
-            SQLType sqlType = routeResult.getSqlStatement().getType();
-            Collection<PreparedStatement> preparedStatements;
-            if (SQLType.DDL == sqlType) {
-                preparedStatements = generatePreparedStatementForDDL(each);
-            } else {
-                preparedStatements = Collections.singletonList(generatePreparedStatement(each));
+        return generatePreparedStatementUnits();
+    }
+    
+    private Collection<PreparedStatementUnit> generatePreparedStatementUnits() throws SQLException {
+        Collection<PreparedStatementUnit> result = new LinkedList<>();
+        SQLType sqlType = routeResult.getSqlStatement().getType();
+        if (SQLType.DDL == sqlType) {
+            for (SQLExecutionUnit each : routeResult.getExecutionUnits()) {
+                for (PreparedStatement preparedStatement : generatePreparedStatementForDDL(each)) {
+                    addRoutedStatement(preparedStatement);
+                    replaySetParameter(preparedStatement);
+                    result.add(new PreparedStatementUnit(each, preparedStatement));
+                }
             }
-            routedStatements.addAll(preparedStatements);
-            for (PreparedStatement preparedStatement : preparedStatements) {
-                replaySetParameter(preparedStatement);
-                result.add(new PreparedStatementUnit(each, preparedStatement));
+            return result;
+        }
+        for (Entry<SQLExecutionUnit, Connection> entry : getConnection().getConnections(sqlType, routeResult.getExecutionUnits()).entrySet()) {
+            PreparedStatement preparedStatement = getPreparedStatement(entry.getValue(), entry.getKey().getSql());
+            addRoutedStatement(preparedStatement);
+            if (entry.getKey().getParameterIndexes().isPresent()) {
+                replaySetParameter(preparedStatement, entry.getKey().getParameterIndexes().get());
+            } else {
+                replaySetParameter(preparedStatement, entry.getKey().getCombinedUnitCount());
             }
+            result.add(new PreparedStatementUnit(entry.getKey(), preparedStatement));
         }
         return result;
     }
@@ -169,23 +373,78 @@ public final class ShardingPreparedStatement extends AbstractShardingPreparedSta
         Collection<PreparedStatement> result = new LinkedList<>();
         Collection<Connection> connections = getConnection().getAllConnections(sqlExecutionUnit.getDataSource());
         for (Connection each : connections) {
-            result.add(each.prepareStatement(sqlExecutionUnit.getSql(), resultSetType, resultSetConcurrency, resultSetHoldability));
+            result.add(getPreparedStatement(each, sqlExecutionUnit.getSql()));
+        }
+        return result;
+    }
+    
+    private PreparedStatement getPreparedStatement(final SQLExecutionUnit sqlExecutionUnit) throws SQLException {
+        return getPreparedStatement(getConnection().getConnection(sqlExecutionUnit.getDataSource(), routeResult.getSqlStatement().getType()), sqlExecutionUnit.getSql());
+    }
+    
+    private PreparedStatement getPreparedStatement(final Connection connection, final String sql) throws SQLException {
+        heldConnections.hold(connection);
+        PreparedStatementKey key = new PreparedStatementKey(connection, sql, 0);
+        PreparedStatement result = cachedStatements.get(key);
+        // same actual SQL may be routed to same connection more than once in one execution
+        while (null != result && isInUse(result)) {
+            key = new PreparedStatementKey(connection, sql, key.ordinal + 1);
+            result = cachedStatements.get(key);
         }
+        if (null != result && !result.isClosed()) {
+            return result;
+        }
+        evictCachedStatements(1);
+        result = generatePreparedStatement(connection, sql);
+        replayStatementState(result);
+        cachedStatements.put(key, result);
         return result;
     }
     
-    private PreparedStatement generatePreparedStatement(final SQLExecutionUnit sqlExecutionUnit) throws SQLException {
-        Connection connection = getConnection().getConnection(sqlExecutionUnit.getDataSource(), routeResult.getSqlStatement().getType());
-        return returnGeneratedKeys ? connection.prepareStatement(sqlExecutionUnit.getSql(), Statement.RETURN_GENERATED_KEYS)
-                : connection.prepareStatement(sqlExecutionUnit.getSql(), resultSetType, resultSetConcurrency, resultSetHoldability);
+    private PreparedStatement generatePreparedStatement(final Connection connection, final String sql) throws SQLException {
+        return returnGeneratedKeys ? connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS) : connection.prepareStatement(sql, resultSetType, resultSetConcurrency, resultSetHoldability);
+    }
+    
+    private boolean isInUse(final PreparedStatement preparedStatement) {
+        return inUseStatements.contains(preparedStatement);
+    }
+    
+    private void evictCachedStatements(final int reservedCount) throws SQLException {
+        int evictingCount = cachedStatements.size() + reservedCount - getConnection().getShardingContext().getStatementCacheSize();
+        Iterator<PreparedStatement> iterator = cachedStatements.values().iterator();
+        while (evictingCount > 0 && iterator.hasNext()) {
+            PreparedStatement each = iterator.next();
+            if (!isInUse(each)) {
+                iterator.remove();
+                evictingCount--;
+                each.close();
+            }
+        }
+    }
+    
+    @Override
+    protected Collection<PreparedStatement> getOpenedStatements() {
+        purgeReleasedStatements();
+        return cachedStatements.values();
+    }
+    
+    @Override
+    protected void releaseResources() throws SQLException {
+        inUseStatements.clear();
+        heldConnections.release();
     }
     
     @Override
     public void clearBatch() throws SQLException {
         currentResultSet = null;
         clearParameters();
+        for (BatchPreparedStatementUnit each : batchStatementUnits.values()) {
+            each.getStatement().clearBatch();
+            inUseStatements.remove(each.getStatement());
+        }
         batchStatementUnits.clear();
         parameterSets.clear();
+        batchRouteResults.clear();
     }
     
     @Override
@@ -195,48 +454,86 @@ public final class ShardingPreparedStatement extends AbstractShardingPreparedSta
                 each.getStatement().addBatch();
                 each.mapAddBatchCount(parameterSets.size());
             }
-            parameterSets.add(getParameters());
+            parameterSets.add(new ArrayList<>(getParameters()));
         } finally {
             currentResultSet = null;
             clearParameters();
         }
     }
     
+    /**
+     * Add parameters of multiple rows to batch in one call.
+     * 
+     * <p>
+     * Each row is added as calling {@code setObject} for all its parameters and then {@code addBatch}.
+     * Parameters set before this call are discarded.
+     * Rows with same sharding parameters reuse route result of previous row instead of routing again.
+     * </p>
+     * 
+     * @param parameterSets parameters of rows, parameters of each row are in placeholder order
+     * @throws SQLException SQL exception
+     */
+    public void addBatch(final List<List<Object>> parameterSets) throws SQLException {
+        clearParameters();
+        for (List<Object> each : parameterSets) {
+            int count = 0;
+            for (Object parameter : each) {
+                setObject(++count, parameter);
+            }
+            addBatch();
+        }
+    }
+    
     private List<BatchPreparedStatementUnit> routeBatch() throws SQLException {
         List<BatchPreparedStatementUnit> result = new ArrayList<>();
-        routeResult = routingEngine.route(getParameters());
+        routeResult = getBatchRouteResult();
         for (SQLExecutionUnit each : routeResult.getExecutionUnits()) {
             BatchPreparedStatementUnit batchStatementUnit = getPreparedBatchStatement(each);
-            replaySetParameter(batchStatementUnit.getStatement());
+            if (each.getParameterIndexes().isPresent()) {
+                replaySetParameter(batchStatementUnit.getStatement(), each.getParameterIndexes().get());
+            } else {
+                replaySetParameter(batchStatementUnit.getStatement());
+            }
             result.add(batchStatementUnit);
         }
         return result;
     }
     
+    // rows with same sharding parameters are routed to same execution units, route result of previous row can be reused
+    private SQLRouteResult getBatchRouteResult() {
+        Optional<List<Object>> shardingParameters = routingEngine.getShardingParameters(getParameters());
+        if (!shardingParameters.isPresent()) {
+            return routingEngine.route(getParameters());
+        }
+        SQLRouteResult result = batchRouteResults.get(shardingParameters.get());
+        if (null == result) {
+            result = routingEngine.route(getParameters());
+            batchRouteResults.put(shardingParameters.get(), result);
+        }
+        return result;
+    }
+    
     private BatchPreparedStatementUnit getPreparedBatchStatement(final SQLExecutionUnit sqlExecutionUnit) throws SQLException {
-        Optional<BatchPreparedStatementUnit> preparedBatchStatement = Iterators.tryFind(batchStatementUnits.iterator(), new Predicate<BatchPreparedStatementUnit>() {
-            
-            @Override
-            public boolean apply(final BatchPreparedStatementUnit input) {
-                return Objects.equals(input.getSqlExecutionUnit(), sqlExecutionUnit);
-            }
-        });
-        if (preparedBatchStatement.isPresent()) {
-            return preparedBatchStatement.get();
+        BatchPreparedStatementUnit result = batchStatementUnits.get(sqlExecutionUnit);
+        if (null == result) {
+            result = new BatchPreparedStatementUnit(sqlExecutionUnit, getPreparedStatement(sqlExecutionUnit));
+            batchStatementUnits.put(sqlExecutionUnit, result);
+            inUseStatements.add(result.getStatement());
         }
-        BatchPreparedStatementUnit result = new BatchPreparedStatementUnit(sqlExecutionUnit, generatePreparedStatement(sqlExecutionUnit));
-        batchStatementUnits.add(result);
         return result;
     }
     
     @Override
     public int[] executeBatch() throws SQLException {
+        int[] result;
         try {
-            return new BatchPreparedStatementExecutor(getConnection().getShardingContext().getExecutorEngine(), 
-                    getConnection().getShardingContext().getDatabaseType(), routeResult.getSqlStatement().getType(), batchStatementUnits, parameterSets).executeBatch();
+            result = new BatchPreparedStatementExecutor(getConnection().getShardingContext().getExecutorEngine(), 
+                    getConnection().getShardingContext().getDatabaseType(), routeResult.getSqlStatement().getType(), batchStatementUnits.values(), parameterSets).executeBatch();
         } finally {
             clearBatch();
         }
+        releaseAfterUpdateCountRead();
+        return result;
     }
     
     @Override
@@ -263,7 +560,7 @@ public final class ShardingPreparedStatement extends AbstractShardingPreparedSta
         if (null != currentResultSet) {
             return currentResultSet;
         }
-        if (1 == routedStatements.size()) {
+        if (1 == routedStatements.size() && routeResult.isSingleTableUnit()) {
             currentResultSet = routedStatements.iterator().next().getResultSet();
             return currentResultSet;
         }
@@ -271,7 +568,27 @@ public final class ShardingPreparedStatement extends AbstractShardingPreparedSta
         for (PreparedStatement each : routedStatements) {
             resultSets.add(each.getResultSet());
         }
-        currentResultSet = new ShardingResultSet(resultSets, new MergeEngine(resultSets, (SelectStatement) routeResult.getSqlStatement()).merge());
+        currentResultSet = createShardingResultSet(resultSets, (SelectStatement) routeResult.getSqlStatement());
         return currentResultSet;
     }
+    
+    private ShardingResultSet createShardingResultSet(final List<ResultSet> resultSets, final SelectStatement selectStatement) throws SQLException {
+        ShardingContext shardingContext = getConnection().getShardingContext();
+        List<ResultSet> mergedResultSets = 0 == shardingContext.getPrefetchRows()
+                ? resultSets : PrefetchResultSet.prefetch(resultSets, shardingContext.getPrefetchRows(), shardingContext.getPrefetchBytes(), shardingContext.getExecutorEngine());
+        return new ShardingResultSet(mergedResultSets, 
+                new MergeEngine(mergedResultSets, selectStatement, shardingContext.getGroupByMaxMemoryRows(), shardingContext.isOrderByLoserTreeEnabled()).merge(),
+                shardingContext.isConnectionReleaseEnabled() ? heldConnections : null);
+    }
+    
+    @RequiredArgsConstructor
+    @EqualsAndHashCode
+    private static final class PreparedStatementKey {
+        
+        private final Connection connection;
+        
+        private final String sql;
+        
+        private final int ordinal;
+    }
 }
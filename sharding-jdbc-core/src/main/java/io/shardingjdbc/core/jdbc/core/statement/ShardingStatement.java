@@ -18,11 +18,16 @@
 package io.shardingjdbc.core.jdbc.core.statement;
 
 import io.shardingjdbc.core.constant.SQLType;
+import io.shardingjdbc.core.executor.type.paging.DeepPagingExecutor;
+import io.shardingjdbc.core.executor.type.paging.DeepPagingQueryCallback;
 import io.shardingjdbc.core.executor.type.statement.StatementExecutor;
 import io.shardingjdbc.core.executor.type.statement.StatementUnit;
 import io.shardingjdbc.core.jdbc.adapter.AbstractStatementAdapter;
+import io.shardingjdbc.core.jdbc.core.ShardingContext;
+import io.shardingjdbc.core.jdbc.core.connection.HeldConnections;
 import io.shardingjdbc.core.jdbc.core.connection.ShardingConnection;
 import io.shardingjdbc.core.jdbc.core.resultset.GeneratedKeysResultSet;
+import io.shardingjdbc.core.jdbc.core.resultset.PrefetchResultSet;
 import io.shardingjdbc.core.jdbc.core.resultset.ShardingResultSet;
 import io.shardingjdbc.core.merger.MergeEngine;
 import io.shardingjdbc.core.parsing.parser.context.GeneratedKey;
@@ -32,6 +37,9 @@ import io.shardingjdbc.core.routing.SQLExecutionUnit;
 import io.shardingjdbc.core.routing.SQLRouteResult;
 import io.shardingjdbc.core.routing.StatementRoutingEngine;
 import com.google.common.base.Optional;
+import com.google.common.util.concurrent.AsyncFunction;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import lombok.AccessLevel;
 import lombok.Getter;
 
@@ -44,6 +52,8 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 
 /**
  * Statement that support sharding.
@@ -65,6 +75,9 @@ public class ShardingStatement extends AbstractStatementAdapter {
     
     private final Collection<Statement> routedStatements = new LinkedList<>();
     
+    @Getter(AccessLevel.NONE)
+    private final HeldConnections heldConnections;
+    
     @Getter(AccessLevel.NONE)
     private boolean returnGeneratedKeys;
     
@@ -83,20 +96,28 @@ public class ShardingStatement extends AbstractStatementAdapter {
     }
     
     public ShardingStatement(final ShardingConnection connection, final int resultSetType, final int resultSetConcurrency, final int resultSetHoldability) {
-        super(Statement.class);
         this.connection = connection;
         this.resultSetType = resultSetType;
         this.resultSetConcurrency = resultSetConcurrency;
         this.resultSetHoldability = resultSetHoldability;
+        heldConnections = new HeldConnections(connection);
     }
     
     @Override
     public ResultSet executeQuery(final String sql) throws SQLException {
         ResultSet result;
         try {
-            List<ResultSet> resultSets = generateExecutor(sql).executeQuery();
-            result = new ShardingResultSet(
-                    resultSets, new MergeEngine(resultSets, (SelectStatement) routeResult.getSqlStatement()).merge());
+            clearPrevious();
+            routeResult = new StatementRoutingEngine(connection.getShardingContext()).route(sql);
+            List<ResultSet> resultSets;
+            if (!routeResult.getDeepPagingUnits().isEmpty()) {
+                resultSets = executeDeepPagingQuery();
+            } else if (isDeferrable()) {
+                resultSets = generateExecutor().submitQuery();
+            } else {
+                resultSets = generateExecutor().executeQuery();
+            }
+            result = createShardingResultSet(resultSets, (SelectStatement) routeResult.getSqlStatement());
         } finally {
             currentResultSet = null;
         }
@@ -106,11 +127,14 @@ public class ShardingStatement extends AbstractStatementAdapter {
     
     @Override
     public int executeUpdate(final String sql) throws SQLException {
+        int result;
         try {
-            return generateExecutor(sql).executeUpdate();
+            result = generateExecutor(sql).executeUpdate();
         } finally {
             currentResultSet = null;
         }
+        releaseAfterUpdateCountRead();
+        return result;
     }
     
     @Override
@@ -118,11 +142,14 @@ public class ShardingStatement extends AbstractStatementAdapter {
         if (RETURN_GENERATED_KEYS == autoGeneratedKeys) {
             returnGeneratedKeys = true;
         }
+        int result;
         try {
-            return generateExecutor(sql).executeUpdate(autoGeneratedKeys);
+            result = generateExecutor(sql).executeUpdate(autoGeneratedKeys);
         } finally {
             currentResultSet = null;
         }
+        releaseAfterUpdateCountRead();
+        return result;
     }
     
     @Override
@@ -186,33 +213,143 @@ public class ShardingStatement extends AbstractStatementAdapter {
         }
     }
     
+    /**
+     * Execute query asynchronously.
+     * 
+     * <p>
+     * Route and create statements in caller thread, then execute and merge without blocking caller.
+     * Do not reuse this statement before the future is done.
+     * </p>
+     * 
+     * @param sql SQL
+     * @return future of merged result set
+     * @throws SQLException SQL exception
+     */
+    public ListenableFuture<ResultSet> executeQueryAsync(final String sql) throws SQLException {
+        ListenableFuture<List<ResultSet>> resultSets;
+        try {
+            resultSets = generateExecutor(sql).executeQueryAsync();
+        } finally {
+            currentResultSet = null;
+        }
+        final SelectStatement selectStatement = (SelectStatement) routeResult.getSqlStatement();
+        return Futures.transform(resultSets, new AsyncFunction<List<ResultSet>, ResultSet>() {
+            
+            @Override
+            public ListenableFuture<ResultSet> apply(final List<ResultSet> input) throws SQLException {
+                currentResultSet = createShardingResultSet(input, selectStatement);
+                return Futures.immediateFuture(currentResultSet);
+            }
+        });
+    }
+    
+    /**
+     * Execute update asynchronously.
+     * 
+     * <p>
+     * Route and create statements in caller thread, then execute without blocking caller.
+     * Do not reuse this statement before the future is done.
+     * </p>
+     * 
+     * @param sql SQL
+     * @return future of effected records count
+     * @throws SQLException SQL exception
+     */
+    public ListenableFuture<Integer> executeUpdateAsync(final String sql) throws SQLException {
+        try {
+            return generateExecutor(sql).executeUpdateAsync();
+        } finally {
+            currentResultSet = null;
+        }
+    }
+    
     private StatementExecutor generateExecutor(final String sql) throws SQLException {
         clearPrevious();
         routeResult = new StatementRoutingEngine(connection.getShardingContext()).route(sql);
+        return generateExecutor();
+    }
+    
+    private StatementExecutor generateExecutor() throws SQLException {
         Collection<StatementUnit> statementUnits = new LinkedList<>();
-        for (SQLExecutionUnit each : routeResult.getExecutionUnits()) {
-            Collection<Connection> connections;
-            SQLType sqlType = routeResult.getSqlStatement().getType();
-            if (SQLType.DDL == sqlType) {
-                connections = connection.getAllConnections(each.getDataSource());
-            } else {
-                connections = Collections.singletonList(connection.getConnection(each.getDataSource(), routeResult.getSqlStatement().getType()));
+        SQLType sqlType = routeResult.getSqlStatement().getType();
+        if (SQLType.DDL == sqlType) {
+            for (SQLExecutionUnit each : routeResult.getExecutionUnits()) {
+                for (Connection actualConnection : connection.getAllConnections(each.getDataSource())) {
+                    statementUnits.add(generateStatementUnit(each, actualConnection));
+                }
             }
-            for (Connection connection : connections) {
-                Statement statement = connection.createStatement(resultSetType, resultSetConcurrency, resultSetHoldability);
-                replayMethodsInvocation(statement);
-                statementUnits.add(new StatementUnit(each, statement));
-                routedStatements.add(statement);
+        } else {
+            for (Entry<SQLExecutionUnit, Connection> entry : connection.getConnections(sqlType, routeResult.getExecutionUnits()).entrySet()) {
+                statementUnits.add(generateStatementUnit(entry.getKey(), entry.getValue()));
             }
         }
-        return new StatementExecutor(connection.getShardingContext().getExecutorEngine(), routeResult.getSqlStatement().getType(), statementUnits);
+        return new StatementExecutor(connection.getShardingContext().getExecutorEngine(), sqlType, statementUnits);
+    }
+    
+    // result sets iterated one by one and stopped by limit need not be waited all, cannot prefetch them without waiting
+    private boolean isDeferrable() {
+        SelectStatement selectStatement = (SelectStatement) routeResult.getSqlStatement();
+        return 0 == connection.getShardingContext().getPrefetchRows() && routeResult.getExecutionUnits().size() > 1 && null != selectStatement.getLimit() 
+                && selectStatement.getLimit().getRowCountValue() > -1 && selectStatement.getOrderByItems().isEmpty() 
+                && selectStatement.getGroupByItems().isEmpty() && selectStatement.getAggregationSelectItems().isEmpty();
+    }
+    
+    private List<ResultSet> executeDeepPagingQuery() throws SQLException {
+        ShardingContext shardingContext = connection.getShardingContext();
+        Optional<List<ResultSet>> result = new DeepPagingExecutor((SelectStatement) routeResult.getSqlStatement(), shardingContext.getDatabaseType(), 
+                routeResult.getDeepPagingUnits(), Collections.emptyList()).executeQuery(new DeepPagingQueryCallback() {
+                    
+                    @Override
+                    public List<ResultSet> executeQuery(final List<SQLExecutionUnit> sqlExecutionUnits, final List<List<Object>> parameterSets) throws SQLException {
+                        Map<SQLExecutionUnit, Connection> connections = connection.getConnections(SQLType.DQL, sqlExecutionUnits);
+                        Collection<StatementUnit> statementUnits = new LinkedList<>();
+                        for (SQLExecutionUnit each : sqlExecutionUnits) {
+                            statementUnits.add(generateStatementUnit(each, connections.get(each)));
+                        }
+                        return new StatementExecutor(connection.getShardingContext().getExecutorEngine(), SQLType.DQL, statementUnits).executeQuery();
+                    }
+                });
+        return result.isPresent() ? result.get() : generateExecutor().executeQuery();
+    }
+    
+    private StatementUnit generateStatementUnit(final SQLExecutionUnit sqlExecutionUnit, final Connection actualConnection) throws SQLException {
+        heldConnections.hold(actualConnection);
+        Statement statement = actualConnection.createStatement(resultSetType, resultSetConcurrency, resultSetHoldability);
+        replayStatementState(statement);
+        routedStatements.add(statement);
+        return new StatementUnit(sqlExecutionUnit, statement);
     }
     
     private void clearPrevious() throws SQLException {
+        // deferred tasks of previous result set may still execute routed statements on held connections
+        if (null != currentResultSet) {
+            ResultSet previousResultSet = currentResultSet;
+            currentResultSet = null;
+            previousResultSet.close();
+        }
+        for (Statement each : routedStatements) {
+            each.close();
+        }
+        routedStatements.clear();
+        heldConnections.release();
+    }
+    
+    // connections of update in auto commit mode need not be held until next execution, unless generated keys are read from actual statements
+    @Override
+    protected void releaseAfterUpdateCountRead() throws SQLException {
+        if (returnGeneratedKeys || !connection.getShardingContext().isConnectionReleaseEnabled() || !connection.getAutoCommit()) {
+            return;
+        }
         for (Statement each : routedStatements) {
             each.close();
         }
         routedStatements.clear();
+        heldConnections.release();
+    }
+    
+    @Override
+    protected void releaseResources() throws SQLException {
+        heldConnections.release();
     }
     
     @Override
@@ -239,7 +376,7 @@ public class ShardingStatement extends AbstractStatementAdapter {
         if (null != currentResultSet) {
             return currentResultSet;
         }
-        if (1 == routedStatements.size()) {
+        if (1 == routedStatements.size() && routeResult.isSingleTableUnit()) {
             currentResultSet = routedStatements.iterator().next().getResultSet();
             return currentResultSet;
         }
@@ -247,7 +384,16 @@ public class ShardingStatement extends AbstractStatementAdapter {
         for (Statement each : routedStatements) {
             resultSets.add(each.getResultSet());
         }
-        currentResultSet = new ShardingResultSet(resultSets, new MergeEngine(resultSets, (SelectStatement) routeResult.getSqlStatement()).merge());
+        currentResultSet = createShardingResultSet(resultSets, (SelectStatement) routeResult.getSqlStatement());
         return currentResultSet;
     }
+    
+    private ShardingResultSet createShardingResultSet(final List<ResultSet> resultSets, final SelectStatement selectStatement) throws SQLException {
+        ShardingContext shardingContext = connection.getShardingContext();
+        List<ResultSet> mergedResultSets = 0 == shardingContext.getPrefetchRows()
+                ? resultSets : PrefetchResultSet.prefetch(resultSets, shardingContext.getPrefetchRows(), shardingContext.getPrefetchBytes(), shardingContext.getExecutorEngine());
+        return new ShardingResultSet(mergedResultSets, 
+                new MergeEngine(mergedResultSets, selectStatement, shardingContext.getGroupByMaxMemoryRows(), shardingContext.isOrderByLoserTreeEnabled()).merge(),
+                shardingContext.isConnectionReleaseEnabled() ? heldConnections : null);
+    }
 }
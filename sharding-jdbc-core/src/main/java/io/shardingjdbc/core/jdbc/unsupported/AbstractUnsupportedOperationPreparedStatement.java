@@ -38,10 +38,6 @@ import java.sql.SQLFeatureNotSupportedException;
  */
 public abstract class AbstractUnsupportedOperationPreparedStatement extends AbstractStatementAdapter implements PreparedStatement {
     
-    public AbstractUnsupportedOperationPreparedStatement() {
-        super(PreparedStatement.class);
-    }
-    
     @Override
     public final ResultSetMetaData getMetaData() throws SQLException {
         throw new SQLFeatureNotSupportedException("getMetaData");
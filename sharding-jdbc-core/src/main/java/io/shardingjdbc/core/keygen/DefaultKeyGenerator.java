@@ -22,8 +22,11 @@ import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Default distributed primary key generator.
@@ -43,6 +46,13 @@ import java.util.Date;
  * Call @{@code DefaultKeyGenerator.setWorkerId} to set.
  * </p>
  * 
+ * <p>
+ * Last timestamp and sequence are updated together by compare and set without lock.
+ * If sequence of current millisecond is exhausted, keys are taken from following milliseconds instead of waiting,
+ * as long as they are not ahead of clock more than tolerated milliseconds.
+ * Clock moving backwards within tolerated milliseconds is tolerated in the same way.
+ * </p>
+ * 
  * @author gaohongtao
  */
 @Slf4j
@@ -50,6 +60,11 @@ public final class DefaultKeyGenerator implements KeyGenerator {
     
     public static final long EPOCH;
     
+    /**
+     * Max count of keys reserved in one call.
+     */
+    public static final int MAX_RESERVED_COUNT = 1 << 12;
+    
     private static final long SEQUENCE_BITS = 12L;
     
     private static final long WORKER_ID_BITS = 10L;
@@ -62,6 +77,8 @@ public final class DefaultKeyGenerator implements KeyGenerator {
     
     private static final long WORKER_ID_MAX_VALUE = 1L << WORKER_ID_BITS;
     
+    private static final long TOLERATED_MILLIS = 10L;
+    
     @Setter
     private static TimeService timeService = new TimeService();
     
@@ -77,9 +94,10 @@ public final class DefaultKeyGenerator implements KeyGenerator {
         EPOCH = calendar.getTimeInMillis();
     }
     
-    private long sequence;
+    // timestamp offset and sequence of last generated key, same layout as key without worker id
+    private final AtomicLong lastTimeAndSequence = new AtomicLong(-1L);
     
-    private long lastTime;
+    private volatile long lastCurrentMillis;
     
     /**
      * Set work process id.
@@ -97,28 +115,54 @@ public final class DefaultKeyGenerator implements KeyGenerator {
      * @return key type is @{@link Long}.
      */
     @Override
-    public synchronized Number generateKey() {
-        long currentMillis = timeService.getCurrentMillis();
-        Preconditions.checkState(lastTime <= currentMillis, "Clock is moving backwards, last time is %d milliseconds, current time is %d milliseconds", lastTime, currentMillis);
-        if (lastTime == currentMillis) {
-            if (0L == (sequence = ++sequence & SEQUENCE_MASK)) {
-                currentMillis = waitUntilNextTime(currentMillis);
-            }
-        } else {
-            sequence = 0;
-        }
-        lastTime = currentMillis;
+    public Number generateKey() {
+        long result = toKey(reserve(1));
         if (log.isDebugEnabled()) {
-            log.debug("{}-{}-{}", new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS").format(new Date(lastTime)), workerId, sequence);
+            log.debug("{}-{}-{}", new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS").format(new Date(EPOCH + (result >>> TIMESTAMP_LEFT_SHIFT_BITS))), workerId, result & SEQUENCE_MASK);
+        }
+        return result;
+    }
+    
+    /**
+     * Generate keys of contiguous sequences.
+     * 
+     * @param count count of keys, no more than {@code MAX_RESERVED_COUNT}
+     * @return keys in ascending order, key type is @{@link Long}.
+     */
+    public List<Number> generateKeys(final int count) {
+        Preconditions.checkArgument(count > 0 && count <= MAX_RESERVED_COUNT, "Count of keys must between 1 and %s.", MAX_RESERVED_COUNT);
+        long first = reserve(count);
+        List<Number> result = new ArrayList<>(count);
+        for (long i = 0; i < count; i++) {
+            result.add(toKey(first + i));
         }
-        return ((currentMillis - EPOCH) << TIMESTAMP_LEFT_SHIFT_BITS) | (workerId << WORKER_ID_LEFT_SHIFT_BITS) | sequence;
+        return result;
     }
     
-    private long waitUntilNextTime(final long lastTime) {
-        long time = timeService.getCurrentMillis();
-        while (time <= lastTime) {
-            time = timeService.getCurrentMillis();
+    // return time and sequence of first reserved key
+    private long reserve(final int count) {
+        while (true) {
+            long currentMillis = timeService.getCurrentMillis();
+            Preconditions.checkState(lastCurrentMillis - currentMillis <= TOLERATED_MILLIS, 
+                    "Clock is moving backwards, last time is %d milliseconds, current time is %d milliseconds", lastCurrentMillis, currentMillis);
+            if (currentMillis > lastCurrentMillis) {
+                lastCurrentMillis = currentMillis;
+            }
+            long last = lastTimeAndSequence.get();
+            long currentTime = currentMillis - EPOCH;
+            long first = currentTime > last >> SEQUENCE_BITS ? currentTime << SEQUENCE_BITS : last + 1;
+            long next = first + count - 1;
+            if ((next >> SEQUENCE_BITS) - currentTime > TOLERATED_MILLIS) {
+                Thread.yield();
+                continue;
+            }
+            if (lastTimeAndSequence.compareAndSet(last, next)) {
+                return first;
+            }
         }
-        return time;
+    }
+    
+    private long toKey(final long timeAndSequence) {
+        return (timeAndSequence >> SEQUENCE_BITS << TIMESTAMP_LEFT_SHIFT_BITS) | (workerId << WORKER_ID_LEFT_SHIFT_BITS) | (timeAndSequence & SEQUENCE_MASK);
     }
 }
@@ -18,9 +18,11 @@
 package io.shardingjdbc.core.merger;
 
 import io.shardingjdbc.core.merger.groupby.GroupByMemoryResultSetMerger;
+import io.shardingjdbc.core.merger.groupby.GroupBySpillResultSetMerger;
 import io.shardingjdbc.core.merger.groupby.GroupByStreamResultSetMerger;
 import io.shardingjdbc.core.merger.iterator.IteratorStreamResultSetMerger;
 import io.shardingjdbc.core.merger.limit.LimitDecoratorResultSetMerger;
+import io.shardingjdbc.core.merger.orderby.OrderByLoserTreeResultSetMerger;
 import io.shardingjdbc.core.merger.orderby.OrderByStreamResultSetMerger;
 import io.shardingjdbc.core.parsing.parser.sql.dql.select.SelectStatement;
 import io.shardingjdbc.core.util.SQLUtil;
@@ -45,9 +47,19 @@ public final class MergeEngine {
     
     private final Map<String, Integer> columnLabelIndexMap;
     
+    private final int groupByMaxMemoryRows;
+    
+    private final boolean orderByLoserTreeEnabled;
+    
     public MergeEngine(final List<ResultSet> resultSets, final SelectStatement selectStatement) throws SQLException {
+        this(resultSets, selectStatement, 0, false);
+    }
+    
+    public MergeEngine(final List<ResultSet> resultSets, final SelectStatement selectStatement, final int groupByMaxMemoryRows, final boolean orderByLoserTreeEnabled) throws SQLException {
         this.resultSets = resultSets;
         this.selectStatement = selectStatement;
+        this.groupByMaxMemoryRows = groupByMaxMemoryRows;
+        this.orderByLoserTreeEnabled = orderByLoserTreeEnabled;
         columnLabelIndexMap = getColumnLabelIndexMap(resultSets.get(0));
     }
     
@@ -75,12 +87,18 @@ public final class MergeEngine {
         if (!selectStatement.getGroupByItems().isEmpty() || !selectStatement.getAggregationSelectItems().isEmpty()) {
             if (selectStatement.isSameGroupByAndOrderByItems()) {
                 return new GroupByStreamResultSetMerger(columnLabelIndexMap, resultSets, selectStatement);
+            } else if (groupByMaxMemoryRows > 0) {
+                return new GroupBySpillResultSetMerger(columnLabelIndexMap, resultSets, selectStatement, groupByMaxMemoryRows);
             } else {
                 return new GroupByMemoryResultSetMerger(columnLabelIndexMap, resultSets, selectStatement);
             }
         }
         if (!selectStatement.getOrderByItems().isEmpty()) {
-            return new OrderByStreamResultSetMerger(resultSets, selectStatement.getOrderByItems());
+            if (orderByLoserTreeEnabled) {
+                return new OrderByLoserTreeResultSetMerger(resultSets, selectStatement.getOrderByItems());
+            } else {
+                return new OrderByStreamResultSetMerger(resultSets, selectStatement.getOrderByItems());
+            }
         }
         return new IteratorStreamResultSetMerger(resultSets);
     }
@@ -105,4 +105,15 @@ public interface ResultSetMerger {
      * @throws SQLException SQL Exception
      */
     boolean wasNull() throws SQLException;
+    
+    /**
+     * Close merger and release resources held by it.
+     * 
+     * <p>
+     * Underlying result sets are not closed by merger.
+     * </p>
+     * 
+     * @throws SQLException SQL Exception
+     */
+    void close() throws SQLException;
 }
@@ -52,7 +52,7 @@ public abstract class AbstractMemoryResultSetMerger implements ResultSetMerger {
         if (Blob.class == type || Clob.class == type || Reader.class == type || InputStream.class == type || SQLXML.class == type) {
             throw new SQLFeatureNotSupportedException();
         }
-        Object result = currentResultSetRow.getCell(columnIndex);
+        Object result = getCell(columnIndex);
         wasNull = null == result;
         return result;
     }
@@ -62,7 +62,7 @@ public abstract class AbstractMemoryResultSetMerger implements ResultSetMerger {
         if (Blob.class == type || Clob.class == type || Reader.class == type || InputStream.class == type || SQLXML.class == type) {
             throw new SQLFeatureNotSupportedException();
         }
-        Object result =  currentResultSetRow.getCell(labelAndIndexMap.containsKey(columnLabel) ? labelAndIndexMap.get(columnLabel) : labelAndIndexMap.get(SQLUtil.getExactlyValue(columnLabel)));
+        Object result = getCell(labelAndIndexMap.containsKey(columnLabel) ? labelAndIndexMap.get(columnLabel) : labelAndIndexMap.get(SQLUtil.getExactlyValue(columnLabel)));
         wasNull = null == result;
         return result;
     }
@@ -70,7 +70,7 @@ public abstract class AbstractMemoryResultSetMerger implements ResultSetMerger {
     @Override
     public Object getCalendarValue(final int columnIndex, final Class<?> type, final Calendar calendar) throws SQLException {
         // TODO 时间相关取值未实现calendar模式
-        Object result = currentResultSetRow.getCell(columnIndex);
+        Object result = getCell(columnIndex);
         wasNull = null == result;
         return result;
     }
@@ -78,7 +78,7 @@ public abstract class AbstractMemoryResultSetMerger implements ResultSetMerger {
     @Override
     public Object getCalendarValue(final String columnLabel, final Class<?> type, final Calendar calendar) throws SQLException {
         // TODO 时间相关取值未实现calendar模式
-        Object result = currentResultSetRow.getCell(labelAndIndexMap.get(columnLabel));
+        Object result = getCell(labelAndIndexMap.get(columnLabel));
         wasNull = null == result;
         return result;
     }
@@ -97,4 +97,18 @@ public abstract class AbstractMemoryResultSetMerger implements ResultSetMerger {
     public boolean wasNull() throws SQLException {
         return wasNull;
     }
+    
+    @Override
+    public void close() throws SQLException {
+    }
+    
+    /**
+     * Get cell of current row.
+     * 
+     * @param columnIndex column index
+     * @return cell value
+     */
+    protected Object getCell(final int columnIndex) {
+        return currentResultSetRow.getCell(columnIndex);
+    }
 }
@@ -0,0 +1,410 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+package io.shardingjdbc.core.merger.common;
+
+import com.google.common.base.Preconditions;
+import io.shardingjdbc.core.constant.OrderType;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Columnar rows of result sets in memory.
+ * 
+ * <p>
+ * Integral and floating columns are stored in primitive arrays, string columns are dictionary encoded, nulls are stored in bitmaps.
+ * Type of column is decided by SQL type of meta data and class of its first non null value, 
+ * so cells are boxed back to same class as {@code ResultSet.getObject} returns. Other columns are stored as objects.
+ * </p>
+ * 
+ * @author zhangliang
+ */
+public final class ColumnarResultSetRows {
+    
+    private static final int INITIAL_CAPACITY = 16;
+    
+    private final ResultSetMetaData resultSetMetaData;
+    
+    private final Column[] columns;
+    
+    private int size;
+    
+    public ColumnarResultSetRows(final ResultSetMetaData resultSetMetaData, final Collection<Integer> objectColumnIndexes) throws SQLException {
+        this.resultSetMetaData = resultSetMetaData;
+        columns = new Column[resultSetMetaData.getColumnCount()];
+        for (int i = 0; i < columns.length; i++) {
+            if (objectColumnIndexes.contains(i + 1) || !isPrimitiveType(resultSetMetaData.getColumnType(i + 1))) {
+                columns[i] = new ObjectColumn();
+            }
+        }
+    }
+    
+    private static boolean isPrimitiveType(final int sqlType) {
+        return isIntegralType(sqlType) || isFloatingType(sqlType) || isStringType(sqlType);
+    }
+    
+    private static boolean isIntegralType(final int sqlType) {
+        return Types.TINYINT == sqlType || Types.SMALLINT == sqlType || Types.INTEGER == sqlType || Types.BIGINT == sqlType;
+    }
+    
+    private static boolean isFloatingType(final int sqlType) {
+        return Types.REAL == sqlType || Types.FLOAT == sqlType || Types.DOUBLE == sqlType;
+    }
+    
+    private static boolean isStringType(final int sqlType) {
+        return Types.CHAR == sqlType || Types.VARCHAR == sqlType || Types.LONGVARCHAR == sqlType || Types.NCHAR == sqlType || Types.NVARCHAR == sqlType;
+    }
+    
+    /**
+     * Get size of rows.
+     * 
+     * @return size of rows
+     */
+    public int size() {
+        return size;
+    }
+    
+    /**
+     * Add current row of result set.
+     * 
+     * @param resultSet result set
+     * @return index of added row
+     * @throws SQLException SQL exception
+     */
+    public int add(final ResultSet resultSet) throws SQLException {
+        for (int i = 0; i < columns.length; i++) {
+            if (null != columns[i]) {
+                columns[i].read(resultSet, i + 1, size);
+                continue;
+            }
+            Object value = resultSet.getObject(i + 1);
+            if (null != value) {
+                columns[i] = createColumn(resultSetMetaData.getColumnType(i + 1), value);
+                columns[i].set(size, value);
+            }
+        }
+        return size++;
+    }
+    
+    private Column createColumn(final int sqlType, final Object value) {
+        Column result;
+        if (isIntegralType(sqlType) && value instanceof Long) {
+            result = new IntegralColumn(false);
+        } else if (isIntegralType(sqlType) && value instanceof Integer) {
+            result = new IntegralColumn(true);
+        } else if (isFloatingType(sqlType) && value instanceof Double) {
+            result = new DoubleColumn();
+        } else if (isStringType(sqlType) && value instanceof String) {
+            result = new StringColumn();
+        } else {
+            result = new ObjectColumn();
+        }
+        return fillNulls(result);
+    }
+    
+    private Column fillNulls(final Column column) {
+        for (int i = 0; i < size; i++) {
+            column.set(i, null);
+        }
+        return column;
+    }
+    
+    /**
+     * Get cell.
+     * 
+     * @param rowIndex row index
+     * @param columnIndex column index
+     * @return cell value
+     */
+    public Object getCell(final int rowIndex, final int columnIndex) {
+        Column column = getColumn(rowIndex, columnIndex);
+        return null == column || column.isNull(rowIndex) ? null : column.get(rowIndex);
+    }
+    
+    /**
+     * Set cell.
+     * 
+     * @param rowIndex row index
+     * @param columnIndex column index
+     * @param value cell value
+     */
+    public void setCell(final int rowIndex, final int columnIndex, final Object value) {
+        Column column = getColumn(rowIndex, columnIndex);
+        if (null == column) {
+            column = fillNulls(new ObjectColumn());
+            columns[columnIndex - 1] = column;
+        }
+        if (!column.set(rowIndex, value)) {
+            ObjectColumn objectColumn = new ObjectColumn();
+            for (int i = 0; i < size; i++) {
+                objectColumn.set(i, column.isNull(i) ? null : column.get(i));
+            }
+            objectColumn.set(rowIndex, value);
+            columns[columnIndex - 1] = objectColumn;
+        }
+    }
+    
+    /**
+     * Compare cells of two rows.
+     * 
+     * @param rowIndex1 index of first row
+     * @param rowIndex2 index of second row
+     * @param columnIndex column index
+     * @param orderType order type
+     * @param nullOrderType null value order type
+     * @return compare result
+     */
+    public int compare(final int rowIndex1, final int rowIndex2, final int columnIndex, final OrderType orderType, final OrderType nullOrderType) {
+        Column column = getColumn(rowIndex1, columnIndex);
+        Preconditions.checkElementIndex(rowIndex2, size);
+        boolean isNull1 = null == column || column.isNull(rowIndex1);
+        boolean isNull2 = null == column || column.isNull(rowIndex2);
+        if (isNull1 && isNull2) {
+            return 0;
+        }
+        if (isNull1) {
+            return orderType == nullOrderType ? -1 : 1;
+        }
+        if (isNull2) {
+            return orderType == nullOrderType ? 1 : -1;
+        }
+        int result = column.compare(rowIndex1, rowIndex2);
+        return OrderType.ASC == orderType ? result : -result;
+    }
+    
+    private Column getColumn(final int rowIndex, final int columnIndex) {
+        Preconditions.checkElementIndex(rowIndex, size);
+        Preconditions.checkArgument(columnIndex > 0 && columnIndex < columns.length + 1);
+        return columns[columnIndex - 1];
+    }
+    
+    private abstract static class Column {
+        
+        private long[] nullBitmap = new long[1];
+        
+        final boolean isNull(final int rowIndex) {
+            return rowIndex >> 6 < nullBitmap.length && 0 != (nullBitmap[rowIndex >> 6] & 1L << rowIndex);
+        }
+        
+        final void setNull(final int rowIndex, final boolean isNull) {
+            if (rowIndex >> 6 >= nullBitmap.length) {
+                if (!isNull) {
+                    return;
+                }
+                nullBitmap = Arrays.copyOf(nullBitmap, Math.max(nullBitmap.length * 2, (rowIndex >> 6) + 1));
+            }
+            if (isNull) {
+                nullBitmap[rowIndex >> 6] |= 1L << rowIndex;
+            } else {
+                nullBitmap[rowIndex >> 6] &= ~(1L << rowIndex);
+            }
+        }
+        
+        static int newCapacity(final int capacity, final int rowIndex) {
+            return Math.max(capacity * 2, rowIndex + 1);
+        }
+        
+        abstract void read(ResultSet resultSet, int columnIndex, int rowIndex) throws SQLException;
+        
+        abstract Object get(int rowIndex);
+        
+        abstract boolean set(int rowIndex, Object value);
+        
+        abstract int compare(int rowIndex1, int rowIndex2);
+    }
+    
+    private static final class IntegralColumn extends Column {
+        
+        private final boolean boxedAsInteger;
+        
+        private long[] values = new long[INITIAL_CAPACITY];
+        
+        IntegralColumn(final boolean boxedAsInteger) {
+            this.boxedAsInteger = boxedAsInteger;
+        }
+        
+        @Override
+        void read(final ResultSet resultSet, final int columnIndex, final int rowIndex) throws SQLException {
+            long value = boxedAsInteger ? resultSet.getInt(columnIndex) : resultSet.getLong(columnIndex);
+            boolean isNull = resultSet.wasNull();
+            setValue(rowIndex, isNull ? 0L : value);
+            setNull(rowIndex, isNull);
+        }
+        
+        private void setValue(final int rowIndex, final long value) {
+            if (rowIndex >= values.length) {
+                values = Arrays.copyOf(values, newCapacity(values.length, rowIndex));
+            }
+            values[rowIndex] = value;
+        }
+        
+        @Override
+        Object get(final int rowIndex) {
+            return boxedAsInteger ? (Object) (int) values[rowIndex] : (Object) values[rowIndex];
+        }
+        
+        @Override
+        boolean set(final int rowIndex, final Object value) {
+            if (null == value) {
+                setNull(rowIndex, true);
+                return true;
+            }
+            if (boxedAsInteger ? !(value instanceof Integer) : !(value instanceof Long)) {
+                return false;
+            }
+            setValue(rowIndex, ((Number) value).longValue());
+            setNull(rowIndex, false);
+            return true;
+        }
+        
+        @Override
+        int compare(final int rowIndex1, final int rowIndex2) {
+            return Long.compare(values[rowIndex1], values[rowIndex2]);
+        }
+    }
+    
+    private static final class DoubleColumn extends Column {
+        
+        private double[] values = new double[INITIAL_CAPACITY];
+        
+        @Override
+        void read(final ResultSet resultSet, final int columnIndex, final int rowIndex) throws SQLException {
+            double value = resultSet.getDouble(columnIndex);
+            boolean isNull = resultSet.wasNull();
+            setValue(rowIndex, isNull ? 0D : value);
+            setNull(rowIndex, isNull);
+        }
+        
+        private void setValue(final int rowIndex, final double value) {
+            if (rowIndex >= values.length) {
+                values = Arrays.copyOf(values, newCapacity(values.length, rowIndex));
+            }
+            values[rowIndex] = value;
+        }
+        
+        @Override
+        Object get(final int rowIndex) {
+            return values[rowIndex];
+        }
+        
+        @Override
+        boolean set(final int rowIndex, final Object value) {
+            if (null == value) {
+                setNull(rowIndex, true);
+                return true;
+            }
+            if (!(value instanceof Double)) {
+                return false;
+            }
+            setValue(rowIndex, (Double) value);
+            setNull(rowIndex, false);
+            return true;
+        }
+        
+        @Override
+        int compare(final int rowIndex1, final int rowIndex2) {
+            return Double.compare(values[rowIndex1], values[rowIndex2]);
+        }
+    }
+    
+    private static final class StringColumn extends Column {
+        
+        private final Map<String, Integer> dictionaryCodes = new HashMap<>();
+        
+        private final List<String> dictionary = new ArrayList<>();
+        
+        private int[] codes = new int[INITIAL_CAPACITY];
+        
+        @Override
+        void read(final ResultSet resultSet, final int columnIndex, final int rowIndex) throws SQLException {
+            set(rowIndex, resultSet.getString(columnIndex));
+        }
+        
+        @Override
+        Object get(final int rowIndex) {
+            return dictionary.get(codes[rowIndex]);
+        }
+        
+        @Override
+        boolean set(final int rowIndex, final Object value) {
+            if (null != value && !(value instanceof String)) {
+                return false;
+            }
+            if (rowIndex >= codes.length) {
+                codes = Arrays.copyOf(codes, newCapacity(codes.length, rowIndex));
+            }
+            setNull(rowIndex, null == value);
+            codes[rowIndex] = null == value ? 0 : encode((String) value);
+            return true;
+        }
+        
+        private int encode(final String value) {
+            Integer result = dictionaryCodes.get(value);
+            if (null == result) {
+                result = dictionary.size();
+                dictionary.add(value);
+                dictionaryCodes.put(value, result);
+            }
+            return result;
+        }
+        
+        @Override
+        int compare(final int rowIndex1, final int rowIndex2) {
+            return codes[rowIndex1] == codes[rowIndex2] ? 0 : dictionary.get(codes[rowIndex1]).compareTo(dictionary.get(codes[rowIndex2]));
+        }
+    }
+    
+    private static final class ObjectColumn extends Column {
+        
+        private Object[] values = new Object[INITIAL_CAPACITY];
+        
+        @Override
+        void read(final ResultSet resultSet, final int columnIndex, final int rowIndex) throws SQLException {
+            set(rowIndex, resultSet.getObject(columnIndex));
+        }
+        
+        @Override
+        Object get(final int rowIndex) {
+            return values[rowIndex];
+        }
+        
+        @Override
+        boolean set(final int rowIndex, final Object value) {
+            if (rowIndex >= values.length) {
+                values = Arrays.copyOf(values, newCapacity(values.length, rowIndex));
+            }
+            values[rowIndex] = value;
+            setNull(rowIndex, null == value);
+            return true;
+        }
+        
+        @Override
+        @SuppressWarnings("unchecked")
+        int compare(final int rowIndex1, final int rowIndex2) {
+            Preconditions.checkState(values[rowIndex1] instanceof Comparable && values[rowIndex2] instanceof Comparable, "Order by value must implements Comparable");
+            return ((Comparable<Object>) values[rowIndex1]).compareTo(values[rowIndex2]);
+        }
+    }
+}
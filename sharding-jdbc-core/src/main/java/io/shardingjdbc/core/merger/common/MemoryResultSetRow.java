@@ -35,6 +35,10 @@ public class MemoryResultSetRow {
         data = load(resultSet);
     }
     
+    public MemoryResultSetRow(final Object[] data) {
+        this.data = data;
+    }
+    
     private Object[] load(final ResultSet resultSet) throws SQLException {
         int columnCount = resultSet.getMetaData().getColumnCount();
         Object[] result = new Object[columnCount];
@@ -18,24 +18,26 @@
 package io.shardingjdbc.core.merger.groupby;
 
 import io.shardingjdbc.core.merger.common.AbstractMemoryResultSetMerger;
-import io.shardingjdbc.core.merger.common.MemoryResultSetRow;
+import io.shardingjdbc.core.merger.common.ColumnarResultSetRows;
 import io.shardingjdbc.core.merger.groupby.aggregation.AggregationUnit;
 import io.shardingjdbc.core.merger.groupby.aggregation.AggregationUnitFactory;
+import io.shardingjdbc.core.parsing.parser.context.OrderItem;
 import io.shardingjdbc.core.parsing.parser.context.selectitem.AggregationSelectItem;
 import io.shardingjdbc.core.parsing.parser.sql.dql.select.SelectStatement;
-import com.google.common.base.Function;
 import com.google.common.base.Preconditions;
-import com.google.common.collect.Maps;
 
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 
 /**
  * Memory merger for group by.
@@ -46,51 +48,62 @@ public final class GroupByMemoryResultSetMerger extends AbstractMemoryResultSetM
     
     private final SelectStatement selectStatement;
     
-    private final Iterator<MemoryResultSetRow> memoryResultSetRows;
+    private final ResultSetMetaData resultSetMetaData;
+    
+    private final ColumnarResultSetRows columnarResultSetRows;
+    
+    private final Iterator<Integer> rowIndexes;
+    
+    private int currentRowIndex;
     
     public GroupByMemoryResultSetMerger(
             final Map<String, Integer> labelAndIndexMap, final List<ResultSet> resultSets, final SelectStatement selectStatement) throws SQLException {
         super(labelAndIndexMap);
         this.selectStatement = selectStatement;
-        memoryResultSetRows = init(resultSets);
+        resultSetMetaData = resultSets.get(0).getMetaData();
+        columnarResultSetRows = new ColumnarResultSetRows(resultSetMetaData, getAggregationColumnIndexes());
+        rowIndexes = init(resultSets);
     }
     
-    private Iterator<MemoryResultSetRow> init(final List<ResultSet> resultSets) throws SQLException {
-        Map<GroupByValue, MemoryResultSetRow> dataMap = new HashMap<>(1024);
-        Map<GroupByValue, Map<AggregationSelectItem, AggregationUnit>> aggregationMap = new HashMap<>(1024);
+    private Collection<Integer> getAggregationColumnIndexes() {
+        Collection<Integer> result = new HashSet<>();
+        for (AggregationSelectItem each : selectStatement.getAggregationSelectItems()) {
+            result.add(each.getIndex());
+            for (AggregationSelectItem derived : each.getDerivedAggregationSelectItems()) {
+                result.add(derived.getIndex());
+            }
+        }
+        return result;
+    }
+    
+    private Iterator<Integer> init(final List<ResultSet> resultSets) throws SQLException {
+        Map<GroupByValue, Integer> rowIndexMap = new HashMap<>(1024);
+        List<Map<AggregationSelectItem, AggregationUnit>> aggregationUnitsList = new ArrayList<>(1024);
         for (ResultSet each : resultSets) {
             while (each.next()) {
                 GroupByValue groupByValue = new GroupByValue(each, selectStatement.getGroupByItems());
-                initForFirstGroupByValue(each, groupByValue, dataMap, aggregationMap);
-                aggregate(each, groupByValue, aggregationMap);
+                Integer rowIndex = rowIndexMap.get(groupByValue);
+                if (null == rowIndex) {
+                    rowIndex = columnarResultSetRows.add(each);
+                    rowIndexMap.put(groupByValue, rowIndex);
+                    aggregationUnitsList.add(createAggregationUnits());
+                }
+                aggregate(each, aggregationUnitsList.get(rowIndex));
             }
         }
-        setAggregationValueToMemoryRow(dataMap, aggregationMap);
-        List<MemoryResultSetRow> result = getMemoryResultSetRows(dataMap);
-        if (!result.isEmpty()) {
-            setCurrentResultSetRow(result.get(0));
-        }
-        return result.iterator();
+        setAggregationValueToRows(aggregationUnitsList);
+        return getSortedRowIndexes().iterator();
     }
     
-    private void initForFirstGroupByValue(final ResultSet resultSet, final GroupByValue groupByValue, final Map<GroupByValue, MemoryResultSetRow> dataMap, 
-                                          final Map<GroupByValue, Map<AggregationSelectItem, AggregationUnit>> aggregationMap) throws SQLException {
-        if (!dataMap.containsKey(groupByValue)) {
-            dataMap.put(groupByValue, new MemoryResultSetRow(resultSet));
-        }
-        if (!aggregationMap.containsKey(groupByValue)) {
-            Map<AggregationSelectItem, AggregationUnit> map = Maps.toMap(selectStatement.getAggregationSelectItems(), new Function<AggregationSelectItem, AggregationUnit>() {
-                
-                @Override
-                public AggregationUnit apply(final AggregationSelectItem input) {
-                    return AggregationUnitFactory.create(input.getType());
-                }
-            });
-            aggregationMap.put(groupByValue, map);
+    private Map<AggregationSelectItem, AggregationUnit> createAggregationUnits() throws SQLException {
+        Map<AggregationSelectItem, AggregationUnit> result = new HashMap<>(selectStatement.getAggregationSelectItems().size(), 1);
+        for (AggregationSelectItem each : selectStatement.getAggregationSelectItems()) {
+            result.put(each, AggregationUnitFactory.create(each, resultSetMetaData));
         }
+        return result;
     }
     
-    private void aggregate(final ResultSet resultSet, final GroupByValue groupByValue, final Map<GroupByValue, Map<AggregationSelectItem, AggregationUnit>> aggregationMap) throws SQLException {
+    private void aggregate(final ResultSet resultSet, final Map<AggregationSelectItem, AggregationUnit> aggregationUnits) throws SQLException {
         for (AggregationSelectItem each : selectStatement.getAggregationSelectItems()) {
             List<Comparable<?>> values = new ArrayList<>(2);
             if (each.getDerivedAggregationSelectItems().isEmpty()) {
@@ -100,7 +113,7 @@ public final class GroupByMemoryResultSetMerger extends AbstractMemoryResultSetM
                     values.add(getAggregationValue(resultSet, derived));
                 }
             }
-            aggregationMap.get(groupByValue).get(each).merge(values);
+            aggregationUnits.get(each).merge(values);
         }
     }
     
@@ -110,26 +123,47 @@ public final class GroupByMemoryResultSetMerger extends AbstractMemoryResultSetM
         return (Comparable<?>) result;
     }
     
-    private void setAggregationValueToMemoryRow(final Map<GroupByValue, MemoryResultSetRow> dataMap, final Map<GroupByValue, Map<AggregationSelectItem, AggregationUnit>> aggregationMap) {
-        for (Entry<GroupByValue, MemoryResultSetRow> entry : dataMap.entrySet()) {
+    private void setAggregationValueToRows(final List<Map<AggregationSelectItem, AggregationUnit>> aggregationUnitsList) {
+        for (int i = 0; i < aggregationUnitsList.size(); i++) {
             for (AggregationSelectItem each : selectStatement.getAggregationSelectItems()) {
-                entry.getValue().setCell(each.getIndex(), aggregationMap.get(entry.getKey()).get(each).getResult());
+                columnarResultSetRows.setCell(i, each.getIndex(), aggregationUnitsList.get(i).get(each).getResult());
             }
         }
     }
     
-    private List<MemoryResultSetRow> getMemoryResultSetRows(final Map<GroupByValue, MemoryResultSetRow> dataMap) {
-        List<MemoryResultSetRow> result = new ArrayList<>(dataMap.values());
-        Collections.sort(result, new GroupByRowComparator(selectStatement));
+    private List<Integer> getSortedRowIndexes() {
+        List<Integer> result = new ArrayList<>(columnarResultSetRows.size());
+        for (int i = 0; i < columnarResultSetRows.size(); i++) {
+            result.add(i);
+        }
+        final List<OrderItem> orderItems = selectStatement.getOrderByItems().isEmpty() ? selectStatement.getGroupByItems() : selectStatement.getOrderByItems();
+        Collections.sort(result, new Comparator<Integer>() {
+            
+            @Override
+            public int compare(final Integer o1, final Integer o2) {
+                for (OrderItem each : orderItems) {
+                    int compareResult = columnarResultSetRows.compare(o1, o2, each.getIndex(), each.getType(), each.getNullOrderType());
+                    if (0 != compareResult) {
+                        return compareResult;
+                    }
+                }
+                return 0;
+            }
+        });
         return result;
     }
     
     @Override
     public boolean next() throws SQLException {
-        if (memoryResultSetRows.hasNext()) {
-            setCurrentResultSetRow(memoryResultSetRows.next());
+        if (rowIndexes.hasNext()) {
+            currentRowIndex = rowIndexes.next();
             return true;
         }
         return false;
     }
+    
+    @Override
+    protected Object getCell(final int columnIndex) {
+        return columnarResultSetRows.getCell(currentRowIndex, columnIndex);
+    }
 }
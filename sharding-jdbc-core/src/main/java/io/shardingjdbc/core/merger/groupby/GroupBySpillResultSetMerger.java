@@ -0,0 +1,313 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+package io.shardingjdbc.core.merger.groupby;
+
+import com.google.common.base.Preconditions;
+import io.shardingjdbc.core.constant.AggregationType;
+import io.shardingjdbc.core.merger.common.AbstractMemoryResultSetMerger;
+import io.shardingjdbc.core.merger.common.MemoryResultSetRow;
+import io.shardingjdbc.core.merger.groupby.aggregation.AggregationUnit;
+import io.shardingjdbc.core.merger.groupby.aggregation.AggregationUnitFactory;
+import io.shardingjdbc.core.merger.util.ResultSetUtil;
+import io.shardingjdbc.core.parsing.parser.context.OrderItem;
+import io.shardingjdbc.core.parsing.parser.context.selectitem.AggregationSelectItem;
+import io.shardingjdbc.core.parsing.parser.sql.dql.select.SelectStatement;
+import lombok.RequiredArgsConstructor;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.PriorityQueue;
+
+/**
+ * Group by merger which spills to disk when groups exceed memory budget.
+ * 
+ * <p>
+ * Partial aggregated groups are sorted by group by items and spilled to temporary files when count of groups in memory reaches max memory rows,
+ * spilled runs are merged and aggregated again by group, then aggregated rows are sorted by order by items with the same memory budget.
+ * Temporary files of spilled runs are deleted when merger is closed.
+ * </p>
+ *
+ * @author zhangliang
+ */
+public final class GroupBySpillResultSetMerger extends AbstractMemoryResultSetMerger {
+    
+    private final SelectStatement selectStatement;
+    
+    private final int maxMemoryRows;
+    
+    private final ResultSetMetaData resultSetMetaData;
+    
+    private final int columnCount;
+    
+    private final List<AggregationSelectItem> leafAggregationSelectItems;
+    
+    private final Comparator<MemoryResultSetRow> groupByComparator;
+    
+    private final Comparator<MemoryResultSetRow> orderByComparator;
+    
+    private final Collection<SpilledRowsRun> openedRuns = new LinkedList<>();
+    
+    private Iterator<MemoryResultSetRow> memoryResultSetRows;
+    
+    private PriorityQueue<SpilledRowsRun> spilledResultSetRows;
+    
+    public GroupBySpillResultSetMerger(final Map<String, Integer> labelAndIndexMap, final List<ResultSet> resultSets, 
+                                       final SelectStatement selectStatement, final int maxMemoryRows) throws SQLException {
+        super(labelAndIndexMap);
+        Preconditions.checkArgument(maxMemoryRows > 0, "Max memory rows must be positive.");
+        this.selectStatement = selectStatement;
+        this.maxMemoryRows = maxMemoryRows;
+        resultSetMetaData = resultSets.get(0).getMetaData();
+        columnCount = resultSetMetaData.getColumnCount();
+        leafAggregationSelectItems = getLeafAggregationSelectItems();
+        groupByComparator = new GroupByValueComparator(selectStatement.getGroupByItems());
+        orderByComparator = new GroupByRowComparator(selectStatement);
+        try {
+            init(resultSets);
+        } catch (final SQLException | RuntimeException ex) {
+            close();
+            throw ex;
+        }
+    }
+    
+    private List<AggregationSelectItem> getLeafAggregationSelectItems() {
+        List<AggregationSelectItem> result = new ArrayList<>(selectStatement.getAggregationSelectItems().size());
+        for (AggregationSelectItem each : selectStatement.getAggregationSelectItems()) {
+            if (each.getDerivedAggregationSelectItems().isEmpty()) {
+                result.add(each);
+            } else {
+                result.addAll(each.getDerivedAggregationSelectItems());
+            }
+        }
+        return result;
+    }
+    
+    private void init(final List<ResultSet> resultSets) throws SQLException {
+        Map<GroupByValue, MemoryResultSetRow> dataMap = new HashMap<>(Math.min(maxMemoryRows, 1024));
+        Map<GroupByValue, AggregationUnit[]> aggregationMap = new HashMap<>(Math.min(maxMemoryRows, 1024));
+        List<SpilledRowsRun> partialRuns = new LinkedList<>();
+        for (ResultSet each : resultSets) {
+            while (each.next()) {
+                GroupByValue groupByValue = new GroupByValue(each, selectStatement.getGroupByItems());
+                if (!dataMap.containsKey(groupByValue)) {
+                    if (dataMap.size() >= maxMemoryRows) {
+                        partialRuns.add(spill(getPartialRows(dataMap, aggregationMap), groupByComparator));
+                        dataMap.clear();
+                        aggregationMap.clear();
+                    }
+                    dataMap.put(groupByValue, new MemoryResultSetRow(each));
+                    aggregationMap.put(groupByValue, createAggregationUnits());
+                }
+                aggregate(aggregationMap.get(groupByValue), each);
+            }
+        }
+        List<MemoryResultSetRow> partialRows = getPartialRows(dataMap, aggregationMap);
+        if (partialRuns.isEmpty()) {
+            for (MemoryResultSetRow each : partialRows) {
+                setAverageValues(each);
+            }
+            setMemoryResultSetRows(partialRows);
+            return;
+        }
+        partialRuns.add(spill(partialRows, groupByComparator));
+        dataMap.clear();
+        aggregationMap.clear();
+        mergeSpilledGroups(partialRuns);
+    }
+    
+    private AggregationUnit[] createAggregationUnits() throws SQLException {
+        AggregationUnit[] result = new AggregationUnit[leafAggregationSelectItems.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = AggregationUnitFactory.create(leafAggregationSelectItems.get(i), resultSetMetaData);
+        }
+        return result;
+    }
+    
+    private void aggregate(final AggregationUnit[] aggregationUnits, final ResultSet resultSet) throws SQLException {
+        for (int i = 0; i < aggregationUnits.length; i++) {
+            aggregationUnits[i].merge(Collections.<Comparable<?>>singletonList(getAggregationValue(resultSet.getObject(leafAggregationSelectItems.get(i).getIndex()))));
+        }
+    }
+    
+    private void aggregate(final AggregationUnit[] aggregationUnits, final MemoryResultSetRow partialRow) {
+        for (int i = 0; i < aggregationUnits.length; i++) {
+            aggregationUnits[i].merge(Collections.<Comparable<?>>singletonList(getAggregationValue(partialRow.getCell(leafAggregationSelectItems.get(i).getIndex()))));
+        }
+    }
+    
+    private Comparable<?> getAggregationValue(final Object value) {
+        Preconditions.checkState(null == value || value instanceof Comparable, "Aggregation value must implements Comparable");
+        return (Comparable<?>) value;
+    }
+    
+    private List<MemoryResultSetRow> getPartialRows(final Map<GroupByValue, MemoryResultSetRow> dataMap, final Map<GroupByValue, AggregationUnit[]> aggregationMap) {
+        List<MemoryResultSetRow> result = new ArrayList<>(dataMap.size());
+        for (Entry<GroupByValue, MemoryResultSetRow> entry : dataMap.entrySet()) {
+            setPartialValues(entry.getValue(), aggregationMap.get(entry.getKey()));
+            result.add(entry.getValue());
+        }
+        return result;
+    }
+    
+    private void setPartialValues(final MemoryResultSetRow row, final AggregationUnit[] aggregationUnits) {
+        for (int i = 0; i < aggregationUnits.length; i++) {
+            row.setCell(leafAggregationSelectItems.get(i).getIndex(), aggregationUnits[i].getResult());
+        }
+    }
+    
+    private void setAverageValues(final MemoryResultSetRow row) {
+        for (AggregationSelectItem each : selectStatement.getAggregationSelectItems()) {
+            if (each.getDerivedAggregationSelectItems().isEmpty()) {
+                continue;
+            }
+            List<Comparable<?>> values = new ArrayList<>(2);
+            for (AggregationSelectItem derived : each.getDerivedAggregationSelectItems()) {
+                values.add(getAggregationValue(row.getCell(derived.getIndex())));
+            }
+            AggregationUnit aggregationUnit = AggregationUnitFactory.create(AggregationType.AVG);
+            aggregationUnit.merge(values);
+            row.setCell(each.getIndex(), aggregationUnit.getResult());
+        }
+    }
+    
+    private SpilledRowsRun spill(final List<MemoryResultSetRow> rows, final Comparator<MemoryResultSetRow> comparator) {
+        Collections.sort(rows, comparator);
+        SpilledRowsRun result = new SpilledRowsRun(rows, columnCount);
+        openedRuns.add(result);
+        return result;
+    }
+    
+    private void mergeSpilledGroups(final Collection<SpilledRowsRun> partialRuns) throws SQLException {
+        PriorityQueue<SpilledRowsRun> groupQueue = createRunQueue(partialRuns, groupByComparator);
+        List<MemoryResultSetRow> outputRows = new ArrayList<>(Math.min(maxMemoryRows, 1024));
+        List<SpilledRowsRun> outputRuns = new LinkedList<>();
+        while (!groupQueue.isEmpty()) {
+            MemoryResultSetRow row = pollCurrentRow(groupQueue);
+            AggregationUnit[] aggregationUnits = createAggregationUnits();
+            aggregate(aggregationUnits, row);
+            while (!groupQueue.isEmpty() && 0 == groupByComparator.compare(groupQueue.peek().getCurrentRow(), row)) {
+                aggregate(aggregationUnits, pollCurrentRow(groupQueue));
+            }
+            setPartialValues(row, aggregationUnits);
+            setAverageValues(row);
+            if (outputRows.size() >= maxMemoryRows) {
+                outputRuns.add(spill(outputRows, orderByComparator));
+                outputRows.clear();
+            }
+            outputRows.add(row);
+        }
+        if (outputRuns.isEmpty()) {
+            setMemoryResultSetRows(outputRows);
+            return;
+        }
+        outputRuns.add(spill(outputRows, orderByComparator));
+        spilledResultSetRows = createRunQueue(outputRuns, orderByComparator);
+    }
+    
+    private PriorityQueue<SpilledRowsRun> createRunQueue(final Collection<SpilledRowsRun> runs, final Comparator<MemoryResultSetRow> comparator) {
+        PriorityQueue<SpilledRowsRun> result = new PriorityQueue<>(runs.size(), new Comparator<SpilledRowsRun>() {
+            
+            @Override
+            public int compare(final SpilledRowsRun o1, final SpilledRowsRun o2) {
+                return comparator.compare(o1.getCurrentRow(), o2.getCurrentRow());
+            }
+        });
+        for (SpilledRowsRun each : runs) {
+            if (each.next()) {
+                result.offer(each);
+            }
+        }
+        return result;
+    }
+    
+    private MemoryResultSetRow pollCurrentRow(final PriorityQueue<SpilledRowsRun> runQueue) {
+        SpilledRowsRun run = runQueue.poll();
+        MemoryResultSetRow result = run.getCurrentRow();
+        if (run.next()) {
+            runQueue.offer(run);
+        }
+        return result;
+    }
+    
+    private void setMemoryResultSetRows(final List<MemoryResultSetRow> rows) {
+        Collections.sort(rows, orderByComparator);
+        if (!rows.isEmpty()) {
+            setCurrentResultSetRow(rows.get(0));
+        }
+        memoryResultSetRows = rows.iterator();
+    }
+    
+    @Override
+    public boolean next() throws SQLException {
+        if (null != memoryResultSetRows) {
+            if (memoryResultSetRows.hasNext()) {
+                setCurrentResultSetRow(memoryResultSetRows.next());
+                return true;
+            }
+            return false;
+        }
+        if (spilledResultSetRows.isEmpty()) {
+            return false;
+        }
+        setCurrentResultSetRow(pollCurrentRow(spilledResultSetRows));
+        return true;
+    }
+    
+    @Override
+    public void close() {
+        for (SpilledRowsRun each : openedRuns) {
+            each.close();
+        }
+        openedRuns.clear();
+        if (null != spilledResultSetRows) {
+            spilledResultSetRows.clear();
+        }
+    }
+    
+    @RequiredArgsConstructor
+    private static final class GroupByValueComparator implements Comparator<MemoryResultSetRow> {
+        
+        private final List<OrderItem> groupByItems;
+        
+        @Override
+        @SuppressWarnings("unchecked")
+        public int compare(final MemoryResultSetRow o1, final MemoryResultSetRow o2) {
+            for (OrderItem each : groupByItems) {
+                Object value1 = o1.getCell(each.getIndex());
+                Preconditions.checkState(null == value1 || value1 instanceof Comparable, "Group by value must implements Comparable");
+                Object value2 = o2.getCell(each.getIndex());
+                Preconditions.checkState(null == value2 || value2 instanceof Comparable, "Group by value must implements Comparable");
+                int result = ResultSetUtil.compareTo((Comparable) value1, (Comparable) value2, each.getType(), each.getNullOrderType());
+                if (0 != result) {
+                    return result;
+                }
+            }
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+package io.shardingjdbc.core.merger.groupby;
+
+import io.shardingjdbc.core.exception.ShardingJdbcException;
+import io.shardingjdbc.core.merger.common.MemoryResultSetRow;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Collection;
+
+/**
+ * Sorted rows which are spilled to temporary file.
+ * 
+ * <p>
+ * Temporary file is deleted after all rows are read, or when run is closed by merger.
+ * Only {@code Serializable} values can be spilled.
+ * </p>
+ * 
+ * @author zhangliang
+ */
+@Slf4j
+final class SpilledRowsRun {
+    
+    private static final String TEMP_FILE_PREFIX = "sharding-jdbc-merge-";
+    
+    private final File file;
+    
+    private final int columnCount;
+    
+    private int remainingRowsCount;
+    
+    private ObjectInputStream inputStream;
+    
+    @Getter
+    private MemoryResultSetRow currentRow;
+    
+    SpilledRowsRun(final Collection<MemoryResultSetRow> sortedRows, final int columnCount) {
+        this.columnCount = columnCount;
+        remainingRowsCount = sortedRows.size();
+        try {
+            file = File.createTempFile(TEMP_FILE_PREFIX, ".tmp");
+        } catch (final IOException ex) {
+            throw new ShardingJdbcException("Cannot spill rows to temporary file", ex);
+        }
+        try {
+            write(sortedRows);
+        } catch (final IOException | RuntimeException ex) {
+            close();
+            throw ex instanceof ShardingJdbcException ? (ShardingJdbcException) ex : new ShardingJdbcException("Cannot spill rows to temporary file", ex);
+        }
+    }
+    
+    private void write(final Collection<MemoryResultSetRow> sortedRows) throws IOException {
+        try (ObjectOutputStream outputStream = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            for (MemoryResultSetRow each : sortedRows) {
+                Object[] cells = new Object[columnCount];
+                for (int i = 0; i < columnCount; i++) {
+                    cells[i] = checkSerializable(each.getCell(i + 1), i + 1);
+                }
+                outputStream.writeObject(cells);
+                outputStream.reset();
+            }
+        }
+    }
+    
+    private Object checkSerializable(final Object value, final int columnIndex) {
+        if (null != value && !(value instanceof Serializable)) {
+            throw new ShardingJdbcException("Cannot spill group by rows: value of column %s is '%s' which is not Serializable, please set 'merge.group.by.max.memory.rows' to 0 to merge in memory.", 
+                    columnIndex, value.getClass().getName());
+        }
+        return value;
+    }
+    
+    /**
+     * Read next row.
+     * 
+     * @return has next row or not
+     */
+    boolean next() {
+        if (0 == remainingRowsCount) {
+            close();
+            return false;
+        }
+        try {
+            if (null == inputStream) {
+                inputStream = new ObjectInputStream(new BufferedInputStream(new FileInputStream(file)));
+            }
+            currentRow = new MemoryResultSetRow((Object[]) inputStream.readObject());
+        } catch (final IOException | ClassNotFoundException ex) {
+            close();
+            throw new ShardingJdbcException("Cannot read spilled rows from temporary file", ex);
+        }
+        remainingRowsCount--;
+        return true;
+    }
+    
+    /**
+     * Close run and delete temporary file.
+     */
+    void close() {
+        remainingRowsCount = 0;
+        currentRow = null;
+        if (null != inputStream) {
+            try {
+                inputStream.close();
+            } catch (final IOException ignored) {
+            }
+            inputStream = null;
+        }
+        if (file.exists() && !file.delete()) {
+            log.warn("Cannot delete spilled rows temporary file: {}", file);
+        }
+    }
+}
@@ -43,7 +43,7 @@ public final class AccumulationAggregationUnit implements AggregationUnit {
             result = new BigDecimal("0");
         }
         result = result.add(new BigDecimal(values.get(0).toString()));
-        log.trace("Accumulation result: {}", result.toString());
+        log.trace("Accumulation result: {}", result);
     }
     
     @Override
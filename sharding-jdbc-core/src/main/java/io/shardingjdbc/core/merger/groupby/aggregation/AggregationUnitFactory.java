@@ -18,9 +18,15 @@
 package io.shardingjdbc.core.merger.groupby.aggregation;
 
 import io.shardingjdbc.core.constant.AggregationType;
+import io.shardingjdbc.core.parsing.parser.context.selectitem.AggregationSelectItem;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+
 /**
  * Aggregation unit factory.
  * 
@@ -50,4 +56,52 @@ public final class AggregationUnitFactory {
                 throw new UnsupportedOperationException(type.name());
         }
     }
+    
+    /**
+     * Create aggregation unit instance by column types of result set meta data.
+     * 
+     * <p>
+     * SUM, COUNT and AVG use primitive accumulation if source columns are integral.
+     * Floating columns are accumulated by decimal string to keep results same as database.
+     * </p>
+     * 
+     * @param aggregationSelectItem aggregation select item
+     * @param resultSetMetaData result set meta data
+     * @return aggregation unit instance
+     * @throws SQLException SQL exception
+     */
+    public static AggregationUnit create(final AggregationSelectItem aggregationSelectItem, final ResultSetMetaData resultSetMetaData) throws SQLException {
+        switch (aggregationSelectItem.getType()) {
+            case SUM:
+            case COUNT:
+                return createAccumulationUnit(resultSetMetaData, aggregationSelectItem.getIndex());
+            case AVG:
+                List<AggregationSelectItem> derivedAggregationSelectItems = aggregationSelectItem.getDerivedAggregationSelectItems();
+                if (2 != derivedAggregationSelectItems.size()) {
+                    return new AverageAggregationUnit();
+                }
+                return new AverageAggregationUnit(
+                        createAccumulationUnit(resultSetMetaData, derivedAggregationSelectItems.get(0).getIndex()), createAccumulationUnit(resultSetMetaData, derivedAggregationSelectItems.get(1).getIndex()));
+            default:
+                return create(aggregationSelectItem.getType());
+        }
+    }
+    
+    private static AggregationUnit createAccumulationUnit(final ResultSetMetaData resultSetMetaData, final int columnIndex) throws SQLException {
+        switch (resultSetMetaData.getColumnType(columnIndex)) {
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+            case Types.BIGINT:
+                return new LongAccumulationAggregationUnit();
+            case Types.DECIMAL:
+            case Types.NUMERIC:
+                if (0 == resultSetMetaData.getScale(columnIndex)) {
+                    return new LongAccumulationAggregationUnit();
+                }
+                return new AccumulationAggregationUnit();
+            default:
+                return new AccumulationAggregationUnit();
+        }
+    }
 }
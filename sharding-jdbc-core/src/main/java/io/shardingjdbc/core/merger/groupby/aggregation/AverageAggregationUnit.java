@@ -21,6 +21,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.math.BigDecimal;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -32,31 +33,33 @@ import java.util.List;
 @Slf4j
 public final class AverageAggregationUnit implements AggregationUnit {
     
-    private BigDecimal count;
+    private final AggregationUnit countUnit;
     
-    private BigDecimal sum;
+    private final AggregationUnit sumUnit;
+    
+    public AverageAggregationUnit() {
+        this(new AccumulationAggregationUnit(), new AccumulationAggregationUnit());
+    }
     
     @Override
     public void merge(final List<Comparable<?>> values) {
         if (null == values || null == values.get(0) || null == values.get(1)) {
             return;
         }
-        if (null == count) {
-            count = new BigDecimal("0");
-        }
-        if (null == sum) {
-            sum = new BigDecimal("0");
+        countUnit.merge(Collections.<Comparable<?>>singletonList(values.get(0)));
+        sumUnit.merge(Collections.<Comparable<?>>singletonList(values.get(1)));
+        if (log.isTraceEnabled()) {
+            log.trace("AVG result COUNT: {} SUM: {}", countUnit.getResult(), sumUnit.getResult());
         }
-        count = count.add(new BigDecimal(values.get(0).toString()));
-        sum = sum.add(new BigDecimal(values.get(1).toString()));
-        log.trace("AVG result COUNT: {} SUM: {}", count, sum);
     }
     
     @Override
     public Comparable<?> getResult() {
+        BigDecimal count = (BigDecimal) countUnit.getResult();
         if (null == count || BigDecimal.ZERO.equals(count)) {
             return count;
         }
+        BigDecimal sum = (BigDecimal) sumUnit.getResult();
         // TODO 通过metadata获取数据库的浮点数精度值
         return sum.divide(count, 4, BigDecimal.ROUND_HALF_UP);
     }
@@ -0,0 +1,85 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.merger.groupby.aggregation;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Accumulation aggregation unit for integral values.
+ * 
+ * <p>
+ * Accumulates in {@code long}, promotes to {@code BigDecimal} when overflow or non integral value occurs.
+ * </p>
+ * 
+ * @author zhangliang
+ */
+@RequiredArgsConstructor
+@Slf4j
+public final class LongAccumulationAggregationUnit implements AggregationUnit {
+    
+    private boolean hasValue;
+    
+    private long longResult;
+    
+    private BigDecimal promotedResult;
+    
+    @Override
+    public void merge(final List<Comparable<?>> values) {
+        if (null == values || null == values.get(0)) {
+            return;
+        }
+        hasValue = true;
+        Comparable<?> value = values.get(0);
+        if (null == promotedResult && isLongValue(value)) {
+            long longValue = ((Number) value).longValue();
+            long sum = longResult + longValue;
+            if (((longResult ^ sum) & (longValue ^ sum)) >= 0) {
+                longResult = sum;
+                return;
+            }
+        }
+        if (null == promotedResult) {
+            promotedResult = BigDecimal.valueOf(longResult);
+        }
+        promotedResult = promotedResult.add(new BigDecimal(value.toString()));
+        log.trace("Accumulation result: {}", promotedResult);
+    }
+    
+    private boolean isLongValue(final Comparable<?> value) {
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return true;
+        }
+        if (value instanceof BigDecimal) {
+            BigDecimal decimal = (BigDecimal) value;
+            return 0 == decimal.scale() && decimal.precision() < 19;
+        }
+        return false;
+    }
+    
+    @Override
+    public Comparable<?> getResult() {
+        if (!hasValue) {
+            return null;
+        }
+        return null == promotedResult ? BigDecimal.valueOf(longResult) : promotedResult;
+    }
+}
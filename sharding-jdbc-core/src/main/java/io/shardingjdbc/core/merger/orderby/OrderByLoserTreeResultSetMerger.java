@@ -0,0 +1,111 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+package io.shardingjdbc.core.merger.orderby;
+
+import io.shardingjdbc.core.merger.common.AbstractStreamResultSetMerger;
+import io.shardingjdbc.core.merger.orderby.TypedOrderByValue.SortKeyType;
+import io.shardingjdbc.core.parsing.parser.context.OrderItem;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Stream merger for order by via loser tree.
+ * 
+ * <p>
+ * Loser tree needs only log2(k) comparisons to replay winner of k result sets,
+ * sort keys of each result set are held in typed slots of {@link TypedOrderByValue}.
+ * </p>
+ *
+ * @author zhangliang
+ */
+public final class OrderByLoserTreeResultSetMerger extends AbstractStreamResultSetMerger {
+    
+    private static final int SENTINEL = -1;
+    
+    private final TypedOrderByValue[] orderByValues;
+    
+    private final boolean[] exhausted;
+    
+    private final int[] losers;
+    
+    private boolean isFirstNext;
+    
+    public OrderByLoserTreeResultSetMerger(final List<ResultSet> resultSets, final List<OrderItem> orderByItems) throws SQLException {
+        SortKeyType[] sortKeyTypes = TypedOrderByValue.getSortKeyTypes(resultSets.get(0).getMetaData(), orderByItems);
+        orderByValues = new TypedOrderByValue[resultSets.size()];
+        exhausted = new boolean[resultSets.size()];
+        for (int i = 0; i < orderByValues.length; i++) {
+            orderByValues[i] = new TypedOrderByValue(resultSets.get(i), orderByItems, sortKeyTypes);
+            exhausted[i] = !orderByValues[i].next();
+        }
+        losers = new int[resultSets.size()];
+        Arrays.fill(losers, SENTINEL);
+        for (int i = orderByValues.length - 1; i >= 0; i--) {
+            adjust(i);
+        }
+        setCurrentResultSet(exhausted[losers[0]] ? resultSets.get(0) : orderByValues[losers[0]].getResultSet());
+        isFirstNext = true;
+    }
+    
+    private void adjust(final int index) {
+        int winner = index;
+        for (int node = (index + losers.length) / 2; node > 0; node /= 2) {
+            if (beats(losers[node], winner)) {
+                int loser = winner;
+                winner = losers[node];
+                losers[node] = loser;
+            }
+        }
+        losers[0] = winner;
+    }
+    
+    private boolean beats(final int index, final int otherIndex) {
+        if (SENTINEL == index) {
+            return true;
+        }
+        if (SENTINEL == otherIndex || exhausted[index]) {
+            return false;
+        }
+        if (exhausted[otherIndex]) {
+            return true;
+        }
+        int result = orderByValues[index].compareTo(orderByValues[otherIndex]);
+        return result < 0 || 0 == result && index < otherIndex;
+    }
+    
+    @Override
+    public boolean next() throws SQLException {
+        if (exhausted[losers[0]]) {
+            return false;
+        }
+        if (isFirstNext) {
+            isFirstNext = false;
+            return true;
+        }
+        int winner = losers[0];
+        exhausted[winner] = !orderByValues[winner].next();
+        adjust(winner);
+        if (exhausted[losers[0]]) {
+            return false;
+        }
+        setCurrentResultSet(orderByValues[losers[0]].getResultSet());
+        return true;
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+package io.shardingjdbc.core.merger.orderby;
+
+import com.google.common.base.Preconditions;
+import io.shardingjdbc.core.constant.OrderType;
+import io.shardingjdbc.core.parsing.parser.context.OrderItem;
+import lombok.Getter;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * Order by value which holds sort keys in typed slots.
+ * 
+ * <p>
+ * Slots are allocated once and reused for every row, 
+ * integral, floating, string and timestamp columns are read and compared without boxing, other columns fall back to {@code Comparable}.
+ * </p>
+ *
+ * @author zhangliang
+ */
+public final class TypedOrderByValue {
+    
+    @Getter
+    private final ResultSet resultSet;
+    
+    private final List<OrderItem> orderByItems;
+    
+    private final SortKeyType[] sortKeyTypes;
+    
+    private final boolean[] nullValues;
+    
+    private final long[] longValues;
+    
+    private final int[] nanosValues;
+    
+    private final double[] doubleValues;
+    
+    private final Object[] objectValues;
+    
+    public TypedOrderByValue(final ResultSet resultSet, final List<OrderItem> orderByItems, final SortKeyType[] sortKeyTypes) {
+        this.resultSet = resultSet;
+        this.orderByItems = orderByItems;
+        this.sortKeyTypes = sortKeyTypes;
+        nullValues = new boolean[sortKeyTypes.length];
+        longValues = new long[sortKeyTypes.length];
+        nanosValues = new int[sortKeyTypes.length];
+        doubleValues = new double[sortKeyTypes.length];
+        objectValues = new Object[sortKeyTypes.length];
+    }
+    
+    /**
+     * Get sort key types via result set meta data.
+     * 
+     * @param resultSetMetaData result set meta data
+     * @param orderByItems order by items
+     * @return sort key types
+     * @throws SQLException SQL exception
+     */
+    public static SortKeyType[] getSortKeyTypes(final ResultSetMetaData resultSetMetaData, final List<OrderItem> orderByItems) throws SQLException {
+        SortKeyType[] result = new SortKeyType[orderByItems.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = null == resultSetMetaData ? SortKeyType.OBJECT : SortKeyType.valueOf(resultSetMetaData, orderByItems.get(i).getIndex());
+        }
+        return result;
+    }
+    
+    /**
+     * iterate next data.
+     *
+     * @return has next data
+     * @throws SQLException SQL Exception
+     */
+    public boolean next() throws SQLException {
+        if (!resultSet.next()) {
+            return false;
+        }
+        for (int i = 0; i < sortKeyTypes.length; i++) {
+            read(i, orderByItems.get(i).getIndex());
+        }
+        return true;
+    }
+    
+    private void read(final int slot, final int columnIndex) throws SQLException {
+        switch (sortKeyTypes[slot]) {
+            case LONG:
+                longValues[slot] = resultSet.getLong(columnIndex);
+                nullValues[slot] = resultSet.wasNull();
+                return;
+            case DOUBLE:
+                doubleValues[slot] = resultSet.getDouble(columnIndex);
+                nullValues[slot] = resultSet.wasNull();
+                return;
+            case TIMESTAMP:
+                Timestamp timestamp = resultSet.getTimestamp(columnIndex);
+                nullValues[slot] = null == timestamp;
+                if (null != timestamp) {
+                    longValues[slot] = timestamp.getTime();
+                    nanosValues[slot] = timestamp.getNanos();
+                }
+                return;
+            case STRING:
+                objectValues[slot] = resultSet.getString(columnIndex);
+                nullValues[slot] = null == objectValues[slot];
+                return;
+            default:
+                Object value = resultSet.getObject(columnIndex);
+                Preconditions.checkState(null == value || value instanceof Comparable, "Order by value must implements Comparable");
+                objectValues[slot] = value;
+                nullValues[slot] = null == value;
+        }
+    }
+    
+    /**
+     * Compare current sort keys with other order by value.
+     * 
+     * @param o other order by value
+     * @return compare result
+     */
+    public int compareTo(final TypedOrderByValue o) {
+        for (int i = 0; i < sortKeyTypes.length; i++) {
+            OrderItem orderItem = orderByItems.get(i);
+            int result = compareTo(i, o, orderItem.getType(), orderItem.getNullOrderType());
+            if (0 != result) {
+                return result;
+            }
+        }
+        return 0;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private int compareTo(final int slot, final TypedOrderByValue o, final OrderType orderType, final OrderType nullOrderType) {
+        if (nullValues[slot] && o.nullValues[slot]) {
+            return 0;
+        }
+        if (nullValues[slot]) {
+            return orderType == nullOrderType ? -1 : 1;
+        }
+        if (o.nullValues[slot]) {
+            return orderType == nullOrderType ? 1 : -1;
+        }
+        int result;
+        switch (sortKeyTypes[slot]) {
+            case LONG:
+                result = Long.compare(longValues[slot], o.longValues[slot]);
+                break;
+            case DOUBLE:
+                result = Double.compare(doubleValues[slot], o.doubleValues[slot]);
+                break;
+            case TIMESTAMP:
+                result = Long.compare(longValues[slot], o.longValues[slot]);
+                if (0 == result) {
+                    result = Integer.compare(nanosValues[slot], o.nanosValues[slot]);
+                }
+                break;
+            case STRING:
+                result = ((String) objectValues[slot]).compareTo((String) o.objectValues[slot]);
+                break;
+            default:
+                result = ((Comparable) objectValues[slot]).compareTo(o.objectValues[slot]);
+        }
+        return OrderType.ASC == orderType ? result : -result;
+    }
+    
+    /**
+     * Sort key type.
+     */
+    public enum SortKeyType {
+        
+        LONG, DOUBLE, STRING, TIMESTAMP, OBJECT;
+        
+        /**
+         * Get sort key type via SQL type of column.
+         * 
+         * @param resultSetMetaData result set meta data
+         * @param columnIndex column index
+         * @return sort key type
+         * @throws SQLException SQL exception
+         */
+        public static SortKeyType valueOf(final ResultSetMetaData resultSetMetaData, final int columnIndex) throws SQLException {
+            switch (resultSetMetaData.getColumnType(columnIndex)) {
+                case Types.TINYINT:
+                case Types.SMALLINT:
+                case Types.INTEGER:
+                    return LONG;
+                case Types.BIGINT:
+                    return resultSetMetaData.isSigned(columnIndex) ? LONG : OBJECT;
+                case Types.REAL:
+                case Types.FLOAT:
+                case Types.DOUBLE:
+                    return DOUBLE;
+                case Types.CHAR:
+                case Types.VARCHAR:
+                case Types.LONGVARCHAR:
+                case Types.NCHAR:
+                case Types.NVARCHAR:
+                    return STRING;
+                case Types.TIMESTAMP:
+                    return TIMESTAMP;
+                default:
+                    return OBJECT;
+            }
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.parsing.cache;
+
+import com.google.common.base.Optional;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.shardingjdbc.core.constant.DatabaseType;
+import io.shardingjdbc.core.parsing.parser.sql.SQLStatement;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Parsing result cache.
+ * 
+ * <p>
+ * Cached SQL statements are shared by all connections and statements of one sharding data source, 
+ * they must be treated as read-only, state changed by execution should be isolated per execution.
+ * </p>
+ * 
+ * @author zhangliang
+ */
+public final class ParsingResultCache {
+    
+    private final Cache<CacheKey, SQLStatement> cache;
+    
+    public ParsingResultCache(final int maximumSize) {
+        cache = CacheBuilder.newBuilder().maximumSize(maximumSize).recordStats().build();
+    }
+    
+    /**
+     * Get parsed SQL statement.
+     * 
+     * @param databaseType database type
+     * @param logicSQL logic SQL
+     * @return parsed SQL statement, return absent if not cached
+     */
+    public Optional<SQLStatement> getSQLStatement(final DatabaseType databaseType, final String logicSQL) {
+        return Optional.fromNullable(cache.getIfPresent(new CacheKey(databaseType, logicSQL)));
+    }
+    
+    /**
+     * Put parsed SQL statement.
+     * 
+     * @param databaseType database type
+     * @param logicSQL logic SQL
+     * @param sqlStatement parsed SQL statement
+     */
+    public void put(final DatabaseType databaseType, final String logicSQL, final SQLStatement sqlStatement) {
+        cache.put(new CacheKey(databaseType, logicSQL), sqlStatement);
+    }
+    
+    /**
+     * Get count of cache hit.
+     * 
+     * @return count of cache hit
+     */
+    public long getHitCount() {
+        return cache.stats().hitCount();
+    }
+    
+    /**
+     * Get count of cache miss.
+     * 
+     * @return count of cache miss
+     */
+    public long getMissCount() {
+        return cache.stats().missCount();
+    }
+    
+    /**
+     * Get count of cache eviction.
+     * 
+     * @return count of cache eviction
+     */
+    public long getEvictionCount() {
+        return cache.stats().evictionCount();
+    }
+    
+    /**
+     * Get cached SQL statements size.
+     * 
+     * @return cached SQL statements size
+     */
+    public long getSize() {
+        return cache.size();
+    }
+    
+    /**
+     * Clear cache.
+     */
+    public void clear() {
+        cache.invalidateAll();
+    }
+    
+    @RequiredArgsConstructor
+    @EqualsAndHashCode
+    private static final class CacheKey {
+        
+        private final DatabaseType databaseType;
+        
+        private final String logicSQL;
+    }
+}
@@ -7,6 +7,7 @@ import io.shardingjdbc.core.parsing.lexer.token.DefaultKeyword;
 import io.shardingjdbc.core.parsing.lexer.token.Keyword;
 import io.shardingjdbc.core.parsing.lexer.token.Symbol;
 import io.shardingjdbc.core.parsing.parser.context.GeneratedKey;
+import io.shardingjdbc.core.parsing.parser.context.InsertValue;
 import io.shardingjdbc.core.parsing.parser.context.condition.Column;
 import io.shardingjdbc.core.parsing.parser.context.condition.Condition;
 import io.shardingjdbc.core.parsing.parser.context.condition.Conditions;
@@ -63,6 +64,7 @@ public class InsertValuesClauseParser implements SQLClauseParser {
     }
     
     private void parseValues(final InsertStatement insertStatement) {
+        int parametersBeginIndex = insertStatement.getParametersIndex();
         lexerEngine.accept(Symbol.LEFT_PAREN);
         List<SQLExpression> sqlExpressions = new LinkedList<>();
         do {
@@ -78,6 +80,7 @@ public class InsertValuesClauseParser implements SQLClauseParser {
             }
             count++;
         }
+        insertStatement.getInsertValues().add(new InsertValue(parametersBeginIndex, insertStatement.getParametersIndex() - parametersBeginIndex));
         lexerEngine.accept(Symbol.RIGHT_PAREN);
     }
     
@@ -96,15 +99,12 @@ public class InsertValuesClauseParser implements SQLClauseParser {
     private void parseMultipleValues(final InsertStatement insertStatement) {
         insertStatement.getMultipleConditions().add(new Conditions(insertStatement.getConditions()));
         MultipleInsertValuesToken valuesToken = new MultipleInsertValuesToken(insertStatement.getAfterValuesPosition());
-        valuesToken.getValues().add(
-                lexerEngine.getInput().substring(insertStatement.getAfterValuesPosition(), lexerEngine.getCurrentToken().getEndPosition() - Symbol.COMMA.getLiterals().length()));
+        valuesToken.getValues().add(lexerEngine.getInput().substring(insertStatement.getAfterValuesPosition(), insertStatement.getValuesListLastPosition() + Symbol.RIGHT_PAREN.getLiterals().length()));
         while (lexerEngine.skipIfEqual(Symbol.COMMA)) {
             int beginPosition = lexerEngine.getCurrentToken().getEndPosition() - lexerEngine.getCurrentToken().getLiterals().length();
             parseValues(insertStatement);
             insertStatement.getMultipleConditions().add(new Conditions(insertStatement.getConditions()));
-            int endPosition = lexerEngine.equalAny(Symbol.COMMA)
-                    ? lexerEngine.getCurrentToken().getEndPosition() - Symbol.COMMA.getLiterals().length() : lexerEngine.getCurrentToken().getEndPosition();
-            valuesToken.getValues().add(lexerEngine.getInput().substring(beginPosition, endPosition));
+            valuesToken.getValues().add(lexerEngine.getInput().substring(beginPosition, insertStatement.getValuesListLastPosition() + Symbol.RIGHT_PAREN.getLiterals().length()));
         }
         insertStatement.getSqlTokens().add(valuesToken);
     }
@@ -20,6 +20,7 @@ import io.shardingjdbc.core.parsing.parser.expression.SQLPropertyExpression;
 import io.shardingjdbc.core.parsing.parser.expression.SQLTextExpression;
 import io.shardingjdbc.core.parsing.parser.sql.SQLStatement;
 import io.shardingjdbc.core.parsing.parser.sql.dql.select.SelectStatement;
+import io.shardingjdbc.core.parsing.parser.token.InValuesToken;
 import io.shardingjdbc.core.parsing.parser.token.OffsetToken;
 import io.shardingjdbc.core.parsing.parser.token.RowCountToken;
 import io.shardingjdbc.core.util.SQLUtil;
@@ -54,12 +55,15 @@ public class WhereClauseParser implements SQLClauseParser {
      * @param shardingRule databases and tables sharding rule
      * @param sqlStatement SQL statement
      * @param items select items
+     * @return contains where clause or not
      */
-    public void parse(final ShardingRule shardingRule, final SQLStatement sqlStatement, final List<SelectItem> items) {
+    public boolean parse(final ShardingRule shardingRule, final SQLStatement sqlStatement, final List<SelectItem> items) {
         aliasClauseParser.parse();
         if (lexerEngine.skipIfEqual(DefaultKeyword.WHERE)) {
             parseConditions(shardingRule, sqlStatement, items);
+            return true;
         }
+        return false;
     }
     
     private void parseConditions(final ShardingRule shardingRule, final SQLStatement sqlStatement, final List<SelectItem> items) {
@@ -125,19 +129,49 @@ public class WhereClauseParser implements SQLClauseParser {
     }
     
     private void parseInCondition(final ShardingRule shardingRule, final SQLStatement sqlStatement, final SQLExpression left) {
+        int beginPosition = lexerEngine.getCurrentToken().getEndPosition();
         lexerEngine.accept(Symbol.LEFT_PAREN);
         List<SQLExpression> rights = new LinkedList<>();
+        List<Integer> separatorPositions = new LinkedList<>();
+        separatorPositions.add(beginPosition);
         do {
-            lexerEngine.skipIfEqual(Symbol.COMMA);
+            if (lexerEngine.equalAny(Symbol.COMMA)) {
+                separatorPositions.add(lexerEngine.getCurrentToken().getEndPosition());
+                lexerEngine.nextToken();
+            }
             rights.add(expressionClauseParser.parse(sqlStatement));
         } while (!lexerEngine.equalAny(Symbol.RIGHT_PAREN));
+        separatorPositions.add(lexerEngine.getCurrentToken().getEndPosition());
         Optional<Column> column = find(sqlStatement.getTables(), left);
         if (column.isPresent()) {
             sqlStatement.getConditions().add(new Condition(column.get(), rights), shardingRule);
+            if (shardingRule.isShardingColumn(column.get()) && rights.size() == separatorPositions.size() - 1 && isAllValueExpressions(rights)) {
+                sqlStatement.getInValuesTokens().add(createInValuesToken(column.get(), rights, separatorPositions));
+            }
         }
         lexerEngine.nextToken();
     }
     
+    private boolean isAllValueExpressions(final List<SQLExpression> sqlExpressions) {
+        for (SQLExpression each : sqlExpressions) {
+            if (!(each instanceof SQLNumberExpression || each instanceof SQLTextExpression || each instanceof SQLPlaceholderExpression)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    // separator positions are end positions of left parenthesis, commas and right parenthesis
+    private InValuesToken createInValuesToken(final Column column, final List<SQLExpression> values, final List<Integer> separatorPositions) {
+        InValuesToken result = new InValuesToken(separatorPositions.get(0), separatorPositions.get(separatorPositions.size() - 1) - 1, column);
+        int count = 0;
+        for (SQLExpression each : values) {
+            result.addValue(each, separatorPositions.get(count), separatorPositions.get(count + 1) - 1);
+            count++;
+        }
+        return result;
+    }
+    
     private void parseBetweenCondition(final ShardingRule shardingRule, final SQLStatement sqlStatement, final SQLExpression left) {
         List<SQLExpression> rights = new LinkedList<>();
         rights.add(expressionClauseParser.parse(sqlStatement));
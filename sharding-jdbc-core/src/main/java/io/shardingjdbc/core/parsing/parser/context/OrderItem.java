@@ -92,4 +92,22 @@ public final class OrderItem {
         }
         return owner.isPresent() ? Optional.of(owner.get() + "." + name.get()) : name;
     }
+    
+    /**
+     * Copy order item.
+     * 
+     * @return copied order item
+     */
+    public OrderItem copy() {
+        OrderItem result;
+        if (!name.isPresent()) {
+            result = new OrderItem(index, type, nullOrderType);
+        } else if (owner.isPresent()) {
+            result = new OrderItem(owner.get(), name.get(), type, nullOrderType, alias);
+        } else {
+            result = new OrderItem(name.get(), type, nullOrderType, alias);
+        }
+        result.index = index;
+        return result;
+    }
 }
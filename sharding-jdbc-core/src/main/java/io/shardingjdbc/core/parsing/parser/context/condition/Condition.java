@@ -17,6 +17,7 @@ import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.ToString;
 
+import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -92,6 +93,15 @@ public final class Condition {
         }
     }
     
+    /**
+     * Get indexes of parameters which used for sharding value.
+     *
+     * @return indexes of parameters
+     */
+    public Collection<Integer> getParameterIndexes() {
+        return positionIndexMap.values();
+    }
+    
     private List<Comparable<?>> getValues(final List<Object> parameters) {
         List<Comparable<?>> result = new LinkedList<>(positionValueMap.values());
         for (Entry<Integer, Integer> entry : positionIndexMap.entrySet()) {
@@ -44,6 +44,22 @@ public final class Limit {
     
     private LimitValue rowCount;
     
+    /**
+     * Copy limit.
+     * 
+     * @return copied limit with independent offset and row count
+     */
+    public Limit copy() {
+        Limit result = new Limit(rowCountRewriteFlag);
+        if (null != offset) {
+            result.setOffset(new LimitValue(offset.getValue(), offset.getIndex()));
+        }
+        if (null != rowCount) {
+            result.setRowCount(new LimitValue(rowCount.getValue(), rowCount.getIndex()));
+        }
+        return result;
+    }
+    
     /**
      * Get offset value.
      * 
@@ -64,4 +64,18 @@ public final class AggregationSelectItem implements SelectItem {
     public String getColumnLabel() {
         return alias.isPresent() ? alias.get() : getExpression();
     }
+    
+    /**
+     * Copy aggregation select item with derived aggregation select items.
+     * 
+     * @return copied aggregation select item
+     */
+    public AggregationSelectItem copy() {
+        AggregationSelectItem result = new AggregationSelectItem(type, innerExpression, alias);
+        for (AggregationSelectItem each : derivedAggregationSelectItems) {
+            result.derivedAggregationSelectItems.add(each.copy());
+        }
+        result.index = index;
+        return result;
+    }
 }
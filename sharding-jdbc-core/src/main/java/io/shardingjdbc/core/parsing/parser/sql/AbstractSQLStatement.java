@@ -20,6 +20,7 @@ package io.shardingjdbc.core.parsing.parser.sql;
 import io.shardingjdbc.core.constant.SQLType;
 import io.shardingjdbc.core.parsing.parser.context.condition.Conditions;
 import io.shardingjdbc.core.parsing.parser.context.table.Tables;
+import io.shardingjdbc.core.parsing.parser.token.InValuesToken;
 import io.shardingjdbc.core.parsing.parser.token.SQLToken;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
@@ -48,6 +49,8 @@ public abstract class AbstractSQLStatement implements SQLStatement {
     
     private final List<SQLToken> sqlTokens = new LinkedList<>();
     
+    private final List<InValuesToken> inValuesTokens = new LinkedList<>();
+    
     private int parametersIndex;
     
     @Override
@@ -20,6 +20,7 @@ package io.shardingjdbc.core.parsing.parser.sql;
 import io.shardingjdbc.core.constant.SQLType;
 import io.shardingjdbc.core.parsing.parser.context.condition.Conditions;
 import io.shardingjdbc.core.parsing.parser.context.table.Tables;
+import io.shardingjdbc.core.parsing.parser.token.InValuesToken;
 import io.shardingjdbc.core.parsing.parser.token.SQLToken;
 
 import java.util.List;
@@ -59,6 +60,17 @@ public interface SQLStatement {
      */
     List<SQLToken> getSqlTokens();
     
+    /**
+     * Get values tokens of in conditions.
+     * 
+     * <p>
+     * Values tokens are not SQL tokens, they only used for pruning values of in conditions by routed table units.
+     * </p>
+     * 
+     * @return values tokens of in conditions
+     */
+    List<InValuesToken> getInValuesTokens();
+    
     /**
      * Get index of parameters.
      *
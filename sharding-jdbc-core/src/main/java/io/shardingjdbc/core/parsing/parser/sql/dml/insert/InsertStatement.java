@@ -21,6 +21,7 @@ import io.shardingjdbc.core.rule.ShardingRule;
 import io.shardingjdbc.core.rule.TableRule;
 import io.shardingjdbc.core.parsing.lexer.token.Symbol;
 import io.shardingjdbc.core.parsing.parser.context.GeneratedKey;
+import io.shardingjdbc.core.parsing.parser.context.InsertValue;
 import io.shardingjdbc.core.parsing.parser.context.condition.Column;
 import io.shardingjdbc.core.parsing.parser.context.condition.Condition;
 import io.shardingjdbc.core.parsing.parser.context.condition.Conditions;
@@ -29,12 +30,14 @@ import io.shardingjdbc.core.parsing.parser.expression.SQLPlaceholderExpression;
 import io.shardingjdbc.core.parsing.parser.sql.dml.DMLStatement;
 import io.shardingjdbc.core.parsing.parser.token.GeneratedKeyToken;
 import io.shardingjdbc.core.parsing.parser.token.ItemsToken;
+import io.shardingjdbc.core.parsing.parser.token.MultipleInsertValuesToken;
 import io.shardingjdbc.core.parsing.parser.token.SQLToken;
 import com.google.common.base.Optional;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
@@ -53,6 +56,10 @@ public final class InsertStatement extends DMLStatement {
     
     private final List<Conditions> multipleConditions = new LinkedList<>();
     
+    private final List<InsertValue> insertValues = new LinkedList<>();
+    
+    private final List<Number> generatedKeyValues = new ArrayList<>();
+    
     private int columnsListLastPosition;
     
     private int generateKeyColumnIndex = -1;
@@ -63,6 +70,8 @@ public final class InsertStatement extends DMLStatement {
     
     private GeneratedKey generatedKey;
     
+    private int appendedGeneratedKeyIndex = -1;
+    
     /**
      * Append generate key token.
      *
@@ -81,6 +90,12 @@ public final class InsertStatement extends DMLStatement {
         if (!generatedKeysToken.isPresent()) {
             return;
         }
+        Optional<MultipleInsertValuesToken> multipleInsertValuesToken = findMultipleInsertValuesToken();
+        if (multipleInsertValuesToken.isPresent()) {
+            appendGenerateKeyToken(shardingRule, tableRule.get(), multipleInsertValuesToken.get(), parametersSize);
+            getSqlTokens().remove(generatedKeysToken.get());
+            return;
+        }
         ItemsToken valuesToken = new ItemsToken(generatedKeysToken.get().getBeginPosition());
         if (0 == parametersSize) {
             appendGenerateKeyToken(shardingRule, tableRule.get(), valuesToken);
@@ -104,6 +119,83 @@ public final class InsertStatement extends DMLStatement {
         generatedKey = new GeneratedKey(tableRule.getGenerateKeyColumn(), parametersSize, null);
     }
     
+    // generate key for each row, rows are routed by their own conditions
+    private void appendGenerateKeyToken(final ShardingRule shardingRule, final TableRule tableRule, final MultipleInsertValuesToken valuesToken, final int parametersSize) {
+        Column column = new Column(tableRule.getGenerateKeyColumn(), tableRule.getLogicTable());
+        List<String> values = new ArrayList<>(valuesToken.getValues().size());
+        if (0 == parametersSize) {
+            generatedKeyValues.addAll(shardingRule.generateKeys(tableRule.getLogicTable(), valuesToken.getValues().size()));
+        }
+        int count = 0;
+        for (String each : valuesToken.getValues()) {
+            String generatedKeyLiterals;
+            if (0 == parametersSize) {
+                Number generatedKey = generatedKeyValues.get(count);
+                generatedKeyLiterals = generatedKey.toString();
+                multipleConditions.get(count).add(new Condition(column, new SQLNumberExpression(generatedKey)), shardingRule);
+            } else {
+                generatedKeyLiterals = Symbol.QUESTION.getLiterals();
+                multipleConditions.get(count).add(new Condition(column, new SQLPlaceholderExpression(parametersSize + count)), shardingRule);
+            }
+            int endPosition = each.lastIndexOf(Symbol.RIGHT_PAREN.getLiterals());
+            values.add(each.substring(0, endPosition) + ", " + generatedKeyLiterals + each.substring(endPosition));
+            count++;
+        }
+        valuesToken.getValues().clear();
+        valuesToken.getValues().addAll(values);
+        if (0 == parametersSize) {
+            generatedKey = new GeneratedKey(tableRule.getGenerateKeyColumn(), -1, generatedKeyValues.get(0));
+        } else {
+            generatedKey = new GeneratedKey(tableRule.getGenerateKeyColumn(), parametersSize, null);
+            appendedGeneratedKeyIndex = parametersSize;
+        }
+    }
+    
+    /**
+     * Get indexes of parameters for rows of multiple insert values.
+     * 
+     * <p>
+     * Parameters before and after rows are kept, parameters of generated keys appended are placed after parameters of their rows.
+     * </p>
+     * 
+     * @param positions positions of rows
+     * @return indexes of parameters in placeholder order
+     */
+    public List<Integer> getParameterIndexes(final Collection<Integer> positions) {
+        List<Integer> result = new ArrayList<>(getParametersIndex() + positions.size());
+        InsertValue lastInsertValue = insertValues.get(insertValues.size() - 1);
+        for (int i = 0; i < insertValues.get(0).getParametersBeginIndex(); i++) {
+            result.add(i);
+        }
+        for (int each : positions) {
+            InsertValue insertValue = insertValues.get(each);
+            for (int i = insertValue.getParametersBeginIndex(); i < insertValue.getParametersBeginIndex() + insertValue.getParametersCount(); i++) {
+                result.add(i);
+            }
+            if (-1 != appendedGeneratedKeyIndex) {
+                result.add(appendedGeneratedKeyIndex + each);
+            }
+        }
+        for (int i = lastInsertValue.getParametersBeginIndex() + lastInsertValue.getParametersCount(); i < getParametersIndex(); i++) {
+            result.add(i);
+        }
+        return result;
+    }
+    
+    /**
+     * Find multiple insert values token.
+     * 
+     * @return multiple insert values token
+     */
+    public Optional<MultipleInsertValuesToken> findMultipleInsertValuesToken() {
+        for (SQLToken each : getSqlTokens()) {
+            if (each instanceof MultipleInsertValuesToken) {
+                return Optional.of((MultipleInsertValuesToken) each);
+            }
+        }
+        return Optional.absent();
+    }
+    
     private Optional<GeneratedKeyToken> findGeneratedKeyToken() {
         for (SQLToken each : getSqlTokens()) {
             if (each instanceof GeneratedKeyToken) {
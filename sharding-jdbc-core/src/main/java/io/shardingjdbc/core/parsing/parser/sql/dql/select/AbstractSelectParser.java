@@ -23,6 +23,7 @@ import io.shardingjdbc.core.parsing.lexer.LexerEngine;
 import io.shardingjdbc.core.parsing.lexer.token.Assist;
 import io.shardingjdbc.core.parsing.lexer.token.DefaultKeyword;
 import io.shardingjdbc.core.parsing.lexer.token.Symbol;
+import io.shardingjdbc.core.parsing.lexer.token.Token;
 import io.shardingjdbc.core.parsing.parser.clause.facade.AbstractSelectClauseParserFacade;
 import io.shardingjdbc.core.parsing.parser.context.OrderItem;
 import io.shardingjdbc.core.parsing.parser.context.selectitem.AggregationSelectItem;
@@ -110,7 +111,9 @@ public abstract class AbstractSelectParser implements SQLParser {
     }
     
     protected final void parseWhere(final ShardingRule shardingRule, final SelectStatement selectStatement, final List<SelectItem> items) {
-        selectClauseParserFacade.getWhereClauseParser().parse(shardingRule, selectStatement, items);
+        selectStatement.setContainWhere(selectClauseParserFacade.getWhereClauseParser().parse(shardingRule, selectStatement, items));
+        Token currentToken = lexerEngine.getCurrentToken();
+        selectStatement.setWhereLastPosition(currentToken.getEndPosition() - currentToken.getLiterals().length());
     }
     
     protected final void parseGroupBy(final SelectStatement selectStatement) {
@@ -55,6 +55,10 @@ public final class SelectStatement extends DQLStatement {
     
     private int groupByLastPosition;
     
+    private boolean containWhere;
+    
+    private int whereLastPosition;
+    
     private final Set<SelectItem> items = new HashSet<>();
     
     private final List<OrderItem> groupByItems = new LinkedList<>();
@@ -151,6 +155,40 @@ public final class SelectStatement extends DQLStatement {
         }
     }
     
+    /**
+     * Copy select statement for one execution.
+     * 
+     * <p>Limit will be filled and rewritten by parameters of every execution, and indexes of aggregation and order items will be set by merging,
+     * so they are copied; other parsed contexts are shared.</p>
+     * 
+     * @return copied select statement
+     */
+    public SelectStatement copyForExecution() {
+        SelectStatement result = new SelectStatement();
+        result.getTables().addAll(getTables());
+        result.getConditions().getConditions().putAll(getConditions().getConditions());
+        result.getSqlTokens().addAll(getSqlTokens());
+        result.getInValuesTokens().addAll(getInValuesTokens());
+        result.setParametersIndex(getParametersIndex());
+        result.containStar = containStar;
+        result.selectListLastPosition = selectListLastPosition;
+        result.groupByLastPosition = groupByLastPosition;
+        result.containWhere = containWhere;
+        result.whereLastPosition = whereLastPosition;
+        for (SelectItem each : items) {
+            result.items.add(each instanceof AggregationSelectItem ? ((AggregationSelectItem) each).copy() : each);
+        }
+        for (OrderItem each : groupByItems) {
+            result.groupByItems.add(each.copy());
+        }
+        for (OrderItem each : orderByItems) {
+            result.orderByItems.add(each.copy());
+        }
+        result.limit = null == limit ? null : limit.copy();
+        result.subQueryStatement = subQueryStatement;
+        return result;
+    }
+    
     /**
      * Set sub query statement.
      * 
@@ -204,6 +242,7 @@ public final class SelectStatement extends DQLStatement {
         }
         resetLimitTokens(result, limitSQLTokens);
         result.setLimit(limit);
+        result.setWhereLastPosition(0);
         return result;
     }
     
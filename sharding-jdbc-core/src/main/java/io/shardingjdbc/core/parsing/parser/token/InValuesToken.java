@@ -0,0 +1,79 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.parsing.parser.token;
+
+import io.shardingjdbc.core.parsing.parser.context.condition.Column;
+import io.shardingjdbc.core.parsing.parser.expression.SQLExpression;
+import io.shardingjdbc.core.parsing.parser.expression.SQLPlaceholderExpression;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Values token for in condition of sharding column.
+ * 
+ * <p>
+ * Position of value is between separators, include blank characters around the value.
+ * </p>
+ *
+ * @author zhangliang
+ */
+@RequiredArgsConstructor
+@Getter
+@ToString
+public final class InValuesToken implements SQLToken {
+    
+    private final int beginPosition;
+    
+    private final int endPosition;
+    
+    private final Column column;
+    
+    private final List<SQLExpression> values = new ArrayList<>();
+    
+    private final List<Integer> valueBeginPositions = new ArrayList<>();
+    
+    private final List<Integer> valueEndPositions = new ArrayList<>();
+    
+    /**
+     * Add value.
+     * 
+     * @param value value expression
+     * @param beginPosition begin position of value
+     * @param endPosition end position of value
+     */
+    public void addValue(final SQLExpression value, final int beginPosition, final int endPosition) {
+        values.add(value);
+        valueBeginPositions.add(beginPosition);
+        valueEndPositions.add(endPosition);
+    }
+    
+    /**
+     * Get parameter index of value.
+     * 
+     * @param position position of value
+     * @return parameter index, return -1 if value is not placeholder
+     */
+    public int getParameterIndex(final int position) {
+        SQLExpression value = values.get(position);
+        return value instanceof SQLPlaceholderExpression ? ((SQLPlaceholderExpression) value).getIndex() : -1;
+    }
+}
@@ -22,25 +22,34 @@ import io.shardingjdbc.core.constant.DatabaseType;
 import io.shardingjdbc.core.rule.BindingTableRule;
 import io.shardingjdbc.core.rule.ShardingRule;
 import io.shardingjdbc.core.parsing.lexer.token.DefaultKeyword;
+import io.shardingjdbc.core.parsing.lexer.token.Symbol;
 import io.shardingjdbc.core.parsing.parser.context.OrderItem;
 import io.shardingjdbc.core.parsing.parser.context.limit.Limit;
 import io.shardingjdbc.core.parsing.parser.sql.SQLStatement;
+import io.shardingjdbc.core.parsing.parser.sql.dml.insert.InsertStatement;
 import io.shardingjdbc.core.parsing.parser.sql.dql.select.SelectStatement;
+import io.shardingjdbc.core.parsing.parser.token.InValuesToken;
 import io.shardingjdbc.core.parsing.parser.token.ItemsToken;
+import io.shardingjdbc.core.parsing.parser.token.MultipleInsertValuesToken;
 import io.shardingjdbc.core.parsing.parser.token.OffsetToken;
 import io.shardingjdbc.core.parsing.parser.token.OrderByToken;
 import io.shardingjdbc.core.parsing.parser.token.RowCountToken;
 import io.shardingjdbc.core.parsing.parser.token.SQLToken;
 import io.shardingjdbc.core.parsing.parser.token.TableToken;
+import io.shardingjdbc.core.routing.DeepPagingUnit;
 import io.shardingjdbc.core.routing.type.TableUnit;
 import io.shardingjdbc.core.routing.type.complex.CartesianTableReference;
+import com.google.common.base.Joiner;
 import com.google.common.base.Optional;
 import io.shardingjdbc.core.util.SQLUtil;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 
@@ -59,10 +68,10 @@ public final class SQLRewriteEngine {
     
     private final DatabaseType databaseType;
     
-    private final List<SQLToken> sqlTokens = new LinkedList<>();
-    
     private final SQLStatement sqlStatement;
     
+    private Collection<String> tableNames;
+    
     /**
      * Constructs SQL rewrite engine.
      * 
@@ -76,7 +85,6 @@ public final class SQLRewriteEngine {
         this.originalSQL = originalSQL;
         this.databaseType = databaseType;
         this.sqlStatement = sqlStatement;
-        sqlTokens.addAll(sqlStatement.getSqlTokens());
     }
     
     /**
@@ -86,13 +94,23 @@ public final class SQLRewriteEngine {
      * @return SQL builder
      */
     public SQLBuilder rewrite(final boolean isRewriteLimit) {
-        SQLBuilder result = new SQLBuilder();
+        return compile().toSQLBuilder(getLimit(), isRewriteLimit);
+    }
+    
+    /**
+     * Compile SQL rewrite template.
+     * 
+     * <p>Template is independent with parameters and routing result, it can be reused by all executions of same parsed SQL statement.</p>
+     *
+     * @return SQL rewrite template
+     */
+    public SQLRewriteTemplate compile() {
+        SQLRewriteTemplate.Builder result = new SQLRewriteTemplate.Builder();
+        List<SQLToken> sqlTokens = getSortedSQLTokens();
         if (sqlTokens.isEmpty()) {
-            result.appendLiterals(originalSQL);
-            return result;
+            return result.appendLiterals(originalSQL).build();
         }
         int count = 0;
-        sortByBeginPosition();
         for (SQLToken each : sqlTokens) {
             if (0 == count) {
                 result.appendLiterals(originalSQL.substring(0, each.getBeginPosition()));
@@ -102,65 +120,71 @@ public final class SQLRewriteEngine {
             } else if (each instanceof ItemsToken) {
                 appendItemsToken(result, (ItemsToken) each, count, sqlTokens);
             } else if (each instanceof RowCountToken) {
-                appendLimitRowCount(result, (RowCountToken) each, count, sqlTokens, isRewriteLimit);
+                appendLimitRowCount(result, (RowCountToken) each, count, sqlTokens);
             } else if (each instanceof OffsetToken) {
-                appendLimitOffsetToken(result, (OffsetToken) each, count, sqlTokens, isRewriteLimit);
+                appendLimitOffsetToken(result, (OffsetToken) each, count, sqlTokens);
             } else if (each instanceof OrderByToken) {
                 appendOrderByToken(result, count, sqlTokens);
+            } else if (each instanceof ConditionToken) {
+                appendConditionToken(result, (ConditionToken) each, count, sqlTokens);
+            } else if (each instanceof InValuesToken) {
+                appendInValuesToken(result, (InValuesToken) each, count, sqlTokens);
+            } else if (each instanceof MultipleInsertValuesToken) {
+                appendMultipleInsertValuesToken(result, (MultipleInsertValuesToken) each, count, sqlTokens);
             }
             count++;
         }
-        return result;
+        return result.build();
     }
     
-    private void sortByBeginPosition() {
-        Collections.sort(sqlTokens, new Comparator<SQLToken>() {
+    private List<SQLToken> getSortedSQLTokens() {
+        List<SQLToken> result = new ArrayList<>(sqlStatement.getSqlTokens());
+        result.addAll(sqlStatement.getInValuesTokens());
+        if (isConditionAppendable()) {
+            result.add(new ConditionToken(((SelectStatement) sqlStatement).getWhereLastPosition(), ((SelectStatement) sqlStatement).isContainWhere()));
+        }
+        Collections.sort(result, new Comparator<SQLToken>() {
             
             @Override
             public int compare(final SQLToken o1, final SQLToken o2) {
                 return o1.getBeginPosition() - o2.getBeginPosition();
             }
         });
+        return result;
     }
     
-    private void appendTableToken(final SQLBuilder sqlBuilder, final TableToken tableToken, final int count, final List<SQLToken> sqlTokens) {
+    private void appendTableToken(final SQLRewriteTemplate.Builder templateBuilder, final TableToken tableToken, final int count, final List<SQLToken> sqlTokens) {
         String tableName = 
                 SQLUtil.getOriginalValue(sqlStatement.getTables().getTableNames().contains(tableToken.getTableName()) ? tableToken.getTableName() : tableToken.getOriginalLiterals(), databaseType);
-        sqlBuilder.appendTable(tableName);
+        templateBuilder.appendTable(tableName);
         int beginPosition = tableToken.getBeginPosition() + tableToken.getOriginalLiterals().length();
-        appendRest(sqlBuilder, count, sqlTokens, beginPosition);
+        appendRest(templateBuilder, count, sqlTokens, beginPosition);
     }
     
-    private void appendItemsToken(final SQLBuilder sqlBuilder, final ItemsToken itemsToken, final int count, final List<SQLToken> sqlTokens) {
+    private void appendItemsToken(final SQLRewriteTemplate.Builder templateBuilder, final ItemsToken itemsToken, final int count, final List<SQLToken> sqlTokens) {
         for (String item : itemsToken.getItems()) {
-            sqlBuilder.appendLiterals(", ");
-            sqlBuilder.appendLiterals(SQLUtil.getOriginalValue(item, databaseType));
+            templateBuilder.appendLiterals(", ");
+            templateBuilder.appendLiterals(SQLUtil.getOriginalValue(item, databaseType));
         }
         int beginPosition = itemsToken.getBeginPosition();
-        appendRest(sqlBuilder, count, sqlTokens, beginPosition);
+        appendRest(templateBuilder, count, sqlTokens, beginPosition);
     }
     
-    private void appendLimitRowCount(final SQLBuilder sqlBuilder, final RowCountToken rowCountToken, final int count, final List<SQLToken> sqlTokens, final boolean isRewrite) {
+    private void appendLimitRowCount(final SQLRewriteTemplate.Builder templateBuilder, final RowCountToken rowCountToken, final int count, final List<SQLToken> sqlTokens) {
         SelectStatement selectStatement = (SelectStatement) sqlStatement;
-        Limit limit = selectStatement.getLimit();
-        if (!isRewrite) {
-            sqlBuilder.appendLiterals(String.valueOf(rowCountToken.getRowCount()));
-        } else if ((!selectStatement.getGroupByItems().isEmpty() || !selectStatement.getAggregationSelectItems().isEmpty()) && !selectStatement.isSameGroupByAndOrderByItems()) {
-            sqlBuilder.appendLiterals(String.valueOf(Integer.MAX_VALUE));
-        } else {
-            sqlBuilder.appendLiterals(String.valueOf(limit.isRowCountRewriteFlag() ? rowCountToken.getRowCount() + limit.getOffsetValue() : rowCountToken.getRowCount()));
-        }
+        boolean isFetchAll = (!selectStatement.getGroupByItems().isEmpty() || !selectStatement.getAggregationSelectItems().isEmpty()) && !selectStatement.isSameGroupByAndOrderByItems();
+        templateBuilder.appendRowCount(rowCountToken.getRowCount(), isFetchAll);
         int beginPosition = rowCountToken.getBeginPosition() + String.valueOf(rowCountToken.getRowCount()).length();
-        appendRest(sqlBuilder, count, sqlTokens, beginPosition);
+        appendRest(templateBuilder, count, sqlTokens, beginPosition);
     }
     
-    private void appendLimitOffsetToken(final SQLBuilder sqlBuilder, final OffsetToken offsetToken, final int count, final List<SQLToken> sqlTokens, final boolean isRewrite) {
-        sqlBuilder.appendLiterals(isRewrite ? "0" : String.valueOf(offsetToken.getOffset()));
+    private void appendLimitOffsetToken(final SQLRewriteTemplate.Builder templateBuilder, final OffsetToken offsetToken, final int count, final List<SQLToken> sqlTokens) {
+        templateBuilder.appendOffset(offsetToken.getOffset());
         int beginPosition = offsetToken.getBeginPosition() + String.valueOf(offsetToken.getOffset()).length();
-        appendRest(sqlBuilder, count, sqlTokens, beginPosition);
+        appendRest(templateBuilder, count, sqlTokens, beginPosition);
     }
     
-    private void appendOrderByToken(final SQLBuilder sqlBuilder, final int count, final List<SQLToken> sqlTokens) {
+    private void appendOrderByToken(final SQLRewriteTemplate.Builder templateBuilder, final int count, final List<SQLToken> sqlTokens) {
         SelectStatement selectStatement = (SelectStatement) sqlStatement;
         StringBuilder orderByLiterals = new StringBuilder();
         orderByLiterals.append(" ").append(DefaultKeyword.ORDER).append(" ").append(DefaultKeyword.BY).append(" ");
@@ -175,14 +199,46 @@ public final class SQLRewriteEngine {
             i++;
         }
         orderByLiterals.append(" ");
-        sqlBuilder.appendLiterals(orderByLiterals.toString());
+        templateBuilder.appendLiterals(orderByLiterals.toString());
         int beginPosition = ((SelectStatement) sqlStatement).getGroupByLastPosition();
-        appendRest(sqlBuilder, count, sqlTokens, beginPosition);
+        appendRest(templateBuilder, count, sqlTokens, beginPosition);
     }
     
-    private void appendRest(final SQLBuilder sqlBuilder, final int count, final List<SQLToken> sqlTokens, final int beginPosition) {
+    // condition for seeking deep page by sort key, appended after where clause
+    private boolean isConditionAppendable() {
+        if (!(sqlStatement instanceof SelectStatement)) {
+            return false;
+        }
+        SelectStatement selectStatement = (SelectStatement) sqlStatement;
+        return selectStatement.getWhereLastPosition() > 0 && 1 == selectStatement.getOrderByItems().size();
+    }
+    
+    private void appendConditionToken(final SQLRewriteTemplate.Builder templateBuilder, final ConditionToken conditionToken, final int count, final List<SQLToken> sqlTokens) {
+        templateBuilder.appendCondition(conditionToken.containWhere);
+        appendRest(templateBuilder, count, sqlTokens, conditionToken.getBeginPosition());
+    }
+    
+    private void appendInValuesToken(final SQLRewriteTemplate.Builder templateBuilder, final InValuesToken inValuesToken, final int count, final List<SQLToken> sqlTokens) {
+        List<String> values = new ArrayList<>(inValuesToken.getValues().size());
+        for (int i = 0; i < inValuesToken.getValues().size(); i++) {
+            values.add(originalSQL.substring(inValuesToken.getValueBeginPositions().get(i), inValuesToken.getValueEndPositions().get(i)).trim());
+        }
+        templateBuilder.appendValues(inValuesToken, originalSQL.substring(inValuesToken.getBeginPosition(), inValuesToken.getEndPosition()), values);
+        appendRest(templateBuilder, count, sqlTokens, inValuesToken.getEndPosition());
+    }
+    
+    private void appendMultipleInsertValuesToken(final SQLRewriteTemplate.Builder templateBuilder, final MultipleInsertValuesToken multipleInsertValuesToken, final int count, final List<SQLToken> sqlTokens) {
+        templateBuilder.appendValues(multipleInsertValuesToken, Joiner.on(", ").join(multipleInsertValuesToken.getValues()), multipleInsertValuesToken.getValues());
+        appendRest(templateBuilder, count, sqlTokens, ((InsertStatement) sqlStatement).getValuesListLastPosition() + Symbol.RIGHT_PAREN.getLiterals().length());
+    }
+    
+    private void appendRest(final SQLRewriteTemplate.Builder templateBuilder, final int count, final List<SQLToken> sqlTokens, final int beginPosition) {
         int endPosition = sqlTokens.size() - 1 == count ? originalSQL.length() : sqlTokens.get(count + 1).getBeginPosition();
-        sqlBuilder.appendLiterals(originalSQL.substring(beginPosition, endPosition));
+        templateBuilder.appendLiterals(originalSQL.substring(beginPosition, endPosition));
+    }
+    
+    private Limit getLimit() {
+        return sqlStatement instanceof SelectStatement ? ((SelectStatement) sqlStatement).getLimit() : null;
     }
     
     /**
@@ -207,6 +263,91 @@ public final class SQLRewriteEngine {
         return sqlBuilder.toSQL(getTableTokens(cartesianTableReference));
     }
     
+    /**
+     * Generate SQL string.
+     * 
+     * @param tableUnit route table unit
+     * @param template SQL rewrite template
+     * @param isRewriteLimit is rewrite limit
+     * @return SQL string
+     */
+    public String generateSQL(final TableUnit tableUnit, final SQLRewriteTemplate template, final boolean isRewriteLimit) {
+        return generateSQL(tableUnit, template, isRewriteLimit, Collections.<SQLToken, Collection<Integer>>emptyMap());
+    }
+    
+    /**
+     * Generate SQL string with split values.
+     * 
+     * @param tableUnit route table unit
+     * @param template SQL rewrite template
+     * @param isRewriteLimit is rewrite limit
+     * @param valuesPositions positions of values routed to table unit for values tokens, tokens absent keep all values
+     * @return SQL string
+     */
+    public String generateSQL(final TableUnit tableUnit, final SQLRewriteTemplate template, final boolean isRewriteLimit, final Map<SQLToken, Collection<Integer>> valuesPositions) {
+        String[] actualTableNames = template.getLogicTableNames().clone();
+        fillActualTableNames(actualTableNames, template.getLogicTableNames(), tableUnit);
+        return template.toSQL(actualTableNames, getLimit(), isRewriteLimit, valuesPositions);
+    }
+    
+    /**
+     * Generate SQL string.
+     *
+     * @param cartesianTableReference cartesian table reference
+     * @param template SQL rewrite template
+     * @param isRewriteLimit is rewrite limit
+     * @return SQL string
+     */
+    public String generateSQL(final CartesianTableReference cartesianTableReference, final SQLRewriteTemplate template, final boolean isRewriteLimit) {
+        String[] actualTableNames = template.getLogicTableNames().clone();
+        for (TableUnit each : cartesianTableReference.getTableUnits()) {
+            fillActualTableNames(actualTableNames, template.getLogicTableNames(), each);
+        }
+        return template.toSQL(actualTableNames, getLimit(), isRewriteLimit);
+    }
+    
+    /**
+     * Generate deep paging unit.
+     * 
+     * @param tableUnit route table unit
+     * @param template rewrite template compiled with appendable condition
+     * @return deep paging unit
+     */
+    public DeepPagingUnit generateDeepPagingUnit(final TableUnit tableUnit, final SQLRewriteTemplate template) {
+        String[] actualTableNames = template.getLogicTableNames().clone();
+        fillActualTableNames(actualTableNames, template.getLogicTableNames(), tableUnit);
+        return new DeepPagingUnit(tableUnit.getDataSourceName(), template, actualTableNames);
+    }
+    
+    private void fillActualTableNames(final String[] actualTableNames, final String[] logicTableNames, final TableUnit tableUnit) {
+        for (int i = 0; i < logicTableNames.length; i++) {
+            if (logicTableNames[i].equals(tableUnit.getLogicTableName())) {
+                actualTableNames[i] = tableUnit.getActualTableName();
+            }
+        }
+        Optional<BindingTableRule> bindingTableRule = shardingRule.findBindingTableRule(tableUnit.getLogicTableName());
+        if (!bindingTableRule.isPresent()) {
+            return;
+        }
+        for (String eachTable : getTableNames()) {
+            if (eachTable.equalsIgnoreCase(tableUnit.getLogicTableName()) || !bindingTableRule.get().hasLogicTable(eachTable)) {
+                continue;
+            }
+            for (int i = 0; i < logicTableNames.length; i++) {
+                if (logicTableNames[i].equals(eachTable)) {
+                    actualTableNames[i] = bindingTableRule.get().getBindingActualTable(tableUnit.getDataSourceName(), eachTable, tableUnit.getActualTableName());
+                }
+            }
+        }
+    }
+    
+    private Collection<String> getTableNames() {
+        if (null == tableNames) {
+            tableNames = sqlStatement.getTables().getTableNames();
+        }
+        return tableNames;
+    }
+    
     private Map<String, String> getTableTokens(final TableUnit tableUnit) {
         Map<String, String> tableTokens = new HashMap<>();
         tableTokens.put(tableUnit.getLogicTableName(), tableUnit.getActualTableName());
@@ -238,4 +379,13 @@ public final class SQLRewriteEngine {
         }
         return result;
     }
+    
+    @RequiredArgsConstructor
+    @Getter
+    private static final class ConditionToken implements SQLToken {
+        
+        private final int beginPosition;
+        
+        private final boolean containWhere;
+    }
 }
@@ -0,0 +1,312 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.rewrite;
+
+import io.shardingjdbc.core.parsing.parser.context.limit.Limit;
+import io.shardingjdbc.core.parsing.parser.token.SQLToken;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiled SQL rewrite template.
+ * 
+ * <p>
+ * Template is compiled once for a parsed SQL statement, it contains literal segments and slots for table, limit and values of in condition.
+ * Generating SQL for each routed unit only fills the slots.
+ * </p>
+ * 
+ * @author zhangliang
+ */
+public final class SQLRewriteTemplate {
+    
+    private static final int LIMIT_SEGMENT_LENGTH = 10;
+    
+    private final Object[] segments;
+    
+    @Getter
+    private final String[] logicTableNames;
+    
+    private final int[] logicTableCounts;
+    
+    private final int literalsLength;
+    
+    private SQLRewriteTemplate(final List<Object> segments, final List<String> logicTableNames) {
+        this.segments = segments.toArray();
+        this.logicTableNames = logicTableNames.toArray(new String[logicTableNames.size()]);
+        logicTableCounts = new int[logicTableNames.size()];
+        int literalsLength = 0;
+        for (Object each : segments) {
+            if (each instanceof String) {
+                literalsLength += ((String) each).length();
+            } else if (each instanceof TableSegment) {
+                logicTableCounts[((TableSegment) each).index]++;
+            } else if (each instanceof ValuesSegment) {
+                literalsLength += ((ValuesSegment) each).originalLiterals.length();
+            } else if (!(each instanceof ConditionSegment)) {
+                literalsLength += LIMIT_SEGMENT_LENGTH;
+            }
+        }
+        this.literalsLength = literalsLength;
+    }
+    
+    /**
+     * Generate SQL.
+     * 
+     * @param actualTableNames actual table names, index is same with logic table names
+     * @param limit limit of current execution
+     * @param isRewriteLimit is rewrite limit or not
+     * @return SQL string
+     */
+    public String toSQL(final String[] actualTableNames, final Limit limit, final boolean isRewriteLimit) {
+        return toSQL(actualTableNames, limit, isRewriteLimit, Collections.<SQLToken, Collection<Integer>>emptyMap());
+    }
+    
+    /**
+     * Generate SQL with split values.
+     * 
+     * @param actualTableNames actual table names, index is same with logic table names
+     * @param limit limit of current execution
+     * @param isRewriteLimit is rewrite limit or not
+     * @param valuesPositions positions of values to be kept for values tokens, tokens absent keep all values
+     * @return SQL string
+     */
+    public String toSQL(final String[] actualTableNames, final Limit limit, final boolean isRewriteLimit, final Map<SQLToken, Collection<Integer>> valuesPositions) {
+        int capacity = literalsLength;
+        for (int i = 0; i < actualTableNames.length; i++) {
+            capacity += logicTableCounts[i] * actualTableNames[i].length();
+        }
+        StringBuilder result = new StringBuilder(capacity);
+        for (Object each : segments) {
+            if (each instanceof String) {
+                result.append((String) each);
+            } else if (each instanceof TableSegment) {
+                result.append(actualTableNames[((TableSegment) each).index]);
+            } else if (each instanceof RowCountSegment) {
+                result.append(((RowCountSegment) each).getRowCount(limit, isRewriteLimit));
+            } else if (each instanceof OffsetSegment) {
+                result.append(isRewriteLimit ? 0 : ((OffsetSegment) each).offset);
+            } else if (each instanceof ValuesSegment) {
+                ((ValuesSegment) each).appendTo(result, valuesPositions.get(((ValuesSegment) each).valuesToken));
+            }
+        }
+        return result.toString();
+    }
+    
+    /**
+     * Generate SQL with appended condition and specified limit.
+     * 
+     * <p>
+     * Offset and row count only replace literals of limit, placeholders of limit should be set by parameters.
+     * </p>
+     * 
+     * @param actualTableNames actual table names, index is same with logic table names
+     * @param offset offset of limit
+     * @param rowCount row count of limit
+     * @param condition condition to be appended into where clause, empty string means no condition
+     * @return SQL string
+     */
+    public String toSQL(final String[] actualTableNames, final int offset, final int rowCount, final String condition) {
+        int capacity = literalsLength + condition.length();
+        for (int i = 0; i < actualTableNames.length; i++) {
+            capacity += logicTableCounts[i] * actualTableNames[i].length();
+        }
+        StringBuilder result = new StringBuilder(capacity);
+        for (Object each : segments) {
+            if (each instanceof String) {
+                result.append((String) each);
+            } else if (each instanceof TableSegment) {
+                result.append(actualTableNames[((TableSegment) each).index]);
+            } else if (each instanceof RowCountSegment) {
+                result.append(rowCount);
+            } else if (each instanceof OffsetSegment) {
+                result.append(offset);
+            } else if (each instanceof ValuesSegment) {
+                result.append(((ValuesSegment) each).originalLiterals);
+            } else if (each instanceof ConditionSegment && !condition.isEmpty()) {
+                result.append(((ConditionSegment) each).containWhere ? "AND " : "WHERE ").append(condition).append(" ");
+            }
+        }
+        return result.toString();
+    }
+    
+    /**
+     * Judge condition can be appended or not.
+     * 
+     * @return condition can be appended or not
+     */
+    public boolean isConditionAppendable() {
+        for (Object each : segments) {
+            if (each instanceof ConditionSegment) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Convert to SQL builder.
+     * 
+     * @param limit limit of current execution
+     * @param isRewriteLimit is rewrite limit or not
+     * @return SQL builder
+     */
+    public SQLBuilder toSQLBuilder(final Limit limit, final boolean isRewriteLimit) {
+        SQLBuilder result = new SQLBuilder();
+        for (Object each : segments) {
+            if (each instanceof String) {
+                result.appendLiterals((String) each);
+            } else if (each instanceof TableSegment) {
+                result.appendTable(logicTableNames[((TableSegment) each).index]);
+            } else if (each instanceof RowCountSegment) {
+                result.appendLiterals(String.valueOf(((RowCountSegment) each).getRowCount(limit, isRewriteLimit)));
+            } else if (each instanceof OffsetSegment) {
+                result.appendLiterals(isRewriteLimit ? "0" : String.valueOf(((OffsetSegment) each).offset));
+            } else if (each instanceof ValuesSegment) {
+                result.appendLiterals(((ValuesSegment) each).originalLiterals);
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * SQL rewrite template builder.
+     */
+    static final class Builder {
+        
+        private final List<Object> segments = new ArrayList<>();
+        
+        private final List<String> logicTableNames = new ArrayList<>();
+        
+        private StringBuilder currentLiterals = new StringBuilder();
+        
+        Builder appendLiterals(final String literals) {
+            currentLiterals.append(literals);
+            return this;
+        }
+        
+        Builder appendTable(final String logicTableName) {
+            int index = logicTableNames.indexOf(logicTableName);
+            if (-1 == index) {
+                index = logicTableNames.size();
+                logicTableNames.add(logicTableName);
+            }
+            return appendSegment(new TableSegment(index));
+        }
+        
+        Builder appendRowCount(final int rowCount, final boolean isFetchAll) {
+            return appendSegment(new RowCountSegment(rowCount, isFetchAll));
+        }
+        
+        Builder appendOffset(final int offset) {
+            return appendSegment(new OffsetSegment(offset));
+        }
+        
+        Builder appendCondition(final boolean containWhere) {
+            return appendSegment(new ConditionSegment(containWhere));
+        }
+        
+        Builder appendValues(final SQLToken valuesToken, final String originalLiterals, final List<String> values) {
+            return appendSegment(new ValuesSegment(valuesToken, originalLiterals, values.toArray(new String[values.size()])));
+        }
+        
+        private Builder appendSegment(final Object segment) {
+            flushLiterals();
+            segments.add(segment);
+            return this;
+        }
+        
+        private void flushLiterals() {
+            if (0 != currentLiterals.length()) {
+                segments.add(currentLiterals.toString());
+                currentLiterals = new StringBuilder();
+            }
+        }
+        
+        SQLRewriteTemplate build() {
+            flushLiterals();
+            return new SQLRewriteTemplate(segments, logicTableNames);
+        }
+    }
+    
+    @RequiredArgsConstructor
+    private static final class TableSegment {
+        
+        private final int index;
+    }
+    
+    @RequiredArgsConstructor
+    private static final class RowCountSegment {
+        
+        private final int rowCount;
+        
+        private final boolean fetchAll;
+        
+        private int getRowCount(final Limit limit, final boolean isRewriteLimit) {
+            if (!isRewriteLimit) {
+                return rowCount;
+            }
+            if (fetchAll) {
+                return Integer.MAX_VALUE;
+            }
+            return limit.isRowCountRewriteFlag() ? rowCount + limit.getOffsetValue() : rowCount;
+        }
+    }
+    
+    @RequiredArgsConstructor
+    private static final class OffsetSegment {
+        
+        private final int offset;
+    }
+    
+    @RequiredArgsConstructor
+    private static final class ConditionSegment {
+        
+        private final boolean containWhere;
+    }
+    
+    @RequiredArgsConstructor
+    private static final class ValuesSegment {
+        
+        private final SQLToken valuesToken;
+        
+        private final String originalLiterals;
+        
+        private final String[] values;
+        
+        private void appendTo(final StringBuilder sql, final Collection<Integer> positions) {
+            if (null == positions) {
+                sql.append(originalLiterals);
+                return;
+            }
+            boolean isFirst = true;
+            for (int each : positions) {
+                if (!isFirst) {
+                    sql.append(", ");
+                }
+                sql.append(values[each]);
+                isFirst = false;
+            }
+        }
+    }
+}
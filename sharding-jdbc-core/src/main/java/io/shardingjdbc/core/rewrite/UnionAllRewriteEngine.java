@@ -0,0 +1,103 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+package io.shardingjdbc.core.rewrite;
+
+import io.shardingjdbc.core.parsing.parser.sql.SQLStatement;
+import io.shardingjdbc.core.parsing.parser.sql.dql.select.SelectStatement;
+import io.shardingjdbc.core.routing.SQLExecutionUnit;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rewrite engine which combines execution units of same data source into one {@code UNION ALL} statement.
+ * 
+ * <p>
+ * Only select statement without order by items can be combined, 
+ * because stream mergers for order by and group by require every result set is sorted, but rows of {@code UNION ALL} are not.
+ * </p>
+ * 
+ * @author zhangliang
+ */
+@RequiredArgsConstructor
+public final class UnionAllRewriteEngine {
+    
+    private static final String UNION_ALL = " UNION ALL ";
+    
+    private final SQLStatement sqlStatement;
+    
+    /**
+     * Judge SQL statement can be combined by {@code UNION ALL} or not.
+     * 
+     * @return SQL statement can be combined by {@code UNION ALL} or not
+     */
+    public boolean isCombinable() {
+        return sqlStatement instanceof SelectStatement && ((SelectStatement) sqlStatement).getOrderByItems().isEmpty();
+    }
+    
+    /**
+     * Combine execution units of same data source.
+     * 
+     * @param executionUnits execution units to be combined
+     * @return combined execution units, return original execution units if SQL statement cannot be combined
+     */
+    public Collection<SQLExecutionUnit> combine(final Collection<SQLExecutionUnit> executionUnits) {
+        if (!isCombinable()) {
+            return executionUnits;
+        }
+        Map<String, List<String>> sqlMap = new LinkedHashMap<>();
+        for (SQLExecutionUnit each : executionUnits) {
+            // parameters of unit with split values are different from others, cannot be repeated
+            if (each.getParameterIndexes().isPresent()) {
+                return executionUnits;
+            }
+            if (!sqlMap.containsKey(each.getDataSource())) {
+                sqlMap.put(each.getDataSource(), new LinkedList<String>());
+            }
+            sqlMap.get(each.getDataSource()).add(each.getSql());
+        }
+        if (sqlMap.size() == executionUnits.size()) {
+            return executionUnits;
+        }
+        Collection<SQLExecutionUnit> result = new ArrayList<>(sqlMap.size());
+        for (Map.Entry<String, List<String>> entry : sqlMap.entrySet()) {
+            result.add(1 == entry.getValue().size()
+                    ? new SQLExecutionUnit(entry.getKey(), entry.getValue().get(0)) : new SQLExecutionUnit(entry.getKey(), combine(entry.getValue()), entry.getValue().size()));
+        }
+        return result;
+    }
+    
+    private String combine(final List<String> sqlList) {
+        int length = 0;
+        for (String each : sqlList) {
+            length += each.length() + UNION_ALL.length() + 2;
+        }
+        StringBuilder result = new StringBuilder(length);
+        for (String each : sqlList) {
+            if (0 != result.length()) {
+                result.append(UNION_ALL);
+            }
+            result.append('(').append(each).append(')');
+        }
+        return result.toString();
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.routing;
+
+import io.shardingjdbc.core.rewrite.SQLRewriteTemplate;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Deep paging unit.
+ * 
+ * <p>
+ * Deep paging unit is one routed table unit, which can generate SQL with specified limit and condition of sort key.
+ * </p>
+ * 
+ * @author zhangliang
+ */
+@RequiredArgsConstructor
+public final class DeepPagingUnit {
+    
+    @Getter
+    private final String dataSource;
+    
+    private final SQLRewriteTemplate template;
+    
+    private final String[] actualTableNames;
+    
+    /**
+     * Generate SQL execution unit.
+     * 
+     * @param offset offset of limit
+     * @param rowCount row count of limit
+     * @param condition condition of sort key, empty string means no condition
+     * @return SQL execution unit
+     */
+    public SQLExecutionUnit generateSQLExecutionUnit(final int offset, final int rowCount, final String condition) {
+        return new SQLExecutionUnit(dataSource, template.toSQL(actualTableNames, offset, rowCount, condition));
+    }
+    
+    /**
+     * Generate SQL execution unit which counts rows.
+     * 
+     * <p>
+     * Only one row with count is returned, rows matched by condition are not transferred.
+     * </p>
+     * 
+     * @param offset offset of limit
+     * @param rowCount row count of limit
+     * @param condition condition of sort key, empty string means no condition
+     * @return SQL execution unit
+     */
+    public SQLExecutionUnit generateCountSQLExecutionUnit(final int offset, final int rowCount, final String condition) {
+        return new SQLExecutionUnit(dataSource, "SELECT COUNT(*) FROM (" + template.toSQL(actualTableNames, offset, rowCount, condition) + ") sharding_count");
+    }
+}
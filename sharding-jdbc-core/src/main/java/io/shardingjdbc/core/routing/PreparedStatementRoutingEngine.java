@@ -21,6 +21,7 @@ import io.shardingjdbc.core.jdbc.core.ShardingContext;
 import io.shardingjdbc.core.parsing.parser.sql.SQLStatement;
 import io.shardingjdbc.core.routing.router.SQLRouter;
 import io.shardingjdbc.core.routing.router.SQLRouterFactory;
+import com.google.common.base.Optional;
 
 import java.util.List;
 
@@ -51,9 +52,25 @@ public final class PreparedStatementRoutingEngine {
      * @return route result
      */
     public SQLRouteResult route(final List<Object> parameters) {
+        return sqlRouter.route(logicSQL, parameters, getSQLStatement(parameters));
+    }
+    
+    /**
+     * Get sharding parameters.
+     * 
+     * <p>Parameters with same sharding parameters are routed to same execution units, so route result of them can be reused.</p>
+     * 
+     * @param parameters parameters of SQL placeholder
+     * @return sharding parameters, absent if route result is not decided by sharding parameters only
+     */
+    public Optional<List<Object>> getShardingParameters(final List<Object> parameters) {
+        return sqlRouter.getShardingParameters(parameters, getSQLStatement(parameters));
+    }
+    
+    private SQLStatement getSQLStatement(final List<Object> parameters) {
         if (null == sqlStatement) {
             sqlStatement = sqlRouter.parse(logicSQL, parameters.size());
         }
-        return sqlRouter.route(logicSQL, parameters, sqlStatement);
+        return sqlStatement;
     }
 }
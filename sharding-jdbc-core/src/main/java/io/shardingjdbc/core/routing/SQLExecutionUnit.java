@@ -17,11 +17,15 @@
 
 package io.shardingjdbc.core.routing;
 
+import com.google.common.base.Optional;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.ToString;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * SQL execution unit.
  * 
@@ -36,4 +40,48 @@ public final class SQLExecutionUnit {
     private final String dataSource;
     
     private final String sql;
+    
+    /**
+     * Count of routed units combined into this unit by {@code UNION ALL}.
+     * 
+     * <p>
+     * Parameters of prepared statement should be repeated by this count.
+     * </p>
+     */
+    private final int combinedUnitCount;
+    
+    /**
+     * Indexes of logic SQL parameters used by this unit, in placeholder order of actual SQL.
+     * 
+     * <p>
+     * Absent means all parameters are used in original order.
+     * Parameters are selected and reordered if values of in condition or rows of multiple insert values are split into units.
+     * </p>
+     */
+    private final Optional<List<Integer>> parameterIndexes;
+    
+    public SQLExecutionUnit(final String dataSource, final String sql) {
+        this(dataSource, sql, 1);
+    }
+    
+    public SQLExecutionUnit(final String dataSource, final String sql, final int combinedUnitCount) {
+        this(dataSource, sql, combinedUnitCount, Optional.<List<Integer>>absent());
+    }
+    
+    /**
+     * Get parameters of this unit.
+     * 
+     * @param parameters parameters of logic SQL
+     * @return parameters of this unit
+     */
+    public List<Object> getParameters(final List<Object> parameters) {
+        if (!parameterIndexes.isPresent() || parameters.isEmpty()) {
+            return parameters;
+        }
+        List<Object> result = new ArrayList<>(parameterIndexes.get().size());
+        for (int each : parameterIndexes.get()) {
+            result.add(parameters.get(each));
+        }
+        return result;
+    }
 }
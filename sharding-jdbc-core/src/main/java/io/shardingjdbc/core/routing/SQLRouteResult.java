@@ -41,4 +41,22 @@ public final class SQLRouteResult {
     private final Set<SQLExecutionUnit> executionUnits = new LinkedHashSet<>();
     
     private final List<Number> generatedKeys = new LinkedList<>();
+    
+    /**
+     * Units for seeking deep page by sort key, empty if deep paging is not applicable.
+     */
+    private final List<DeepPagingUnit> deepPagingUnits = new LinkedList<>();
+    
+    /**
+     * Judge is routed to only one table unit or not.
+     * 
+     * <p>
+     * Result set of only one table unit need not merge.
+     * </p>
+     * 
+     * @return is routed to only one table unit or not
+     */
+    public boolean isSingleTableUnit() {
+        return 1 == executionUnits.size() && 1 == executionUnits.iterator().next().getCombinedUnitCount();
+    }
 }
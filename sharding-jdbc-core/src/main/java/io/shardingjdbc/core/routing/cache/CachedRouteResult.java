@@ -0,0 +1,42 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.routing.cache;
+
+import com.google.common.collect.ImmutableList;
+import io.shardingjdbc.core.routing.SQLExecutionUnit;
+import lombok.Getter;
+
+import java.util.Collection;
+
+/**
+ * Cached route result.
+ * 
+ * @author zhangliang
+ */
+@Getter
+public final class CachedRouteResult {
+    
+    private final Collection<SQLExecutionUnit> executionUnits;
+    
+    private final boolean singleRouting;
+    
+    public CachedRouteResult(final Collection<SQLExecutionUnit> executionUnits, final boolean singleRouting) {
+        this.executionUnits = ImmutableList.copyOf(executionUnits);
+        this.singleRouting = singleRouting;
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.routing.cache;
+
+import com.google.common.base.Optional;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.shardingjdbc.core.routing.SQLExecutionUnit;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Route result cache.
+ * 
+ * <p>
+ * Cache routed SQL execution units by logic SQL and parameters which are relevant to sharding.
+ * Cache belongs to sharding runtime context, so it is discarded together with sharding rule when sharding data source renew.
+ * </p>
+ * 
+ * @author zhangliang
+ */
+public final class RouteResultCache {
+    
+    @Getter
+    private final int maximumSize;
+    
+    private final Cache<CacheKey, CachedRouteResult> cache;
+    
+    public RouteResultCache(final int maximumSize) {
+        this.maximumSize = maximumSize;
+        cache = CacheBuilder.newBuilder().maximumSize(maximumSize).recordStats().build();
+    }
+    
+    /**
+     * Adjust route result cache is enabled or not.
+     * 
+     * @return route result cache is enabled or not
+     */
+    public boolean isEnabled() {
+        return maximumSize > 0;
+    }
+    
+    /**
+     * Get cached route result.
+     * 
+     * @param logicSQL logic SQL
+     * @param shardingParameters parameters relevant to sharding
+     * @return cached route result, return absent if not cached
+     */
+    public Optional<CachedRouteResult> getRouteResult(final String logicSQL, final List<Object> shardingParameters) {
+        return Optional.fromNullable(cache.getIfPresent(new CacheKey(logicSQL, shardingParameters)));
+    }
+    
+    /**
+     * Put route result.
+     * 
+     * @param logicSQL logic SQL
+     * @param shardingParameters parameters relevant to sharding
+     * @param executionUnits routed SQL execution units
+     * @param singleRouting is route for single database and table only or not
+     */
+    public void put(final String logicSQL, final List<Object> shardingParameters, final Collection<SQLExecutionUnit> executionUnits, final boolean singleRouting) {
+        cache.put(new CacheKey(logicSQL, shardingParameters), new CachedRouteResult(executionUnits, singleRouting));
+    }
+    
+    /**
+     * Get count of cache hit.
+     * 
+     * @return count of cache hit
+     */
+    public long getHitCount() {
+        return cache.stats().hitCount();
+    }
+    
+    /**
+     * Get count of cache miss.
+     * 
+     * @return count of cache miss
+     */
+    public long getMissCount() {
+        return cache.stats().missCount();
+    }
+    
+    /**
+     * Get count of cache eviction.
+     * 
+     * @return count of cache eviction
+     */
+    public long getEvictionCount() {
+        return cache.stats().evictionCount();
+    }
+    
+    /**
+     * Get cached route results size.
+     * 
+     * @return cached route results size
+     */
+    public long getSize() {
+        return cache.size();
+    }
+    
+    /**
+     * Clear cache.
+     */
+    public void clear() {
+        cache.invalidateAll();
+    }
+    
+    @RequiredArgsConstructor
+    @EqualsAndHashCode
+    private static final class CacheKey {
+        
+        private final String logicSQL;
+        
+        private final List<Object> shardingParameters;
+    }
+}
@@ -28,6 +28,7 @@ import io.shardingjdbc.core.routing.type.RoutingResult;
 import io.shardingjdbc.core.routing.type.TableUnit;
 import io.shardingjdbc.core.routing.type.hint.DatabaseHintRoutingEngine;
 import io.shardingjdbc.core.util.SQLLogger;
+import com.google.common.base.Optional;
 
 import java.util.List;
 
@@ -65,4 +66,9 @@ public final class DatabaseHintSQLRouter implements SQLRouter {
         }
         return result;
     }
+    
+    @Override
+    public Optional<List<Object>> getShardingParameters(final List<Object> parameters, final SQLStatement sqlStatement) {
+        return Optional.absent();
+    }
 }
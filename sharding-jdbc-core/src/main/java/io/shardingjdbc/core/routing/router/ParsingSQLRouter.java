@@ -17,17 +17,28 @@
 
 package io.shardingjdbc.core.routing.router;
 
+import io.shardingjdbc.core.hint.HintManagerHolder;
+import io.shardingjdbc.core.routing.cache.CachedRouteResult;
+import io.shardingjdbc.core.routing.cache.RouteResultCache;
 import io.shardingjdbc.core.routing.type.all.DatabaseAllRoutingEngine;
 import io.shardingjdbc.core.rule.ShardingRule;
 import io.shardingjdbc.core.constant.DatabaseType;
 import io.shardingjdbc.core.jdbc.core.ShardingContext;
 import io.shardingjdbc.core.parsing.SQLParsingEngine;
+import io.shardingjdbc.core.parsing.cache.ParsingResultCache;
 import io.shardingjdbc.core.parsing.parser.context.GeneratedKey;
+import io.shardingjdbc.core.parsing.parser.context.condition.Condition;
+import io.shardingjdbc.core.parsing.parser.context.condition.Conditions;
+import io.shardingjdbc.core.parsing.parser.context.limit.Limit;
+import io.shardingjdbc.core.parsing.parser.context.selectitem.SelectItem;
 import io.shardingjdbc.core.parsing.parser.sql.SQLStatement;
 import io.shardingjdbc.core.parsing.parser.sql.dml.insert.InsertStatement;
 import io.shardingjdbc.core.parsing.parser.sql.dql.select.SelectStatement;
-import io.shardingjdbc.core.rewrite.SQLBuilder;
+import io.shardingjdbc.core.parsing.parser.token.InValuesToken;
+import io.shardingjdbc.core.parsing.parser.token.SQLToken;
 import io.shardingjdbc.core.rewrite.SQLRewriteEngine;
+import io.shardingjdbc.core.rewrite.SQLRewriteTemplate;
+import io.shardingjdbc.core.rewrite.UnionAllRewriteEngine;
 import io.shardingjdbc.core.routing.SQLExecutionUnit;
 import io.shardingjdbc.core.routing.SQLRouteResult;
 import io.shardingjdbc.core.routing.type.RoutingEngine;
@@ -38,11 +49,21 @@ import io.shardingjdbc.core.routing.type.complex.CartesianRoutingResult;
 import io.shardingjdbc.core.routing.type.complex.CartesianTableReference;
 import io.shardingjdbc.core.routing.type.complex.ComplexRoutingEngine;
 import io.shardingjdbc.core.routing.type.simple.SimpleRoutingEngine;
+import io.shardingjdbc.core.util.NumberUtil;
 import io.shardingjdbc.core.util.SQLLogger;
+import com.google.common.base.Optional;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
 
 /**
  * SQL router with parse.
@@ -51,61 +72,267 @@ import java.util.List;
  */
 public final class ParsingSQLRouter implements SQLRouter {
     
+    // rewrite templates are compiled once for each parsed SQL statement, weak keys compare statements by identity
+    private static final Cache<SQLStatement, SQLRewriteTemplate> REWRITE_TEMPLATES = CacheBuilder.newBuilder().weakKeys().build();
+    
     private final ShardingRule shardingRule;
     
     private final DatabaseType databaseType;
     
     private final boolean showSQL;
     
+    private final ParsingResultCache parsingResultCache;
+    
+    private final RouteResultCache routeResultCache;
+    
+    private final boolean unionAllRewriteEnabled;
+    
+    private final int deepPagingOffsetThreshold;
+    
     private final List<Number> generatedKeys;
     
+    // SQL of table unit is same for all executions of statement without limit and split values, rewriting is skipped when routed again
+    private final Map<TableUnit, SQLExecutionUnit> reusableExecutionUnits;
+    
+    private SQLStatement reusableSQLStatement;
+    
     public ParsingSQLRouter(final ShardingContext shardingContext) {
         shardingRule = shardingContext.getShardingRule();
         databaseType = shardingContext.getDatabaseType();
         showSQL = shardingContext.isShowSQL();
+        parsingResultCache = shardingContext.getParsingResultCache();
+        routeResultCache = shardingContext.getRouteResultCache();
+        // one connection per data source for query executes one combined statement instead of table units one by one
+        unionAllRewriteEnabled = shardingContext.isUnionAllRewriteEnabled() || 1 == shardingContext.getMaxConnectionsSizePerQuery();
+        deepPagingOffsetThreshold = shardingContext.getDeepPagingOffsetThreshold();
         generatedKeys = new LinkedList<>();
+        reusableExecutionUnits = new HashMap<>();
     }
     
     @Override
     public SQLStatement parse(final String logicSQL, final int parametersSize) {
+        Optional<SQLStatement> cachedSQLStatement = parsingResultCache.getSQLStatement(databaseType, logicSQL);
+        if (cachedSQLStatement.isPresent()) {
+            return cachedSQLStatement.get();
+        }
         SQLParsingEngine parsingEngine = new SQLParsingEngine(databaseType, logicSQL, shardingRule);
         SQLStatement result = parsingEngine.parse();
         if (result instanceof InsertStatement) {
             ((InsertStatement) result).appendGenerateKeyToken(shardingRule, parametersSize);
         }
+        if (isCacheable(result, parametersSize)) {
+            parsingResultCache.put(databaseType, logicSQL, result);
+        }
         return result;
     }
     
+    // generated key of insert without placeholder is appended as literal while parsing, cannot share with other executions
+    private boolean isCacheable(final SQLStatement sqlStatement, final int parametersSize) {
+        return !(sqlStatement instanceof InsertStatement && 0 == parametersSize);
+    }
+    
     @Override
-    public SQLRouteResult route(final String logicSQL, final List<Object> parameters, final SQLStatement sqlStatement) {
+    public SQLRouteResult route(final String logicSQL, final List<Object> parameters, final SQLStatement parsedSQLStatement) {
+        SQLStatement sqlStatement = parsedSQLStatement instanceof SelectStatement ? ((SelectStatement) parsedSQLStatement).copyForExecution() : parsedSQLStatement;
         SQLRouteResult result = new SQLRouteResult(sqlStatement);
         if (sqlStatement instanceof InsertStatement && null != ((InsertStatement) sqlStatement).getGeneratedKey()) {
             processGeneratedKey(parameters, (InsertStatement) sqlStatement, result);
         }
+        boolean isDeepPaging = isDeepPaging(parameters, sqlStatement);
+        Optional<List<Object>> shardingParameters = isDeepPaging ? Optional.<List<Object>>absent() : getShardingParametersForCache(parameters, sqlStatement);
+        Optional<CachedRouteResult> cachedRouteResult = shardingParameters.isPresent() ? routeResultCache.getRouteResult(logicSQL, shardingParameters.get()) : Optional.<CachedRouteResult>absent();
+        if (cachedRouteResult.isPresent()) {
+            if (sqlStatement instanceof SelectStatement && null != ((SelectStatement) sqlStatement).getLimit()) {
+                processLimit(parameters, (SelectStatement) sqlStatement, cachedRouteResult.get().isSingleRouting());
+            }
+            result.getExecutionUnits().addAll(cachedRouteResult.get().getExecutionUnits());
+        } else {
+            boolean isSingleRouting = route(logicSQL, parameters, parsedSQLStatement, sqlStatement, result, isDeepPaging);
+            if (shardingParameters.isPresent()) {
+                routeResultCache.put(logicSQL, shardingParameters.get(), result.getExecutionUnits(), isSingleRouting);
+            }
+        }
+        if (showSQL) {
+            SQLLogger.logSQL(logicSQL, sqlStatement, result.getExecutionUnits(), parameters);
+        }
+        return result;
+    }
+    
+    private boolean route(final String logicSQL, final List<Object> parameters, final SQLStatement parsedSQLStatement, final SQLStatement sqlStatement, final SQLRouteResult sqlRouteResult,
+                          final boolean isDeepPaging) {
         RoutingResult routingResult = route(parameters, sqlStatement);
         SQLRewriteEngine rewriteEngine = new SQLRewriteEngine(shardingRule, logicSQL, databaseType, sqlStatement);
-        boolean isSingleRouting = routingResult.isSingleRouting();
+        boolean result = routingResult.isSingleRouting();
         if (sqlStatement instanceof SelectStatement && null != ((SelectStatement) sqlStatement).getLimit()) {
-            processLimit(parameters, (SelectStatement) sqlStatement, isSingleRouting);
+            processLimit(parameters, (SelectStatement) sqlStatement, result);
         }
-        SQLBuilder sqlBuilder = rewriteEngine.rewrite(!isSingleRouting);
+        SQLRewriteTemplate template = getRewriteTemplate(parsedSQLStatement, rewriteEngine);
+        Collection<SQLExecutionUnit> executionUnits = new LinkedList<>();
         if (routingResult instanceof CartesianRoutingResult) {
             for (CartesianDataSource cartesianDataSource : ((CartesianRoutingResult) routingResult).getRoutingDataSources()) {
                 for (CartesianTableReference cartesianTableReference : cartesianDataSource.getRoutingTableReferences()) {
-                    result.getExecutionUnits().add(new SQLExecutionUnit(cartesianDataSource.getDataSource(), rewriteEngine.generateSQL(cartesianTableReference, sqlBuilder)));
+                    executionUnits.add(new SQLExecutionUnit(cartesianDataSource.getDataSource(), rewriteEngine.generateSQL(cartesianTableReference, template, !result)));
                 }
             }
         } else {
             for (TableUnit each : routingResult.getTableUnits().getTableUnits()) {
-                result.getExecutionUnits().add(new SQLExecutionUnit(each.getDataSourceName(), rewriteEngine.generateSQL(each, sqlBuilder)));
+                Map<SQLToken, Collection<Integer>> valuesPositions = routingResult.getValuesPositions(each);
+                if (isReusable(sqlStatement, valuesPositions)) {
+                    executionUnits.add(getReusableExecutionUnit(parsedSQLStatement, each, rewriteEngine, template));
+                } else {
+                    executionUnits.add(new SQLExecutionUnit(
+                            each.getDataSourceName(), rewriteEngine.generateSQL(each, template, !result, valuesPositions), 1, getParameterIndexes(parameters, sqlStatement, valuesPositions)));
+                }
             }
         }
-        if (showSQL) {
-            SQLLogger.logSQL(logicSQL, sqlStatement, result.getExecutionUnits(), parameters);
+        sqlRouteResult.getExecutionUnits().addAll(unionAllRewriteEnabled ? new UnionAllRewriteEngine(sqlStatement).combine(executionUnits) : executionUnits);
+        if (isDeepPaging && !result && !(routingResult instanceof CartesianRoutingResult) && template.isConditionAppendable()) {
+            for (TableUnit each : routingResult.getTableUnits().getTableUnits()) {
+                sqlRouteResult.getDeepPagingUnits().add(rewriteEngine.generateDeepPagingUnit(each, template));
+            }
+        }
+        return result;
+    }
+    
+    private boolean isReusable(final SQLStatement sqlStatement, final Map<SQLToken, Collection<Integer>> valuesPositions) {
+        return valuesPositions.isEmpty() && !(sqlStatement instanceof SelectStatement && null != ((SelectStatement) sqlStatement).getLimit());
+    }
+    
+    private SQLExecutionUnit getReusableExecutionUnit(final SQLStatement parsedSQLStatement, final TableUnit tableUnit, final SQLRewriteEngine rewriteEngine, final SQLRewriteTemplate template) {
+        if (parsedSQLStatement != reusableSQLStatement) {
+            reusableExecutionUnits.clear();
+            reusableSQLStatement = parsedSQLStatement;
+        }
+        SQLExecutionUnit result = reusableExecutionUnits.get(tableUnit);
+        if (null == result) {
+            result = new SQLExecutionUnit(tableUnit.getDataSourceName(), rewriteEngine.generateSQL(tableUnit, template, false));
+            reusableExecutionUnits.put(tableUnit, result);
+        }
+        return result;
+    }
+    
+    // parameters of values not routed to table unit are removed, absent if all parameters are kept in original order
+    private Optional<List<Integer>> getParameterIndexes(final List<Object> parameters, final SQLStatement sqlStatement, final Map<SQLToken, Collection<Integer>> valuesPositions) {
+        if (valuesPositions.isEmpty()) {
+            return Optional.absent();
+        }
+        List<Integer> result;
+        if (sqlStatement instanceof InsertStatement) {
+            result = ((InsertStatement) sqlStatement).getParameterIndexes(valuesPositions.values().iterator().next());
+        } else {
+            result = getInValuesParameterIndexes(parameters, valuesPositions);
+        }
+        return isAllParameters(parameters, result) ? Optional.<List<Integer>>absent() : Optional.of(result);
+    }
+    
+    private List<Integer> getInValuesParameterIndexes(final List<Object> parameters, final Map<SQLToken, Collection<Integer>> valuesPositions) {
+        Set<Integer> excludedParameterIndexes = new HashSet<>();
+        for (Entry<SQLToken, Collection<Integer>> entry : valuesPositions.entrySet()) {
+            InValuesToken inValuesToken = (InValuesToken) entry.getKey();
+            for (int i = 0; i < inValuesToken.getValues().size(); i++) {
+                int parameterIndex = inValuesToken.getParameterIndex(i);
+                if (-1 != parameterIndex && !entry.getValue().contains(i)) {
+                    excludedParameterIndexes.add(parameterIndex);
+                }
+            }
+        }
+        List<Integer> result = new ArrayList<>(parameters.size() - excludedParameterIndexes.size());
+        for (int i = 0; i < parameters.size(); i++) {
+            if (!excludedParameterIndexes.contains(i)) {
+                result.add(i);
+            }
+        }
+        return result;
+    }
+    
+    private boolean isAllParameters(final List<Object> parameters, final List<Integer> parameterIndexes) {
+        if (parameters.size() != parameterIndexes.size()) {
+            return false;
+        }
+        int count = 0;
+        for (int each : parameterIndexes) {
+            if (count++ != each) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    // deep page can be sought by boundary keys only if ordered by one column without group by or aggregation, offset must be read before limit rewritten
+    private boolean isDeepPaging(final List<Object> parameters, final SQLStatement sqlStatement) {
+        if (deepPagingOffsetThreshold <= 0 || !(sqlStatement instanceof SelectStatement)
+                || DatabaseType.MySQL != databaseType && DatabaseType.H2 != databaseType && DatabaseType.PostgreSQL != databaseType) {
+            return false;
+        }
+        SelectStatement selectStatement = (SelectStatement) sqlStatement;
+        Limit limit = selectStatement.getLimit();
+        if (null == limit || null == limit.getOffset() || null == limit.getRowCount() || !limit.isRowCountRewriteFlag() || 0 == selectStatement.getWhereLastPosition()
+                || 1 != selectStatement.getOrderByItems().size() || !selectStatement.getGroupByItems().isEmpty() || !selectStatement.getAggregationSelectItems().isEmpty()) {
+            return false;
+        }
+        Optional<String> orderByName = selectStatement.getOrderByItems().get(0).getName();
+        if (!orderByName.isPresent() || isSelectItemAlias(orderByName.get(), selectStatement)) {
+            return false;
+        }
+        int offset = -1 == limit.getOffset().getIndex() ? limit.getOffsetValue() : NumberUtil.roundHalfUp(parameters.get(limit.getOffset().getIndex()));
+        return offset >= deepPagingOffsetThreshold;
+    }
+    
+    private boolean isSelectItemAlias(final String name, final SelectStatement selectStatement) {
+        for (SelectItem each : selectStatement.getItems()) {
+            if (name.equalsIgnoreCase(each.getAlias().orNull())) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private SQLRewriteTemplate getRewriteTemplate(final SQLStatement parsedSQLStatement, final SQLRewriteEngine rewriteEngine) {
+        SQLRewriteTemplate result = REWRITE_TEMPLATES.getIfPresent(parsedSQLStatement);
+        if (null == result) {
+            result = rewriteEngine.compile();
+            REWRITE_TEMPLATES.put(parsedSQLStatement, result);
         }
         return result;
     }
     
+    private Optional<List<Object>> getShardingParametersForCache(final List<Object> parameters, final SQLStatement sqlStatement) {
+        return routeResultCache.isEnabled() ? extractShardingParameters(parameters, sqlStatement) : Optional.<List<Object>>absent();
+    }
+    
+    // parameters of limit are rewritten by every route, cannot reuse route result without route
+    @Override
+    public Optional<List<Object>> getShardingParameters(final List<Object> parameters, final SQLStatement sqlStatement) {
+        if (sqlStatement instanceof SelectStatement && null != ((SelectStatement) sqlStatement).getLimit()) {
+            return Optional.absent();
+        }
+        return extractShardingParameters(parameters, sqlStatement);
+    }
+    
+    // route result of insert with generated key or routing with sharding hint cannot be reused
+    private Optional<List<Object>> extractShardingParameters(final List<Object> parameters, final SQLStatement sqlStatement) {
+        if (HintManagerHolder.isUseShardingHint() || sqlStatement instanceof InsertStatement && null != ((InsertStatement) sqlStatement).getGeneratedKey()) {
+            return Optional.absent();
+        }
+        List<Object> result = new ArrayList<>();
+        if (sqlStatement instanceof InsertStatement && !((InsertStatement) sqlStatement).getMultipleConditions().isEmpty()) {
+            for (Conditions each : ((InsertStatement) sqlStatement).getMultipleConditions()) {
+                addShardingParameters(parameters, each, result);
+            }
+        } else {
+            addShardingParameters(parameters, sqlStatement.getConditions(), result);
+        }
+        return Optional.of(result);
+    }
+    
+    private void addShardingParameters(final List<Object> parameters, final Conditions conditions, final List<Object> shardingParameters) {
+        for (Condition each : conditions.getConditions().values()) {
+            for (int index : each.getParameterIndexes()) {
+                shardingParameters.add(parameters.get(index));
+            }
+        }
+    }
+    
     private RoutingResult route(final List<Object> parameters, final SQLStatement sqlStatement) {
         Collection<String> tableNames = sqlStatement.getTables().getTableNames();
         RoutingEngine routingEngine;
@@ -123,11 +350,22 @@ public final class ParsingSQLRouter implements SQLRouter {
     private void processGeneratedKey(final List<Object> parameters, final InsertStatement insertStatement, final SQLRouteResult sqlRouteResult) {
         GeneratedKey generatedKey = insertStatement.getGeneratedKey();
         if (parameters.isEmpty()) {
-            sqlRouteResult.getGeneratedKeys().add(generatedKey.getValue());
+            if (insertStatement.getGeneratedKeyValues().isEmpty()) {
+                sqlRouteResult.getGeneratedKeys().add(generatedKey.getValue());
+            } else {
+                sqlRouteResult.getGeneratedKeys().addAll(insertStatement.getGeneratedKeyValues());
+            }
         } else if (parameters.size() == generatedKey.getIndex()) {
-            Number key = shardingRule.generateKey(insertStatement.getTables().getSingleTableName());
-            parameters.add(key);
-            setGeneratedKeys(sqlRouteResult, key);
+            if (insertStatement.getMultipleConditions().isEmpty()) {
+                Number key = shardingRule.generateKey(insertStatement.getTables().getSingleTableName());
+                parameters.add(key);
+                setGeneratedKeys(sqlRouteResult, key);
+            } else {
+                for (Number each : shardingRule.generateKeys(insertStatement.getTables().getSingleTableName(), insertStatement.getMultipleConditions().size())) {
+                    parameters.add(each);
+                    setGeneratedKeys(sqlRouteResult, each);
+                }
+            }
         } else if (-1 != generatedKey.getIndex()) {
             setGeneratedKeys(sqlRouteResult, (Number) parameters.get(generatedKey.getIndex()));
         }
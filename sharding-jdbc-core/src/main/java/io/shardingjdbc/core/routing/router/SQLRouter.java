@@ -19,6 +19,7 @@ package io.shardingjdbc.core.routing.router;
 
 import io.shardingjdbc.core.parsing.parser.sql.SQLStatement;
 import io.shardingjdbc.core.routing.SQLRouteResult;
+import com.google.common.base.Optional;
 
 import java.util.List;
 
@@ -47,4 +48,15 @@ public interface SQLRouter {
      * @return parse result
      */
     SQLRouteResult route(String logicSQL, List<Object> parameters, SQLStatement sqlStatement);
+    
+    /**
+     * Get sharding parameters.
+     * 
+     * <p>Parameters with same sharding parameters are routed to same execution units.</p>
+     * 
+     * @param parameters parameters
+     * @param sqlStatement SQL statement
+     * @return sharding parameters, absent if route result is not decided by sharding parameters only
+     */
+    Optional<List<Object>> getShardingParameters(List<Object> parameters, SQLStatement sqlStatement);
 }
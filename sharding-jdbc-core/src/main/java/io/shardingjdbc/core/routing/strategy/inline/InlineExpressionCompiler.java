@@ -0,0 +1,246 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.routing.strategy.inline;
+
+import com.google.common.base.Optional;
+import io.shardingjdbc.core.routing.strategy.inline.InlineExpressionEvaluator.AbsNode;
+import io.shardingjdbc.core.routing.strategy.inline.InlineExpressionEvaluator.BinaryNode;
+import io.shardingjdbc.core.routing.strategy.inline.InlineExpressionEvaluator.ConstantNode;
+import io.shardingjdbc.core.routing.strategy.inline.InlineExpressionEvaluator.HashCodeNode;
+import io.shardingjdbc.core.routing.strategy.inline.InlineExpressionEvaluator.IntDivNode;
+import io.shardingjdbc.core.routing.strategy.inline.InlineExpressionEvaluator.NegativeNode;
+import io.shardingjdbc.core.routing.strategy.inline.InlineExpressionEvaluator.Node;
+import io.shardingjdbc.core.routing.strategy.inline.InlineExpressionEvaluator.VariableNode;
+
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Inline expression compiler.
+ * 
+ * <p>
+ * Compile common inline expressions into {@code InlineExpressionEvaluator}, 
+ * supports literals, {@code ${}} placeholders with sharding column, decimal integer literals, 
+ * {@code + - * %}, parentheses, {@code Math.abs()}, {@code abs()}, {@code intdiv()} and {@code hashCode()}.
+ * Other expressions should be evaluated by groovy.
+ * </p>
+ * 
+ * @author zhangliang
+ */
+public final class InlineExpressionCompiler {
+    
+    private final String shardingColumn;
+    
+    private final String inlineExpression;
+    
+    private int position;
+    
+    public InlineExpressionCompiler(final String shardingColumn, final String inlineExpression) {
+        this.shardingColumn = shardingColumn;
+        this.inlineExpression = inlineExpression.trim();
+    }
+    
+    /**
+     * Compile inline expression.
+     * 
+     * @return compiled evaluator, return absent if inline expression is unsupported
+     */
+    public Optional<InlineExpressionEvaluator> compile() {
+        List<Object> segments = new LinkedList<>();
+        StringBuilder literals = new StringBuilder();
+        position = 0;
+        while (position < inlineExpression.length()) {
+            char each = inlineExpression.charAt(position);
+            if ('\\' == each || '"' == each) {
+                return Optional.absent();
+            }
+            if ('$' != each) {
+                literals.append(each);
+                position++;
+                continue;
+            }
+            if (position + 1 >= inlineExpression.length() || '{' != inlineExpression.charAt(position + 1)) {
+                return Optional.absent();
+            }
+            if (0 != literals.length()) {
+                segments.add(literals.toString());
+                literals = new StringBuilder();
+            }
+            position += 2;
+            Optional<Node> node = parseExpression();
+            if (!node.isPresent() || !skipWhitespaceAndExpect('}')) {
+                return Optional.absent();
+            }
+            segments.add(node.get());
+        }
+        if (0 != literals.length()) {
+            segments.add(literals.toString());
+        }
+        return Optional.of(new InlineExpressionEvaluator(segments));
+    }
+    
+    private Optional<Node> parseExpression() {
+        Optional<Node> result = parseTerm();
+        while (result.isPresent()) {
+            skipWhitespace();
+            char operator = currentChar();
+            if ('+' != operator && '-' != operator) {
+                return result;
+            }
+            position++;
+            Optional<Node> right = parseTerm();
+            if (!right.isPresent()) {
+                return Optional.absent();
+            }
+            result = Optional.<Node>of(new BinaryNode(operator, result.get(), right.get()));
+        }
+        return result;
+    }
+    
+    private Optional<Node> parseTerm() {
+        Optional<Node> result = parseUnary();
+        while (result.isPresent()) {
+            skipWhitespace();
+            char operator = currentChar();
+            if ('*' != operator && '%' != operator) {
+                return result;
+            }
+            position++;
+            Optional<Node> right = parseUnary();
+            if (!right.isPresent()) {
+                return Optional.absent();
+            }
+            result = Optional.<Node>of(new BinaryNode(operator, result.get(), right.get()));
+        }
+        return result;
+    }
+    
+    private Optional<Node> parseUnary() {
+        skipWhitespace();
+        if ('-' == currentChar()) {
+            position++;
+            Optional<Node> operand = parseUnary();
+            return operand.isPresent() ? Optional.<Node>of(new NegativeNode(operand.get())) : operand;
+        }
+        return parsePostfix();
+    }
+    
+    private Optional<Node> parsePostfix() {
+        Optional<Node> result = parsePrimary();
+        while (result.isPresent()) {
+            skipWhitespace();
+            if ('.' != currentChar()) {
+                return result;
+            }
+            position++;
+            result = parseMethod(result.get(), parseIdentifier());
+        }
+        return result;
+    }
+    
+    private Optional<Node> parseMethod(final Node target, final String methodName) {
+        if (!skipWhitespaceAndExpect('(')) {
+            return Optional.absent();
+        }
+        if ("intdiv".equals(methodName)) {
+            Optional<Node> argument = parseExpression();
+            return argument.isPresent() && skipWhitespaceAndExpect(')') ? Optional.<Node>of(new IntDivNode(target, argument.get())) : Optional.<Node>absent();
+        }
+        if (!skipWhitespaceAndExpect(')')) {
+            return Optional.absent();
+        }
+        if ("hashCode".equals(methodName)) {
+            return Optional.<Node>of(new HashCodeNode(target));
+        }
+        if ("abs".equals(methodName)) {
+            return Optional.<Node>of(new AbsNode(target));
+        }
+        return Optional.absent();
+    }
+    
+    private Optional<Node> parsePrimary() {
+        skipWhitespace();
+        char current = currentChar();
+        if ('(' == current) {
+            position++;
+            Optional<Node> result = parseExpression();
+            return result.isPresent() && skipWhitespaceAndExpect(')') ? result : Optional.<Node>absent();
+        }
+        if (Character.isDigit(current)) {
+            return parseNumber();
+        }
+        String identifier = parseIdentifier();
+        if (identifier.equals(shardingColumn)) {
+            return Optional.<Node>of(new VariableNode());
+        }
+        if ("Math".equals(identifier) && skipWhitespaceAndExpect('.') && "abs".equals(parseIdentifier()) && skipWhitespaceAndExpect('(')) {
+            Optional<Node> argument = parseExpression();
+            return argument.isPresent() && skipWhitespaceAndExpect(')') ? Optional.<Node>of(new AbsNode(argument.get())) : Optional.<Node>absent();
+        }
+        return Optional.absent();
+    }
+    
+    private Optional<Node> parseNumber() {
+        int beginPosition = position;
+        while (Character.isDigit(currentChar())) {
+            position++;
+        }
+        if (Character.isLetter(currentChar()) || '.' == currentChar() || '_' == currentChar()) {
+            return Optional.absent();
+        }
+        String literals = inlineExpression.substring(beginPosition, position);
+        // groovy reads integer literal with leading zero as octal
+        if (literals.length() > 1 && '0' == literals.charAt(0)) {
+            return Optional.absent();
+        }
+        try {
+            long value = Long.parseLong(literals);
+            return Optional.<Node>of(new ConstantNode(value <= Integer.MAX_VALUE ? (Object) (int) value : (Object) value));
+        } catch (final NumberFormatException ex) {
+            return Optional.absent();
+        }
+    }
+    
+    private String parseIdentifier() {
+        skipWhitespace();
+        int beginPosition = position;
+        while (Character.isLetterOrDigit(currentChar()) || '_' == currentChar()) {
+            position++;
+        }
+        return inlineExpression.substring(beginPosition, position);
+    }
+    
+    private boolean skipWhitespaceAndExpect(final char expected) {
+        skipWhitespace();
+        if (expected != currentChar()) {
+            return false;
+        }
+        position++;
+        return true;
+    }
+    
+    private void skipWhitespace() {
+        while (Character.isWhitespace(currentChar())) {
+            position++;
+        }
+    }
+    
+    private char currentChar() {
+        return position < inlineExpression.length() ? inlineExpression.charAt(position) : (char) 0;
+    }
+}
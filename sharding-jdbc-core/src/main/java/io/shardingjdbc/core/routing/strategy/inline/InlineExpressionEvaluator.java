@@ -0,0 +1,217 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.routing.strategy.inline;
+
+import com.google.common.base.Optional;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Compiled inline expression evaluator.
+ * 
+ * <p>
+ * Evaluate inline expression with plain java code instead of groovy closure.
+ * Only integral and string values are supported, and the result is same with groovy.
+ * Evaluator return absent if value or operation is unsupported, caller should fall back to groovy.
+ * </p>
+ * 
+ * @author zhangliang
+ */
+public final class InlineExpressionEvaluator {
+    
+    private final Object[] segments;
+    
+    InlineExpressionEvaluator(final List<Object> segments) {
+        this.segments = segments.toArray();
+    }
+    
+    /**
+     * Evaluate inline expression.
+     * 
+     * @param shardingValue value of sharding column
+     * @return evaluated result, return absent if cannot evaluate without groovy
+     */
+    public Optional<String> evaluate(final Comparable<?> shardingValue) {
+        Object value = normalize(shardingValue);
+        if (null == value) {
+            return Optional.absent();
+        }
+        StringBuilder result = new StringBuilder();
+        for (Object each : segments) {
+            if (each instanceof String) {
+                result.append((String) each);
+                continue;
+            }
+            Object evaluated = ((Node) each).evaluate(value);
+            if (null == evaluated) {
+                return Optional.absent();
+            }
+            result.append(evaluated);
+        }
+        return Optional.of(result.toString());
+    }
+    
+    private static Object normalize(final Comparable<?> value) {
+        if (value instanceof Integer || value instanceof Long || value instanceof String) {
+            return value;
+        }
+        if (value instanceof Short || value instanceof Byte) {
+            return ((Number) value).intValue();
+        }
+        return null;
+    }
+    
+    /**
+     * Node of compiled inline expression, return {@code null} if operation is unsupported.
+     */
+    interface Node {
+        
+        Object evaluate(Object value);
+    }
+    
+    @RequiredArgsConstructor
+    static final class ConstantNode implements Node {
+        
+        private final Object constant;
+        
+        @Override
+        public Object evaluate(final Object value) {
+            return constant;
+        }
+    }
+    
+    static final class VariableNode implements Node {
+        
+        @Override
+        public Object evaluate(final Object value) {
+            return value;
+        }
+    }
+    
+    @RequiredArgsConstructor
+    static final class NegativeNode implements Node {
+        
+        private final Node operand;
+        
+        @Override
+        public Object evaluate(final Object value) {
+            Object result = operand.evaluate(value);
+            if (result instanceof Integer) {
+                return -(Integer) result;
+            }
+            if (result instanceof Long) {
+                return -(Long) result;
+            }
+            return null;
+        }
+    }
+    
+    @RequiredArgsConstructor
+    static final class BinaryNode implements Node {
+        
+        private final char operator;
+        
+        private final Node left;
+        
+        private final Node right;
+        
+        @Override
+        public Object evaluate(final Object value) {
+            Object leftValue = left.evaluate(value);
+            Object rightValue = right.evaluate(value);
+            if (null == leftValue || null == rightValue) {
+                return null;
+            }
+            if (leftValue instanceof String || rightValue instanceof String) {
+                return '+' == operator ? leftValue.toString() + rightValue.toString() : null;
+            }
+            if (leftValue instanceof Long || rightValue instanceof Long) {
+                return evaluate(((Number) leftValue).longValue(), ((Number) rightValue).longValue());
+            }
+            Long result = evaluate((Integer) leftValue, (Integer) rightValue);
+            return null == result ? null : (Object) result.intValue();
+        }
+        
+        private Long evaluate(final long leftValue, final long rightValue) {
+            switch (operator) {
+                case '+':
+                    return leftValue + rightValue;
+                case '-':
+                    return leftValue - rightValue;
+                case '*':
+                    return leftValue * rightValue;
+                case '%':
+                    return 0 == rightValue ? null : leftValue % rightValue;
+                default:
+                    return null;
+            }
+        }
+    }
+    
+    @RequiredArgsConstructor
+    static final class HashCodeNode implements Node {
+        
+        private final Node operand;
+        
+        @Override
+        public Object evaluate(final Object value) {
+            Object result = operand.evaluate(value);
+            return null == result ? null : (Object) result.hashCode();
+        }
+    }
+    
+    @RequiredArgsConstructor
+    static final class AbsNode implements Node {
+        
+        private final Node operand;
+        
+        @Override
+        public Object evaluate(final Object value) {
+            Object result = operand.evaluate(value);
+            if (result instanceof Integer) {
+                return Math.abs((Integer) result);
+            }
+            if (result instanceof Long) {
+                return Math.abs((Long) result);
+            }
+            return null;
+        }
+    }
+    
+    @RequiredArgsConstructor
+    static final class IntDivNode implements Node {
+        
+        private final Node left;
+        
+        private final Node right;
+        
+        @Override
+        public Object evaluate(final Object value) {
+            Object leftValue = left.evaluate(value);
+            Object rightValue = right.evaluate(value);
+            if (!(leftValue instanceof Number) || !(rightValue instanceof Number) || 0 == ((Number) rightValue).longValue()) {
+                return null;
+            }
+            if (leftValue instanceof Long || rightValue instanceof Long) {
+                return ((Number) leftValue).longValue() / ((Number) rightValue).longValue();
+            }
+            return (Integer) leftValue / (Integer) rightValue;
+        }
+    }
+}
@@ -17,8 +17,14 @@
 
 package io.shardingjdbc.core.routing.type;
 
+import io.shardingjdbc.core.parsing.parser.token.SQLToken;
 import lombok.Getter;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  *  Routing result.
  * 
@@ -29,6 +35,23 @@ public class RoutingResult {
     
     private final TableUnits tableUnits = new TableUnits();
     
+    private final Map<TableUnit, Map<SQLToken, Collection<Integer>>> tableUnitValuesPositions = new HashMap<>();
+    
+    /**
+     * Get positions of values routed to table unit.
+     * 
+     * <p>
+     * Values are values of in condition or rows of multiple insert values.
+     * </p>
+     * 
+     * @param tableUnit table unit
+     * @return positions of values for split values tokens, tokens absent keep all values
+     */
+    public Map<SQLToken, Collection<Integer>> getValuesPositions(final TableUnit tableUnit) {
+        Map<SQLToken, Collection<Integer>> result = tableUnitValuesPositions.get(tableUnit);
+        return null == result ? Collections.<SQLToken, Collection<Integer>>emptyMap() : result;
+    }
+    
     /**
      * Adjust is route for single database and table only or not.
      *
@@ -18,11 +18,17 @@
 package io.shardingjdbc.core.routing.type.simple;
 
 import io.shardingjdbc.core.api.algorithm.sharding.ShardingValue;
+import io.shardingjdbc.core.constant.ShardingOperator;
 import io.shardingjdbc.core.hint.HintManagerHolder;
 import io.shardingjdbc.core.hint.ShardingKey;
 import io.shardingjdbc.core.parsing.parser.context.condition.Column;
 import io.shardingjdbc.core.parsing.parser.context.condition.Condition;
+import io.shardingjdbc.core.parsing.parser.context.condition.Conditions;
 import io.shardingjdbc.core.parsing.parser.sql.SQLStatement;
+import io.shardingjdbc.core.parsing.parser.sql.dml.insert.InsertStatement;
+import io.shardingjdbc.core.parsing.parser.token.InValuesToken;
+import io.shardingjdbc.core.parsing.parser.token.MultipleInsertValuesToken;
+import io.shardingjdbc.core.parsing.parser.token.SQLToken;
 import io.shardingjdbc.core.routing.strategy.ShardingStrategy;
 import io.shardingjdbc.core.routing.type.RoutingEngine;
 import io.shardingjdbc.core.routing.type.RoutingResult;
@@ -36,8 +42,11 @@ import lombok.RequiredArgsConstructor;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Simple routing engine.
@@ -58,24 +67,67 @@ public final class SimpleRoutingEngine implements RoutingEngine {
     @Override
     public RoutingResult route() {
         TableRule tableRule = shardingRule.getTableRule(logicTableName);
-        List<ShardingValue> databaseShardingValues = getDatabaseShardingValues(tableRule);
-        List<ShardingValue> tableShardingValues = getTableShardingValues(tableRule);
+        Optional<MultipleInsertValuesToken> multipleInsertValuesToken = findMultipleInsertValuesToken();
+        if (multipleInsertValuesToken.isPresent()) {
+            return routeMultipleInsertValues(tableRule, multipleInsertValuesToken.get());
+        }
+        List<ShardingValue> databaseShardingValues = getDatabaseShardingValues(tableRule, sqlStatement.getConditions());
+        List<ShardingValue> tableShardingValues = getTableShardingValues(tableRule, sqlStatement.getConditions());
         Collection<String> routedDataSources = routeDataSources(tableRule, databaseShardingValues);
         Collection<DataNode> routedDataNodes = new LinkedList<>();
         for (String each : routedDataSources) {
             routedDataNodes.addAll(routeTables(tableRule, each, tableShardingValues));
         }
-        return generateRoutingResult(routedDataNodes);
+        RoutingResult result = generateRoutingResult(routedDataNodes);
+        if (!HintManagerHolder.isUseShardingHint() && !result.isSingleRouting()) {
+            pruneInValues(tableRule, databaseShardingValues, tableShardingValues, result);
+        }
+        return result;
+    }
+    
+    private Optional<MultipleInsertValuesToken> findMultipleInsertValuesToken() {
+        if (HintManagerHolder.isUseShardingHint() || !(sqlStatement instanceof InsertStatement) || ((InsertStatement) sqlStatement).getMultipleConditions().isEmpty()) {
+            return Optional.absent();
+        }
+        return ((InsertStatement) sqlStatement).findMultipleInsertValuesToken();
+    }
+    
+    // route each row by its own conditions, rows are grouped by table units in order of first row routed
+    private RoutingResult routeMultipleInsertValues(final TableRule tableRule, final MultipleInsertValuesToken multipleInsertValuesToken) {
+        Map<TableUnit, Collection<Integer>> positions = new LinkedHashMap<>();
+        int count = 0;
+        for (Conditions each : ((InsertStatement) sqlStatement).getMultipleConditions()) {
+            List<ShardingValue> databaseShardingValues = getDatabaseShardingValues(tableRule, each);
+            List<ShardingValue> tableShardingValues = getTableShardingValues(tableRule, each);
+            for (String dataSource : routeDataSources(tableRule, databaseShardingValues)) {
+                for (DataNode dataNode : routeTables(tableRule, dataSource, tableShardingValues)) {
+                    TableUnit tableUnit = new TableUnit(dataNode.getDataSourceName(), logicTableName, dataNode.getTableName());
+                    if (!positions.containsKey(tableUnit)) {
+                        positions.put(tableUnit, new LinkedList<Integer>());
+                    }
+                    positions.get(tableUnit).add(count);
+                }
+            }
+            count++;
+        }
+        RoutingResult result = new RoutingResult();
+        for (Map.Entry<TableUnit, Collection<Integer>> entry : positions.entrySet()) {
+            result.getTableUnits().getTableUnits().add(entry.getKey());
+            Map<SQLToken, Collection<Integer>> valuesPositions = new HashMap<>(1, 1);
+            valuesPositions.put(multipleInsertValuesToken, entry.getValue());
+            result.getTableUnitValuesPositions().put(entry.getKey(), valuesPositions);
+        }
+        return result;
     }
     
-    private List<ShardingValue> getDatabaseShardingValues(final TableRule tableRule) {
+    private List<ShardingValue> getDatabaseShardingValues(final TableRule tableRule, final Conditions conditions) {
         ShardingStrategy strategy = shardingRule.getDatabaseShardingStrategy(tableRule);
-        return HintManagerHolder.isUseShardingHint() ? getDatabaseShardingValuesFromHint(strategy.getShardingColumns()) : getShardingValues(strategy.getShardingColumns());
+        return HintManagerHolder.isUseShardingHint() ? getDatabaseShardingValuesFromHint(strategy.getShardingColumns()) : getShardingValues(strategy.getShardingColumns(), conditions);
     }
     
-    private List<ShardingValue> getTableShardingValues(final TableRule tableRule) {
+    private List<ShardingValue> getTableShardingValues(final TableRule tableRule, final Conditions conditions) {
         ShardingStrategy strategy = shardingRule.getTableShardingStrategy(tableRule);
-        return HintManagerHolder.isUseShardingHint() ? getTableShardingValuesFromHint(strategy.getShardingColumns()) : getShardingValues(strategy.getShardingColumns());
+        return HintManagerHolder.isUseShardingHint() ? getTableShardingValuesFromHint(strategy.getShardingColumns()) : getShardingValues(strategy.getShardingColumns(), conditions);
     }
     
     private List<ShardingValue> getDatabaseShardingValuesFromHint(final Collection<String> shardingColumns) {
@@ -100,10 +152,10 @@ public final class SimpleRoutingEngine implements RoutingEngine {
         return result;
     }
     
-    private List<ShardingValue> getShardingValues(final Collection<String> shardingColumns) {
+    private List<ShardingValue> getShardingValues(final Collection<String> shardingColumns, final Conditions conditions) {
         List<ShardingValue> result = new ArrayList<>(shardingColumns.size());
         for (String each : shardingColumns) {
-            Optional<Condition> condition = sqlStatement.getConditions().find(new Column(each, logicTableName));
+            Optional<Condition> condition = conditions.find(new Column(each, logicTableName));
             if (condition.isPresent()) {
                 result.add(condition.get().getShardingValue(parameters));
             }
@@ -133,6 +185,112 @@ public final class SimpleRoutingEngine implements RoutingEngine {
         return result;
     }
     
+    private void pruneInValues(final TableRule tableRule, final List<ShardingValue> databaseShardingValues, final List<ShardingValue> tableShardingValues, final RoutingResult routingResult) {
+        for (InValuesToken each : sqlStatement.getInValuesTokens()) {
+            if (!isPrunable(each)) {
+                continue;
+            }
+            Optional<Map<TableUnit, Collection<Integer>>> positions = routeInValues(tableRule, databaseShardingValues, tableShardingValues, each, routingResult);
+            if (!positions.isPresent()) {
+                continue;
+            }
+            for (Map.Entry<TableUnit, Collection<Integer>> entry : positions.get().entrySet()) {
+                if (!routingResult.getTableUnitValuesPositions().containsKey(entry.getKey())) {
+                    routingResult.getTableUnitValuesPositions().put(entry.getKey(), new HashMap<SQLToken, Collection<Integer>>());
+                }
+                routingResult.getTableUnitValuesPositions().get(entry.getKey()).put(each, entry.getValue());
+            }
+        }
+    }
+    
+    // parameters of pruned values must be part of sharding condition, route result cache is keyed by them
+    private boolean isPrunable(final InValuesToken inValuesToken) {
+        if (!new Column(inValuesToken.getColumn().getName(), logicTableName).equals(inValuesToken.getColumn())) {
+            return false;
+        }
+        Optional<Condition> condition = sqlStatement.getConditions().find(inValuesToken.getColumn());
+        if (!condition.isPresent() || ShardingOperator.IN != condition.get().getOperator()) {
+            return false;
+        }
+        for (int i = 0; i < inValuesToken.getValues().size(); i++) {
+            int parameterIndex = inValuesToken.getParameterIndex(i);
+            if (-1 != parameterIndex && !condition.get().getParameterIndexes().contains(parameterIndex)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    // route each value alone, values cannot be pruned if any value routes out of routed table units or any table unit has no value
+    private Optional<Map<TableUnit, Collection<Integer>>> routeInValues(final TableRule tableRule, final List<ShardingValue> databaseShardingValues, 
+                                                                         final List<ShardingValue> tableShardingValues, final InValuesToken inValuesToken, final RoutingResult routingResult) {
+        String columnName = inValuesToken.getColumn().getName();
+        boolean isDatabaseShardingColumn = contains(databaseShardingValues, columnName);
+        boolean isTableShardingColumn = contains(tableShardingValues, columnName);
+        if (!isDatabaseShardingColumn && !isTableShardingColumn) {
+            return Optional.absent();
+        }
+        Map<TableUnit, Collection<Integer>> result = new LinkedHashMap<>();
+        for (TableUnit each : routingResult.getTableUnits().getTableUnits()) {
+            result.put(each, new LinkedList<Integer>());
+        }
+        for (int i = 0; i < inValuesToken.getValues().size(); i++) {
+            ShardingValue shardingValue = new Condition(inValuesToken.getColumn(), inValuesToken.getValues().get(i)).getShardingValue(parameters);
+            List<ShardingValue> valueDatabaseShardingValues = isDatabaseShardingColumn ? replace(databaseShardingValues, shardingValue) : databaseShardingValues;
+            List<ShardingValue> valueTableShardingValues = isTableShardingColumn ? replace(tableShardingValues, shardingValue) : tableShardingValues;
+            Collection<DataNode> dataNodes = routeDataNodes(tableRule, valueDatabaseShardingValues, valueTableShardingValues);
+            if (dataNodes.isEmpty()) {
+                return Optional.absent();
+            }
+            for (DataNode dataNode : dataNodes) {
+                Collection<Integer> positions = result.get(new TableUnit(dataNode.getDataSourceName(), logicTableName, dataNode.getTableName()));
+                if (null == positions) {
+                    return Optional.absent();
+                }
+                positions.add(i);
+            }
+        }
+        boolean isPruned = false;
+        for (Collection<Integer> each : result.values()) {
+            if (each.isEmpty()) {
+                return Optional.absent();
+            }
+            isPruned = isPruned || each.size() < inValuesToken.getValues().size();
+        }
+        return isPruned ? Optional.of(result) : Optional.<Map<TableUnit, Collection<Integer>>>absent();
+    }
+    
+    private boolean contains(final List<ShardingValue> shardingValues, final String columnName) {
+        for (ShardingValue each : shardingValues) {
+            if (each.getColumnName().equalsIgnoreCase(columnName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private List<ShardingValue> replace(final List<ShardingValue> shardingValues, final ShardingValue shardingValue) {
+        List<ShardingValue> result = new ArrayList<>(shardingValues.size());
+        for (ShardingValue each : shardingValues) {
+            result.add(each.getColumnName().equalsIgnoreCase(shardingValue.getColumnName()) ? shardingValue : each);
+        }
+        return result;
+    }
+    
+    private Collection<DataNode> routeDataNodes(final TableRule tableRule, final List<ShardingValue> databaseShardingValues, final List<ShardingValue> tableShardingValues) {
+        Collection<String> dataSources = databaseShardingValues.isEmpty() ? tableRule.getActualDatasourceNames()
+                : shardingRule.getDatabaseShardingStrategy(tableRule).doSharding(tableRule.getActualDatasourceNames(), databaseShardingValues);
+        Collection<DataNode> result = new LinkedList<>();
+        for (String each : dataSources) {
+            Collection<String> availableTargetTables = tableRule.getActualTableNames(each);
+            Collection<String> tables = tableShardingValues.isEmpty() ? availableTargetTables : shardingRule.getTableShardingStrategy(tableRule).doSharding(availableTargetTables, tableShardingValues);
+            for (String table : tables) {
+                result.add(new DataNode(each, table));
+            }
+        }
+        return result;
+    }
+    
     private RoutingResult generateRoutingResult(final Collection<DataNode> routedDataNodes) {
         RoutingResult result = new RoutingResult();
         for (DataNode each : routedDataNodes) {
@@ -20,6 +20,7 @@ package io.shardingjdbc.core.rule;
 import io.shardingjdbc.core.api.config.TableRuleConfiguration;
 import io.shardingjdbc.core.api.config.strategy.NoneShardingStrategyConfiguration;
 import io.shardingjdbc.core.exception.ShardingJdbcException;
+import io.shardingjdbc.core.keygen.DefaultKeyGenerator;
 import io.shardingjdbc.core.keygen.KeyGenerator;
 import io.shardingjdbc.core.parsing.parser.context.condition.Column;
 import io.shardingjdbc.core.routing.strategy.ShardingStrategy;
@@ -27,16 +28,18 @@ import io.shardingjdbc.core.routing.strategy.none.NoneShardingStrategy;
 import io.shardingjdbc.core.util.StringUtil;
 import com.google.common.base.Optional;
 import com.google.common.base.Strings;
+import lombok.AccessLevel;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 
 import javax.sql.DataSource;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 /**
@@ -44,7 +47,6 @@ import java.util.Map;
  * 
  * @author zhangliang
  */
-@RequiredArgsConstructor
 @Getter
 public final class ShardingRule {
     
@@ -62,11 +64,22 @@ public final class ShardingRule {
     
     private final KeyGenerator defaultKeyGenerator;
     
+    @Getter(AccessLevel.NONE)
+    private final Map<String, TableRule> tableRuleMap;
+    
+    @Getter(AccessLevel.NONE)
+    private final Map<String, BindingTableRule> bindingTableRuleMap;
+    
+    @Getter(AccessLevel.NONE)
+    private final Map<String, Collection<String>> shardingColumnsMap;
+    
     public ShardingRule(final Map<String, DataSource> dataSourceMap, final String defaultDataSourceName, final Collection<TableRule> tableRules, final Collection<String> bindingTableGroups, 
                         final ShardingStrategy defaultDatabaseShardingStrategy, final ShardingStrategy defaultTableShardingStrategy, final KeyGenerator defaultKeyGenerator) {
         this.dataSourceMap = dataSourceMap;
         this.defaultDataSourceName = getDefaultDataSourceName(dataSourceMap, defaultDataSourceName);
         this.tableRules = tableRules;
+        tableRuleMap = createTableRuleMap(tableRules);
+        shardingColumnsMap = createShardingColumnsMap(tableRules);
         for (String group : bindingTableGroups) {
             List<TableRule> tableRulesForBinding = new LinkedList<>();
             for (String logicTableNameForBindingTable : StringUtil.splitWithComma(group)) {
@@ -77,6 +90,52 @@ public final class ShardingRule {
         this.defaultDatabaseShardingStrategy = null == defaultDatabaseShardingStrategy ? new NoneShardingStrategy() : defaultDatabaseShardingStrategy;
         this.defaultTableShardingStrategy = null == defaultTableShardingStrategy ? new NoneShardingStrategy() : defaultTableShardingStrategy;
         this.defaultKeyGenerator = defaultKeyGenerator;
+        bindingTableRuleMap = createBindingTableRuleMap(bindingTableRules);
+    }
+    
+    private Map<String, TableRule> createTableRuleMap(final Collection<TableRule> tableRules) {
+        Map<String, TableRule> result = new HashMap<>(tableRules.size(), 1);
+        for (TableRule each : tableRules) {
+            String key = getLogicTableKey(each.getLogicTable());
+            if (!result.containsKey(key)) {
+                result.put(key, each);
+            }
+        }
+        return Collections.unmodifiableMap(result);
+    }
+    
+    private Map<String, Collection<String>> createShardingColumnsMap(final Collection<TableRule> tableRules) {
+        Map<String, Collection<String>> result = new HashMap<>(tableRules.size(), 1);
+        for (TableRule each : tableRules) {
+            String key = getLogicTableKey(each.getLogicTable());
+            if (!result.containsKey(key)) {
+                result.put(key, new HashSet<String>());
+            }
+            if (null != each.getDatabaseShardingStrategy()) {
+                result.get(key).addAll(each.getDatabaseShardingStrategy().getShardingColumns());
+            }
+            if (null != each.getTableShardingStrategy()) {
+                result.get(key).addAll(each.getTableShardingStrategy().getShardingColumns());
+            }
+        }
+        return Collections.unmodifiableMap(result);
+    }
+    
+    private Map<String, BindingTableRule> createBindingTableRuleMap(final Collection<BindingTableRule> bindingTableRules) {
+        Map<String, BindingTableRule> result = new HashMap<>();
+        for (BindingTableRule each : bindingTableRules) {
+            for (String logicTable : each.getAllLogicTables()) {
+                String key = getLogicTableKey(logicTable);
+                if (!result.containsKey(key)) {
+                    result.put(key, each);
+                }
+            }
+        }
+        return Collections.unmodifiableMap(result);
+    }
+    
+    private String getLogicTableKey(final String logicTableName) {
+        return logicTableName.toLowerCase(Locale.ENGLISH);
     }
     
     private String getDefaultDataSourceName(final Map<String, DataSource> dataSourceMap, final String defaultDataSourceName) {
@@ -96,12 +155,7 @@ public final class ShardingRule {
      * @return table rule
      */
     public Optional<TableRule> tryFindTableRule(final String logicTableName) {
-        for (TableRule each : tableRules) {
-            if (each.getLogicTable().equalsIgnoreCase(logicTableName)) {
-                return Optional.of(each);
-            }
-        }
-        return Optional.absent();
+        return null == logicTableName ? Optional.<TableRule>absent() : Optional.fromNullable(tableRuleMap.get(getLogicTableKey(logicTableName)));
     }
     
     /**
@@ -221,12 +275,7 @@ public final class ShardingRule {
      * @return binding table rule
      */
     public Optional<BindingTableRule> findBindingTableRule(final String logicTable) {
-        for (BindingTableRule each : bindingTableRules) {
-            if (each.hasLogicTable(logicTable)) {
-                return Optional.of(each);
-            }
-        }
-        return Optional.absent();
+        return null == logicTable ? Optional.<BindingTableRule>absent() : Optional.fromNullable(bindingTableRuleMap.get(getLogicTableKey(logicTable)));
     }
     
     /**
@@ -239,18 +288,11 @@ public final class ShardingRule {
         if (defaultDatabaseShardingStrategy.getShardingColumns().contains(column.getName()) || defaultTableShardingStrategy.getShardingColumns().contains(column.getName())) {
             return true;
         }
-        for (TableRule each : tableRules) {
-            if (!each.getLogicTable().equalsIgnoreCase(column.getTableName())) {
-                continue;
-            }
-            if (null != each.getDatabaseShardingStrategy() && each.getDatabaseShardingStrategy().getShardingColumns().contains(column.getName())) {
-                return true;
-            }
-            if (null != each.getTableShardingStrategy() && each.getTableShardingStrategy().getShardingColumns().contains(column.getName())) {
-                return true;
-            }
+        if (null == column.getTableName()) {
+            return false;
         }
-        return false;
+        Collection<String> shardingColumns = shardingColumnsMap.get(getLogicTableKey(column.getTableName()));
+        return null != shardingColumns && shardingColumns.contains(column.getName());
     }
     
     /**
@@ -260,12 +302,8 @@ public final class ShardingRule {
      * @return generated key's column name
      */
     public Optional<String> getGenerateKeyColumn(final String logicTableName) {
-        for (TableRule each : tableRules) {
-            if (each.getLogicTable().equalsIgnoreCase(logicTableName)) {
-                return Optional.fromNullable(each.getGenerateKeyColumn());
-            }
-        }
-        return Optional.absent();
+        Optional<TableRule> tableRule = tryFindTableRule(logicTableName);
+        return tableRule.isPresent() ? Optional.fromNullable(tableRule.get().getGenerateKeyColumn()) : Optional.<String>absent();
     }
     
     /**
@@ -275,13 +313,40 @@ public final class ShardingRule {
      * @return generated key
      */
     public Number generateKey(final String logicTableName) {
+        return getKeyGenerator(logicTableName).generateKey();
+    }
+    
+    /**
+     * Generate keys.
+     * 
+     * <p>
+     * Keys are reserved in contiguous blocks if generated by default key generator.
+     * </p>
+     *
+     * @param logicTableName logic table name
+     * @param count count of keys
+     * @return generated keys
+     */
+    public List<Number> generateKeys(final String logicTableName, final int count) {
+        KeyGenerator keyGenerator = getKeyGenerator(logicTableName);
+        List<Number> result = new ArrayList<>(count);
+        if (keyGenerator instanceof DefaultKeyGenerator) {
+            while (result.size() < count) {
+                result.addAll(((DefaultKeyGenerator) keyGenerator).generateKeys(Math.min(count - result.size(), DefaultKeyGenerator.MAX_RESERVED_COUNT)));
+            }
+            return result;
+        }
+        for (int i = 0; i < count; i++) {
+            result.add(keyGenerator.generateKey());
+        }
+        return result;
+    }
+    
+    private KeyGenerator getKeyGenerator(final String logicTableName) {
         Optional<TableRule> tableRule = tryFindTableRule(logicTableName);
         if (!tableRule.isPresent()) {
             throw new ShardingJdbcException("Cannot find strategy for generate keys.");
         }
-        if (null != tableRule.get().getKeyGenerator()) {
-            return tableRule.get().getKeyGenerator().generateKey();
-        }
-        return defaultKeyGenerator.generateKey();
+        return null == tableRule.get().getKeyGenerator() ? defaultKeyGenerator : tableRule.get().getKeyGenerator();
     }
 }
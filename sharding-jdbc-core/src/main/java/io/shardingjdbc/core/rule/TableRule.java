@@ -20,15 +20,22 @@ package io.shardingjdbc.core.rule;
 import com.google.common.base.Preconditions;
 import io.shardingjdbc.core.keygen.KeyGenerator;
 import io.shardingjdbc.core.routing.strategy.ShardingStrategy;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.ToString;
 
 import javax.sql.DataSource;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
 
 /**
  * Table rule configuration.
@@ -36,7 +43,7 @@ import java.util.Map;
  * @author zhangliang
  */
 @Getter
-@ToString
+@ToString(exclude = {"actualTableNamesMap", "actualTableIndexMap"})
 public final class TableRule {
     
     private final String logicTable;
@@ -51,6 +58,12 @@ public final class TableRule {
     
     private final KeyGenerator keyGenerator;
     
+    @Getter(AccessLevel.NONE)
+    private final Map<String, Collection<String>> actualTableNamesMap;
+    
+    @Getter(AccessLevel.NONE)
+    private final Map<DataNode, Integer> actualTableIndexMap;
+    
     public TableRule(final String logicTable, final List<String> actualDataNodes, final Map<String, DataSource> dataSourceMap,
                      final ShardingStrategy databaseShardingStrategy, final ShardingStrategy tableShardingStrategy, final String generateKeyColumn, final KeyGenerator keyGenerator) {
         this.logicTable = logicTable;
@@ -59,10 +72,12 @@ public final class TableRule {
         this.tableShardingStrategy = tableShardingStrategy;
         this.generateKeyColumn = generateKeyColumn;
         this.keyGenerator = keyGenerator;
+        actualTableNamesMap = createActualTableNamesMap(this.actualDataNodes);
+        actualTableIndexMap = createActualTableIndexMap(this.actualDataNodes);
     }
     
     private List<DataNode> generateDataNodes(final String logicTable, final Map<String, DataSource> dataSourceMap) {
-        List<DataNode> result = new LinkedList<>();
+        List<DataNode> result = new ArrayList<>(dataSourceMap.size());
         for (String each : dataSourceMap.keySet()) {
             result.add(new DataNode(each, logicTable));
         }
@@ -70,7 +85,7 @@ public final class TableRule {
     }
     
     private List<DataNode> generateDataNodes(final List<String> actualDataNodes, final Map<String, DataSource> dataSourceMap) {
-        List<DataNode> result = new LinkedList<>();
+        List<DataNode> result = new ArrayList<>(actualDataNodes.size());
         for (String each : actualDataNodes) {
             Preconditions.checkArgument(DataNode.isValidDataNode(each), String.format("Invalid format for actual data nodes: '%s'", each));
             DataNode dataNode = new DataNode(each);
@@ -81,17 +96,45 @@ public final class TableRule {
         return result;
     }
     
+    private Map<String, Collection<String>> createActualTableNamesMap(final List<DataNode> actualDataNodes) {
+        Map<String, Set<String>> actualTableNames = new LinkedHashMap<>();
+        for (DataNode each : actualDataNodes) {
+            if (!actualTableNames.containsKey(each.getDataSourceName())) {
+                actualTableNames.put(each.getDataSourceName(), new LinkedHashSet<String>());
+            }
+            actualTableNames.get(each.getDataSourceName()).add(each.getTableName());
+        }
+        Map<String, Collection<String>> result = new LinkedHashMap<>(actualTableNames.size(), 1);
+        for (Entry<String, Set<String>> entry : actualTableNames.entrySet()) {
+            result.put(entry.getKey(), Collections.unmodifiableSet(entry.getValue()));
+        }
+        return Collections.unmodifiableMap(result);
+    }
+    
+    private Map<DataNode, Integer> createActualTableIndexMap(final List<DataNode> actualDataNodes) {
+        Map<DataNode, Integer> result = new HashMap<>(actualDataNodes.size(), 1);
+        int index = 0;
+        for (DataNode each : actualDataNodes) {
+            DataNode key = getActualTableIndexKey(each.getDataSourceName(), each.getTableName());
+            if (!result.containsKey(key)) {
+                result.put(key, index);
+            }
+            index++;
+        }
+        return Collections.unmodifiableMap(result);
+    }
+    
+    private DataNode getActualTableIndexKey(final String dataSourceName, final String actualTableName) {
+        return new DataNode(dataSourceName.toLowerCase(Locale.ENGLISH), actualTableName.toLowerCase(Locale.ENGLISH));
+    }
+    
     /**
      * Get actual data source names.
      *
      * @return actual data source names
      */
     public Collection<String> getActualDatasourceNames() {
-        Collection<String> result = new LinkedHashSet<>(actualDataNodes.size());
-        for (DataNode each : actualDataNodes) {
-            result.add(each.getDataSourceName());
-        }
-        return result;
+        return actualTableNamesMap.keySet();
     }
     
     /**
@@ -101,23 +144,12 @@ public final class TableRule {
      * @return names of actual tables
      */
     public Collection<String> getActualTableNames(final String targetDataSource) {
-        Collection<String> result = new LinkedHashSet<>(actualDataNodes.size());
-        for (DataNode each : actualDataNodes) {
-            if (targetDataSource.equals(each.getDataSourceName())) {
-                result.add(each.getTableName());
-            }
-        }
-        return result;
+        Collection<String> result = actualTableNamesMap.get(targetDataSource);
+        return null == result ? Collections.<String>emptySet() : result;
     }
     
     int findActualTableIndex(final String dataSourceName, final String actualTableName) {
-        int result = 0;
-        for (DataNode each : actualDataNodes) {
-            if (each.getDataSourceName().equalsIgnoreCase(dataSourceName) && each.getTableName().equalsIgnoreCase(actualTableName)) {
-                return result;
-            }
-            result++;
-        }
-        return -1;
+        Integer result = actualTableIndexMap.get(getActualTableIndexKey(dataSourceName, actualTableName));
+        return null == result ? -1 : result;
     }
 }
@@ -50,7 +50,7 @@ public final class SQLLogger {
             if (parameters.isEmpty()) {
                 log("Actual SQL: {} ::: {}", each.getDataSource(), each.getSql());
             } else {
-                log("Actual SQL: {} ::: {} ::: {}", each.getDataSource(), each.getSql(), parameters);
+                log("Actual SQL: {} ::: {} ::: {}", each.getDataSource(), each.getSql(), each.getParameters(parameters));
             }
         }
     }
@@ -24,6 +24,7 @@ import io.shardingjdbc.core.api.config.strategy.StandardShardingStrategyConfigur
 import io.shardingjdbc.core.constant.DatabaseType;
 import io.shardingjdbc.core.fixture.PreciseOrderShardingAlgorithm;
 import io.shardingjdbc.core.fixture.RangeOrderShardingAlgorithm;
+import io.shardingjdbc.core.jdbc.core.connection.ShardingConnection;
 import io.shardingjdbc.core.jdbc.core.datasource.ShardingDataSource;
 import io.shardingjdbc.core.keygen.fixture.IncrementKeyGenerator;
 import io.shardingjdbc.core.rule.ShardingRule;
@@ -35,9 +36,11 @@ import javax.sql.DataSource;
 import java.sql.SQLException;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Properties;
 
 @RunWith(Parameterized.class)
 public abstract class AbstractShardingJDBCDatabaseAndTableTest extends AbstractSQLTest {
@@ -113,4 +116,10 @@ public abstract class AbstractShardingJDBCDatabaseAndTableTest extends AbstractS
     protected ShardingDataSource getShardingDataSource() {
         return getShardingDataSources().get(databaseType);
     }
+    
+    protected ShardingDataSource createShardingDataSource(final Properties props) throws SQLException {
+        try (ShardingConnection connection = getShardingDataSource().getConnection()) {
+            return new ShardingDataSource(connection.getShardingContext().getShardingRule(), Collections.<String, Object>emptyMap(), props);
+        }
+    }
 }
@@ -27,6 +27,9 @@ import org.junit.runners.Suite;
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
         ExecutorExceptionHandlerTest.class, 
+        ExecutorEngineTest.class, 
+        ThrottledTaskSubmitterTest.class, 
+        DeferredResultSetsTest.class, 
         StatementExecutorTest.class, 
         PreparedStatementExecutorTest.class,
         BatchPreparedStatementExecutorTest.class
@@ -0,0 +1,144 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.executor;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import io.shardingjdbc.core.executor.type.statement.StatementUnit;
+import io.shardingjdbc.core.routing.SQLExecutionUnit;
+import org.junit.Test;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public final class DeferredResultSetsTest {
+    
+    private final List<Statement> statements = Arrays.asList(mock(Statement.class), mock(Statement.class), mock(Statement.class), mock(Statement.class));
+    
+    private final List<ResultSet> resultSets = Arrays.asList(mock(ResultSet.class), mock(ResultSet.class), mock(ResultSet.class), mock(ResultSet.class));
+    
+    private final List<SettableFuture<ResultSet>> futures = Arrays.asList(
+            SettableFuture.<ResultSet>create(), SettableFuture.<ResultSet>create(), SettableFuture.<ResultSet>create(), SettableFuture.<ResultSet>create());
+    
+    private final List<StatementUnit> statementUnits = new ArrayList<>(statements.size());
+    
+    @Test
+    public void assertGet() throws Exception {
+        DeferredResultSets actual = createDeferredResultSets();
+        execute(actual, 0);
+        assertThat(actual.size(), is(4));
+        assertThat(actual.get(0), is(resultSets.get(0)));
+        assertThat(actual.get(0), is(resultSets.get(0)));
+    }
+    
+    @Test
+    public void assertRelease() throws Exception {
+        final DeferredResultSets actual = createDeferredResultSets();
+        execute(actual, 0);
+        execute(actual, 1);
+        assertThat(actual.get(0), is(resultSets.get(0)));
+        ResultSet releasedInExecuting = actual.track(new ExecuteCallback<ResultSet>() {
+            
+            @Override
+            public ResultSet execute(final BaseStatementUnit baseStatementUnit) throws Exception {
+                actual.release();
+                return resultSets.get(2);
+            }
+        }).execute(statementUnits.get(2));
+        assertThat(releasedInExecuting, nullValue());
+        verify(resultSets.get(0), never()).close();
+        verify(statements.get(0), never()).cancel();
+        verify(resultSets.get(1)).close();
+        verify(statements.get(1), never()).cancel();
+        verify(statements.get(2)).cancel();
+        verify(resultSets.get(2)).close();
+        assertTrue(futures.get(3).isCancelled());
+        assertThat(execute(actual, 3), nullValue());
+        verify(statements.get(3), never()).cancel();
+        verify(statements.get(3), never()).executeQuery("SELECT 1");
+        assertThat(actual.get(3), nullValue());
+    }
+    
+    @Test
+    public void assertClose() throws Exception {
+        DeferredResultSets actual = createDeferredResultSets();
+        execute(actual, 0);
+        assertThat(actual.get(0), is(resultSets.get(0)));
+        actual.close();
+        verify(resultSets.get(0)).close();
+        assertTrue(futures.get(1).isCancelled());
+        assertTrue(futures.get(2).isCancelled());
+        verify(statements.get(1), never()).cancel();
+    }
+    
+    @Test
+    public void assertSetFetchSizeAndClearWarningsBeforeRetrieved() throws Exception {
+        DeferredResultSets actual = createDeferredResultSets();
+        execute(actual, 0);
+        assertThat(actual.get(0), is(resultSets.get(0)));
+        actual.setFetchSize(100);
+        actual.clearWarnings();
+        verify(resultSets.get(0)).setFetchSize(100);
+        verify(resultSets.get(0)).clearWarnings();
+        assertFalse(futures.get(1).isDone());
+        execute(actual, 1);
+        verify(resultSets.get(1), never()).setFetchSize(100);
+        assertThat(actual.get(1), is(resultSets.get(1)));
+        verify(resultSets.get(1)).setFetchSize(100);
+        verify(resultSets.get(1)).clearWarnings();
+        actual.release();
+        assertTrue(futures.get(2).isCancelled());
+        assertTrue(futures.get(3).isCancelled());
+    }
+    
+    private DeferredResultSets createDeferredResultSets() throws SQLException {
+        for (int i = 0; i < statements.size(); i++) {
+            when(statements.get(i).executeQuery("SELECT 1")).thenReturn(resultSets.get(i));
+            statementUnits.add(new StatementUnit(new SQLExecutionUnit("ds_0", "SELECT 1"), statements.get(i)));
+        }
+        DeferredResultSets result = new DeferredResultSets(statementUnits);
+        result.setFutures(new ArrayList<ListenableFuture<ResultSet>>(futures));
+        return result;
+    }
+    
+    private ResultSet execute(final DeferredResultSets deferredResultSets, final int index) throws Exception {
+        ResultSet result = deferredResultSets.track(new ExecuteCallback<ResultSet>() {
+            
+            @Override
+            public ResultSet execute(final BaseStatementUnit baseStatementUnit) throws Exception {
+                return baseStatementUnit.getStatement().executeQuery(baseStatementUnit.getSqlExecutionUnit().getSql());
+            }
+        }).execute(statementUnits.get(index));
+        futures.get(index).set(result);
+        return result;
+    }
+}
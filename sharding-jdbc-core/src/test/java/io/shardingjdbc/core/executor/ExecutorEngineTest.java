@@ -0,0 +1,233 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+package io.shardingjdbc.core.executor;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import io.shardingjdbc.core.constant.SQLType;
+import io.shardingjdbc.core.exception.ShardingJdbcException;
+import io.shardingjdbc.core.executor.threadlocal.ExecutorExceptionHandler;
+import io.shardingjdbc.core.executor.type.statement.StatementUnit;
+import io.shardingjdbc.core.routing.SQLExecutionUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public final class ExecutorEngineTest {
+    
+    private ExecutorEngine executorEngine;
+    
+    @Before
+    public void setUp() {
+        ExecutorExceptionHandler.setExceptionThrown(true);
+    }
+    
+    @After
+    public void tearDown() {
+        ExecutorExceptionHandler.setExceptionThrown(false);
+        if (null != executorEngine) {
+            executorEngine.close();
+        }
+    }
+    
+    @Test
+    public void assertGetPoolStatusesWithSharedPool() {
+        executorEngine = new ExecutorEngine(2);
+        Map<String, ExecutorPoolStatus> actual = executorEngine.getPoolStatuses();
+        assertThat(actual.size(), is(1));
+        assertThat(actual.get("default").getPoolName(), is("default"));
+        assertThat(actual.get("default").getRejectedTaskCount(), is(0L));
+    }
+    
+    @Test
+    public void assertExecuteWithPoolsIsolatedByDataSource() throws SQLException {
+        executorEngine = new ExecutorEngine(new ExecutorEngineConfiguration(1, 2, 0, ExecutorRejectionPolicy.CALLER_RUNS, 0));
+        final Collection<String> threadNames = new ArrayList<>();
+        List<String> actual = executorEngine.executeStatement(SQLType.DQL, createStatementUnits("ds_0", "ds_0", "ds_1", "ds_1"), new ExecuteCallback<String>() {
+            
+            @Override
+            public String execute(final BaseStatementUnit baseStatementUnit) {
+                synchronized (threadNames) {
+                    threadNames.add(Thread.currentThread().getName());
+                }
+                return baseStatementUnit.getSqlExecutionUnit().getDataSource();
+            }
+        });
+        assertThat(actual.size(), is(4));
+        assertTrue(threadNames.contains(Thread.currentThread().getName()));
+        for (String each : threadNames) {
+            assertTrue(each.equals(Thread.currentThread().getName()) || each.startsWith("ShardingJDBC-ds_0-") || each.startsWith("ShardingJDBC-ds_1-"));
+        }
+        Map<String, ExecutorPoolStatus> statuses = executorEngine.getPoolStatuses();
+        assertThat(statuses.size(), is(3));
+        assertTrue(statuses.containsKey("default"));
+        assertTrue(statuses.containsKey("ds_0"));
+        assertTrue(statuses.containsKey("ds_1"));
+    }
+    
+    @Test
+    public void assertExecuteWithAbortRejectionPolicy() throws SQLException {
+        executorEngine = new ExecutorEngine(new ExecutorEngineConfiguration(1, 0, 1, ExecutorRejectionPolicy.ABORT, 0));
+        final Thread callerThread = Thread.currentThread();
+        final CountDownLatch latch = new CountDownLatch(1);
+        try {
+            executorEngine.executeStatement(SQLType.DQL, createStatementUnits("ds_0", "ds_0", "ds_0", "ds_0"), new ExecuteCallback<Integer>() {
+                
+                @Override
+                public Integer execute(final BaseStatementUnit baseStatementUnit) throws Exception {
+                    if (callerThread != Thread.currentThread()) {
+                        latch.await(5, TimeUnit.SECONDS);
+                    }
+                    return 1;
+                }
+            });
+            fail("Expected ShardingJdbcException");
+        } catch (final ShardingJdbcException ex) {
+            assertThat(ex.getCause().getCause(), instanceOf(RejectedExecutionException.class));
+        } finally {
+            latch.countDown();
+        }
+        assertThat(executorEngine.getPoolStatuses().get("default").getRejectedTaskCount(), is(1L));
+    }
+    
+    @Test
+    public void assertExecuteTransactionWithAbortRejectionPolicy() {
+        executorEngine = new ExecutorEngine(new ExecutorEngineConfiguration(1, 0, 1, ExecutorRejectionPolicy.ABORT, 0));
+        final Thread callerThread = Thread.currentThread();
+        final CountDownLatch latch = new CountDownLatch(1);
+        final AtomicInteger executedCount = new AtomicInteger();
+        List<Callable<Void>> tasks = new ArrayList<>(4);
+        for (int i = 0; i < 4; i++) {
+            tasks.add(new Callable<Void>() {
+                
+                @Override
+                public Void call() throws Exception {
+                    if (callerThread == Thread.currentThread()) {
+                        latch.countDown();
+                    } else {
+                        latch.await(5, TimeUnit.SECONDS);
+                    }
+                    executedCount.incrementAndGet();
+                    return null;
+                }
+            });
+        }
+        Collection<SQLException> actual = executorEngine.executeTransaction(Arrays.asList("ds_0", "ds_0", "ds_0", "ds_0"), tasks);
+        assertTrue(actual.isEmpty());
+        assertThat(executedCount.get(), is(4));
+        assertThat(executorEngine.getPoolStatuses().get("default").getRejectedTaskCount(), is(1L));
+    }
+    
+    @Test
+    public void assertExecuteWithMaxInFlightPerQuery() throws SQLException {
+        executorEngine = new ExecutorEngine(new ExecutorEngineConfiguration(4, 0, 0, ExecutorRejectionPolicy.CALLER_RUNS, 2));
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+        List<Integer> actual = executorEngine.executeStatement(SQLType.DQL, 
+                createStatementUnits("ds_0", "ds_1", "ds_0", "ds_1", "ds_0", "ds_1", "ds_0", "ds_1"), new ExecuteCallback<Integer>() {
+                
+                @Override
+                public Integer execute(final BaseStatementUnit baseStatementUnit) throws Exception {
+                    int current = inFlight.incrementAndGet();
+                    int max;
+                    do {
+                        max = maxInFlight.get();
+                    } while (current > max && !maxInFlight.compareAndSet(max, current));
+                    Thread.sleep(10L);
+                    inFlight.decrementAndGet();
+                    return 1;
+                }
+            });
+        assertThat(actual.size(), is(8));
+        assertTrue(maxInFlight.get() <= 2);
+    }
+    
+    @Test
+    public void assertExecuteSeriallyWhenMaxInFlightPerQueryIsOne() throws SQLException {
+        executorEngine = new ExecutorEngine(new ExecutorEngineConfiguration(4, 0, 0, ExecutorRejectionPolicy.CALLER_RUNS, 1));
+        final Thread callerThread = Thread.currentThread();
+        final AtomicInteger otherThreadCount = new AtomicInteger();
+        List<Integer> actual = executorEngine.executeStatement(SQLType.DQL, createStatementUnits("ds_0", "ds_1", "ds_0", "ds_1"), new ExecuteCallback<Integer>() {
+            
+            @Override
+            public Integer execute(final BaseStatementUnit baseStatementUnit) {
+                if (callerThread != Thread.currentThread()) {
+                    otherThreadCount.incrementAndGet();
+                }
+                return 1;
+            }
+        });
+        assertThat(actual.size(), is(4));
+        assertThat(otherThreadCount.get(), is(0));
+        assertFalse(executorEngine.getConfiguration().isIsolatedByDataSource());
+    }
+    
+    @Test
+    public void assertSubmitWithCancelledTasks() throws SQLException, InterruptedException, ExecutionException {
+        executorEngine = new ExecutorEngine(new ExecutorEngineConfiguration(4, 0, 0, ExecutorRejectionPolicy.CALLER_RUNS, 1));
+        final CountDownLatch latch = new CountDownLatch(1);
+        final AtomicInteger executedCount = new AtomicInteger();
+        List<ListenableFuture<Integer>> actual = executorEngine.submitStatement(SQLType.DQL, createStatementUnits("ds_0", "ds_1", "ds_0"), new ExecuteCallback<Integer>() {
+            
+            @Override
+            public Integer execute(final BaseStatementUnit baseStatementUnit) throws Exception {
+                latch.await(5, TimeUnit.SECONDS);
+                return executedCount.incrementAndGet();
+            }
+        });
+        assertThat(actual.size(), is(3));
+        assertTrue(actual.get(1).cancel(false));
+        assertTrue(actual.get(2).cancel(false));
+        latch.countDown();
+        assertThat(actual.get(0).get(), is(1));
+        Thread.sleep(50L);
+        assertThat(executedCount.get(), is(1));
+    }
+    
+    private Collection<StatementUnit> createStatementUnits(final String... dataSourceNames) throws SQLException {
+        Collection<StatementUnit> result = new ArrayList<>(dataSourceNames.length);
+        for (String each : dataSourceNames) {
+            Statement statement = mock(Statement.class);
+            when(statement.getConnection()).thenReturn(mock(Connection.class));
+            result.add(new StatementUnit(new SQLExecutionUnit(each, "SELECT 1"), statement));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+package io.shardingjdbc.core.executor;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public final class ThrottledTaskSubmitterTest {
+    
+    @Test
+    public void assertSubmitWithInlineCompletionForLargeFanOut() throws InterruptedException, ExecutionException {
+        int taskCount = 100000;
+        List<Callable<Integer>> tasks = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            final int index = i;
+            tasks.add(new Callable<Integer>() {
+                
+                @Override
+                public Integer call() {
+                    return index;
+                }
+            });
+        }
+        ListeningExecutorService executorService = MoreExecutors.newDirectExecutorService();
+        List<ListenableFuture<Integer>> actual = new ThrottledTaskSubmitter<>(Collections.nCopies(taskCount, executorService), tasks, 1).submit();
+        assertThat(actual.size(), is(taskCount));
+        for (int i = 0; i < taskCount; i++) {
+            assertThat(actual.get(i).get(), is(i));
+        }
+    }
+}
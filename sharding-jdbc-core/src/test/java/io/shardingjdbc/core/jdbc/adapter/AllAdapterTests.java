@@ -18,7 +18,7 @@
 package io.shardingjdbc.core.jdbc.adapter;
 
 import io.shardingjdbc.core.jdbc.adapter.invocation.JdbcMethodInvocationTest;
-import io.shardingjdbc.core.jdbc.adapter.invocation.SetParameterMethodInvocationTest;
+import io.shardingjdbc.core.jdbc.adapter.invocation.SetParameterBufferTest;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
@@ -31,7 +31,7 @@ import org.junit.runners.Suite;
         ResultSetAdapterTest.class,
         ResultSetGetterAdapterTest.class,
         JdbcMethodInvocationTest.class,
-        SetParameterMethodInvocationTest.class
+        SetParameterBufferTest.class
     })
 public class AllAdapterTests {
 }
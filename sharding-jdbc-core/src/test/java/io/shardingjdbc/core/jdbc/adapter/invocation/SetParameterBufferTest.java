@@ -0,0 +1,88 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.jdbc.adapter.invocation;
+
+import org.junit.Test;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+public final class SetParameterBufferTest {
+    
+    private final SetParameterBuffer setParameterBuffer = new SetParameterBuffer();
+    
+    private final PreparedStatement preparedStatement = mock(PreparedStatement.class);
+    
+    @Test
+    public void assertApplyWithRecordedValue() throws SQLException {
+        Object value = 100;
+        setParameterBuffer.record(0, SetParameterType.INT, value);
+        setParameterBuffer.apply(preparedStatement, 3, 0, value);
+        verify(preparedStatement).setInt(3, 100);
+    }
+    
+    @Test
+    public void assertApplyWithExtraNumber() throws SQLException {
+        setParameterBuffer.record(0, SetParameterType.NULL_WITH_TYPE_NAME, null, Types.VARCHAR, "varchar");
+        setParameterBuffer.apply(preparedStatement, 1, 0, null);
+        verify(preparedStatement).setNull(1, Types.VARCHAR, "varchar");
+    }
+    
+    @Test
+    public void assertApplyWithChangedValue() throws SQLException {
+        setParameterBuffer.record(0, SetParameterType.LONG, 100L);
+        setParameterBuffer.apply(preparedStatement, 1, 0, 200);
+        verify(preparedStatement).setObject(1, 200);
+    }
+    
+    @Test
+    public void assertApplyWithUnrecordedValue() throws SQLException {
+        setParameterBuffer.record(0, SetParameterType.INT, 100);
+        setParameterBuffer.apply(preparedStatement, 2, 1, 200L);
+        verify(preparedStatement).setObject(2, 200L);
+    }
+    
+    @Test
+    public void assertApplyWithGrowingCapacity() throws SQLException {
+        Object value = "value";
+        setParameterBuffer.record(20, SetParameterType.STRING, value);
+        setParameterBuffer.apply(preparedStatement, 1, 20, value);
+        setParameterBuffer.apply(preparedStatement, 2, 10, null);
+        verify(preparedStatement).setString(1, "value");
+    }
+    
+    @Test
+    public void assertClear() throws SQLException {
+        setParameterBuffer.record(0, SetParameterType.INT, 100);
+        setParameterBuffer.clear();
+        setParameterBuffer.apply(preparedStatement, 1, 0, 100);
+        verify(preparedStatement).setObject(1, 100);
+    }
+    
+    @Test
+    public void assertApplyWithoutRecordedType() throws SQLException {
+        setParameterBuffer.record(1, SetParameterType.INT, 100);
+        setParameterBuffer.apply(preparedStatement, 1, 0, null);
+        verifyZeroInteractions(preparedStatement);
+    }
+}
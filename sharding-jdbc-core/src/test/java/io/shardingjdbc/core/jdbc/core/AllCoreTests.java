@@ -22,6 +22,7 @@ import io.shardingjdbc.core.jdbc.core.datasource.MasterSlaveDataSourceTest;
 import io.shardingjdbc.core.jdbc.core.datasource.ShardingDataSourceTest;
 import io.shardingjdbc.core.jdbc.core.resultset.GeneratedKeysResultSetMetaDataTest;
 import io.shardingjdbc.core.jdbc.core.resultset.GeneratedKeysResultSetTest;
+import io.shardingjdbc.core.jdbc.core.resultset.PrefetchResultSetTest;
 import io.shardingjdbc.core.jdbc.core.resultset.ShardingResultSetTest;
 import io.shardingjdbc.core.jdbc.core.statement.ShardingPreparedStatementTest;
 import io.shardingjdbc.core.jdbc.core.statement.ShardingStatementTest;
@@ -36,6 +37,7 @@ import org.junit.runners.Suite;
         ShardingStatementTest.class, 
         ShardingPreparedStatementTest.class, 
         ShardingResultSetTest.class, 
+        PrefetchResultSetTest.class, 
         GeneratedKeysResultSetTest.class, 
         GeneratedKeysResultSetMetaDataTest.class 
     })
@@ -20,9 +20,13 @@ package io.shardingjdbc.core.jdbc.core.connection;
 import io.shardingjdbc.core.api.config.ShardingRuleConfiguration;
 import io.shardingjdbc.core.api.config.TableRuleConfiguration;
 import io.shardingjdbc.core.constant.SQLType;
+import io.shardingjdbc.core.constant.ShardingProperties;
+import io.shardingjdbc.core.constant.ShardingPropertiesConstant;
+import io.shardingjdbc.core.executor.ExecutorEngine;
 import io.shardingjdbc.core.fixture.TestDataSource;
 import io.shardingjdbc.core.jdbc.core.ShardingContext;
 import io.shardingjdbc.core.jdbc.core.datasource.MasterSlaveDataSource;
+import io.shardingjdbc.core.routing.SQLExecutionUnit;
 import io.shardingjdbc.core.rule.MasterSlaveRule;
 import org.junit.After;
 import org.junit.Before;
@@ -32,12 +36,21 @@ import org.junit.Test;
 import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Properties;
 
+import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 
 public final class ShardingConnectionTest {
     
@@ -65,7 +78,7 @@ public final class ShardingConnectionTest {
         shardingRuleConfig.getTableRuleConfigs().add(tableRuleConfig);
         Map<String, DataSource> dataSourceMap = new HashMap<>(1, 1);
         dataSourceMap.put(DS_NAME, masterSlaveDataSource);
-        ShardingContext shardingContext = new ShardingContext(shardingRuleConfig.build(dataSourceMap), null, null, false);
+        ShardingContext shardingContext = new ShardingContext(shardingRuleConfig.build(dataSourceMap), null, null, new ShardingProperties(new Properties()));
         connection = new ShardingConnection(shardingContext);
     }
     
@@ -108,10 +121,120 @@ public final class ShardingConnectionTest {
         assertSame(masterConnection, connection.getConnection(DS_NAME, SQLType.DML));
     }
     
+    @Test
+    public void assertGetConnectionsWithMaxConnectionsSizePerQuery() throws SQLException {
+        try (ShardingConnection actual = createShardingConnection(2)) {
+            SQLExecutionUnit unit0 = new SQLExecutionUnit("ds", "SELECT * FROM test_0");
+            SQLExecutionUnit unit1 = new SQLExecutionUnit("ds", "SELECT * FROM test_1");
+            SQLExecutionUnit unit2 = new SQLExecutionUnit("ds", "SELECT * FROM test_2");
+            Map<SQLExecutionUnit, Connection> connections = actual.getConnections(SQLType.DQL, Arrays.asList(unit0, unit1, unit2));
+            assertThat(connections.size(), is(3));
+            assertSame(actual.getConnection("ds", SQLType.DQL), connections.get(unit0));
+            assertNotSame(connections.get(unit0), connections.get(unit1));
+            assertSame(connections.get(unit0), connections.get(unit2));
+            assertThat(actual.getCachedParallelConnections().get("ds").size(), is(1));
+            assertSame(connections.get(unit1), actual.getConnections(SQLType.DQL, Arrays.asList(unit0, unit1)).get(unit1));
+            Map<SQLExecutionUnit, Connection> dmlConnections = actual.getConnections(SQLType.DML, Arrays.asList(unit0, unit1));
+            assertSame(dmlConnections.get(unit0), dmlConnections.get(unit1));
+        }
+    }
+    
+    @Test
+    public void assertGetConnectionsWithoutAutoCommit() throws SQLException {
+        try (ShardingConnection actual = createShardingConnection(2)) {
+            actual.setAutoCommit(false);
+            SQLExecutionUnit unit0 = new SQLExecutionUnit("ds", "SELECT * FROM test_0");
+            SQLExecutionUnit unit1 = new SQLExecutionUnit("ds", "SELECT * FROM test_1");
+            Map<SQLExecutionUnit, Connection> connections = actual.getConnections(SQLType.DQL, Arrays.asList(unit0, unit1));
+            assertSame(connections.get(unit0), connections.get(unit1));
+            assertTrue(actual.getCachedParallelConnections().isEmpty());
+        }
+    }
+    
+    @Test
+    public void assertGetConnectionsWithMaxConnectionsSizePerQueryAndMasterSlave() throws SQLException {
+        connection = createShardingConnection(DS_NAME, masterSlaveDataSource, 2);
+        SQLExecutionUnit unit0 = new SQLExecutionUnit(DS_NAME, "SELECT * FROM test_0");
+        SQLExecutionUnit unit1 = new SQLExecutionUnit(DS_NAME, "SELECT * FROM test_1");
+        Connection slaveParallelConnection = connection.getConnections(SQLType.DQL, Arrays.asList(unit0, unit1)).get(unit1);
+        assertThat(connection.getCachedParallelConnections().get("test_ds_slave").size(), is(1));
+        Connection masterConnection = connection.getConnection(DS_NAME, SQLType.DML);
+        Map<SQLExecutionUnit, Connection> connections = connection.getConnections(SQLType.DQL, Arrays.asList(unit0, unit1));
+        assertSame(masterConnection, connections.get(unit0));
+        assertNotSame(masterConnection, connections.get(unit1));
+        assertNotSame(slaveParallelConnection, connections.get(unit1));
+        assertSame(connections.get(unit1), connection.getCachedParallelConnections().get("test_ds_master").get(0));
+    }
+    
+    private ShardingConnection createShardingConnection(final int maxConnectionsSizePerQuery) throws SQLException {
+        return createShardingConnection("ds", new TestDataSource("ds"), maxConnectionsSizePerQuery);
+    }
+    
+    private ShardingConnection createShardingConnection(final String dataSourceName, final DataSource dataSource, final int maxConnectionsSizePerQuery) throws SQLException {
+        ShardingRuleConfiguration shardingRuleConfig = new ShardingRuleConfiguration();
+        TableRuleConfiguration tableRuleConfig = new TableRuleConfiguration();
+        tableRuleConfig.setLogicTable("test");
+        shardingRuleConfig.getTableRuleConfigs().add(tableRuleConfig);
+        Map<String, DataSource> dataSourceMap = new HashMap<>(1, 1);
+        dataSourceMap.put(dataSourceName, dataSource);
+        Properties props = new Properties();
+        props.setProperty(ShardingPropertiesConstant.MAX_CONNECTIONS_SIZE_PER_QUERY.getKey(), String.valueOf(maxConnectionsSizePerQuery));
+        return new ShardingConnection(new ShardingContext(shardingRuleConfig.build(dataSourceMap), null, null, new ShardingProperties(props)));
+    }
+    
     @Test
     public void assertRelease() throws Exception {
         Connection conn = connection.getConnection(DS_NAME, SQLType.DML);
         connection.release(conn);
         assertNotSame(conn, connection.getConnection(DS_NAME, SQLType.DML));
     }
+    
+    @Test
+    public void assertCommitInParallel() throws SQLException {
+        try (ExecutorEngine executorEngine = new ExecutorEngine(2)) {
+            ShardingConnection actual = createParallelTransactionShardingConnection(executorEngine);
+            Connection connection0 = mock(Connection.class);
+            Connection connection1 = mock(Connection.class);
+            actual.getCachedConnections().put("ds_0", connection0);
+            actual.getCachedConnections().put("ds_1", connection1);
+            actual.commit();
+            verify(connection0).commit();
+            verify(connection1).commit();
+        }
+    }
+    
+    @Test
+    public void assertRollbackInParallelWithException() throws SQLException {
+        try (ExecutorEngine executorEngine = new ExecutorEngine(2)) {
+            ShardingConnection actual = createParallelTransactionShardingConnection(executorEngine);
+            Connection connection0 = mock(Connection.class);
+            Connection connection1 = mock(Connection.class);
+            Connection connection2 = mock(Connection.class);
+            SQLException expected = new SQLException("rollback failure");
+            doThrow(expected).when(connection1).rollback();
+            actual.getCachedConnections().put("ds_0", connection0);
+            actual.getCachedConnections().put("ds_1", connection1);
+            actual.getCachedConnections().put("ds_2", connection2);
+            try {
+                actual.rollback();
+                fail("SQLException should be thrown.");
+            } catch (final SQLException ex) {
+                assertSame(expected, ex.getNextException());
+            }
+            verify(connection0).rollback();
+            verify(connection2).rollback();
+        }
+    }
+    
+    private ShardingConnection createParallelTransactionShardingConnection(final ExecutorEngine executorEngine) throws SQLException {
+        ShardingRuleConfiguration shardingRuleConfig = new ShardingRuleConfiguration();
+        TableRuleConfiguration tableRuleConfig = new TableRuleConfiguration();
+        tableRuleConfig.setLogicTable("test");
+        shardingRuleConfig.getTableRuleConfigs().add(tableRuleConfig);
+        Map<String, DataSource> dataSourceMap = new HashMap<>(1, 1);
+        dataSourceMap.put("ds", new TestDataSource("ds"));
+        Properties props = new Properties();
+        props.setProperty(ShardingPropertiesConstant.TRANSACTION_PARALLEL_ENABLED.getKey(), Boolean.TRUE.toString());
+        return new ShardingConnection(new ShardingContext(shardingRuleConfig.build(dataSourceMap), null, executorEngine, new ShardingProperties(props)));
+    }
 }
@@ -25,6 +25,7 @@ import io.shardingjdbc.core.api.config.TableRuleConfiguration;
 import io.shardingjdbc.core.constant.SQLType;
 import io.shardingjdbc.core.constant.ShardingPropertiesConstant;
 import io.shardingjdbc.core.executor.ExecutorEngine;
+import io.shardingjdbc.core.executor.ExecutorRejectionPolicy;
 import org.junit.Test;
 
 import javax.sql.DataSource;
@@ -171,6 +172,45 @@ public final class ShardingDataSourceTest {
         assertThat(originExecutorEngine, not(getExecutorEngine(shardingDataSource)));
     }
     
+    @Test
+    public void assertRenewWithChangeExecutorEngineQueueSize() throws SQLException, NoSuchFieldException, IllegalAccessException {
+        DataSource originalDataSource = mockDataSource("H2");
+        Map<String, DataSource> originalDataSourceMap = new HashMap<>(1, 1);
+        originalDataSourceMap.put("ds", originalDataSource);
+        ShardingDataSource shardingDataSource = createShardingDataSource(originalDataSourceMap);
+        final ExecutorEngine originExecutorEngine = getExecutorEngine(shardingDataSource);
+        DataSource newDataSource = mockDataSource("H2");
+        Map<String, DataSource> newDataSourceMap = new HashMap<>(1, 1);
+        newDataSourceMap.put("ds", newDataSource);
+        Properties props = new Properties();
+        props.setProperty(ShardingPropertiesConstant.EXECUTOR_QUEUE_SIZE.getKey(), "100");
+        props.setProperty(ShardingPropertiesConstant.EXECUTOR_REJECTION_POLICY.getKey(), "ABORT");
+        shardingDataSource.renew(createShardingRuleConfig(newDataSourceMap).build(newDataSourceMap), props);
+        assertThat(originExecutorEngine, not(getExecutorEngine(shardingDataSource)));
+        assertThat(getExecutorEngine(shardingDataSource).getConfiguration().getQueueSize(), is(100));
+    }
+    
+    @Test
+    public void assertRenewWithLowerCaseRejectionPolicy() throws SQLException, NoSuchFieldException, IllegalAccessException {
+        Map<String, DataSource> dataSourceMap = new HashMap<>(1, 1);
+        dataSourceMap.put("ds", mockDataSource("H2"));
+        ShardingDataSource shardingDataSource = createShardingDataSource(dataSourceMap);
+        Properties props = new Properties();
+        props.setProperty(ShardingPropertiesConstant.EXECUTOR_REJECTION_POLICY.getKey(), "abort");
+        shardingDataSource.renew(createShardingRuleConfig(dataSourceMap).build(dataSourceMap), props);
+        assertThat(getExecutorEngine(shardingDataSource).getConfiguration().getRejectionPolicy(), is(ExecutorRejectionPolicy.ABORT));
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void assertRenewWithInvalidRejectionPolicy() throws SQLException {
+        Map<String, DataSource> dataSourceMap = new HashMap<>(1, 1);
+        dataSourceMap.put("ds", mockDataSource("H2"));
+        ShardingDataSource shardingDataSource = createShardingDataSource(dataSourceMap);
+        Properties props = new Properties();
+        props.setProperty(ShardingPropertiesConstant.EXECUTOR_REJECTION_POLICY.getKey(), "DISCARD");
+        shardingDataSource.renew(createShardingRuleConfig(dataSourceMap).build(dataSourceMap), props);
+    }
+    
     // TODO to be discuss
     // @Test(expected = IllegalStateException.class)
     @Test
@@ -0,0 +1,214 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+package io.shardingjdbc.core.jdbc.core.resultset;
+
+import io.shardingjdbc.core.executor.ExecutorEngine;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Date;
+import java.util.TimeZone;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public final class PrefetchResultSetTest {
+    
+    private ExecutorEngine executorEngine;
+    
+    private ResultSet resultSet;
+    
+    @Before
+    public void setUp() throws SQLException {
+        executorEngine = new ExecutorEngine(1);
+        resultSet = mock(ResultSet.class);
+        ResultSetMetaData resultSetMetaData = mock(ResultSetMetaData.class);
+        when(resultSet.getMetaData()).thenReturn(resultSetMetaData);
+        when(resultSetMetaData.getColumnCount()).thenReturn(3);
+        when(resultSetMetaData.getColumnLabel(1)).thenReturn("order_id");
+        when(resultSetMetaData.getColumnLabel(2)).thenReturn("status");
+        when(resultSetMetaData.getColumnLabel(3)).thenReturn("create_time");
+    }
+    
+    @After
+    public void tearDown() {
+        executorEngine.close();
+    }
+    
+    private ResultSet prefetch(final int maxRows, final long maxBytes) throws SQLException {
+        return PrefetchResultSet.prefetch(Collections.singletonList(resultSet), maxRows, maxBytes, executorEngine).get(0);
+    }
+    
+    @Test
+    public void assertNext() throws SQLException {
+        when(resultSet.next()).thenReturn(true, true, false);
+        when(resultSet.getObject(1)).thenReturn(1L, 2L);
+        when(resultSet.getObject(2)).thenReturn("init", (Object) null);
+        when(resultSet.getObject(3)).thenReturn(new Date(1000L), (Object) null);
+        ResultSet actual = prefetch(10, 0L);
+        assertTrue(actual.next());
+        assertThat(actual.getInt(1), is(1));
+        assertThat(actual.getBigDecimal("order_id"), is(new BigDecimal(1L)));
+        assertThat(actual.getString("STATUS"), is("init"));
+        assertFalse(actual.wasNull());
+        assertThat(actual.getTimestamp(3), is(new Timestamp(1000L)));
+        assertTrue(actual.next());
+        assertThat(actual.getLong(1), is(2L));
+        assertThat(actual.getString(2), nullValue());
+        assertTrue(actual.wasNull());
+        assertThat(actual.getDate(3), nullValue());
+        assertFalse(actual.next());
+        actual.close();
+        verify(resultSet).close();
+    }
+    
+    @Test
+    public void assertGetStringOfUnderlyingResultSet() throws SQLException {
+        when(resultSet.next()).thenReturn(true, false);
+        when(resultSet.getObject(1)).thenReturn(new BigDecimal("1.50"));
+        when(resultSet.getString(1)).thenReturn("1.50");
+        when(resultSet.getObject(2)).thenReturn(true);
+        when(resultSet.getString(2)).thenReturn("1");
+        when(resultSet.getObject(3)).thenReturn(new Timestamp(1000L));
+        when(resultSet.getString(3)).thenReturn("1970-01-01 00:00:01.0");
+        ResultSet actual = prefetch(10, 0L);
+        assertTrue(actual.next());
+        assertThat(actual.getString(1), is("1.50"));
+        assertThat(actual.getString("status"), is("1"));
+        assertTrue(actual.getBoolean(2));
+        assertThat(actual.getString(3), is("1970-01-01 00:00:01.0"));
+        assertFalse(actual.next());
+    }
+    
+    @Test
+    public void assertGetTimestampWithCalendar() throws SQLException {
+        Calendar defaultCalendar = Calendar.getInstance();
+        defaultCalendar.clear();
+        defaultCalendar.set(2018, Calendar.JANUARY, 1, 10, 20, 30);
+        Timestamp value = new Timestamp(defaultCalendar.getTimeInMillis());
+        value.setNanos(123456789);
+        when(resultSet.next()).thenReturn(true, false);
+        when(resultSet.getObject(3)).thenReturn(value);
+        Calendar calendar = Calendar.getInstance(TimeZone.getTimeZone("GMT+14"));
+        calendar.clear();
+        calendar.set(2018, Calendar.JANUARY, 1, 10, 20, 30);
+        Timestamp expected = new Timestamp(calendar.getTimeInMillis());
+        expected.setNanos(123456789);
+        ResultSet actual = prefetch(10, 0L);
+        assertTrue(actual.next());
+        assertThat(actual.getTimestamp(3), is(value));
+        assertThat(actual.getTimestamp("create_time", Calendar.getInstance(TimeZone.getTimeZone("GMT+14"))), is(expected));
+        assertThat(actual.getDate(3, Calendar.getInstance(TimeZone.getTimeZone("GMT+14"))).getTime(), is(calendar.getTimeInMillis() + 123L));
+    }
+    
+    @Test
+    public void assertPrefetchBoundedByRows() throws SQLException {
+        when(resultSet.next()).thenReturn(true, true, true, false);
+        ResultSet actual = prefetch(1, 0L);
+        verify(resultSet, timeout(1000L).times(1)).next();
+        assertTrue(actual.next());
+        verify(resultSet, timeout(1000L).times(2)).next();
+        assertTrue(actual.next());
+        assertTrue(actual.next());
+        assertFalse(actual.next());
+        verify(resultSet, times(4)).next();
+    }
+    
+    @Test
+    public void assertPrefetchBoundedByBytes() throws SQLException {
+        when(resultSet.next()).thenReturn(true, true, true, false);
+        ResultSet actual = prefetch(10, 1L);
+        verify(resultSet, timeout(1000L).times(1)).next();
+        assertTrue(actual.next());
+        assertTrue(actual.next());
+        assertTrue(actual.next());
+        assertFalse(actual.next());
+    }
+    
+    @Test
+    public void assertPrefetchWithConnectionLocked() throws SQLException, InterruptedException {
+        Statement statement = mock(Statement.class);
+        Connection connection = mock(Connection.class);
+        when(resultSet.getStatement()).thenReturn(statement);
+        when(statement.getConnection()).thenReturn(connection);
+        when(resultSet.next()).thenReturn(true, false);
+        ResultSet actual;
+        synchronized (connection) {
+            actual = prefetch(10, 0L);
+            Thread.sleep(100L);
+            verify(resultSet, never()).next();
+        }
+        assertTrue(actual.next());
+        assertFalse(actual.next());
+    }
+    
+    @Test
+    public void assertCloseWhilePrefetching() throws SQLException {
+        when(resultSet.next()).thenReturn(true);
+        ResultSet actual = prefetch(1, 0L);
+        assertTrue(actual.next());
+        actual.close();
+        assertTrue(actual.isClosed());
+        assertFalse(actual.next());
+        verify(resultSet).close();
+    }
+    
+    @Test
+    public void assertNextWithPrefetchException() throws SQLException {
+        when(resultSet.next()).thenReturn(true).thenThrow(new SQLException("test"));
+        ResultSet actual = prefetch(10, 0L);
+        assertTrue(actual.next());
+        try {
+            actual.next();
+            fail("Expected SQLException");
+        } catch (final SQLException ex) {
+            assertThat(ex.getMessage(), is("test"));
+        }
+    }
+    
+    @Test
+    public void assertPrefetchWithRejectedTask() throws SQLException {
+        executorEngine.close();
+        when(resultSet.next()).thenReturn(true, true, false);
+        ResultSet actual = prefetch(1, 0L);
+        verify(resultSet).next();
+        assertTrue(actual.next());
+        assertTrue(actual.next());
+        assertFalse(actual.next());
+        verify(resultSet, times(3)).next();
+    }
+}
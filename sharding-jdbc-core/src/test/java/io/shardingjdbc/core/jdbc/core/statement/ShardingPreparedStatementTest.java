@@ -20,8 +20,11 @@ package io.shardingjdbc.core.jdbc.core.statement;
 import io.shardingjdbc.core.common.base.AbstractShardingJDBCDatabaseAndTableTest;
 import io.shardingjdbc.core.integrate.sql.DatabaseTestSQL;
 import io.shardingjdbc.core.constant.DatabaseType;
+import io.shardingjdbc.core.constant.ShardingPropertiesConstant;
 import io.shardingjdbc.core.executor.event.DMLExecutionEvent;
 import io.shardingjdbc.core.executor.event.EventExecutionType;
+import io.shardingjdbc.core.jdbc.core.connection.ShardingConnection;
+import io.shardingjdbc.core.jdbc.core.datasource.ShardingDataSource;
 import io.shardingjdbc.core.jdbc.util.JDBCTestSQL;
 import io.shardingjdbc.core.util.EventBusInstance;
 import com.google.common.eventbus.Subscribe;
@@ -33,7 +36,10 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
 
 import static io.shardingjdbc.core.common.util.SQLPlaceholderUtil.replacePreparedStatement;
 import static org.hamcrest.CoreMatchers.hasItem;
@@ -68,6 +74,267 @@ public final class ShardingPreparedStatementTest extends AbstractShardingJDBCDat
         }
     }
     
+    @Test
+    public void assertExecuteQueryWithCachedStatements() throws SQLException {
+        try (
+                Connection connection = getShardingDataSource().getConnection();
+                ShardingPreparedStatement preparedStatement = (ShardingPreparedStatement) connection.prepareStatement(DatabaseTestSQL.SELECT_COUNT_AS_ORDERS_COUNT_SQL)) {
+            preparedStatement.setString(1, "init");
+            preparedStatement.executeQuery();
+            List<PreparedStatement> expected = new ArrayList<>(preparedStatement.getRoutedStatements());
+            assertThat(expected.size(), is(4));
+            preparedStatement.setString(1, "init");
+            ResultSet resultSet = preparedStatement.executeQuery();
+            assertTrue(resultSet.next());
+            assertThat(resultSet.getLong(1), is(4L));
+            assertThat(new ArrayList<>(preparedStatement.getRoutedStatements()), is(expected));
+            preparedStatement.close();
+            for (PreparedStatement each : expected) {
+                assertTrue(each.isClosed());
+            }
+        }
+    }
+    
+    @Test
+    public void assertExecuteQueryWithoutCachedStatements() throws SQLException {
+        Properties props = new Properties();
+        props.setProperty(ShardingPropertiesConstant.STATEMENT_CACHE_SIZE.getKey(), String.valueOf(0));
+        try (
+                ShardingDataSource shardingDataSource = createShardingDataSource(props);
+                Connection connection = shardingDataSource.getConnection();
+                ShardingPreparedStatement preparedStatement = (ShardingPreparedStatement) connection.prepareStatement(DatabaseTestSQL.SELECT_COUNT_AS_ORDERS_COUNT_SQL)) {
+            preparedStatement.setString(1, "init");
+            preparedStatement.executeQuery();
+            List<PreparedStatement> previous = new ArrayList<>(preparedStatement.getRoutedStatements());
+            preparedStatement.setString(1, "init");
+            ResultSet resultSet = preparedStatement.executeQuery();
+            assertTrue(resultSet.next());
+            assertThat(resultSet.getLong(1), is(4L));
+            for (PreparedStatement each : previous) {
+                assertTrue(each.isClosed());
+                assertFalse(preparedStatement.getRoutedStatements().contains(each));
+            }
+        }
+    }
+    
+    @Test
+    public void assertExecuteQueryWithConnectionReleased() throws SQLException {
+        Properties props = new Properties();
+        props.setProperty(ShardingPropertiesConstant.CONNECTION_RELEASE_ENABLED.getKey(), Boolean.TRUE.toString());
+        try (
+                ShardingDataSource shardingDataSource = createShardingDataSource(props);
+                ShardingConnection connection = shardingDataSource.getConnection();
+                PreparedStatement preparedStatement = connection.prepareStatement(DatabaseTestSQL.SELECT_COUNT_AS_ORDERS_COUNT_SQL)) {
+            connection.setTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
+            for (int i = 0; i < 2; i++) {
+                preparedStatement.setString(1, "init");
+                ResultSet resultSet = preparedStatement.executeQuery();
+                assertThat(connection.getCachedConnections().size(), is(2));
+                for (Connection each : connection.getCachedConnections().values()) {
+                    assertThat(each.getTransactionIsolation(), is(Connection.TRANSACTION_SERIALIZABLE));
+                }
+                assertTrue(resultSet.next());
+                assertThat(resultSet.getLong(1), is(4L));
+                assertFalse(resultSet.next());
+                assertTrue(connection.getCachedConnections().isEmpty());
+            }
+            connection.setAutoCommit(false);
+            preparedStatement.setString(1, "init");
+            ResultSet resultSet = preparedStatement.executeQuery();
+            assertTrue(resultSet.next());
+            assertFalse(resultSet.next());
+            assertThat(connection.getCachedConnections().size(), is(2));
+        }
+    }
+    
+    @Test
+    public void assertExecuteQueryWithParameterAndMaxConnectionsSizePerQuery() throws SQLException {
+        Properties props = new Properties();
+        props.setProperty(ShardingPropertiesConstant.MAX_CONNECTIONS_SIZE_PER_QUERY.getKey(), String.valueOf(2));
+        try (
+                ShardingDataSource shardingDataSource = createShardingDataSource(props);
+                Connection connection = shardingDataSource.getConnection();
+                PreparedStatement preparedStatement = connection.prepareStatement(DatabaseTestSQL.SELECT_COUNT_AS_ORDERS_COUNT_SQL)) {
+            preparedStatement.setString(1, "init");
+            ResultSet resultSet = preparedStatement.executeQuery();
+            assertTrue(resultSet.next());
+            assertThat(resultSet.getLong(1), is(4L));
+            assertFalse(resultSet.next());
+            preparedStatement.setString(1, "init");
+            assertTrue(preparedStatement.execute());
+            assertTrue(preparedStatement.getResultSet().next());
+            assertThat(preparedStatement.getResultSet().getLong(1), is(4L));
+        }
+    }
+    
+    @Test
+    public void assertExecuteQueryWithParameterAndUnionAllRewrite() throws SQLException {
+        Properties props = new Properties();
+        props.setProperty(ShardingPropertiesConstant.REWRITE_UNION_ALL_ENABLED.getKey(), Boolean.TRUE.toString());
+        try (
+                ShardingDataSource shardingDataSource = createShardingDataSource(props);
+                Connection connection = shardingDataSource.getConnection();
+                PreparedStatement preparedStatement = connection.prepareStatement("SELECT user_id FROM t_order WHERE status = ? LIMIT ?, ?")) {
+            preparedStatement.setString(1, "init");
+            preparedStatement.setInt(2, 1);
+            preparedStatement.setInt(3, 2);
+            ResultSet resultSet = preparedStatement.executeQuery();
+            assertTrue(resultSet.next());
+            assertTrue(resultSet.next());
+            assertFalse(resultSet.next());
+            preparedStatement.setString(1, "init");
+            preparedStatement.setInt(2, 3);
+            preparedStatement.setInt(3, 2);
+            resultSet = preparedStatement.executeQuery();
+            assertTrue(resultSet.next());
+            assertFalse(resultSet.next());
+        }
+        try (
+                ShardingDataSource shardingDataSource = createShardingDataSource(props);
+                Connection connection = shardingDataSource.getConnection();
+                PreparedStatement preparedStatement = connection.prepareStatement("SELECT COUNT(*) FROM t_order WHERE user_id = ?")) {
+            preparedStatement.setInt(1, 10);
+            assertTrue(preparedStatement.execute());
+            assertTrue(preparedStatement.getResultSet().next());
+            assertThat(preparedStatement.getResultSet().getLong(1), is(2L));
+            assertFalse(preparedStatement.getResultSet().next());
+        }
+    }
+    
+    @Test
+    public void assertExecuteQueryWithLimitAndWithoutOrderBy() throws SQLException {
+        try (
+                Connection connection = getShardingDataSource().getConnection();
+                PreparedStatement preparedStatement = connection.prepareStatement("SELECT user_id, order_id FROM t_order WHERE status = ? LIMIT ?")) {
+            preparedStatement.setString(1, "init");
+            preparedStatement.setInt(2, 3);
+            int count = 0;
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    count++;
+                }
+            }
+            assertThat(count, is(3));
+            preparedStatement.setString(1, "init");
+            preparedStatement.setInt(2, 1);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                assertTrue(resultSet.next());
+                assertFalse(resultSet.next());
+            }
+        }
+    }
+    
+    @Test
+    public void assertReExecuteQueryWithLimitAndWithoutOrderByBeforeExhausted() throws SQLException {
+        Properties props = new Properties();
+        props.setProperty(ShardingPropertiesConstant.CONNECTION_RELEASE_ENABLED.getKey(), Boolean.TRUE.toString());
+        try (
+                ShardingDataSource shardingDataSource = createShardingDataSource(props);
+                ShardingConnection connection = shardingDataSource.getConnection();
+                PreparedStatement preparedStatement = connection.prepareStatement("SELECT user_id, order_id FROM t_order WHERE status = ? LIMIT ?")) {
+            preparedStatement.setString(1, "init");
+            preparedStatement.setInt(2, 1);
+            ResultSet previousResultSet = preparedStatement.executeQuery();
+            assertTrue(previousResultSet.next());
+            for (int i = 0; i < 2; i++) {
+                preparedStatement.setString(1, "init");
+                preparedStatement.setInt(2, 3);
+                ResultSet resultSet = preparedStatement.executeQuery();
+                assertTrue(previousResultSet.isClosed());
+                int count = 0;
+                while (resultSet.next()) {
+                    count++;
+                }
+                assertThat(count, is(3));
+                assertTrue(connection.getCachedConnections().isEmpty());
+                previousResultSet = resultSet;
+            }
+        }
+    }
+    
+    @Test
+    public void assertExecuteQueryWithInValuesPruned() throws SQLException {
+        try (
+                Connection connection = getShardingDataSource().getConnection();
+                PreparedStatement preparedStatement = connection.prepareStatement("SELECT order_id FROM t_order WHERE user_id = ? AND order_id IN (?, ?, ?) AND status = ? ORDER BY order_id")) {
+            preparedStatement.setString(5, "init");
+            preparedStatement.setInt(1, 10);
+            preparedStatement.setInt(2, 1000);
+            preparedStatement.setInt(3, 1001);
+            preparedStatement.setInt(4, 1100);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                assertTrue(resultSet.next());
+                assertThat(resultSet.getInt(1), is(1000));
+                assertTrue(resultSet.next());
+                assertThat(resultSet.getInt(1), is(1001));
+                assertFalse(resultSet.next());
+            }
+        }
+    }
+    
+    @Test
+    public void assertExecuteQueryWithDeepPaging() throws SQLException {
+        try (
+                Connection connection = getShardingDataSource().getConnection();
+                PreparedStatement preparedStatement = connection.prepareStatement("INSERT INTO t_order(order_id, user_id, status) VALUES (?, ?, ?)")) {
+            for (int i = 0; i < 40; i++) {
+                preparedStatement.setInt(1, 2000 + i * 3);
+                preparedStatement.setInt(2, 10 + i / 5 % 2);
+                preparedStatement.setString(3, "init");
+                preparedStatement.executeUpdate();
+            }
+        }
+        String sql = "SELECT order_id, user_id FROM t_order WHERE status = ? ORDER BY order_id LIMIT ?, ?";
+        List<List<Long>> expected = new ArrayList<>();
+        try (
+                Connection connection = getShardingDataSource().getConnection();
+                PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+            for (int offset = 0; offset < 48; offset += 5) {
+                expected.add(queryOrderIds(preparedStatement, offset));
+            }
+        }
+        Properties props = new Properties();
+        props.setProperty(ShardingPropertiesConstant.REWRITE_DEEP_PAGING_OFFSET_THRESHOLD.getKey(), String.valueOf(1));
+        try (
+                ShardingDataSource shardingDataSource = createShardingDataSource(props);
+                Connection connection = shardingDataSource.getConnection();
+                PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+            for (int offset = 0; offset < 48; offset += 5) {
+                assertThat(queryOrderIds(preparedStatement, offset), is(expected.get(offset / 5)));
+            }
+        }
+    }
+    
+    private List<Long> queryOrderIds(final PreparedStatement preparedStatement, final int offset) throws SQLException {
+        preparedStatement.setString(1, "init");
+        preparedStatement.setInt(2, offset);
+        preparedStatement.setInt(3, 4);
+        List<Long> result = new ArrayList<>();
+        try (ResultSet resultSet = preparedStatement.executeQuery()) {
+            while (resultSet.next()) {
+                result.add(resultSet.getLong("order_id"));
+            }
+        }
+        return result;
+    }
+    
+    @Test
+    public void assertExecuteQueryAsyncWithParameter() throws SQLException, ExecutionException, InterruptedException {
+        try (
+                Connection connection = getShardingDataSource().getConnection();
+                PreparedStatement preparedStatement = connection.prepareStatement(DatabaseTestSQL.SELECT_COUNT_AS_ORDERS_COUNT_SQL)) {
+            preparedStatement.setString(1, "init");
+            ResultSet resultSet = ((ShardingPreparedStatement) preparedStatement).executeQueryAsync().get();
+            assertTrue(resultSet.next());
+            assertThat(resultSet.getLong(1), is(4L));
+            assertThat(preparedStatement.getResultSet(), is(resultSet));
+            preparedStatement.setString(1, "null");
+            resultSet = ((ShardingPreparedStatement) preparedStatement).executeQueryAsync().get();
+            assertTrue(resultSet.next());
+            assertThat(resultSet.getLong(1), is(0L));
+        }
+    }
+    
     @Test
     public void assertExecuteQueryWithoutParameter() throws SQLException {
         String sql = JDBCTestSQL.SELECT_COUNT_ALIAS_SQL;
@@ -101,6 +368,75 @@ public final class ShardingPreparedStatementTest extends AbstractShardingJDBCDat
         }
     }
     
+    @Test
+    public void assertExecuteUpdateWithConnectionReleased() throws SQLException {
+        Properties props = new Properties();
+        props.setProperty(ShardingPropertiesConstant.CONNECTION_RELEASE_ENABLED.getKey(), Boolean.TRUE.toString());
+        try (
+                ShardingDataSource shardingDataSource = createShardingDataSource(props);
+                ShardingConnection connection = shardingDataSource.getConnection();
+                PreparedStatement preparedStatement = connection.prepareStatement(replacePreparedStatement(DatabaseTestSQL.UPDATE_WITHOUT_SHARDING_VALUE_SQL))) {
+            preparedStatement.setString(1, "init");
+            preparedStatement.setString(2, "init");
+            assertThat(preparedStatement.executeUpdate(), is(4));
+            assertTrue(connection.getCachedConnections().isEmpty());
+            preparedStatement.setFetchSize(10);
+            preparedStatement.setString(1, "init");
+            preparedStatement.setString(2, "init");
+            assertFalse(preparedStatement.execute());
+            assertThat(connection.getCachedConnections().size(), is(2));
+            assertThat(preparedStatement.getUpdateCount(), is(4));
+            assertTrue(connection.getCachedConnections().isEmpty());
+            preparedStatement.setMaxRows(10);
+            preparedStatement.setQueryTimeout(10);
+        }
+    }
+    
+    @Test
+    public void assertExecuteUpdateWithMultipleInsertValues() throws SQLException {
+        try (
+                Connection connection = getShardingDataSource().getConnection();
+                PreparedStatement preparedStatement = connection.prepareStatement("INSERT INTO t_order(order_id, user_id, status) VALUES (?, ?, ?), (?, ?, ?), (?, ?, ?)")) {
+            int count = 0;
+            for (Object each : Arrays.<Object>asList(3000, 10, "multi", 3001, 11, "multi", 3002, 10, "multi")) {
+                preparedStatement.setObject(++count, each);
+            }
+            assertThat(preparedStatement.executeUpdate(), is(3));
+        }
+        try (
+                Connection connection = getShardingDataSource().getConnection();
+                PreparedStatement preparedStatement = connection.prepareStatement("SELECT order_id FROM t_order WHERE user_id = ? AND status = ? ORDER BY order_id")) {
+            preparedStatement.setInt(1, 10);
+            preparedStatement.setString(2, "multi");
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                assertTrue(resultSet.next());
+                assertThat(resultSet.getInt(1), is(3000));
+                assertTrue(resultSet.next());
+                assertThat(resultSet.getInt(1), is(3002));
+                assertFalse(resultSet.next());
+            }
+            preparedStatement.setInt(1, 11);
+            preparedStatement.setString(2, "multi");
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                assertTrue(resultSet.next());
+                assertThat(resultSet.getInt(1), is(3001));
+                assertFalse(resultSet.next());
+            }
+        }
+    }
+    
+    @Test
+    public void assertExecuteUpdateAsyncWithParameter() throws SQLException, ExecutionException, InterruptedException {
+        try (
+                Connection connection = getShardingDataSource().getConnection();
+                PreparedStatement preparedStatement = connection.prepareStatement(replacePreparedStatement(DatabaseTestSQL.DELETE_WITHOUT_SHARDING_VALUE_SQL))) {
+            preparedStatement.setString(1, "init");
+            assertThat(((ShardingPreparedStatement) preparedStatement).executeUpdateAsync().get(), is(4));
+            preparedStatement.setString(1, "init");
+            assertThat(((ShardingPreparedStatement) preparedStatement).executeUpdateAsync().get(), is(0));
+        }
+    }
+    
     @Test
     public void assertExecuteUpdateWithoutParameter() throws SQLException {
         String sql = String.format(DatabaseTestSQL.DELETE_WITHOUT_SHARDING_VALUE_SQL, "'init'");
@@ -418,6 +754,91 @@ public final class ShardingPreparedStatementTest extends AbstractShardingJDBCDat
         }
     }
     
+    @Test
+    public void assertAddBatchWithParameterSets() throws SQLException {
+        try (
+                Connection connection = getShardingDataSource().getConnection();
+                ShardingPreparedStatement preparedStatement = (ShardingPreparedStatement) connection.prepareStatement("INSERT INTO t_order(order_id, user_id, status) VALUES (?, ?, ?)")) {
+            List<List<Object>> parameterSets = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                parameterSets.add(Arrays.<Object>asList(4000 + i, 10 + i / 2 % 2, "bulk"));
+            }
+            preparedStatement.addBatch(parameterSets);
+            assertThat(preparedStatement.getBatchStatementUnits().size(), is(4));
+            assertThat(preparedStatement.getParameterSets(), is(parameterSets));
+            int[] result = preparedStatement.executeBatch();
+            assertThat(result.length, is(8));
+            if (DatabaseType.Oracle != getCurrentDatabaseType()) {
+                for (int each : result) {
+                    assertThat(each, is(1));
+                }
+            }
+        }
+        try (
+                Connection connection = getShardingDataSource().getConnection();
+                PreparedStatement preparedStatement = connection.prepareStatement("SELECT COUNT(*) FROM t_order WHERE status = ?")) {
+            preparedStatement.setString(1, "bulk");
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                assertTrue(resultSet.next());
+                assertThat(resultSet.getInt(1), is(8));
+            }
+        }
+    }
+    
+    @Test
+    public void assertAddBatchWithSameShardingParameters() throws SQLException {
+        Properties props = new Properties();
+        props.setProperty(ShardingPropertiesConstant.ROUTING_CACHE_SIZE.getKey(), "16");
+        try (
+                ShardingDataSource shardingDataSource = createShardingDataSource(props);
+                ShardingConnection connection = shardingDataSource.getConnection();
+                ShardingPreparedStatement preparedStatement = (ShardingPreparedStatement) connection.prepareStatement("UPDATE t_order SET status = ? WHERE user_id = ? AND order_id = ?")) {
+            List<List<Object>> parameterSets = new ArrayList<>();
+            parameterSets.add(Arrays.<Object>asList("batch", 10, 1000));
+            parameterSets.add(Arrays.<Object>asList("batch", 11, 1100));
+            parameterSets.add(Arrays.<Object>asList("updated", 10, 1000));
+            parameterSets.add(Arrays.<Object>asList("updated", 11, 1100));
+            preparedStatement.addBatch(parameterSets);
+            assertThat(preparedStatement.getBatchStatementUnits().size(), is(2));
+            assertThat(connection.getShardingContext().getRouteResultCache().getMissCount(), is(2L));
+            assertThat(connection.getShardingContext().getRouteResultCache().getHitCount(), is(0L));
+            int[] result = preparedStatement.executeBatch();
+            assertThat(result.length, is(4));
+            if (DatabaseType.Oracle != getCurrentDatabaseType()) {
+                for (int each : result) {
+                    assertThat(each, is(1));
+                }
+            }
+        }
+    }
+    
+    @Test
+    public void assertUpdateBatchWithInValuesPruned() throws SQLException {
+        try (
+                Connection connection = getShardingDataSource().getConnection();
+                PreparedStatement preparedStatement = connection.prepareStatement("UPDATE t_order SET status = ? WHERE user_id = ? AND order_id IN (?, ?)")) {
+            preparedStatement.setString(1, "batch");
+            preparedStatement.setInt(2, 10);
+            preparedStatement.setInt(3, 1000);
+            preparedStatement.setInt(4, 1001);
+            preparedStatement.addBatch();
+            preparedStatement.setString(1, "batch");
+            preparedStatement.setInt(2, 11);
+            preparedStatement.setInt(3, 1100);
+            preparedStatement.setInt(4, 1102);
+            preparedStatement.addBatch();
+            int[] result = preparedStatement.executeBatch();
+            assertThat(result.length, is(2));
+            if (DatabaseType.Oracle == getCurrentDatabaseType()) {
+                assertThat(result[0], is(-2));
+                assertThat(result[1], is(-2));
+            } else {
+                assertThat(result[0], is(2));
+                assertThat(result[1], is(1));
+            }
+        }
+    }
+    
     @Test
     public void assertClearBatch() throws SQLException {
         try (
@@ -19,12 +19,18 @@ package io.shardingjdbc.core.jdbc.core.statement;
 
 import io.shardingjdbc.core.common.base.AbstractShardingJDBCDatabaseAndTableTest;
 import io.shardingjdbc.core.constant.DatabaseType;
+import io.shardingjdbc.core.constant.ShardingPropertiesConstant;
+import io.shardingjdbc.core.jdbc.core.datasource.ShardingDataSource;
 import org.junit.Test;
 
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
 
 import static junit.framework.TestCase.assertFalse;
 import static org.hamcrest.CoreMatchers.is;
@@ -54,6 +60,105 @@ public final class ShardingStatementTest extends AbstractShardingJDBCDatabaseAnd
         }
     }
 
+    @Test
+    public void assertExecuteQueryWithMaxConnectionsSizePerQuery() throws SQLException {
+        Properties props = new Properties();
+        props.setProperty(ShardingPropertiesConstant.MAX_CONNECTIONS_SIZE_PER_QUERY.getKey(), String.valueOf(2));
+        try (
+                ShardingDataSource shardingDataSource = createShardingDataSource(props);
+                Connection connection = shardingDataSource.getConnection();
+                Statement stmt = connection.createStatement()) {
+            ResultSet resultSet = stmt.executeQuery(sql);
+            assertTrue(resultSet.next());
+            assertThat(resultSet.getLong(1), is(4L));
+            assertFalse(resultSet.next());
+            resultSet = stmt.executeQuery("SELECT user_id FROM t_order WHERE status = 'init'");
+            int count = 0;
+            while (resultSet.next()) {
+                count++;
+            }
+            assertThat(count, is(4));
+        }
+    }
+
+    @Test
+    public void assertExecuteQueryWithPrefetch() throws SQLException {
+        Properties props = new Properties();
+        props.setProperty(ShardingPropertiesConstant.MERGE_PREFETCH_ROWS.getKey(), String.valueOf(1));
+        try (
+                ShardingDataSource shardingDataSource = createShardingDataSource(props);
+                Connection connection = shardingDataSource.getConnection();
+                Statement stmt = connection.createStatement();
+                ResultSet resultSet = stmt.executeQuery("SELECT user_id, order_id FROM t_order WHERE status = 'init' ORDER BY order_id")) {
+            long previousOrderId = Long.MIN_VALUE;
+            int count = 0;
+            while (resultSet.next()) {
+                assertTrue(resultSet.getLong("order_id") >= previousOrderId);
+                previousOrderId = resultSet.getLong("order_id");
+                count++;
+            }
+            assertThat(count, is(4));
+        }
+    }
+
+    @Test
+    public void assertExecuteQueryWithLimitAndWithoutOrderBy() throws SQLException {
+        try (
+                Connection connection = getShardingDataSource().getConnection();
+                Statement stmt = connection.createStatement()) {
+            try (ResultSet resultSet = stmt.executeQuery("SELECT user_id, order_id FROM t_order WHERE status = 'init' LIMIT 2")) {
+                assertTrue(resultSet.next());
+                assertTrue(resultSet.next());
+                assertFalse(resultSet.next());
+                assertThat(resultSet.getMetaData().getColumnCount(), is(2));
+            }
+            ResultSet resultSet = stmt.executeQuery("SELECT user_id, order_id FROM t_order WHERE status = 'init' LIMIT 1, 10");
+            assertTrue(resultSet.next());
+            resultSet.close();
+            assertTrue(resultSet.isClosed());
+        }
+    }
+    
+    @Test
+    public void assertExecuteQueryWithDeepPaging() throws SQLException {
+        try (
+                Connection connection = getShardingDataSource().getConnection();
+                Statement stmt = connection.createStatement()) {
+            for (int i = 0; i < 40; i++) {
+                stmt.executeUpdate(String.format("INSERT INTO t_order(order_id, user_id, status) VALUES (%d, %d, 'init')", 2000 + i * i, 10 + i / 3 % 2));
+            }
+        }
+        String sql = "SELECT o.order_id, o.user_id FROM t_order o WHERE o.status = 'init' ORDER BY o.order_id DESC LIMIT %d, 4";
+        List<List<Long>> expected = new ArrayList<>();
+        try (
+                Connection connection = getShardingDataSource().getConnection();
+                Statement stmt = connection.createStatement()) {
+            for (int offset = 0; offset < 48; offset += 5) {
+                expected.add(queryOrderIds(stmt, String.format(sql, offset)));
+            }
+        }
+        Properties props = new Properties();
+        props.setProperty(ShardingPropertiesConstant.REWRITE_DEEP_PAGING_OFFSET_THRESHOLD.getKey(), String.valueOf(1));
+        try (
+                ShardingDataSource shardingDataSource = createShardingDataSource(props);
+                Connection connection = shardingDataSource.getConnection();
+                Statement stmt = connection.createStatement()) {
+            for (int offset = 0; offset < 48; offset += 5) {
+                assertThat(queryOrderIds(stmt, String.format(sql, offset)), is(expected.get(offset / 5)));
+            }
+        }
+    }
+    
+    private List<Long> queryOrderIds(final Statement statement, final String sql) throws SQLException {
+        List<Long> result = new ArrayList<>();
+        try (ResultSet resultSet = statement.executeQuery(sql)) {
+            while (resultSet.next()) {
+                result.add(resultSet.getLong("order_id"));
+            }
+        }
+        return result;
+    }
+    
     @Test
     public void assertExecuteUpdate() throws SQLException {
         try (
@@ -63,6 +168,27 @@ public final class ShardingStatementTest extends AbstractShardingJDBCDatabaseAnd
         }
     }
 
+    @Test
+    public void assertExecuteQueryAsync() throws SQLException, ExecutionException, InterruptedException {
+        try (
+                Connection connection = getShardingDataSource().getConnection();
+                Statement stmt = connection.createStatement()) {
+            ResultSet resultSet = ((ShardingStatement) stmt).executeQueryAsync(sql).get();
+            assertTrue(resultSet.next());
+            assertThat(resultSet.getLong(1), is(4L));
+            assertThat(stmt.getResultSet(), is(resultSet));
+        }
+    }
+
+    @Test
+    public void assertExecuteUpdateAsync() throws SQLException, ExecutionException, InterruptedException {
+        try (
+                Connection connection = getShardingDataSource().getConnection();
+                Statement stmt = connection.createStatement()) {
+            assertThat(((ShardingStatement) stmt).executeUpdateAsync(sql2).get(), is(4));
+        }
+    }
+
     @Test
     public void assertExecute() throws SQLException {
         try (
@@ -17,21 +17,32 @@
 
 package io.shardingjdbc.core.keygen;
 
+import io.shardingjdbc.core.keygen.fixture.BackwardTimeService;
 import io.shardingjdbc.core.keygen.fixture.FixedTimeService;
+import org.junit.After;
 import org.junit.Test;
 
 import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertThat;
 
 public final class DefaultKeyGeneratorTest {
     
+    @After
+    public void tearDown() {
+        DefaultKeyGenerator.setTimeService(new TimeService());
+    }
+    
     @Test
     public void assertGenerateKey() throws Exception {
         int threadNumber = Runtime.getRuntime().availableProcessors() << 1;
@@ -51,6 +62,66 @@ public final class DefaultKeyGeneratorTest {
         assertThat(generatedKeys.size(), is(taskNumber));
     }
     
+    @Test
+    public void assertGenerateKeysConcurrently() throws Exception {
+        int threadNumber = Runtime.getRuntime().availableProcessors() << 1;
+        ExecutorService executor = Executors.newFixedThreadPool(threadNumber);
+        final DefaultKeyGenerator keyGenerator = new DefaultKeyGenerator();
+        List<Future<List<Number>>> futures = new ArrayList<>(threadNumber);
+        for (int i = 0; i < threadNumber; i++) {
+            futures.add(executor.submit(new Callable<List<Number>>() {
+                
+                @Override
+                public List<Number> call() throws Exception {
+                    List<Number> result = new ArrayList<>();
+                    for (int i = 0; i < 1000; i++) {
+                        result.add(keyGenerator.generateKey());
+                        result.addAll(keyGenerator.generateKeys(3));
+                    }
+                    return result;
+                }
+            }));
+        }
+        Set<Number> generatedKeys = new HashSet<>();
+        for (Future<List<Number>> each : futures) {
+            generatedKeys.addAll(each.get());
+        }
+        executor.shutdown();
+        assertThat(generatedKeys.size(), is(threadNumber * 4000));
+    }
+    
+    @Test
+    public void assertGenerateKeys() {
+        DefaultKeyGenerator keyGenerator = new DefaultKeyGenerator();
+        DefaultKeyGenerator.setTimeService(new FixedTimeService(1 << 13));
+        keyGenerator.generateKey();
+        assertThat(keyGenerator.generateKeys(3), is(Arrays.<Number>asList(1L, 2L, 3L)));
+        List<Number> actual = keyGenerator.generateKeys(1 << 12);
+        assertThat(actual.get((1 << 12) - 5).longValue(), is((1L << 12) - 1));
+        assertThat(actual.get((1 << 12) - 4).longValue(), is(1L << 22));
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void assertGenerateKeysFailureWhenTooMuch() {
+        new DefaultKeyGenerator().generateKeys((1 << 12) + 1);
+    }
+    
+    @Test
+    public void assertGenerateKeyWhenClockMovingBackwardsTolerated() {
+        DefaultKeyGenerator keyGenerator = new DefaultKeyGenerator();
+        DefaultKeyGenerator.setTimeService(new BackwardTimeService(DefaultKeyGenerator.EPOCH + 100L, DefaultKeyGenerator.EPOCH + 95L));
+        long first = keyGenerator.generateKey().longValue();
+        assertThat(keyGenerator.generateKey().longValue(), is(first + 1));
+    }
+    
+    @Test(expected = IllegalStateException.class)
+    public void assertGenerateKeyFailureWhenClockMovingBackwardsTooMuch() {
+        DefaultKeyGenerator keyGenerator = new DefaultKeyGenerator();
+        DefaultKeyGenerator.setTimeService(new BackwardTimeService(DefaultKeyGenerator.EPOCH + 100L, DefaultKeyGenerator.EPOCH + 50L));
+        keyGenerator.generateKey();
+        keyGenerator.generateKey();
+    }
+    
     @Test
     public void assertMaxSequence() {
         assertThat(maxId((1 << 12) - 1), is((1L << 12L) - 2));
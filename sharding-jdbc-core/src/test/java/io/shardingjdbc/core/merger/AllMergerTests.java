@@ -17,17 +17,20 @@
 
 package io.shardingjdbc.core.merger;
 
+import io.shardingjdbc.core.merger.common.ColumnarResultSetRowsTest;
 import io.shardingjdbc.core.merger.common.DecoratorResultSetMergerTest;
 import io.shardingjdbc.core.merger.common.MemoryResultSetMergerTest;
 import io.shardingjdbc.core.merger.common.MemoryResultSetRowTest;
 import io.shardingjdbc.core.merger.common.StreamResultSetMergerTest;
 import io.shardingjdbc.core.merger.groupby.GroupByMemoryResultSetMergerTest;
+import io.shardingjdbc.core.merger.groupby.GroupBySpillResultSetMergerTest;
 import io.shardingjdbc.core.merger.groupby.GroupByRowComparatorTest;
 import io.shardingjdbc.core.merger.groupby.GroupByStreamResultSetMergerTest;
 import io.shardingjdbc.core.merger.groupby.GroupByValueTest;
 import io.shardingjdbc.core.merger.groupby.aggregation.AllAggregationTests;
 import io.shardingjdbc.core.merger.iterator.IteratorStreamResultSetMergerTest;
 import io.shardingjdbc.core.merger.limit.LimitDecoratorResultSetMergerTest;
+import io.shardingjdbc.core.merger.orderby.OrderByLoserTreeResultSetMergerTest;
 import io.shardingjdbc.core.merger.orderby.OrderByStreamResultSetMergerTest;
 import io.shardingjdbc.core.merger.orderby.OrderByValueTest;
 import io.shardingjdbc.core.merger.util.ResultSetUtilTest;
@@ -41,13 +44,16 @@ import org.junit.runners.Suite;
         MemoryResultSetMergerTest.class, 
         DecoratorResultSetMergerTest.class, 
         MemoryResultSetRowTest.class, 
+        ColumnarResultSetRowsTest.class, 
         IteratorStreamResultSetMergerTest.class, 
         OrderByValueTest.class, 
         OrderByStreamResultSetMergerTest.class, 
+        OrderByLoserTreeResultSetMergerTest.class, 
         GroupByValueTest.class, 
         GroupByRowComparatorTest.class, 
         GroupByStreamResultSetMergerTest.class, 
         GroupByMemoryResultSetMergerTest.class, 
+        GroupBySpillResultSetMergerTest.class, 
         AllAggregationTests.class, 
         LimitDecoratorResultSetMergerTest.class, 
         ResultSetUtilTest.class
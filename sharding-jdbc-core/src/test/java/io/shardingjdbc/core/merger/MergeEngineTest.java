@@ -20,9 +20,11 @@ package io.shardingjdbc.core.merger;
 import io.shardingjdbc.core.constant.AggregationType;
 import io.shardingjdbc.core.constant.OrderType;
 import io.shardingjdbc.core.merger.groupby.GroupByMemoryResultSetMerger;
+import io.shardingjdbc.core.merger.groupby.GroupBySpillResultSetMerger;
 import io.shardingjdbc.core.merger.groupby.GroupByStreamResultSetMerger;
 import io.shardingjdbc.core.merger.iterator.IteratorStreamResultSetMerger;
 import io.shardingjdbc.core.merger.limit.LimitDecoratorResultSetMerger;
+import io.shardingjdbc.core.merger.orderby.OrderByLoserTreeResultSetMerger;
 import io.shardingjdbc.core.merger.orderby.OrderByStreamResultSetMerger;
 import io.shardingjdbc.core.parsing.parser.context.OrderItem;
 import io.shardingjdbc.core.parsing.parser.context.limit.Limit;
@@ -95,6 +97,13 @@ public final class MergeEngineTest {
         assertThat(((LimitDecoratorResultSetMerger) actual).getResultSetMerger(), instanceOf(OrderByStreamResultSetMerger.class));
     }
     
+    @Test
+    public void assertBuildOrderByLoserTreeResultSetMerger() throws SQLException {
+        selectStatement.getOrderByItems().add(new OrderItem(1, OrderType.DESC, OrderType.ASC));
+        mergeEngine = new MergeEngine(resultSets, selectStatement, 0, true);
+        assertThat(mergeEngine.merge(), instanceOf(OrderByLoserTreeResultSetMerger.class));
+    }
+    
     @Test
     public void assertBuildGroupByStreamResultSetMerger() throws SQLException {
         selectStatement.getGroupByItems().add(new OrderItem(1, OrderType.DESC, OrderType.ASC));
@@ -121,6 +130,13 @@ public final class MergeEngineTest {
         assertThat(mergeEngine.merge(), instanceOf(GroupByMemoryResultSetMerger.class));
     }
     
+    @Test
+    public void assertBuildGroupBySpillResultSetMerger() throws SQLException {
+        selectStatement.getGroupByItems().add(new OrderItem(1, OrderType.DESC, OrderType.ASC));
+        mergeEngine = new MergeEngine(resultSets, selectStatement, 1, false);
+        assertThat(mergeEngine.merge(), instanceOf(GroupBySpillResultSetMerger.class));
+    }
+    
     @Test
     public void assertBuildGroupByMemoryResultSetMergerWithLimit() throws SQLException {
         selectStatement.setLimit(new Limit(true));
@@ -0,0 +1,154 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.merger.common;
+
+import io.shardingjdbc.core.constant.OrderType;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Collections;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public final class ColumnarResultSetRowsTest {
+    
+    private ResultSetMetaData resultSetMetaData;
+    
+    @Before
+    public void setUp() throws SQLException {
+        resultSetMetaData = mock(ResultSetMetaData.class);
+        when(resultSetMetaData.getColumnCount()).thenReturn(4);
+        when(resultSetMetaData.getColumnType(1)).thenReturn(Types.BIGINT);
+        when(resultSetMetaData.getColumnType(2)).thenReturn(Types.INTEGER);
+        when(resultSetMetaData.getColumnType(3)).thenReturn(Types.DOUBLE);
+        when(resultSetMetaData.getColumnType(4)).thenReturn(Types.VARCHAR);
+    }
+    
+    @Test
+    public void assertAddAndGetCell() throws SQLException {
+        ColumnarResultSetRows actual = new ColumnarResultSetRows(resultSetMetaData, Collections.<Integer>emptyList());
+        assertThat(actual.add(mockResultSet(1L, 10, 1.5D, "a")), is(0));
+        assertThat(actual.add(mockResultSet(2L, 20, 2.5D, "a")), is(1));
+        assertThat(actual.size(), is(2));
+        assertThat(actual.getCell(1, 1), is((Object) 2L));
+        assertThat(actual.getCell(1, 2), is((Object) 20));
+        assertThat(actual.getCell(1, 3), is((Object) 2.5D));
+        assertThat(actual.getCell(1, 4), is((Object) "a"));
+    }
+    
+    @Test
+    public void assertAddWithNullValues() throws SQLException {
+        ColumnarResultSetRows actual = new ColumnarResultSetRows(resultSetMetaData, Collections.<Integer>emptyList());
+        actual.add(mockResultSet(null, null, null, null));
+        actual.add(mockResultSet(2L, 20, 2.5D, "b"));
+        actual.add(mockResultSet(null, null, null, null));
+        assertThat(actual.getCell(0, 1), nullValue());
+        assertThat(actual.getCell(0, 4), nullValue());
+        assertThat(actual.getCell(1, 1), is((Object) 2L));
+        assertThat(actual.getCell(1, 4), is((Object) "b"));
+        assertThat(actual.getCell(2, 2), nullValue());
+        assertThat(actual.getCell(2, 3), nullValue());
+    }
+    
+    @Test
+    public void assertAddWithObjectColumn() throws SQLException {
+        ColumnarResultSetRows actual = new ColumnarResultSetRows(resultSetMetaData, Collections.singletonList(1));
+        ResultSet resultSet = mockResultSet(1L, 10, 1.5D, "a");
+        when(resultSet.getObject(1)).thenReturn(new BigDecimal("1"));
+        actual.add(resultSet);
+        assertThat(actual.getCell(0, 1), is((Object) new BigDecimal("1")));
+    }
+    
+    @Test
+    public void assertSetCell() throws SQLException {
+        ColumnarResultSetRows actual = new ColumnarResultSetRows(resultSetMetaData, Collections.<Integer>emptyList());
+        actual.add(mockResultSet(1L, 10, 1.5D, "a"));
+        actual.setCell(0, 1, 5L);
+        actual.setCell(0, 4, null);
+        assertThat(actual.getCell(0, 1), is((Object) 5L));
+        assertThat(actual.getCell(0, 4), nullValue());
+    }
+    
+    @Test
+    public void assertSetCellWithOtherType() throws SQLException {
+        ColumnarResultSetRows actual = new ColumnarResultSetRows(resultSetMetaData, Collections.<Integer>emptyList());
+        actual.add(mockResultSet(1L, 10, 1.5D, "a"));
+        actual.add(mockResultSet(2L, 20, 2.5D, "b"));
+        actual.setCell(1, 2, new BigDecimal("30"));
+        assertThat(actual.getCell(0, 2), is((Object) 10));
+        assertThat(actual.getCell(1, 2), instanceOf(BigDecimal.class));
+    }
+    
+    @Test
+    public void assertCompare() throws SQLException {
+        ColumnarResultSetRows actual = new ColumnarResultSetRows(resultSetMetaData, Collections.<Integer>emptyList());
+        actual.add(mockResultSet(1L, 10, 2.5D, "b"));
+        actual.add(mockResultSet(2L, 10, 1.5D, "a"));
+        assertTrue(actual.compare(0, 1, 1, OrderType.ASC, OrderType.ASC) < 0);
+        assertTrue(actual.compare(0, 1, 1, OrderType.DESC, OrderType.ASC) > 0);
+        assertThat(actual.compare(0, 1, 2, OrderType.ASC, OrderType.ASC), is(0));
+        assertTrue(actual.compare(0, 1, 3, OrderType.ASC, OrderType.ASC) > 0);
+        assertTrue(actual.compare(0, 1, 4, OrderType.ASC, OrderType.ASC) > 0);
+    }
+    
+    @Test
+    public void assertCompareWithNullValue() throws SQLException {
+        ColumnarResultSetRows actual = new ColumnarResultSetRows(resultSetMetaData, Collections.<Integer>emptyList());
+        actual.add(mockResultSet(null, 10, 1.5D, "a"));
+        actual.add(mockResultSet(1L, 10, 1.5D, "a"));
+        assertTrue(actual.compare(0, 1, 1, OrderType.ASC, OrderType.ASC) < 0);
+        assertTrue(actual.compare(0, 1, 1, OrderType.ASC, OrderType.DESC) > 0);
+    }
+    
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void assertGetCellWithRowIndexOutOfRange() throws SQLException {
+        new ColumnarResultSetRows(resultSetMetaData, Collections.<Integer>emptyList()).getCell(0, 1);
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void assertGetCellWithColumnIndexOutOfRange() throws SQLException {
+        ColumnarResultSetRows actual = new ColumnarResultSetRows(resultSetMetaData, Collections.<Integer>emptyList());
+        actual.add(mockResultSet(1L, 10, 1.5D, "a"));
+        actual.getCell(0, 5);
+    }
+    
+    private ResultSet mockResultSet(final Long longValue, final Integer intValue, final Double doubleValue, final String stringValue) throws SQLException {
+        ResultSet result = mock(ResultSet.class);
+        when(result.getObject(1)).thenReturn(longValue);
+        when(result.getObject(2)).thenReturn(intValue);
+        when(result.getObject(3)).thenReturn(doubleValue);
+        when(result.getObject(4)).thenReturn(stringValue);
+        when(result.getLong(1)).thenReturn(null == longValue ? 0L : longValue);
+        when(result.getInt(2)).thenReturn(null == intValue ? 0 : intValue);
+        when(result.getDouble(3)).thenReturn(null == doubleValue ? 0D : doubleValue);
+        when(result.getString(4)).thenReturn(stringValue);
+        when(result.wasNull()).thenReturn(null == longValue && null == intValue && null == doubleValue);
+        return result;
+    }
+}
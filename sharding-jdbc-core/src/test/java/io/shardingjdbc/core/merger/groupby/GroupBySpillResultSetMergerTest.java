@@ -0,0 +1,172 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+package io.shardingjdbc.core.merger.groupby;
+
+import io.shardingjdbc.core.constant.AggregationType;
+import io.shardingjdbc.core.constant.OrderType;
+import io.shardingjdbc.core.exception.ShardingJdbcException;
+import io.shardingjdbc.core.merger.MergeEngine;
+import io.shardingjdbc.core.merger.ResultSetMerger;
+import io.shardingjdbc.core.parsing.parser.context.OrderItem;
+import io.shardingjdbc.core.parsing.parser.context.selectitem.AggregationSelectItem;
+import io.shardingjdbc.core.parsing.parser.sql.dql.select.SelectStatement;
+import com.google.common.base.Optional;
+import com.google.common.collect.Lists;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FilenameFilter;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public final class GroupBySpillResultSetMergerTest {
+    
+    private List<ResultSet> resultSets;
+    
+    private SelectStatement selectStatement;
+    
+    @Before
+    public void setUp() throws SQLException {
+        resultSets = Lists.newArrayList(mockResultSet(), mockResultSet(), mockResultSet(), mockResultSet());
+        selectStatement = new SelectStatement();
+        AggregationSelectItem aggregationSelectItem1 = new AggregationSelectItem(AggregationType.COUNT, "(*)", Optional.<String>absent());
+        AggregationSelectItem aggregationSelectItem2 = new AggregationSelectItem(AggregationType.AVG, "(num)", Optional.<String>absent());
+        aggregationSelectItem2.getDerivedAggregationSelectItems().add(new AggregationSelectItem(AggregationType.COUNT, "(num)", Optional.of("AVG_DERIVED_COUNT_0")));
+        aggregationSelectItem2.getDerivedAggregationSelectItems().add(new AggregationSelectItem(AggregationType.SUM, "(num)", Optional.of("AVG_DERIVED_SUM_0")));
+        selectStatement.getItems().add(aggregationSelectItem1);
+        selectStatement.getItems().add(aggregationSelectItem2);
+        selectStatement.getGroupByItems().add(new OrderItem(3, OrderType.ASC, OrderType.ASC));
+        selectStatement.getOrderByItems().add(new OrderItem(3, OrderType.DESC, OrderType.ASC));
+    }
+    
+    private ResultSet mockResultSet() throws SQLException {
+        ResultSet result = mock(ResultSet.class);
+        ResultSetMetaData resultSetMetaData = mock(ResultSetMetaData.class);
+        when(result.getMetaData()).thenReturn(resultSetMetaData);
+        when(resultSetMetaData.getColumnCount()).thenReturn(5);
+        when(resultSetMetaData.getColumnLabel(1)).thenReturn("COUNT(*)");
+        when(resultSetMetaData.getColumnLabel(2)).thenReturn("AVG(num)");
+        when(resultSetMetaData.getColumnLabel(3)).thenReturn("id");
+        when(resultSetMetaData.getColumnLabel(4)).thenReturn("AVG_DERIVED_COUNT_0");
+        when(resultSetMetaData.getColumnLabel(5)).thenReturn("AVG_DERIVED_SUM_0");
+        return result;
+    }
+    
+    private void mockRow(final ResultSet resultSet, final int count, final int id, final int derivedCount, final int derivedSum) throws SQLException {
+        when(resultSet.next()).thenReturn(true, false);
+        when(resultSet.getObject(1)).thenReturn(count);
+        when(resultSet.getObject(2)).thenReturn(0);
+        when(resultSet.getObject(3)).thenReturn(id);
+        when(resultSet.getObject(4)).thenReturn(derivedCount);
+        when(resultSet.getObject(5)).thenReturn(derivedSum);
+    }
+    
+    private void mockRows() throws SQLException {
+        mockRow(resultSets.get(0), 20, 2, 2, 20);
+        mockRow(resultSets.get(1), 30, 3, 3, 30);
+        mockRow(resultSets.get(2), 20, 2, 2, 20);
+        mockRow(resultSets.get(3), 10, 4, 1, 40);
+    }
+    
+    @Test
+    public void assertNextForResultSetsAllEmpty() throws SQLException {
+        ResultSetMerger actual = new MergeEngine(resultSets, selectStatement, 1, false).merge();
+        assertFalse(actual.next());
+    }
+    
+    @Test
+    public void assertNextWithinMemoryRows() throws SQLException {
+        mockRows();
+        assertMergedRows(new MergeEngine(resultSets, selectStatement, 10, false).merge());
+    }
+    
+    @Test
+    public void assertNextWithSpilledGroups() throws SQLException {
+        mockRows();
+        assertMergedRows(new MergeEngine(resultSets, selectStatement, 2, false).merge());
+    }
+    
+    @Test
+    public void assertNextWithSpilledGroupsAndSpilledOutputRows() throws SQLException {
+        mockRows();
+        assertMergedRows(new MergeEngine(resultSets, selectStatement, 1, false).merge());
+    }
+    
+    @Test
+    public void assertCloseBeforeExhausted() throws SQLException {
+        mockRows();
+        int expectedTempFilesCount = countTempFiles();
+        ResultSetMerger actual = new MergeEngine(resultSets, selectStatement, 1, false).merge();
+        assertTrue(countTempFiles() > expectedTempFilesCount);
+        assertTrue(actual.next());
+        actual.close();
+        assertThat(countTempFiles(), is(expectedTempFilesCount));
+        assertFalse(actual.next());
+    }
+    
+    private int countTempFiles() {
+        String[] result = new File(System.getProperty("java.io.tmpdir")).list(new FilenameFilter() {
+            
+            @Override
+            public boolean accept(final File dir, final String name) {
+                return name.startsWith("sharding-jdbc-merge-");
+            }
+        });
+        return null == result ? 0 : result.length;
+    }
+    
+    @Test(expected = ShardingJdbcException.class)
+    public void assertNextWithNotSerializableValue() throws SQLException {
+        mockRows();
+        when(resultSets.get(0).getObject(2)).thenReturn(new Object());
+        int expectedTempFilesCount = countTempFiles();
+        try {
+            new MergeEngine(resultSets, selectStatement, 1, false).merge();
+        } finally {
+            assertThat(countTempFiles(), is(expectedTempFilesCount));
+        }
+    }
+    
+    private void assertMergedRows(final ResultSetMerger actual) throws SQLException {
+        assertTrue(actual.next());
+        assertRow(actual, 10, 40, 4, 1, 40);
+        assertTrue(actual.next());
+        assertRow(actual, 30, 10, 3, 3, 30);
+        assertTrue(actual.next());
+        assertRow(actual, 40, 10, 2, 4, 40);
+        assertFalse(actual.next());
+    }
+    
+    private void assertRow(final ResultSetMerger actual, final int count, final int avg, final int id, final int derivedCount, final int derivedSum) throws SQLException {
+        assertThat((BigDecimal) actual.getValue(1, Object.class), is(new BigDecimal(count)));
+        assertThat(((BigDecimal) actual.getValue(2, Object.class)).intValue(), is(avg));
+        assertThat((Integer) actual.getValue(3, Object.class), is(id));
+        assertThat((BigDecimal) actual.getValue(4, Object.class), is(new BigDecimal(derivedCount)));
+        assertThat((BigDecimal) actual.getValue(5, Object.class), is(new BigDecimal(derivedSum)));
+    }
+}
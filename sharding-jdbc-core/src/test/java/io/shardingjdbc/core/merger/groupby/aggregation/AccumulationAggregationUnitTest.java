@@ -19,6 +19,7 @@ package io.shardingjdbc.core.merger.groupby.aggregation;
 
 import org.junit.Test;
 
+import java.math.BigDecimal;
 import java.util.Collections;
 
 import static org.hamcrest.CoreMatchers.is;
@@ -36,4 +37,12 @@ public final class AccumulationAggregationUnitTest {
         accumulationAggregationUnit.merge(Collections.<Comparable<?>>singletonList(10));
         assertThat(((Number) accumulationAggregationUnit.getResult()).intValue(), is(12));
     }
+    
+    @Test
+    public void assertAccumulationAggregationForFloatingValues() {
+        AccumulationAggregationUnit accumulationAggregationUnit = new AccumulationAggregationUnit();
+        accumulationAggregationUnit.merge(Collections.<Comparable<?>>singletonList(0.1D));
+        accumulationAggregationUnit.merge(Collections.<Comparable<?>>singletonList(0.2D));
+        assertThat((BigDecimal) accumulationAggregationUnit.getResult(), is(new BigDecimal("0.3")));
+    }
 }
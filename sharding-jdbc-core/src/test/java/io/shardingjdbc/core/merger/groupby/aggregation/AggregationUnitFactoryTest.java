@@ -17,11 +17,19 @@
 
 package io.shardingjdbc.core.merger.groupby.aggregation;
 
+import com.google.common.base.Optional;
 import io.shardingjdbc.core.constant.AggregationType;
+import io.shardingjdbc.core.parsing.parser.context.selectitem.AggregationSelectItem;
 import org.junit.Test;
 
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 public final class AggregationUnitFactoryTest {
     
@@ -41,4 +49,34 @@ public final class AggregationUnitFactoryTest {
     public void assertCreateAverageAggregationUnit() {
         assertThat(AggregationUnitFactory.create(AggregationType.AVG), instanceOf(AverageAggregationUnit.class));
     }
+    
+    @Test
+    public void assertCreateAccumulationAggregationUnitWithMetaData() throws SQLException {
+        ResultSetMetaData resultSetMetaData = mock(ResultSetMetaData.class);
+        when(resultSetMetaData.getColumnType(1)).thenReturn(Types.BIGINT);
+        when(resultSetMetaData.getColumnType(2)).thenReturn(Types.DECIMAL);
+        when(resultSetMetaData.getColumnType(3)).thenReturn(Types.DECIMAL);
+        when(resultSetMetaData.getScale(3)).thenReturn(2);
+        when(resultSetMetaData.getColumnType(4)).thenReturn(Types.DOUBLE);
+        assertThat(AggregationUnitFactory.create(createAggregationSelectItem(AggregationType.COUNT, 1), resultSetMetaData), instanceOf(LongAccumulationAggregationUnit.class));
+        assertThat(AggregationUnitFactory.create(createAggregationSelectItem(AggregationType.SUM, 2), resultSetMetaData), instanceOf(LongAccumulationAggregationUnit.class));
+        assertThat(AggregationUnitFactory.create(createAggregationSelectItem(AggregationType.SUM, 3), resultSetMetaData), instanceOf(AccumulationAggregationUnit.class));
+        assertThat(AggregationUnitFactory.create(createAggregationSelectItem(AggregationType.SUM, 4), resultSetMetaData), instanceOf(AccumulationAggregationUnit.class));
+    }
+    
+    @Test
+    public void assertCreateAggregationUnitWithMetaData() throws SQLException {
+        ResultSetMetaData resultSetMetaData = mock(ResultSetMetaData.class);
+        AggregationSelectItem avgSelectItem = createAggregationSelectItem(AggregationType.AVG, 1);
+        avgSelectItem.getDerivedAggregationSelectItems().add(createAggregationSelectItem(AggregationType.COUNT, 2));
+        avgSelectItem.getDerivedAggregationSelectItems().add(createAggregationSelectItem(AggregationType.SUM, 3));
+        assertThat(AggregationUnitFactory.create(avgSelectItem, resultSetMetaData), instanceOf(AverageAggregationUnit.class));
+        assertThat(AggregationUnitFactory.create(createAggregationSelectItem(AggregationType.MAX, 1), resultSetMetaData), instanceOf(ComparableAggregationUnit.class));
+    }
+    
+    private AggregationSelectItem createAggregationSelectItem(final AggregationType type, final int index) {
+        AggregationSelectItem result = new AggregationSelectItem(type, "(col)", Optional.<String>absent());
+        result.setIndex(index);
+        return result;
+    }
 }
@@ -25,6 +25,7 @@ import org.junit.runners.Suite;
         AggregationUnitFactoryTest.class, 
         ComparableAggregationUnitTest.class, 
         AccumulationAggregationUnitTest.class, 
+        LongAccumulationAggregationUnitTest.class, 
         AverageAggregationUnitTest.class
     })
 public class AllAggregationTests {
@@ -47,4 +47,13 @@ public final class AverageAggregationUnitTest {
         avgAggregationUnit.merge(Arrays.<Comparable<?>>asList(0, 40));
         assertThat((BigDecimal) avgAggregationUnit.getResult(), is(new BigDecimal(0)));
     }
+    
+    @Test
+    public void assertAvgAggregationWithPrimitiveAccumulation() {
+        AverageAggregationUnit avgAggregationUnit = new AverageAggregationUnit(new LongAccumulationAggregationUnit(), new AccumulationAggregationUnit());
+        avgAggregationUnit.merge(Arrays.<Comparable<?>>asList(1L, null));
+        avgAggregationUnit.merge(Arrays.<Comparable<?>>asList(2L, 5D));
+        avgAggregationUnit.merge(Arrays.<Comparable<?>>asList(2L, 6D));
+        assertThat((BigDecimal) avgAggregationUnit.getResult(), is(new BigDecimal("2.7500")));
+    }
 }
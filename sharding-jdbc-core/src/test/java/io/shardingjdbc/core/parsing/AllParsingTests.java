@@ -17,6 +17,7 @@
 
 package io.shardingjdbc.core.parsing;
 
+import io.shardingjdbc.core.parsing.cache.ParsingResultCacheTest;
 import io.shardingjdbc.core.parsing.lexer.AllLexerTests;
 import io.shardingjdbc.core.parsing.lexer.analyzer.TokenizerTest;
 import io.shardingjdbc.core.parsing.parser.sql.AllStatementParserTests;
@@ -30,7 +31,8 @@ import org.junit.runners.Suite;
         AllStatementParserTests.class,
         SQLParsingEngineTest.class,
         UnsupportedSQLParsingEngineTest.class,
-        SQLJudgeEngineTest.class
+        SQLJudgeEngineTest.class,
+        ParsingResultCacheTest.class
     })
 public class AllParsingTests {
 }
@@ -0,0 +1,68 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.parsing.cache;
+
+import io.shardingjdbc.core.constant.DatabaseType;
+import io.shardingjdbc.core.parsing.parser.sql.SQLStatement;
+import io.shardingjdbc.core.parsing.parser.sql.dql.select.SelectStatement;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public final class ParsingResultCacheTest {
+    
+    @Test
+    public void assertGetSQLStatementWhenHit() {
+        ParsingResultCache parsingResultCache = new ParsingResultCache(16);
+        SQLStatement sqlStatement = new SelectStatement();
+        parsingResultCache.put(DatabaseType.MySQL, "SELECT 1", sqlStatement);
+        assertThat(parsingResultCache.getSQLStatement(DatabaseType.MySQL, "SELECT 1").get(), is(sqlStatement));
+        assertThat(parsingResultCache.getHitCount(), is(1L));
+        assertThat(parsingResultCache.getMissCount(), is(0L));
+    }
+    
+    @Test
+    public void assertGetSQLStatementWhenMissForDifferentDatabaseType() {
+        ParsingResultCache parsingResultCache = new ParsingResultCache(16);
+        parsingResultCache.put(DatabaseType.MySQL, "SELECT 1", new SelectStatement());
+        assertFalse(parsingResultCache.getSQLStatement(DatabaseType.Oracle, "SELECT 1").isPresent());
+        assertThat(parsingResultCache.getHitCount(), is(0L));
+        assertThat(parsingResultCache.getMissCount(), is(1L));
+    }
+    
+    @Test
+    public void assertEvictionWhenExceedMaximumSize() {
+        ParsingResultCache parsingResultCache = new ParsingResultCache(1);
+        parsingResultCache.put(DatabaseType.MySQL, "SELECT 1", new SelectStatement());
+        parsingResultCache.put(DatabaseType.MySQL, "SELECT 2", new SelectStatement());
+        assertThat(parsingResultCache.getSize(), is(1L));
+        assertThat(parsingResultCache.getEvictionCount(), is(1L));
+        assertTrue(parsingResultCache.getSQLStatement(DatabaseType.MySQL, "SELECT 2").isPresent());
+    }
+    
+    @Test
+    public void assertClear() {
+        ParsingResultCache parsingResultCache = new ParsingResultCache(16);
+        parsingResultCache.put(DatabaseType.MySQL, "SELECT 1", new SelectStatement());
+        parsingResultCache.clear();
+        assertThat(parsingResultCache.getSize(), is(0L));
+    }
+}
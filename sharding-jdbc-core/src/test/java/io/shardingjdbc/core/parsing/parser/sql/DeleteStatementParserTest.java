@@ -26,6 +26,7 @@ import io.shardingjdbc.core.parsing.SQLParsingEngine;
 import io.shardingjdbc.core.parsing.parser.context.condition.Column;
 import io.shardingjdbc.core.parsing.parser.context.condition.Condition;
 import io.shardingjdbc.core.parsing.parser.sql.dml.DMLStatement;
+import io.shardingjdbc.core.parsing.parser.token.InValuesToken;
 import com.google.common.collect.Range;
 import org.junit.Test;
 
@@ -105,6 +106,21 @@ public final class DeleteStatementParserTest extends AbstractStatementParserTest
         assertThat(shardingValues3.upperEndpoint(), is((Comparable) 70));
     }
     
+    @Test
+    public void parseWithInValuesToken() throws SQLException {
+        ShardingRule shardingRule = createShardingRule();
+        DMLStatement deleteStatement = (DMLStatement) new SQLParsingEngine(DatabaseType.MySQL, "DELETE FROM TABLE_XXX xxx WHERE field2 IN (?, 3) AND field1=?", shardingRule).parse();
+        assertThat(deleteStatement.getInValuesTokens().size(), is(1));
+        InValuesToken inValuesToken = deleteStatement.getInValuesTokens().get(0);
+        assertThat(inValuesToken.getColumn(), is(new Column("field2", "TABLE_XXX")));
+        assertThat(inValuesToken.getBeginPosition(), is(43));
+        assertThat(inValuesToken.getEndPosition(), is(47));
+        assertThat(inValuesToken.getValueBeginPositions(), is(Arrays.asList(43, 45)));
+        assertThat(inValuesToken.getValueEndPositions(), is(Arrays.asList(44, 47)));
+        assertThat(inValuesToken.getParameterIndex(0), is(0));
+        assertThat(inValuesToken.getParameterIndex(1), is(-1));
+    }
+    
     @Test(expected = UnsupportedOperationException.class)
     public void parseStatementWithDeleteMultipleTable() throws SQLException {
         ShardingRule shardingRule = createShardingRule();
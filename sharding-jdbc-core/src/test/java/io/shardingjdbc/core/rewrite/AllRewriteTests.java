@@ -24,7 +24,8 @@ import org.junit.runners.Suite.SuiteClasses;
 @RunWith(Suite.class)
 @SuiteClasses({
         SQLBuilderTest.class, 
-        SQLRewriteEngineTest.class
+        SQLRewriteEngineTest.class, 
+        UnionAllRewriteEngineTest.class
     })
 public class AllRewriteTests {
 }
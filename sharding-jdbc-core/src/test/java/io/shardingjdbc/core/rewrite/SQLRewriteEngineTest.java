@@ -22,14 +22,19 @@ import io.shardingjdbc.core.constant.DatabaseType;
 import io.shardingjdbc.core.rule.ShardingRule;
 import io.shardingjdbc.core.constant.OrderType;
 import io.shardingjdbc.core.parsing.parser.context.OrderItem;
+import io.shardingjdbc.core.parsing.parser.context.condition.Column;
 import io.shardingjdbc.core.parsing.parser.context.limit.Limit;
 import io.shardingjdbc.core.parsing.parser.context.limit.LimitValue;
 import io.shardingjdbc.core.parsing.parser.context.table.Table;
+import io.shardingjdbc.core.parsing.parser.expression.SQLNumberExpression;
+import io.shardingjdbc.core.parsing.parser.expression.SQLPlaceholderExpression;
 import io.shardingjdbc.core.parsing.parser.sql.dql.select.SelectStatement;
+import io.shardingjdbc.core.parsing.parser.token.InValuesToken;
 import io.shardingjdbc.core.parsing.parser.token.ItemsToken;
 import io.shardingjdbc.core.parsing.parser.token.OffsetToken;
 import io.shardingjdbc.core.parsing.parser.token.OrderByToken;
 import io.shardingjdbc.core.parsing.parser.token.RowCountToken;
+import io.shardingjdbc.core.parsing.parser.token.SQLToken;
 import io.shardingjdbc.core.parsing.parser.token.TableToken;
 import io.shardingjdbc.core.routing.type.TableUnit;
 import io.shardingjdbc.core.routing.type.complex.CartesianTableReference;
@@ -39,6 +44,7 @@ import org.junit.Test;
 
 import java.sql.SQLException;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
@@ -266,4 +272,60 @@ public final class SQLRewriteEngineTest {
         CartesianTableReference cartesianTableReference = new CartesianTableReference(Collections.singletonList(new TableUnit("db0", "table_x", "table_x")));
         assertThat(sqlRewriteEngine.generateSQL(cartesianTableReference, sqlBuilder), is("SELECT table_x.id, x.name FROM table_x x WHERE table_x.id=? AND x.name=?"));
     }
+    
+    @Test
+    public void assertGenerateSQLWithTemplate() {
+        selectStatement.getSqlTokens().add(new TableToken(7, "table_x"));
+        selectStatement.getSqlTokens().add(new TableToken(31, "table_x"));
+        selectStatement.getSqlTokens().add(new TableToken(58, "table_x"));
+        selectStatement.getTables().add(new Table("table_x", Optional.of("x")));
+        selectStatement.getTables().add(new Table("table_y", Optional.of("y")));
+        SQLRewriteEngine sqlRewriteEngine = 
+                new SQLRewriteEngine(shardingRule, "SELECT table_x.id, x.name FROM table_x x, table_y y WHERE table_x.id=? AND x.name=?", DatabaseType.MySQL, selectStatement);
+        SQLRewriteTemplate template = sqlRewriteEngine.compile();
+        assertThat(sqlRewriteEngine.generateSQL(new TableUnit("db0", "table_x", "table_1"), template, true), is("SELECT table_1.id, x.name FROM table_1 x, table_y y WHERE table_1.id=? AND x.name=?"));
+        assertThat(sqlRewriteEngine.generateSQL(new TableUnit("db1", "table_x", "table_2"), template, true), is("SELECT table_2.id, x.name FROM table_2 x, table_y y WHERE table_2.id=? AND x.name=?"));
+    }
+    
+    @Test
+    public void assertGenerateSQLWithTemplateForLimit() {
+        selectStatement.setLimit(new Limit(true));
+        selectStatement.getLimit().setOffset(new LimitValue(2, -1));
+        selectStatement.getLimit().setRowCount(new LimitValue(2, -1));
+        selectStatement.getSqlTokens().add(new TableToken(17, "table_x"));
+        selectStatement.getSqlTokens().add(new OffsetToken(33, 2));
+        selectStatement.getSqlTokens().add(new RowCountToken(36, 2));
+        SQLRewriteEngine sqlRewriteEngine = new SQLRewriteEngine(shardingRule, "SELECT x.id FROM table_x x LIMIT 2, 2", DatabaseType.MySQL, selectStatement);
+        SQLRewriteTemplate template = sqlRewriteEngine.compile();
+        assertThat(sqlRewriteEngine.generateSQL(new TableUnit("db0", "table_x", "table_1"), template, true), is("SELECT x.id FROM table_1 x LIMIT 0, 4"));
+        assertThat(sqlRewriteEngine.generateSQL(new TableUnit("db0", "table_x", "table_1"), template, false), is("SELECT x.id FROM table_1 x LIMIT 2, 2"));
+    }
+    
+    @Test
+    public void assertGenerateSQLWithTemplateForInValues() {
+        selectStatement.getSqlTokens().add(new TableToken(17, "table_x"));
+        InValuesToken inValuesToken = new InValuesToken(42, 51, new Column("id", "table_x"));
+        inValuesToken.addValue(new SQLPlaceholderExpression(0), 42, 43);
+        inValuesToken.addValue(new SQLPlaceholderExpression(1), 44, 46);
+        inValuesToken.addValue(new SQLNumberExpression(3), 47, 51);
+        selectStatement.getInValuesTokens().add(inValuesToken);
+        SQLRewriteEngine sqlRewriteEngine = new SQLRewriteEngine(shardingRule, "SELECT x.id FROM table_x x WHERE x.id IN (?, ?,  3 ) AND x.name=?", DatabaseType.MySQL, selectStatement);
+        SQLRewriteTemplate template = sqlRewriteEngine.compile();
+        Map<SQLToken, Collection<Integer>> inValuesPositions = new HashMap<>(1, 1);
+        inValuesPositions.put(inValuesToken, Arrays.asList(0, 2));
+        assertThat(sqlRewriteEngine.generateSQL(new TableUnit("db0", "table_x", "table_1"), template, true, inValuesPositions), 
+                is("SELECT x.id FROM table_1 x WHERE x.id IN (?, 3) AND x.name=?"));
+        assertThat(sqlRewriteEngine.generateSQL(new TableUnit("db0", "table_x", "table_1"), template, true), is("SELECT x.id FROM table_1 x WHERE x.id IN (?, ?,  3 ) AND x.name=?"));
+        assertThat(sqlRewriteEngine.rewrite(true).toSQL(tableTokens), is("SELECT x.id FROM table_1 x WHERE x.id IN (?, ?,  3 ) AND x.name=?"));
+    }
+    
+    @Test
+    public void assertGenerateSQLWithTemplateForCartesian() {
+        selectStatement.getSqlTokens().add(new TableToken(7, "table_x"));
+        selectStatement.getSqlTokens().add(new TableToken(31, "table_x"));
+        selectStatement.getSqlTokens().add(new TableToken(47, "table_x"));
+        SQLRewriteEngine sqlRewriteEngine = new SQLRewriteEngine(shardingRule, "SELECT table_x.id, x.name FROM table_x x WHERE table_x.id=? AND x.name=?", DatabaseType.MySQL, selectStatement);
+        CartesianTableReference cartesianTableReference = new CartesianTableReference(Collections.singletonList(new TableUnit("db0", "table_x", "table_1")));
+        assertThat(sqlRewriteEngine.generateSQL(cartesianTableReference, sqlRewriteEngine.compile(), true), is("SELECT table_1.id, x.name FROM table_1 x WHERE table_1.id=? AND x.name=?"));
+    }
 }
@@ -0,0 +1,70 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+package io.shardingjdbc.core.rewrite;
+
+import io.shardingjdbc.core.constant.OrderType;
+import io.shardingjdbc.core.parsing.parser.context.OrderItem;
+import io.shardingjdbc.core.parsing.parser.sql.dml.DMLStatement;
+import io.shardingjdbc.core.parsing.parser.sql.dql.select.SelectStatement;
+import io.shardingjdbc.core.routing.SQLExecutionUnit;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public final class UnionAllRewriteEngineTest {
+    
+    @Test
+    public void assertCombineSelectWithoutOrderBy() {
+        Collection<SQLExecutionUnit> actual = new UnionAllRewriteEngine(new SelectStatement()).combine(Arrays.asList(
+                new SQLExecutionUnit("ds_0", "SELECT * FROM t_order_0"), new SQLExecutionUnit("ds_1", "SELECT * FROM t_order_0"), 
+                new SQLExecutionUnit("ds_0", "SELECT * FROM t_order_1"), new SQLExecutionUnit("ds_2", "SELECT * FROM t_order_1")));
+        assertThat(actual.size(), is(3));
+        Iterator<SQLExecutionUnit> iterator = actual.iterator();
+        assertThat(iterator.next(), is(new SQLExecutionUnit("ds_0", "(SELECT * FROM t_order_0) UNION ALL (SELECT * FROM t_order_1)", 2)));
+        assertThat(iterator.next(), is(new SQLExecutionUnit("ds_1", "SELECT * FROM t_order_0")));
+        assertThat(iterator.next(), is(new SQLExecutionUnit("ds_2", "SELECT * FROM t_order_1")));
+    }
+    
+    @Test
+    public void assertCombineWithoutSameDataSource() {
+        Collection<SQLExecutionUnit> executionUnits = Arrays.asList(new SQLExecutionUnit("ds_0", "SELECT * FROM t_order_0"), new SQLExecutionUnit("ds_1", "SELECT * FROM t_order_0"));
+        assertThat(new UnionAllRewriteEngine(new SelectStatement()).combine(executionUnits), is(executionUnits));
+    }
+    
+    @Test
+    public void assertCombineSelectWithOrderBy() {
+        SelectStatement selectStatement = new SelectStatement();
+        selectStatement.getOrderByItems().add(new OrderItem(1, OrderType.ASC, OrderType.ASC));
+        UnionAllRewriteEngine unionAllRewriteEngine = new UnionAllRewriteEngine(selectStatement);
+        assertFalse(unionAllRewriteEngine.isCombinable());
+        Collection<SQLExecutionUnit> executionUnits = Arrays.asList(new SQLExecutionUnit("ds_0", "SELECT * FROM t_order_0"), new SQLExecutionUnit("ds_0", "SELECT * FROM t_order_1"));
+        assertThat(unionAllRewriteEngine.combine(executionUnits), is(executionUnits));
+    }
+    
+    @Test
+    public void assertIsCombinable() {
+        assertTrue(new UnionAllRewriteEngine(new SelectStatement()).isCombinable());
+        assertFalse(new UnionAllRewriteEngine(new DMLStatement()).isCombinable());
+    }
+}
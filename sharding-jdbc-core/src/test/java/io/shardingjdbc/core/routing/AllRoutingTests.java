@@ -17,10 +17,18 @@
 
 package io.shardingjdbc.core.routing;
 
+import io.shardingjdbc.core.routing.cache.RouteResultCacheTest;
+import io.shardingjdbc.core.routing.router.ParsingSQLRouterTest;
+import io.shardingjdbc.core.routing.strategy.inline.InlineExpressionCompilerTest;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
 @RunWith(Suite.class)
-@Suite.SuiteClasses(DatabaseTest.class)
+@Suite.SuiteClasses({
+        DatabaseTest.class,
+        ParsingSQLRouterTest.class,
+        RouteResultCacheTest.class,
+        InlineExpressionCompilerTest.class
+    })
 public class AllRoutingTests {
 }
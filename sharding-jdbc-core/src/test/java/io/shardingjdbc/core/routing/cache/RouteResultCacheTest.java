@@ -0,0 +1,68 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.routing.cache;
+
+import io.shardingjdbc.core.routing.SQLExecutionUnit;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public final class RouteResultCacheTest {
+    
+    @Test
+    public void assertIsEnabled() {
+        assertTrue(new RouteResultCache(16).isEnabled());
+        assertFalse(new RouteResultCache(0).isEnabled());
+    }
+    
+    @Test
+    public void assertGetRouteResultWhenHit() {
+        RouteResultCache routeResultCache = new RouteResultCache(16);
+        routeResultCache.put("SELECT * FROM t_order WHERE order_id = ?", Collections.<Object>singletonList(1), 
+                Collections.singletonList(new SQLExecutionUnit("ds_0", "SELECT * FROM t_order_1 WHERE order_id = ?")), true);
+        CachedRouteResult actual = routeResultCache.getRouteResult("SELECT * FROM t_order WHERE order_id = ?", Collections.<Object>singletonList(1)).get();
+        assertThat(actual.getExecutionUnits().size(), is(1));
+        assertThat(actual.getExecutionUnits().iterator().next(), is(new SQLExecutionUnit("ds_0", "SELECT * FROM t_order_1 WHERE order_id = ?")));
+        assertTrue(actual.isSingleRouting());
+        assertThat(routeResultCache.getHitCount(), is(1L));
+    }
+    
+    @Test
+    public void assertGetRouteResultWhenMissForDifferentParameters() {
+        RouteResultCache routeResultCache = new RouteResultCache(16);
+        routeResultCache.put("SELECT * FROM t_order WHERE order_id = ?", Collections.<Object>singletonList(1), Collections.<SQLExecutionUnit>emptyList(), false);
+        List<Object> shardingParameters = Collections.<Object>singletonList(2);
+        assertFalse(routeResultCache.getRouteResult("SELECT * FROM t_order WHERE order_id = ?", shardingParameters).isPresent());
+        assertThat(routeResultCache.getMissCount(), is(1L));
+    }
+    
+    @Test
+    public void assertEvictionWhenExceedMaximumSize() {
+        RouteResultCache routeResultCache = new RouteResultCache(1);
+        routeResultCache.put("SELECT 1", Collections.emptyList(), Collections.<SQLExecutionUnit>emptyList(), false);
+        routeResultCache.put("SELECT 2", Collections.emptyList(), Collections.<SQLExecutionUnit>emptyList(), false);
+        assertThat(routeResultCache.getSize(), is(1L));
+        assertThat(routeResultCache.getEvictionCount(), is(1L));
+    }
+}
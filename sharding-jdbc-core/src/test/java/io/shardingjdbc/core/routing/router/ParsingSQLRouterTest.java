@@ -0,0 +1,382 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.routing.router;
+
+import io.shardingjdbc.core.api.config.ShardingRuleConfiguration;
+import io.shardingjdbc.core.api.config.TableRuleConfiguration;
+import io.shardingjdbc.core.api.config.strategy.InlineShardingStrategyConfiguration;
+import io.shardingjdbc.core.constant.DatabaseType;
+import io.shardingjdbc.core.constant.ShardingProperties;
+import io.shardingjdbc.core.constant.ShardingPropertiesConstant;
+import io.shardingjdbc.core.jdbc.core.ShardingContext;
+import io.shardingjdbc.core.keygen.fixture.IncrementKeyGenerator;
+import io.shardingjdbc.core.parsing.parser.context.selectitem.AggregationSelectItem;
+import io.shardingjdbc.core.parsing.parser.sql.SQLStatement;
+import io.shardingjdbc.core.parsing.parser.sql.dql.select.SelectStatement;
+import io.shardingjdbc.core.routing.SQLExecutionUnit;
+import io.shardingjdbc.core.routing.SQLRouteResult;
+import io.shardingjdbc.core.rule.ShardingRule;
+import com.google.common.base.Optional;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public final class ParsingSQLRouterTest {
+    
+    private ShardingContext shardingContext;
+    
+    @Before
+    public void setUp() throws SQLException {
+        TableRuleConfiguration tableRuleConfig = new TableRuleConfiguration();
+        tableRuleConfig.setLogicTable("t_order");
+        tableRuleConfig.setActualDataNodes("ds_${0..1}.t_order_${0..1}");
+        tableRuleConfig.setDatabaseShardingStrategyConfig(new InlineShardingStrategyConfiguration("user_id", "ds_${user_id % 2}"));
+        tableRuleConfig.setTableShardingStrategyConfig(new InlineShardingStrategyConfiguration("order_id", "t_order_${order_id % 2}"));
+        TableRuleConfiguration itemTableRuleConfig = new TableRuleConfiguration();
+        itemTableRuleConfig.setLogicTable("t_order_item");
+        itemTableRuleConfig.setActualDataNodes("ds_${0..1}.t_order_item_${0..1}");
+        itemTableRuleConfig.setDatabaseShardingStrategyConfig(new InlineShardingStrategyConfiguration("user_id", "ds_${user_id % 2}"));
+        itemTableRuleConfig.setTableShardingStrategyConfig(new InlineShardingStrategyConfiguration("item_id", "t_order_item_${item_id % 2}"));
+        itemTableRuleConfig.setKeyGeneratorColumnName("item_id");
+        itemTableRuleConfig.setKeyGeneratorClass(IncrementKeyGenerator.class.getName());
+        ShardingRuleConfiguration shardingRuleConfig = new ShardingRuleConfiguration();
+        shardingRuleConfig.getTableRuleConfigs().add(tableRuleConfig);
+        shardingRuleConfig.getTableRuleConfigs().add(itemTableRuleConfig);
+        Map<String, DataSource> dataSourceMap = new HashMap<>(2, 1);
+        dataSourceMap.put("ds_0", null);
+        dataSourceMap.put("ds_1", null);
+        Properties props = new Properties();
+        props.setProperty(ShardingPropertiesConstant.ROUTING_CACHE_SIZE.getKey(), "16");
+        shardingContext = createShardingContext(shardingRuleConfig.build(dataSourceMap), props);
+    }
+    
+    @Test
+    public void assertParseWithCache() {
+        String logicSQL = "SELECT * FROM t_order WHERE user_id = ? AND order_id = ?";
+        SQLStatement expected = new ParsingSQLRouter(shardingContext).parse(logicSQL, 2);
+        assertThat(new ParsingSQLRouter(shardingContext).parse(logicSQL, 2), sameInstance(expected));
+        assertThat(shardingContext.getParsingResultCache().getHitCount(), is(1L));
+    }
+    
+    @Test
+    public void assertRouteWithCache() {
+        String logicSQL = "SELECT * FROM t_order WHERE user_id = ? AND order_id = ?";
+        SQLStatement sqlStatement = new ParsingSQLRouter(shardingContext).parse(logicSQL, 2);
+        SQLRouteResult expected = new ParsingSQLRouter(shardingContext).route(logicSQL, new ArrayList<Object>(Arrays.<Object>asList(1, 1)), sqlStatement);
+        SQLRouteResult actual = new ParsingSQLRouter(shardingContext).route(logicSQL, new ArrayList<Object>(Arrays.<Object>asList(1, 1)), sqlStatement);
+        assertThat(actual.getExecutionUnits(), is(expected.getExecutionUnits()));
+        assertThat(actual.getExecutionUnits().iterator().next().getSql(), is("SELECT * FROM t_order_1 WHERE user_id = ? AND order_id = ?"));
+        assertThat(shardingContext.getRouteResultCache().getHitCount(), is(1L));
+        new ParsingSQLRouter(shardingContext).route(logicSQL, new ArrayList<Object>(Arrays.<Object>asList(1, 2)), sqlStatement);
+        assertThat(shardingContext.getRouteResultCache().getMissCount(), is(2L));
+    }
+    
+    @Test
+    public void assertRouteWithReusableExecutionUnits() {
+        String logicSQL = "UPDATE t_order SET status = ? WHERE user_id = ? AND order_id = ?";
+        ParsingSQLRouter router = new ParsingSQLRouter(shardingContext);
+        SQLStatement sqlStatement = router.parse(logicSQL, 3);
+        SQLExecutionUnit expected = router.route(logicSQL, new ArrayList<Object>(Arrays.<Object>asList("a", 1, 1)), sqlStatement).getExecutionUnits().iterator().next();
+        assertThat(expected.getSql(), is("UPDATE t_order_1 SET status = ? WHERE user_id = ? AND order_id = ?"));
+        assertThat(router.route(logicSQL, new ArrayList<Object>(Arrays.<Object>asList("b", 3, 5)), sqlStatement).getExecutionUnits().iterator().next(), sameInstance(expected));
+        SQLExecutionUnit actual = router.route(logicSQL, new ArrayList<Object>(Arrays.<Object>asList("a", 1, 2)), sqlStatement).getExecutionUnits().iterator().next();
+        assertThat(actual.getSql(), is("UPDATE t_order_0 SET status = ? WHERE user_id = ? AND order_id = ?"));
+        assertThat(actual.getDataSource(), is("ds_1"));
+    }
+    
+    @Test
+    public void assertRouteWithLimitNotChangeParsedStatement() {
+        String logicSQL = "SELECT * FROM t_order LIMIT ?, ?";
+        SelectStatement sqlStatement = (SelectStatement) new ParsingSQLRouter(shardingContext).parse(logicSQL, 2);
+        List<Object> parameters = new ArrayList<Object>(Arrays.<Object>asList(10, 20));
+        SQLRouteResult actual = new ParsingSQLRouter(shardingContext).route(logicSQL, parameters, sqlStatement);
+        assertThat(actual.getSqlStatement(), not((SQLStatement) sqlStatement));
+        assertThat(((SelectStatement) actual.getSqlStatement()).getLimit().getOffsetValue(), is(10));
+        assertThat(sqlStatement.getLimit().getOffsetValue(), is(-1));
+        assertThat(parameters, is(Arrays.<Object>asList(0, 30)));
+        List<Object> cachedParameters = new ArrayList<Object>(Arrays.<Object>asList(5, 20));
+        SQLRouteResult cachedActual = new ParsingSQLRouter(shardingContext).route(logicSQL, cachedParameters, sqlStatement);
+        assertThat(cachedActual.getExecutionUnits(), is(actual.getExecutionUnits()));
+        assertThat(((SelectStatement) cachedActual.getSqlStatement()).getLimit().getOffsetValue(), is(5));
+        assertThat(cachedParameters, is(Arrays.<Object>asList(0, 25)));
+    }
+    
+    @Test
+    public void assertRouteCachedStatementWithDifferentLimitParameters() {
+        String logicSQL = "SELECT * FROM t_order ORDER BY order_id LIMIT ?, ?";
+        SQLStatement sqlStatement = new ParsingSQLRouter(shardingContext).parse(logicSQL, 2);
+        assertThat(new ParsingSQLRouter(shardingContext).parse(logicSQL, 2), sameInstance(sqlStatement));
+        List<Object> firstParameters = new ArrayList<Object>(Arrays.<Object>asList(10, 20));
+        SQLRouteResult firstActual = new ParsingSQLRouter(shardingContext).route(logicSQL, firstParameters, sqlStatement);
+        List<Object> secondParameters = new ArrayList<Object>(Arrays.<Object>asList(30, 5));
+        SQLRouteResult secondActual = new ParsingSQLRouter(shardingContext).route(logicSQL, secondParameters, new ParsingSQLRouter(shardingContext).parse(logicSQL, 2));
+        assertThat(secondActual.getSqlStatement(), not(sameInstance(firstActual.getSqlStatement())));
+        assertThat(((SelectStatement) firstActual.getSqlStatement()).getLimit().getOffsetValue(), is(10));
+        assertThat(((SelectStatement) firstActual.getSqlStatement()).getLimit().getRowCountValue(), is(20));
+        assertThat(((SelectStatement) secondActual.getSqlStatement()).getLimit().getOffsetValue(), is(30));
+        assertThat(((SelectStatement) secondActual.getSqlStatement()).getLimit().getRowCountValue(), is(5));
+        assertThat(((SelectStatement) sqlStatement).getLimit().getOffsetValue(), is(-1));
+        assertThat(firstParameters, is(Arrays.<Object>asList(0, 30)));
+        assertThat(secondParameters, is(Arrays.<Object>asList(0, 35)));
+    }
+    
+    @Test
+    public void assertRouteCachedStatementWithDifferentColumnIndexes() {
+        String logicSQL = "SELECT order_id, AVG(user_id) AS avg_user FROM t_order GROUP BY order_id ORDER BY order_id";
+        SelectStatement sqlStatement = (SelectStatement) new ParsingSQLRouter(shardingContext).parse(logicSQL, 0);
+        SelectStatement firstActual = (SelectStatement) new ParsingSQLRouter(shardingContext).route(logicSQL, new ArrayList<Object>(), sqlStatement).getSqlStatement();
+        SelectStatement secondActual = (SelectStatement) new ParsingSQLRouter(shardingContext).route(logicSQL, new ArrayList<Object>(), sqlStatement).getSqlStatement();
+        firstActual.setIndexForItems(createColumnLabelIndexMap("order_id", "avg_user", "AVG_DERIVED_COUNT_0", "AVG_DERIVED_SUM_0"));
+        secondActual.setIndexForItems(createColumnLabelIndexMap("user_id", "order_id", "avg_user", "AVG_DERIVED_COUNT_0", "AVG_DERIVED_SUM_0"));
+        assertAggregationAndOrderIndexes(firstActual, 2, 3, 4, 1);
+        assertAggregationAndOrderIndexes(secondActual, 3, 4, 5, 2);
+        assertAggregationAndOrderIndexes(sqlStatement, -1, -1, -1, -1);
+        assertTrue(sqlStatement.isSameGroupByAndOrderByItems());
+        assertTrue(firstActual.isSameGroupByAndOrderByItems());
+    }
+    
+    private Map<String, Integer> createColumnLabelIndexMap(final String... columnLabels) {
+        Map<String, Integer> result = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (int i = 0; i < columnLabels.length; i++) {
+            result.put(columnLabels[i], i + 1);
+        }
+        return result;
+    }
+    
+    private void assertAggregationAndOrderIndexes(final SelectStatement selectStatement, final int avgIndex, final int countIndex, final int sumIndex, final int orderIndex) {
+        List<AggregationSelectItem> aggregationSelectItems = selectStatement.getAggregationSelectItems();
+        assertThat(aggregationSelectItems.size(), is(3));
+        assertThat(aggregationSelectItems.get(0).getIndex(), is(avgIndex));
+        assertThat(aggregationSelectItems.get(1).getIndex(), is(countIndex));
+        assertThat(aggregationSelectItems.get(2).getIndex(), is(sumIndex));
+        assertThat(selectStatement.getGroupByItems().get(0).getIndex(), is(orderIndex));
+        assertThat(selectStatement.getOrderByItems().get(0).getIndex(), is(orderIndex));
+    }
+    
+    @Test
+    public void assertRouteWithUnionAllRewrite() {
+        Properties props = new Properties();
+        props.setProperty(ShardingPropertiesConstant.REWRITE_UNION_ALL_ENABLED.getKey(), Boolean.TRUE.toString());
+        ShardingContext unionAllShardingContext = createShardingContext(shardingContext.getShardingRule(), props);
+        String logicSQL = "SELECT * FROM t_order WHERE user_id = ?";
+        SQLStatement sqlStatement = new ParsingSQLRouter(unionAllShardingContext).parse(logicSQL, 1);
+        SQLRouteResult actual = new ParsingSQLRouter(unionAllShardingContext).route(logicSQL, new ArrayList<Object>(Collections.singletonList(1)), sqlStatement);
+        assertThat(actual.getExecutionUnits().size(), is(1));
+        SQLExecutionUnit actualUnit = actual.getExecutionUnits().iterator().next();
+        assertThat(actualUnit.getDataSource(), is("ds_1"));
+        assertThat(actualUnit.getSql(), is("(SELECT * FROM t_order_0 WHERE user_id = ?) UNION ALL (SELECT * FROM t_order_1 WHERE user_id = ?)"));
+        assertThat(actualUnit.getCombinedUnitCount(), is(2));
+        assertFalse(actual.isSingleTableUnit());
+    }
+    
+    @Test
+    public void assertRouteWithOneConnectionPerQuery() {
+        Properties props = new Properties();
+        props.setProperty(ShardingPropertiesConstant.MAX_CONNECTIONS_SIZE_PER_QUERY.getKey(), "1");
+        ShardingContext oneConnectionShardingContext = createShardingContext(shardingContext.getShardingRule(), props);
+        String logicSQL = "SELECT * FROM t_order";
+        SQLStatement sqlStatement = new ParsingSQLRouter(oneConnectionShardingContext).parse(logicSQL, 0);
+        SQLRouteResult actual = new ParsingSQLRouter(oneConnectionShardingContext).route(logicSQL, new ArrayList<>(), sqlStatement);
+        assertThat(actual.getExecutionUnits().size(), is(2));
+        Set<String> actualDataSources = new HashSet<>();
+        for (SQLExecutionUnit each : actual.getExecutionUnits()) {
+            assertTrue(actualDataSources.add(each.getDataSource()));
+            assertThat(each.getCombinedUnitCount(), is(2));
+            assertThat(each.getSql(), is("(SELECT * FROM t_order_0) UNION ALL (SELECT * FROM t_order_1)"));
+        }
+    }
+    
+    @Test
+    public void assertRouteWithUnionAllRewriteAndOrderBy() {
+        Properties props = new Properties();
+        props.setProperty(ShardingPropertiesConstant.REWRITE_UNION_ALL_ENABLED.getKey(), Boolean.TRUE.toString());
+        ShardingContext unionAllShardingContext = createShardingContext(shardingContext.getShardingRule(), props);
+        String logicSQL = "SELECT * FROM t_order WHERE user_id = ? ORDER BY order_id";
+        SQLStatement sqlStatement = new ParsingSQLRouter(unionAllShardingContext).parse(logicSQL, 1);
+        SQLRouteResult actual = new ParsingSQLRouter(unionAllShardingContext).route(logicSQL, new ArrayList<Object>(Collections.singletonList(1)), sqlStatement);
+        assertThat(actual.getExecutionUnits().size(), is(2));
+    }
+    
+    @Test
+    public void assertRouteWithInValuesPruned() {
+        String logicSQL = "SELECT * FROM t_order WHERE user_id = ? AND order_id IN (?, ?, ?)";
+        SQLStatement sqlStatement = new ParsingSQLRouter(shardingContext).parse(logicSQL, 4);
+        List<Object> parameters = new ArrayList<Object>(Arrays.<Object>asList(1, 10, 11, 12));
+        List<SQLExecutionUnit> actual = new ArrayList<>(new ParsingSQLRouter(shardingContext).route(logicSQL, parameters, sqlStatement).getExecutionUnits());
+        assertThat(actual.size(), is(2));
+        assertThat(actual.get(0).getSql(), is("SELECT * FROM t_order_0 WHERE user_id = ? AND order_id IN (?, ?)"));
+        assertThat(actual.get(0).getParameterIndexes(), is(Optional.of(Arrays.asList(0, 1, 3))));
+        assertThat(actual.get(0).getParameters(parameters), is(Arrays.<Object>asList(1, 10, 12)));
+        assertThat(actual.get(1).getSql(), is("SELECT * FROM t_order_1 WHERE user_id = ? AND order_id IN (?)"));
+        assertThat(actual.get(1).getParameterIndexes(), is(Optional.of(Arrays.asList(0, 2))));
+        assertThat(actual.get(1).getParameters(parameters), is(Arrays.<Object>asList(1, 11)));
+        List<SQLExecutionUnit> cachedActual = new ArrayList<>(new ParsingSQLRouter(shardingContext).route(logicSQL, new ArrayList<Object>(Arrays.<Object>asList(1, 10, 11, 12)), sqlStatement).getExecutionUnits());
+        assertThat(cachedActual, is(actual));
+        assertThat(shardingContext.getRouteResultCache().getHitCount(), is(1L));
+    }
+    
+    @Test
+    public void assertRouteWithInValuesPrunedForLiterals() {
+        String logicSQL = "SELECT * FROM t_order WHERE order_id IN ( 10, 11,12 ) ORDER BY order_id";
+        SQLStatement sqlStatement = new ParsingSQLRouter(shardingContext).parse(logicSQL, 0);
+        List<SQLExecutionUnit> actual = new ArrayList<>(new ParsingSQLRouter(shardingContext).route(logicSQL, new ArrayList<>(), sqlStatement).getExecutionUnits());
+        assertThat(actual.size(), is(4));
+        assertThat(actual.get(0).getSql(), is("SELECT * FROM t_order_0 WHERE order_id IN (10, 12) ORDER BY order_id"));
+        assertThat(actual.get(1).getSql(), is("SELECT * FROM t_order_1 WHERE order_id IN (11) ORDER BY order_id"));
+        assertFalse(actual.get(1).getParameterIndexes().isPresent());
+    }
+    
+    @Test
+    public void assertRouteWithInValuesNotPrunedForSameTable() {
+        String logicSQL = "SELECT * FROM t_order WHERE order_id IN (?, ?) ORDER BY order_id";
+        SQLStatement sqlStatement = new ParsingSQLRouter(shardingContext).parse(logicSQL, 2);
+        List<SQLExecutionUnit> actual = new ArrayList<>(new ParsingSQLRouter(shardingContext).route(logicSQL, new ArrayList<Object>(Arrays.<Object>asList(10, 12)), sqlStatement).getExecutionUnits());
+        assertThat(actual.size(), is(2));
+        assertThat(actual.get(0).getSql(), is("SELECT * FROM t_order_0 WHERE order_id IN (?, ?) ORDER BY order_id"));
+        assertFalse(actual.get(0).getParameterIndexes().isPresent());
+    }
+    
+    @Test
+    public void assertRouteWithMultipleInsertValues() {
+        String logicSQL = "INSERT INTO t_order (user_id, order_id, status) VALUES (?, ?, ?), (?, ?, ?),(?, ?, ?)";
+        SQLStatement sqlStatement = new ParsingSQLRouter(shardingContext).parse(logicSQL, 9);
+        List<Object> parameters = new ArrayList<Object>(Arrays.<Object>asList(1, 10, "a", 0, 11, "b", 1, 12, "c"));
+        List<SQLExecutionUnit> actual = new ArrayList<>(new ParsingSQLRouter(shardingContext).route(logicSQL, parameters, sqlStatement).getExecutionUnits());
+        assertThat(actual.size(), is(2));
+        assertThat(actual.get(0).getDataSource(), is("ds_1"));
+        assertThat(actual.get(0).getSql(), is("INSERT INTO t_order_0 (user_id, order_id, status) VALUES (?, ?, ?), (?, ?, ?)"));
+        assertThat(actual.get(0).getParameters(parameters), is(Arrays.<Object>asList(1, 10, "a", 1, 12, "c")));
+        assertThat(actual.get(1).getDataSource(), is("ds_0"));
+        assertThat(actual.get(1).getSql(), is("INSERT INTO t_order_1 (user_id, order_id, status) VALUES (?, ?, ?)"));
+        assertThat(actual.get(1).getParameters(parameters), is(Arrays.<Object>asList(0, 11, "b")));
+        List<SQLExecutionUnit> cachedActual = new ArrayList<>(new ParsingSQLRouter(shardingContext).route(logicSQL, new ArrayList<Object>(Arrays.<Object>asList(1, 10, "a", 0, 11, "b", 1, 12, "c")), sqlStatement).getExecutionUnits());
+        assertThat(cachedActual, is(actual));
+        assertThat(shardingContext.getRouteResultCache().getHitCount(), is(1L));
+        new ParsingSQLRouter(shardingContext).route(logicSQL, new ArrayList<Object>(Arrays.<Object>asList(1, 10, "a", 0, 11, "b", 1, 13, "c")), sqlStatement);
+        assertThat(shardingContext.getRouteResultCache().getMissCount(), is(2L));
+    }
+    
+    @Test
+    public void assertRouteWithMultipleInsertValuesInSameTable() {
+        String logicSQL = "INSERT INTO t_order (user_id, order_id) VALUES (1, 10), (1, 12)";
+        SQLStatement sqlStatement = new ParsingSQLRouter(shardingContext).parse(logicSQL, 0);
+        List<SQLExecutionUnit> actual = new ArrayList<>(new ParsingSQLRouter(shardingContext).route(logicSQL, new ArrayList<>(), sqlStatement).getExecutionUnits());
+        assertThat(actual.size(), is(1));
+        assertThat(actual.get(0).getSql(), is("INSERT INTO t_order_0 (user_id, order_id) VALUES (1, 10), (1, 12)"));
+        assertFalse(actual.get(0).getParameterIndexes().isPresent());
+    }
+    
+    @Test
+    public void assertRouteWithMultipleInsertValuesAndGeneratedKeyForLiterals() {
+        String logicSQL = "INSERT INTO t_order_item (user_id, status) VALUES (1, 'a'), (0, 'b'), (1, 'c')";
+        SQLStatement sqlStatement = new ParsingSQLRouter(shardingContext).parse(logicSQL, 0);
+        SQLRouteResult actual = new ParsingSQLRouter(shardingContext).route(logicSQL, new ArrayList<>(), sqlStatement);
+        assertThat(actual.getGeneratedKeys(), is(Arrays.<Number>asList(1, 2, 3)));
+        List<SQLExecutionUnit> actualUnits = new ArrayList<>(actual.getExecutionUnits());
+        assertThat(actualUnits.size(), is(2));
+        assertThat(actualUnits.get(0).getDataSource(), is("ds_1"));
+        assertThat(actualUnits.get(0).getSql(), is("INSERT INTO t_order_item_1 (user_id, status, item_id) VALUES (1, 'a', 1), (1, 'c', 3)"));
+        assertThat(actualUnits.get(1).getDataSource(), is("ds_0"));
+        assertThat(actualUnits.get(1).getSql(), is("INSERT INTO t_order_item_0 (user_id, status, item_id) VALUES (0, 'b', 2)"));
+    }
+    
+    @Test
+    public void assertRouteWithMultipleInsertValuesAndGeneratedKeyForPlaceholders() {
+        String logicSQL = "INSERT INTO t_order_item (user_id, status) VALUES (?, ?), (?, ?)";
+        SQLStatement sqlStatement = new ParsingSQLRouter(shardingContext).parse(logicSQL, 4);
+        List<Object> parameters = new ArrayList<Object>(Arrays.<Object>asList(1, "a", 0, "b"));
+        SQLRouteResult actual = new ParsingSQLRouter(shardingContext).route(logicSQL, parameters, sqlStatement);
+        assertThat(actual.getGeneratedKeys(), is(Arrays.<Number>asList(1, 2)));
+        assertThat(parameters, is(Arrays.<Object>asList(1, "a", 0, "b", 1, 2)));
+        List<SQLExecutionUnit> actualUnits = new ArrayList<>(actual.getExecutionUnits());
+        assertThat(actualUnits.size(), is(2));
+        assertThat(actualUnits.get(0).getSql(), is("INSERT INTO t_order_item_1 (user_id, status, item_id) VALUES (?, ?, ?)"));
+        assertThat(actualUnits.get(0).getParameters(parameters), is(Arrays.<Object>asList(1, "a", 1)));
+        assertThat(actualUnits.get(1).getSql(), is("INSERT INTO t_order_item_0 (user_id, status, item_id) VALUES (?, ?, ?)"));
+        assertThat(actualUnits.get(1).getParameters(parameters), is(Arrays.<Object>asList(0, "b", 2)));
+    }
+    
+    @Test
+    public void assertRouteWithDeepPaging() {
+        Properties props = new Properties();
+        props.setProperty(ShardingPropertiesConstant.REWRITE_DEEP_PAGING_OFFSET_THRESHOLD.getKey(), "10");
+        props.setProperty(ShardingPropertiesConstant.ROUTING_CACHE_SIZE.getKey(), "16");
+        ShardingContext deepPagingShardingContext = createShardingContext(shardingContext.getShardingRule(), props);
+        String logicSQL = "SELECT * FROM t_order o WHERE o.user_id = ? ORDER BY o.order_id DESC LIMIT ?, ?";
+        SQLStatement sqlStatement = new ParsingSQLRouter(deepPagingShardingContext).parse(logicSQL, 3);
+        SQLRouteResult actual = new ParsingSQLRouter(deepPagingShardingContext).route(logicSQL, new ArrayList<Object>(Arrays.<Object>asList(1, 10, 5)), sqlStatement);
+        assertThat(actual.getDeepPagingUnits().size(), is(2));
+        SQLExecutionUnit actualUnit = actual.getDeepPagingUnits().get(0).generateSQLExecutionUnit(3, 4, "o.order_id > 100");
+        assertThat(actualUnit.getDataSource(), is("ds_1"));
+        assertThat(actualUnit.getSql(), is("SELECT * FROM t_order_0 o WHERE o.user_id = ? AND o.order_id > 100 ORDER BY o.order_id DESC LIMIT ?, ?"));
+        assertThat(new ParsingSQLRouter(deepPagingShardingContext).route(logicSQL, new ArrayList<Object>(Arrays.<Object>asList(1, 10, 5)), sqlStatement).getDeepPagingUnits().size(), is(2));
+        assertTrue(new ParsingSQLRouter(deepPagingShardingContext).route(logicSQL, new ArrayList<Object>(Arrays.<Object>asList(1, 9, 5)), sqlStatement).getDeepPagingUnits().isEmpty());
+    }
+    
+    @Test
+    public void assertRouteWithDeepPagingWithoutWhere() {
+        Properties props = new Properties();
+        props.setProperty(ShardingPropertiesConstant.REWRITE_DEEP_PAGING_OFFSET_THRESHOLD.getKey(), "10");
+        props.setProperty(ShardingPropertiesConstant.ROUTING_CACHE_SIZE.getKey(), "16");
+        ShardingContext deepPagingShardingContext = createShardingContext(shardingContext.getShardingRule(), props);
+        String logicSQL = "SELECT order_id FROM t_order ORDER BY order_id LIMIT 20, 5";
+        SQLStatement sqlStatement = new ParsingSQLRouter(deepPagingShardingContext).parse(logicSQL, 0);
+        SQLRouteResult actual = new ParsingSQLRouter(deepPagingShardingContext).route(logicSQL, new ArrayList<>(), sqlStatement);
+        assertThat(actual.getDeepPagingUnits().size(), is(4));
+        assertThat(actual.getDeepPagingUnits().get(0).generateSQLExecutionUnit(3, 4, "order_id > 100").getSql(), is("SELECT order_id FROM t_order_0 WHERE order_id > 100 ORDER BY order_id LIMIT 3, 4"));
+        assertThat(actual.getDeepPagingUnits().get(0).generateSQLExecutionUnit(3, 4, "").getSql(), is("SELECT order_id FROM t_order_0 ORDER BY order_id LIMIT 3, 4"));
+        assertThat(actual.getDeepPagingUnits().get(0).generateCountSQLExecutionUnit(0, 4, "order_id >= 100 AND order_id < 200").getSql(), 
+                is("SELECT COUNT(*) FROM (SELECT order_id FROM t_order_0 WHERE order_id >= 100 AND order_id < 200 ORDER BY order_id LIMIT 0, 4) sharding_count"));
+        assertThat(actual.getExecutionUnits().iterator().next().getSql(), is("SELECT order_id FROM t_order_0 ORDER BY order_id LIMIT 0, 25"));
+    }
+    
+    @Test
+    public void assertRouteWithDeepPagingAndGroupBy() {
+        Properties props = new Properties();
+        props.setProperty(ShardingPropertiesConstant.REWRITE_DEEP_PAGING_OFFSET_THRESHOLD.getKey(), "10");
+        props.setProperty(ShardingPropertiesConstant.ROUTING_CACHE_SIZE.getKey(), "16");
+        ShardingContext deepPagingShardingContext = createShardingContext(shardingContext.getShardingRule(), props);
+        String logicSQL = "SELECT user_id, COUNT(*) FROM t_order GROUP BY user_id ORDER BY user_id LIMIT 20, 5";
+        SQLStatement sqlStatement = new ParsingSQLRouter(deepPagingShardingContext).parse(logicSQL, 0);
+        assertTrue(new ParsingSQLRouter(deepPagingShardingContext).route(logicSQL, new ArrayList<>(), sqlStatement).getDeepPagingUnits().isEmpty());
+    }
+    
+    private static ShardingContext createShardingContext(final ShardingRule shardingRule, final Properties props) {
+        props.setProperty(ShardingPropertiesConstant.PARSING_CACHE_SIZE.getKey(), "16");
+        return new ShardingContext(shardingRule, DatabaseType.MySQL, null, new ShardingProperties(props));
+    }
+}
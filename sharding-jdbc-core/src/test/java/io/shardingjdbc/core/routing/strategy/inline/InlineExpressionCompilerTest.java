@@ -0,0 +1,101 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.routing.strategy.inline;
+
+import com.google.common.base.Joiner;
+import io.shardingjdbc.core.api.algorithm.sharding.ListShardingValue;
+import io.shardingjdbc.core.api.algorithm.sharding.ShardingValue;
+import groovy.lang.Closure;
+import groovy.lang.GroovyShell;
+import groovy.util.Expando;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public final class InlineExpressionCompilerTest {
+    
+    @Test
+    public void assertCompileSupportedExpressions() {
+        assertSameWithGroovy("t_order");
+        assertSameWithGroovy("t_order_${user_id}");
+        assertSameWithGroovy("t_order_${user_id % 16}");
+        assertSameWithGroovy(" ds_${user_id % 2 + 1}_${ (user_id * 3 - 7) % 5 } ");
+        assertSameWithGroovy("t_order_${-user_id % 4}");
+        assertSameWithGroovy("t_order_${user_id.intdiv(10) % 4}");
+        assertSameWithGroovy("t_order_${user_id.abs() % 4}");
+        assertSameWithGroovy("t_order_${Math.abs(user_id.hashCode()) % 16}");
+        assertSameWithGroovy("t_order_${user_id + 1}");
+        assertSameWithGroovy("t_order_${user_id * 3000000000 % 7}");
+    }
+    
+    @Test
+    public void assertCompileUnsupportedExpressions() {
+        assertFalse(new InlineExpressionCompiler("user_id", "t_order_${user_id / 2}").compile().isPresent());
+        assertFalse(new InlineExpressionCompiler("user_id", "t_order_$user_id").compile().isPresent());
+        assertFalse(new InlineExpressionCompiler("user_id", "t_order_${order_id % 2}").compile().isPresent());
+        assertFalse(new InlineExpressionCompiler("user_id", "t_order_${user_id.toString()}").compile().isPresent());
+        assertFalse(new InlineExpressionCompiler("user_id", "t_order_${user_id % 2.5}").compile().isPresent());
+        assertFalse(new InlineExpressionCompiler("user_id", "t_order_${user_id % 2").compile().isPresent());
+        assertFalse(new InlineExpressionCompiler("user_id", "t_order_\"${user_id % 2}\"").compile().isPresent());
+    }
+    
+    @Test
+    public void assertCompileNumberLiteralsEvaluatedDifferentlyByGroovy() {
+        for (String each : new String[] {"t_order_${user_id % 010}", "t_order_${user_id % 0x10}", "t_order_${user_id % 10L}", "t_order_${user_id % 1_0}", "t_order_${user_id + 00}"}) {
+            assertFalse(new InlineExpressionCompiler("user_id", each).compile().isPresent());
+            Closure<?> closure = (Closure) new GroovyShell().evaluate(Joiner.on("").join("{it -> \"", each, "\"}"));
+            for (int value : new int[] {0, 9, 13, 1024}) {
+                ShardingValue shardingValue = new ListShardingValue<>("t_order", "user_id", Collections.singletonList(value));
+                assertThat(new InlineShardingStrategy("user_id", each).doSharding(Collections.<String>emptyList(), Collections.singletonList(shardingValue)).iterator().next(), 
+                        is(evaluateWithGroovy(closure, value)));
+            }
+        }
+        assertSameWithGroovy("t_order_${user_id % 10 + 0}");
+    }
+    
+    @Test
+    public void assertEvaluateUnsupportedValues() {
+        InlineExpressionEvaluator evaluator = new InlineExpressionCompiler("user_id", "t_order_${user_id % 2}").compile().get();
+        assertFalse(evaluator.evaluate("1").isPresent());
+        assertFalse(evaluator.evaluate(1.5D).isPresent());
+        assertTrue(new InlineExpressionCompiler("user_id", "t_order_${user_id}").compile().get().evaluate("a").isPresent());
+    }
+    
+    private void assertSameWithGroovy(final String inlineExpression) {
+        InlineExpressionEvaluator evaluator = new InlineExpressionCompiler("user_id", inlineExpression).compile().get();
+        Closure<?> closure = (Closure) new GroovyShell().evaluate(Joiner.on("").join("{it -> \"", inlineExpression.trim(), "\"}"));
+        for (Comparable<?> each : new Comparable<?>[] {0, 1, 7, -13, 1024, Integer.MAX_VALUE, Integer.MIN_VALUE + 1, 10000000000L, -10000000001L, (short) 9, (byte) -3}) {
+            assertThat(evaluator.evaluate(each).get(), is(evaluateWithGroovy(closure, each)));
+        }
+        if (inlineExpression.contains("hashCode") || !inlineExpression.contains("%")) {
+            assertThat(evaluator.evaluate("order_no_1").get(), is(evaluateWithGroovy(closure, "order_no_1")));
+        }
+    }
+    
+    private String evaluateWithGroovy(final Closure<?> closure, final Comparable<?> value) {
+        Closure<?> result = closure.rehydrate(new Expando(), null, null);
+        result.setResolveStrategy(Closure.DELEGATE_ONLY);
+        result.setProperty("user_id", value);
+        return result.call().toString();
+    }
+}
@@ -104,6 +104,7 @@ public final class ShardingRuleTest {
         shardingRuleConfig.setDefaultTableShardingStrategyConfig(new NoneShardingStrategyConfiguration());
         ShardingRule actual = shardingRuleConfig.build(createDataSourceMap());
         assertTrue(actual.tryFindTableRule("logicTable").isPresent());
+        assertTrue(actual.tryFindTableRule("LOGICTABLE").isPresent());
         assertFalse(actual.tryFindTableRule("null").isPresent());
     }
     
@@ -189,6 +190,7 @@ public final class ShardingRuleTest {
         shardingRuleConfig.getBindingTableGroups().add(createTableRuleConfig().getLogicTable() + "," + createSubTableRuleConfig().getLogicTable());
         ShardingRule actual = shardingRuleConfig.build(createDataSourceMap());
         assertThat(actual.findBindingTableRule("logicTable").get().getTableRules().size(), is(2));
+        assertThat(actual.findBindingTableRule("SUBLOGICTABLE").get().getTableRules().size(), is(2));
     }
     
     @Test
@@ -123,6 +123,15 @@ public final class TableRuleTest {
         assertThat(actual.getActualTableNames("ds1"), is((Collection<String>) Sets.newLinkedHashSet(Arrays.asList("table_0", "table_1", "table_2"))));
     }
     
+    @Test
+    public void assertGetActualTableNamesForNotFound() {
+        TableRuleConfiguration tableRuleConfig = new TableRuleConfiguration();
+        tableRuleConfig.setLogicTable("logicTable");
+        tableRuleConfig.setActualDataNodes("ds${0..1}.table_${0..2}");
+        TableRule actual = tableRuleConfig.build(createDataSourceMap());
+        assertTrue(actual.getActualTableNames("ds2").isEmpty());
+    }
+    
     @Test
     public void assertFindActualTableIndex() {
         TableRuleConfiguration tableRuleConfig = new TableRuleConfiguration();
@@ -132,6 +141,15 @@ public final class TableRuleTest {
         assertThat(actual.findActualTableIndex("ds1", "table_1"), is(4));
     }
     
+    @Test
+    public void assertFindActualTableIndexIgnoreCase() {
+        TableRuleConfiguration tableRuleConfig = new TableRuleConfiguration();
+        tableRuleConfig.setLogicTable("logicTable");
+        tableRuleConfig.setActualDataNodes("ds${0..1}.table_${0..2}");
+        TableRule actual = tableRuleConfig.build(createDataSourceMap());
+        assertThat(actual.findActualTableIndex("DS1", "TABLE_1"), is(4));
+    }
+    
     @Test
     public void assertFindActualTableIndexForNotFound() {
         TableRuleConfiguration tableRuleConfig = new TableRuleConfiguration();